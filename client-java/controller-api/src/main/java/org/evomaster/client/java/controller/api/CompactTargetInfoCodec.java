@@ -0,0 +1,76 @@
+package org.evomaster.client.java.controller.api;
+
+import org.evomaster.client.java.controller.api.dto.CompactTargetInfoDto;
+import org.evomaster.client.java.controller.api.dto.TargetInfoDto;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Utility functions to convert target info from/to {@link CompactTargetInfoDto}
+ */
+public class CompactTargetInfoCodec {
+
+    /**
+     * @param targets info to encode. Their descriptive ids (if any) are ignored
+     * @return a columnar encoding of the targets
+     */
+    public static CompactTargetInfoDto encode(List<TargetInfoDto> targets) {
+
+        int n = targets.size();
+        ByteBuffer ids = ByteBuffer.allocate(n * Integer.BYTES);
+        ByteBuffer values = ByteBuffer.allocate(n * Double.BYTES);
+        ByteBuffer actionIndexes = ByteBuffer.allocate(n * Integer.BYTES);
+
+        for (TargetInfoDto t : targets) {
+            ids.putInt(t.id);
+            values.putDouble(t.value);
+            actionIndexes.putInt(t.actionIndex);
+        }
+
+        Base64.Encoder encoder = Base64.getEncoder();
+
+        CompactTargetInfoDto dto = new CompactTargetInfoDto();
+        dto.size = n;
+        dto.ids = encoder.encodeToString(ids.array());
+        dto.values = encoder.encodeToString(values.array());
+        dto.actionIndexes = encoder.encodeToString(actionIndexes.array());
+        return dto;
+    }
+
+    /**
+     * @param dto a columnar encoding created with {@link #encode(List)}
+     * @return the decoded target info, without descriptive ids
+     * @throws IllegalArgumentException if the columns are not consistent with the declared size
+     */
+    public static List<TargetInfoDto> decode(CompactTargetInfoDto dto) {
+
+        int n = dto.size == null ? 0 : dto.size;
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+
+        Base64.Decoder decoder = Base64.getDecoder();
+        ByteBuffer ids = ByteBuffer.wrap(decoder.decode(dto.ids));
+        ByteBuffer values = ByteBuffer.wrap(decoder.decode(dto.values));
+        ByteBuffer actionIndexes = ByteBuffer.wrap(decoder.decode(dto.actionIndexes));
+
+        if (ids.remaining() != n * Integer.BYTES
+                || values.remaining() != n * Double.BYTES
+                || actionIndexes.remaining() != n * Integer.BYTES) {
+            throw new IllegalArgumentException("Inconsistent compact target info for size " + n);
+        }
+
+        List<TargetInfoDto> targets = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            TargetInfoDto t = new TargetInfoDto();
+            t.id = ids.getInt();
+            t.value = values.getDouble();
+            t.actionIndex = actionIndexes.getInt();
+            targets.add(t);
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,32 @@
+package org.evomaster.client.java.controller.api.dto;
+
+/**
+ * Columnar encoding of a list of {@link TargetInfoDto} without descriptive ids.
+ * Each column is a Base64 string of a big-endian binary array, where the
+ * i-th element of each column refers to the same target.
+ * <br>
+ * See {@link org.evomaster.client.java.controller.api.CompactTargetInfoCodec}
+ * for how to encode/decode it.
+ */
+public class CompactTargetInfoDto {
+
+    /**
+     * Number of encoded targets
+     */
+    public Integer size;
+
+    /**
+     * Ids of the targets, as 4-byte integers
+     */
+    public String ids;
+
+    /**
+     * Fitness values of the targets, as 8-byte doubles
+     */
+    public String values;
+
+    /**
+     * Action indices of the targets, as 4-byte integers
+     */
+    public String actionIndexes;
+}
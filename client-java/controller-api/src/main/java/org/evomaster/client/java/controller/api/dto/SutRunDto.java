@@ -23,6 +23,12 @@ public class SutRunDto {
      */
     public Boolean extractSqlExecutionInfo;
 
+    /**
+     * Max number of rows to read from the database when computing the heuristics
+     * of a single SQL command. If null or 0, there is no limit.
+     */
+    public Integer sqlHeuristicsMaxRows;
+
     /**
      * Specify which categories of Method Replacements to apply when classes are instrumented.
      * Note that this applied once classes are loaded into JVM.
@@ -7,6 +7,14 @@ public class TestResultsDto {
 
     public List<TargetInfoDto> targets = new ArrayList<>();
 
+    /**
+     * Optional, only used if a compact response was requested.
+     * In such case, {@code targets} only contains the targets seen for the first time
+     * (ie, the ones with a descriptive id), whereas all the other reached targets are
+     * encoded here. Targets that were not reached are not sent at all.
+     */
+    public CompactTargetInfoDto compactTargets;
+
 
     /**
      * This list is sorted based on the action indices
@@ -0,0 +1,57 @@
+package org.evomaster.client.java.controller.api;
+
+import org.evomaster.client.java.controller.api.dto.CompactTargetInfoDto;
+import org.evomaster.client.java.controller.api.dto.TargetInfoDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactTargetInfoCodecTest {
+
+    private static TargetInfoDto target(int id, double value, int actionIndex) {
+        TargetInfoDto t = new TargetInfoDto();
+        t.id = id;
+        t.value = value;
+        t.actionIndex = actionIndex;
+        return t;
+    }
+
+    @Test
+    public void testRoundTrip() {
+
+        List<TargetInfoDto> targets = Arrays.asList(
+                target(0, 1d, 0),
+                target(42, 0.5, 3),
+                target(Integer.MAX_VALUE, 0.123456789, 7));
+
+        CompactTargetInfoDto dto = CompactTargetInfoCodec.encode(targets);
+        assertEquals(3, dto.size);
+
+        List<TargetInfoDto> decoded = CompactTargetInfoCodec.decode(dto);
+        assertEquals(targets.size(), decoded.size());
+        for (int i = 0; i < targets.size(); i++) {
+            assertEquals(targets.get(i).id, decoded.get(i).id);
+            assertEquals(targets.get(i).value, decoded.get(i).value);
+            assertEquals(targets.get(i).actionIndex, decoded.get(i).actionIndex);
+            assertNull(decoded.get(i).descriptiveId);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        CompactTargetInfoDto dto = CompactTargetInfoCodec.encode(new ArrayList<>());
+        assertEquals(0, dto.size);
+        assertTrue(CompactTargetInfoCodec.decode(dto).isEmpty());
+    }
+
+    @Test
+    public void testInconsistent() {
+        CompactTargetInfoDto dto = CompactTargetInfoCodec.encode(Arrays.asList(target(1, 1d, 0)));
+        dto.size = 2;
+        assertThrows(IllegalArgumentException.class, () -> CompactTargetInfoCodec.decode(dto));
+    }
+}
@@ -0,0 +1,249 @@
+package org.evomaster.client.java.controller.db;
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DatabaseType;
+import org.evomaster.client.java.utils.SimpleLogger;
+
+import java.sql.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Copy in memory of the data of some tables, which can be used to restore such tables
+ * to that state after they have been cleaned with {@link DbCleaner}.
+ *
+ * Rows are inserted back with JDBC batches, in the same order in which the tables
+ * were given when taking the snapshot, and with the same values for auto-increment columns.
+ * Such columns are then restarted after their max restored value, as otherwise the following
+ * insertions by the SUT would clash with the restored rows.
+ */
+public class DbSnapshot {
+
+    /**
+     * Max number of rows inserted with a single JDBC batch
+     */
+    public static final int BATCH_SIZE = 500;
+
+    private static class TableData {
+
+        final String name;
+
+        final List<String> columns;
+
+        /**
+         * names of the columns with auto-increment values
+         */
+        final List<String> autoIncrementColumns;
+
+        final List<Object[]> rows;
+
+        TableData(String name, List<String> columns, List<String> autoIncrementColumns, List<Object[]> rows) {
+            this.name = name;
+            this.columns = columns;
+            this.autoIncrementColumns = autoIncrementColumns;
+            this.rows = rows;
+        }
+    }
+
+    private final DatabaseType type;
+
+    /**
+     * Key -> table name, in lower case
+     */
+    private final Map<String, TableData> tables;
+
+    private DbSnapshot(DatabaseType type, Map<String, TableData> tables) {
+        this.type = type;
+        this.tables = tables;
+    }
+
+    public static boolean isSupported(DatabaseType type) {
+        return type == DatabaseType.H2
+                || type == DatabaseType.POSTGRES
+                || type == DatabaseType.MYSQL
+                || type == DatabaseType.MARIADB;
+    }
+
+    /**
+     * @param connection connection to the database
+     * @param type type of the database
+     * @param tableNames names of the tables to copy, in the order in which they should be restored
+     *                   (eg, to satisfy foreign keys on databases for which those cannot be disabled)
+     * @return a snapshot of the current data in the given tables
+     */
+    public static DbSnapshot take(Connection connection, DatabaseType type, List<String> tableNames) throws SQLException {
+
+        if (!isSupported(type)) {
+            throw new DbUnsupportedException(type);
+        }
+
+        Map<String, TableData> tables = new LinkedHashMap<>();
+
+        try (Statement statement = connection.createStatement()) {
+            for (String name : tableNames) {
+                try (ResultSet rs = statement.executeQuery("SELECT * FROM " + name)) {
+                    ResultSetMetaData md = rs.getMetaData();
+                    List<String> columns = new ArrayList<>();
+                    List<String> autoIncrementColumns = new ArrayList<>();
+                    for (int i = 1; i <= md.getColumnCount(); i++) {
+                        columns.add(md.getColumnName(i));
+                        if (md.isAutoIncrement(i)) {
+                            autoIncrementColumns.add(md.getColumnName(i));
+                        }
+                    }
+                    List<Object[]> rows = new ArrayList<>();
+                    while (rs.next()) {
+                        Object[] row = new Object[columns.size()];
+                        for (int i = 0; i < row.length; i++) {
+                            row[i] = rs.getObject(i + 1);
+                        }
+                        rows.add(row);
+                    }
+                    tables.put(name.toLowerCase(), new TableData(name, columns, autoIncrementColumns, rows));
+                }
+            }
+        }
+
+        return new DbSnapshot(type, tables);
+    }
+
+    /**
+     * @return names of the tables in this snapshot
+     */
+    public List<String> getTables() {
+        return tables.values().stream().map(t -> t.name).collect(Collectors.toList());
+    }
+
+    /**
+     * @return number of rows in this snapshot
+     */
+    public int size() {
+        return tables.values().stream().mapToInt(t -> t.rows.size()).sum();
+    }
+
+    /**
+     * Insert back the rows of the given tables, which are assumed to be empty.
+     * Tables that are not part of this snapshot are ignored.
+     * Names are case-insensitive.
+     *
+     * @param connection connection to the database
+     * @param tableNames names of the tables to restore
+     */
+    public void restore(Connection connection, Collection<String> tableNames) throws SQLException {
+
+        Set<String> toRestore = tableNames.stream().map(String::toLowerCase).collect(Collectors.toSet());
+
+        List<TableData> data = tables.entrySet().stream()
+                .filter(e -> toRestore.contains(e.getKey()) && !e.getValue().rows.isEmpty())
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+
+        if (data.isEmpty()) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            disableReferentialIntegrity(statement);
+            try {
+                for (TableData table : data) {
+                    insertRows(connection, table);
+                    restartAutoIncrement(statement, table);
+                }
+            } finally {
+                enableReferentialIntegrity(statement);
+            }
+        }
+    }
+
+    private static void insertRows(Connection connection, TableData table) throws SQLException {
+
+        String sql = "INSERT INTO " + table.name
+                + " (" + String.join(",", table.columns) + ")"
+                + " VALUES (" + table.columns.stream().map(c -> "?").collect(Collectors.joining(",")) + ")";
+
+        SimpleLogger.debug("Restoring " + table.rows.size() + " rows with: " + sql);
+
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            int n = 0;
+            for (Object[] row : table.rows) {
+                for (int i = 0; i < row.length; i++) {
+                    insert.setObject(i + 1, row[i]);
+                }
+                insert.addBatch();
+                n++;
+                if (n % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            if (n % BATCH_SIZE != 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private void restartAutoIncrement(Statement statement, TableData table) throws SQLException {
+
+        for (String column : table.autoIncrementColumns) {
+
+            int index = table.columns.indexOf(column);
+            OptionalLong max = table.rows.stream()
+                    .map(r -> r[index])
+                    .filter(v -> v instanceof Number)
+                    .mapToLong(v -> ((Number) v).longValue())
+                    .max();
+
+            if (!max.isPresent()) {
+                continue;
+            }
+            long next = max.getAsLong() + 1;
+
+            switch (type) {
+                case H2:
+                    statement.executeUpdate("ALTER TABLE " + table.name + " ALTER COLUMN " + column + " RESTART WITH " + next);
+                    break;
+                case POSTGRES:
+                    //this is a query, as setval is a function
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table.name + "', '" + column + "'), " + max.getAsLong() + ")");
+                    break;
+                case MYSQL:
+                case MARIADB:
+                    statement.executeUpdate("ALTER TABLE " + table.name + " AUTO_INCREMENT = " + next);
+                    break;
+                default:
+                    throw new DbUnsupportedException(type);
+            }
+        }
+    }
+
+    private void disableReferentialIntegrity(Statement statement) throws SQLException {
+        switch (type) {
+            case H2:
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                break;
+            case MYSQL:
+            case MARIADB:
+                statement.execute("SET @@foreign_key_checks = 0;");
+                break;
+            case POSTGRES:
+                //rows are restored in the same order of the snapshot
+                break;
+            default:
+                throw new DbUnsupportedException(type);
+        }
+    }
+
+    private void enableReferentialIntegrity(Statement statement) throws SQLException {
+        switch (type) {
+            case H2:
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                break;
+            case MYSQL:
+            case MARIADB:
+                statement.execute("SET @@foreign_key_checks = 1;");
+                break;
+            case POSTGRES:
+                break;
+            default:
+                throw new DbUnsupportedException(type);
+        }
+    }
+}
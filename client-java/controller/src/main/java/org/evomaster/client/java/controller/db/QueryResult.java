@@ -36,7 +36,7 @@ public class QueryResult {
     }
 
 
-    private String getColumnName(ResultSetMetaData md, int index) throws Exception{
+    private static String getColumnName(ResultSetMetaData md, int index) throws Exception{
         /*
             Unfortunately, in Postgres, calling getColumnName does NOT return the column
             name, but rather its alias (if any).
@@ -60,25 +60,10 @@ public class QueryResult {
         }
 
         try {
-            ResultSetMetaData md = resultSet.getMetaData();
-
-            for (int i = 0; i < md.getColumnCount(); i++) {
-                int index = i + 1;
-                VariableDescriptor desc = new VariableDescriptor(
-                        getColumnName(md, index),
-                        md.getColumnLabel(index),
-                        md.getTableName(index)
-                );
-                variableDescriptors.add(desc);
-            }
+            variableDescriptors.addAll(readVariableDescriptors(resultSet));
 
             while (resultSet.next()) {
-                List<Object> row = new ArrayList<>();
-                for (int i = 0; i < md.getColumnCount(); i++) {
-                    Object value = resultSet.getObject(i + 1);
-                    row.add(value);
-                }
-                rows.add(new DataRow(variableDescriptors, row));
+                rows.add(readRow(resultSet, variableDescriptors));
             }
 
         } catch (Exception e) {
@@ -86,6 +71,36 @@ public class QueryResult {
         }
     }
 
+    static List<VariableDescriptor> readVariableDescriptors(ResultSet resultSet) throws Exception {
+
+        List<VariableDescriptor> descriptors = new ArrayList<>();
+        ResultSetMetaData md = resultSet.getMetaData();
+
+        for (int i = 0; i < md.getColumnCount(); i++) {
+            int index = i + 1;
+            VariableDescriptor desc = new VariableDescriptor(
+                    getColumnName(md, index),
+                    md.getColumnLabel(index),
+                    md.getTableName(index)
+            );
+            descriptors.add(desc);
+        }
+
+        return descriptors;
+    }
+
+    /**
+     * @return the current row of the result set
+     */
+    static DataRow readRow(ResultSet resultSet, List<VariableDescriptor> descriptors) throws Exception {
+        List<Object> row = new ArrayList<>();
+        for (int i = 0; i < descriptors.size(); i++) {
+            Object value = resultSet.getObject(i + 1);
+            row.add(value);
+        }
+        return new DataRow(descriptors, row);
+    }
+
     public void addRow(DataRow row) {
         if (!sameVariableNames(row)) {
             throw new IllegalArgumentException("Variable name mismatch");
@@ -45,6 +45,11 @@ public class SqlScriptRunner {
 
     private static final String SINGLE_APOSTROPHE_PLACEHOLDER = "SINGLE_APOSTROPHE_PLACEHOLDER";
 
+    /**
+     * Max number of rows inserted with a single multi-row INSERT
+     */
+    public static final int MAX_BATCH_SIZE = 500;
+
     private String delimiter = DEFAULT_DELIMITER;
     private boolean fullLineDelimiter = false;
 
@@ -184,50 +189,37 @@ public class SqlScriptRunner {
 
         List<Boolean> sqlResults = new ArrayList<>(Collections.nCopies(insertions.size(), false));
 
-        for (int i = 0; i < insertions.size(); i++) {
+        int i = 0;
+        while (i < insertions.size()) {
 
-            InsertionDto insDto = insertions.get(i);
+            int end = endOfBatch(insertions, i);
 
-            String sql = prepareSqlInsertionCommand(insertSql, map, i, insDto);
-
-            Long autoGeneratedId;
-
-            try {
-                autoGeneratedId = execInsert(conn, sql);
-                sqlResults.set(i, true);
-            } catch (SQLException e) {
-                String msg = "Failed to execute insertion with index " + i + " with SQL: " + sql + ". Error: " + e.getMessage();
-                throw new SQLException(msg, e);
-            }
-
-            if(insDto.id == null){
-                //throw new IllegalArgumentException("Insertion for an autoincrement value in table " + insDto.targetTable + " does not have an id");
+            if (end - i > 1 && execInsertBatch(conn, insertSql, insertions, i, end, map)) {
+                for (int k = i; k < end; k++) {
+                    sqlResults.set(k, true);
+                }
+                i = end;
                 continue;
             }
 
-            if (autoGeneratedId != null) {
-                map.put(insDto.id, autoGeneratedId);
+            //one at a time, eg if the batch failed, to know which insertion was the problem
+            for (; i < end; i++) {
 
-            } else {
+                InsertionDto insDto = insertions.get(i);
 
-                /*
-                    check if in this insertion there is no auto-generated PK,
-                    but there is a foreign key to an auto-increment.
+                String sql = prepareSqlInsertionCommand(insertSql, map, i, insDto);
 
-                    There can at most one entry that can be a FK to an auto-increment value.
-                    FIXME: this is not really true, eg consider tables to handle relationships,
-                    where PK is composed of 2 FK columns, ie the PKs of the 2 related tables.
-                    NEED to support multi-column PKs/FKs
-                 */
-
-                InsertionEntryDto entry = insDto.data.stream()
-                        .filter(e -> e.foreignKeyToPreviouslyGeneratedRow != null)
-                        .findFirst().orElse(null);
+                Long autoGeneratedId;
 
-                if (entry != null) {
-                    long previouslyGeneratedValue = map.get(entry.foreignKeyToPreviouslyGeneratedRow);
-                    map.put(insDto.id, previouslyGeneratedValue);
+                try {
+                    autoGeneratedId = execInsert(conn, sql);
+                    sqlResults.set(i, true);
+                } catch (SQLException e) {
+                    String msg = "Failed to execute insertion with index " + i + " with SQL: " + sql + ". Error: " + e.getMessage();
+                    throw new SQLException(msg, e);
                 }
+
+                updateIdMapping(map, insDto, autoGeneratedId);
             }
         }
 
@@ -237,15 +229,154 @@ public class SqlScriptRunner {
         return insertionResultsDto;
     }
 
+    private static void updateIdMapping(Map<Long, Long> map, InsertionDto insDto, Long autoGeneratedId) {
+
+        if(insDto.id == null){
+            //throw new IllegalArgumentException("Insertion for an autoincrement value in table " + insDto.targetTable + " does not have an id");
+            return;
+        }
+
+        if (autoGeneratedId != null) {
+            map.put(insDto.id, autoGeneratedId);
+
+        } else {
+
+            /*
+                check if in this insertion there is no auto-generated PK,
+                but there is a foreign key to an auto-increment.
+
+                There can at most one entry that can be a FK to an auto-increment value.
+                FIXME: this is not really true, eg consider tables to handle relationships,
+                where PK is composed of 2 FK columns, ie the PKs of the 2 related tables.
+                NEED to support multi-column PKs/FKs
+             */
+
+            InsertionEntryDto entry = insDto.data.stream()
+                    .filter(e -> e.foreignKeyToPreviouslyGeneratedRow != null)
+                    .findFirst().orElse(null);
+
+            if (entry != null) {
+                long previouslyGeneratedValue = map.get(entry.foreignKeyToPreviouslyGeneratedRow);
+                map.put(insDto.id, previouslyGeneratedValue);
+            }
+        }
+    }
+
+    /**
+     * Consecutive insertions can be executed with a single multi-row INSERT if they are
+     * on the same table, with the same columns, and none of them refers to a key
+     * generated by another one in the same batch.
+     *
+     * @return the index after the last insertion that can be in the same batch of the one at {@code start}
+     */
+    private static int endOfBatch(List<InsertionDto> insertions, int start) {
+
+        InsertionDto first = insertions.get(start);
+        List<String> columns = first.data.stream().map(e -> e.variableName).collect(Collectors.toList());
+
+        Set<Long> idsInBatch = new HashSet<>();
+        if (first.id != null) {
+            idsInBatch.add(first.id);
+        }
+
+        int end = start + 1;
+        while (end < insertions.size() && end - start < MAX_BATCH_SIZE) {
+            InsertionDto next = insertions.get(end);
+            if (!first.targetTable.equals(next.targetTable)
+                    || next.data.size() != columns.size()
+                    || next.data.stream().anyMatch(e ->
+                            e.foreignKeyToPreviouslyGeneratedRow != null && idsInBatch.contains(e.foreignKeyToPreviouslyGeneratedRow))) {
+                break;
+            }
+            for (int k = 0; k < columns.size(); k++) {
+                if (!columns.get(k).equals(next.data.get(k).variableName)) {
+                    return end;
+                }
+            }
+            if (next.id != null) {
+                idsInBatch.add(next.id);
+            }
+            end++;
+        }
+
+        return end;
+    }
+
+    /**
+     * Execute the insertions in [start, end) with a single multi-row INSERT, in a transaction.
+     * If it fails, or the generated keys cannot be mapped back to each insertion (as some
+     * drivers only return the key of the last row), then the transaction is rolled back.
+     *
+     * @return whether the insertions were executed, in which case {@code map} is updated
+     */
+    private static boolean execInsertBatch(Connection conn, String insertSql, List<InsertionDto> insertions, int start, int end, Map<Long, Long> map) throws SQLException {
+
+        if (!conn.getAutoCommit()) {
+            //we cannot roll back a failed batch without affecting an ongoing transaction
+            return false;
+        }
+
+        StringBuilder sql = new StringBuilder();
+        appendInsertionHeader(sql, insertSql, insertions.get(start));
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                sql.append(", ");
+            }
+            appendInsertionValues(sql, map, i, insertions.get(i));
+        }
+        sql.append(";");
+
+        SimpleLogger.debug("Executing DB insertion batch:");
+        SimpleLogger.debug(sql.toString());
+
+        List<Long> keys;
+
+        conn.setAutoCommit(false);
+        try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate(sql.toString(), Statement.RETURN_GENERATED_KEYS);
+            keys = readGeneratedKeys(statement);
+
+            if (!keys.isEmpty() && keys.size() != end - start) {
+                conn.rollback();
+                return false;
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            SimpleLogger.debug("Failed insertion batch, executing one at a time. Error: " + e.getMessage());
+            conn.rollback();
+            return false;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+
+        for (int i = start; i < end; i++) {
+            updateIdMapping(map, insertions.get(i), keys.isEmpty() ? null : keys.get(i - start));
+        }
+
+        return true;
+    }
+
     private static String prepareSqlInsertionCommand(String insertSql, Map<Long, Long> map, int i, InsertionDto insDto) {
-        StringBuilder sql = new StringBuilder(insertSql);
+        StringBuilder sql = new StringBuilder();
+        appendInsertionHeader(sql, insertSql, insDto);
+        appendInsertionValues(sql, map, i, insDto);
+        sql.append(";");
+
+        return sql.toString();
+    }
+
+    private static void appendInsertionHeader(StringBuilder sql, String insertSql, InsertionDto insDto) {
+        sql.append(insertSql);
         sql.append(insDto.targetTable).append(" (");
 
         sql.append(insDto.data.stream()
                 .map(e -> e.variableName)
                 .collect(Collectors.joining(",")));
 
-        sql.append(" )  VALUES (");
+        sql.append(" )  VALUES ");
+    }
+
+    private static void appendInsertionValues(StringBuilder sql, Map<Long, Long> map, int i, InsertionDto insDto) {
 
         for (InsertionEntryDto e : insDto.data) {
             if (e.printableValue == null && e.foreignKeyToPreviouslyGeneratedRow != null) {
@@ -262,15 +393,13 @@ public class SqlScriptRunner {
             }
         }
 
+        sql.append("(");
         sql.append(insDto.data.stream()
                 .map(e -> e.printableValue != null
                         ? replaceQuotes(e.printableValue)
                         : map.get(e.foreignKeyToPreviouslyGeneratedRow).toString()
                 ).collect(Collectors.joining(",")));
-
-        sql.append(");");
-
-        return sql.toString();
+        sql.append(")");
     }
 
     /*
@@ -329,31 +458,43 @@ public class SqlScriptRunner {
             throw new SQLException(errText, e);
         }
 
-        ResultSet generatedKeys = statement.getGeneratedKeys();
-        ResultSetMetaData generatedKeysMetaData = generatedKeys.getMetaData();
-        Long autoGeneratedId;
-        if (generatedKeys.next()) {
-            int columnType = generatedKeysMetaData.getColumnType(1);
-            switch (columnType) {
-                case Types.INTEGER:
-                case Types.TINYINT:
-                case Types.SMALLINT:
-                case Types.BIGINT:
-                    autoGeneratedId = generatedKeys.getLong(1);
-                    break;
-                default:
-                    // TODO Support non-Long generated keys
-                    autoGeneratedId = null;
-            }
-        } else {
-            autoGeneratedId = null;
-        }
+        List<Long> keys = readGeneratedKeys(statement);
+        Long autoGeneratedId = keys.isEmpty() ? null : keys.get(0);
 
         statement.close();
 
         return autoGeneratedId;
     }
 
+    /**
+     * @return the keys generated by the last executed insertion, one per inserted row (if any).
+     * A key is null if it is not a number
+     */
+    private static List<Long> readGeneratedKeys(Statement statement) throws SQLException {
+
+        List<Long> keys = new ArrayList<>();
+
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            ResultSetMetaData generatedKeysMetaData = generatedKeys.getMetaData();
+            while (generatedKeys.next()) {
+                int columnType = generatedKeysMetaData.getColumnType(1);
+                switch (columnType) {
+                    case Types.INTEGER:
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                    case Types.BIGINT:
+                        keys.add(generatedKeys.getLong(1));
+                        break;
+                    default:
+                        // TODO Support non-Long generated keys
+                        keys.add(null);
+                }
+            }
+        }
+
+        return keys;
+    }
+
     /**
      * this is used for mysql which cannot execute multiple statements at one time.
      *
@@ -403,10 +544,11 @@ public class SqlScriptRunner {
     /**
      * extract a map from table name to a list of SQL INSERT commands for initializing data into the table
      * @param commands a list of SQL commands to be extracted
-     * @return the map from table name (key) to a list of SQL INSERT commands (values) on the table
+     * @return the map from table name (key) to a list of SQL INSERT commands (values) on the table,
+     * where tables are in the order of their first INSERT command
      */
     public static  Map<String, List<String>> extractSqlTableMap(List<String> commands){
-        Map<String, List<String>> tableSqlMap = new HashMap<>();
+        Map<String, List<String>> tableSqlMap = new LinkedHashMap<>();
         for (String command: commands){
             if (ParserUtils.isInsert(command)){
                 Insert stmt = (Insert) ParserUtils.asStatement(command);
@@ -0,0 +1,188 @@
+package org.evomaster.client.java.controller.db;
+
+import org.evomaster.client.java.utils.SimpleLogger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The results of a SQL Select query, read one row at a time while iterating over them.
+ * Compared to {@link QueryResult}, rows are not kept in memory, and the ones after the
+ * iteration is stopped are never read from the database.
+ *
+ * It can be iterated only once, and must be closed.
+ */
+public class StreamedQueryResult implements Iterable<DataRow>, AutoCloseable {
+
+    /**
+     * How many rows to ask to the database at each round-trip
+     */
+    public static final int FETCH_SIZE = 500;
+
+    private final Connection connection;
+
+    private final Statement statement;
+
+    private final ResultSet resultSet;
+
+    private final List<VariableDescriptor> variableDescriptors;
+
+    /**
+     * max number of rows to read, where 0 means no limit
+     */
+    private final int maxRows;
+
+    /**
+     * whether we changed the auto-commit of the connection, and so need to restore it
+     */
+    private final boolean restoreAutoCommit;
+
+    private int readRows = 0;
+
+    private boolean truncated = false;
+
+    private boolean iterated = false;
+
+    /**
+     * @param connection connection to the database
+     * @param select the SQL SELECT to execute
+     * @param maxRows max number of rows to read, where 0 means no limit
+     */
+    public StreamedQueryResult(Connection connection, String select, int maxRows) throws SQLException {
+
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("Negative number of rows: " + maxRows);
+        }
+
+        this.connection = connection;
+        this.maxRows = maxRows;
+
+        /*
+            some drivers (eg Postgres) ignore the fetch size, and load all the rows in memory,
+            unless in a transaction
+         */
+        restoreAutoCommit = connection.getAutoCommit();
+        if (restoreAutoCommit) {
+            connection.setAutoCommit(false);
+        }
+
+        Statement stmt = null;
+        try {
+            stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(FETCH_SIZE);
+            if (maxRows > 0) {
+                //one more, to know if there were more rows than the max
+                stmt.setMaxRows(maxRows + 1);
+            }
+
+            SimpleLogger.debug("Executing DB command:");
+            SimpleLogger.debug(select);
+
+            resultSet = stmt.executeQuery(select);
+            variableDescriptors = QueryResult.readVariableDescriptors(resultSet);
+            statement = stmt;
+        } catch (Exception e) {
+            if (stmt != null) {
+                stmt.close();
+            }
+            endTransaction();
+            String errText = String.format("Error executing '%s': %s", select, e.getMessage());
+            throw new SQLException(errText, e);
+        }
+    }
+
+    public List<VariableDescriptor> getVariableDescriptors() {
+        return variableDescriptors;
+    }
+
+    /**
+     * @return number of rows read so far
+     */
+    public int getReadRows() {
+        return readRows;
+    }
+
+    /**
+     * @return whether the max number of rows was reached, and there were more rows to read
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public Iterator<DataRow> iterator() {
+
+        if (iterated) {
+            throw new IllegalStateException("Rows can be iterated only once");
+        }
+        iterated = true;
+
+        return new Iterator<DataRow>() {
+
+            /**
+             * whether the result set is positioned on a row not returned yet
+             */
+            private boolean ready = false;
+
+            private boolean done = false;
+
+            @Override
+            public boolean hasNext() {
+                if (ready) {
+                    return true;
+                }
+                if (done) {
+                    return false;
+                }
+                try {
+                    boolean next = resultSet.next();
+                    if (next && maxRows > 0 && readRows == maxRows) {
+                        truncated = true;
+                        next = false;
+                    }
+                    done = !next;
+                    ready = next;
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+                return ready;
+            }
+
+            @Override
+            public DataRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                readRows++;
+                try {
+                    return QueryResult.readRow(resultSet, variableDescriptors);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            statement.close();
+        } finally {
+            endTransaction();
+        }
+    }
+
+    private void endTransaction() throws SQLException {
+        if (restoreAutoCommit) {
+            //nothing was modified, as just reading
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.evomaster.client.java.controller.internal;
 
+import org.evomaster.client.java.controller.api.CompactTargetInfoCodec;
 import org.evomaster.client.java.controller.api.ControllerConstants;
 import org.evomaster.client.java.controller.api.Formats;
 import org.evomaster.client.java.controller.api.dto.*;
@@ -342,10 +343,18 @@ public class EMController {
                 return Response.status(400).entity(WrappedResponseDto.withError(msg)).build();
             }
 
+            int sqlMaxRows = dto.sqlHeuristicsMaxRows != null ? dto.sqlHeuristicsMaxRows : 0;
+            if (sqlMaxRows < 0) {
+                String msg = "Invalid JSON: 'sqlHeuristicsMaxRows' cannot be negative";
+                SimpleLogger.warn(msg);
+                return Response.status(400).entity(WrappedResponseDto.withError(msg)).build();
+            }
+
             boolean sqlHeuristics = dto.calculateSqlHeuristics != null && dto.calculateSqlHeuristics;
             boolean sqlExecution = dto.extractSqlExecutionInfo != null && dto.extractSqlExecutionInfo;
 
             noKillSwitch(() -> sutController.enableComputeSqlHeuristicsOrExtractExecution(sqlHeuristics, sqlExecution));
+            noKillSwitch(() -> sutController.setSqlHeuristicsMaxRows(sqlMaxRows));
 
             boolean doReset = dto.resetState != null && dto.resetState;
 
@@ -440,6 +449,12 @@ public class EMController {
                     String idList,
             @QueryParam("killSwitch") @DefaultValue("false")
                     boolean killSwitch,
+            /*
+                if true, only first-time targets are sent as TargetInfoDto, whereas
+                all other reached targets are in TestResultsDto.compactTargets
+             */
+            @QueryParam("compact") @DefaultValue("false")
+                    boolean compact,
             @Context HttpServletRequest httpServletRequest) {
 
         // notify that actions execution is done.
@@ -453,10 +468,14 @@ public class EMController {
             Set<Integer> ids;
 
             try {
-                ids = Arrays.stream(idList.split(","))
-                        .filter(s -> !s.trim().isEmpty())
-                        .map(Integer::parseInt)
-                        .collect(Collectors.toSet());
+                String[] tokens = idList.split(",");
+                ids = new HashSet<>(tokens.length * 2);
+                for (String token : tokens) {
+                    String s = token.trim();
+                    if (!s.isEmpty()) {
+                        ids.add(Integer.parseInt(s));
+                    }
+                }
             } catch (NumberFormatException e) {
                 String msg = "Invalid parameter 'ids': " + e.getMessage();
                 SimpleLogger.warn(msg);
@@ -470,16 +489,31 @@ public class EMController {
                 return Response.status(500).entity(WrappedResponseDto.withError(msg)).build();
             }
 
+            List<TargetInfoDto> alreadySeen = new ArrayList<>();
+
             targetInfos.forEach(t -> {
+                if (compact && t.descriptiveId == null && t.actionIndex < 0 && t.value == 0d) {
+                    //not reached, core can infer it from the ids it asked for
+                    return;
+                }
+
                 TargetInfoDto info = new TargetInfoDto();
                 info.id = t.mappedId;
                 info.value = t.value;
                 info.descriptiveId = t.descriptiveId;
                 info.actionIndex = t.actionIndex;
 
-                dto.targets.add(info);
+                if (compact && t.descriptiveId == null) {
+                    alreadySeen.add(info);
+                } else {
+                    dto.targets.add(info);
+                }
             });
 
+            if (compact) {
+                dto.compactTargets = CompactTargetInfoCodec.encode(alreadySeen);
+            }
+
             /*
                 Note: it is important that extra is computed before AdditionalInfo,
                 as heuristics on SQL might add new entries to String specializations
@@ -13,6 +13,8 @@ import org.evomaster.client.java.controller.api.dto.*;
 import org.evomaster.client.java.controller.api.dto.problem.rpc.*;
 import org.evomaster.client.java.controller.db.SqlScriptRunnerCached;
 import org.evomaster.client.java.controller.internal.db.DbSpecification;
+import org.evomaster.client.java.controller.internal.db.DbResetStrategy;
+import org.evomaster.client.java.controller.internal.db.ForeignKeyGraph;
 import org.evomaster.client.java.controller.problem.rpc.CustomizedNotNullAnnotationForRPCDto;
 import org.evomaster.client.java.controller.problem.rpc.RPCExceptionHandler;
 import org.evomaster.client.java.controller.problem.rpc.schema.EndpointSchema;
@@ -20,8 +22,10 @@ import org.evomaster.client.java.controller.problem.rpc.schema.InterfaceSchema;
 import org.evomaster.client.java.controller.problem.rpc.schema.LocalAuthSetupSchema;
 import org.evomaster.client.java.controller.problem.rpc.schema.params.*;
 import org.evomaster.client.java.controller.api.dto.database.operations.InsertionResultsDto;
+import org.evomaster.client.java.controller.db.DbSnapshot;
 import org.evomaster.client.java.controller.db.DbCleaner;
 import org.evomaster.client.java.controller.db.SqlScriptRunner;
+import org.evomaster.client.java.controller.internal.db.SchemaCache;
 import org.evomaster.client.java.controller.internal.db.SchemaExtractor;
 import org.evomaster.client.java.controller.internal.db.SqlHandler;
 import org.evomaster.client.java.controller.problem.ProblemInfo;
@@ -44,6 +48,7 @@ import org.glassfish.jersey.servlet.ServletContainer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
@@ -76,15 +81,15 @@ public abstract class SutController implements SutHandler, CustomizationHandler
     private final List<ExtraHeuristicsDto> extras = new CopyOnWriteArrayList<>();
 
     /**
-     * track all tables accessed in a test
+     * track all tables modified in a test, either by EvoMaster or by the SUT
      */
-    private final List<String> accessedTables = new CopyOnWriteArrayList<>();
+    private final Set<String> accessedTables = ConcurrentHashMap.newKeySet();
 
 
     /**
-     * a map of table to fk target tables
+     * foreign keys among tables, to find which tables to clean
      */
-    private final Map<String, List<String>> fkMap = new ConcurrentHashMap<>();
+    private volatile ForeignKeyGraph fkGraph;
 
 
     /**
@@ -92,6 +97,12 @@ public abstract class SutController implements SutHandler, CustomizationHandler
      */
     private final Map<String, List<String>> tableInitSqlMap = new ConcurrentHashMap<>();
 
+    /**
+     * data of the tables in the init sql script, right after it was executed.
+     * this is used only with {@link DbResetStrategy#SNAPSHOT}
+     */
+    private volatile DbSnapshot initSqlSnapshot;
+
     /**
      * a map of interface schemas for RPC service under test
      * - key is full name of the interface
@@ -232,6 +243,14 @@ public abstract class SutController implements SutHandler, CustomizationHandler
     }
 
 
+    /**
+     * @param maxRows max number of rows to read from the database when computing the
+     *                heuristics of a SQL command, where 0 means no limit
+     */
+    public final void setSqlHeuristicsMaxRows(int maxRows){
+        sqlHandler.setMaxRowsForHeuristics(maxRows);
+    }
+
     /**
      * This is needed only during test generation (not execution),
      * and it is automatically called by the EM controller after
@@ -240,6 +259,7 @@ public abstract class SutController implements SutHandler, CustomizationHandler
     public final void initSqlHandler() {
         sqlHandler.setConnection(getConnectionIfExist());
         sqlHandler.setSchema(getSqlDatabaseSchema());
+        sqlHandler.setTrackWrittenTables(doEmploySmartDbClean());
     }
 
 
@@ -278,7 +298,7 @@ public abstract class SutController implements SutHandler, CustomizationHandler
 
         ExtraHeuristicsDto dto = new ExtraHeuristicsDto();
 
-        if(sqlHandler.isCalculateHeuristics() || sqlHandler.isExtractSqlExecution()){
+        if(sqlHandler.isCalculateHeuristics() || sqlHandler.isExtractSqlExecution() || sqlHandler.isTrackWrittenTables()){
             /*
                 TODO refactor, once we move SQL analysis into Core
              */
@@ -311,15 +331,9 @@ public abstract class SutController implements SutHandler, CustomizationHandler
         if (sqlHandler.isCalculateHeuristics() || sqlHandler.isExtractSqlExecution()){
             ExecutionDto executionDto = sqlHandler.getExecutionDto();
             dto.databaseExecutionDto = executionDto;
-            // set accessed table
-            if (executionDto != null){
-                accessedTables.addAll(executionDto.deletedData);
-                accessedTables.addAll(executionDto.insertedData.keySet());
-//                accessedTables.addAll(executionDto.queriedData.keySet());
-                accessedTables.addAll(executionDto.insertedData.keySet());
-                accessedTables.addAll(executionDto.updatedData.keySet());
-            }
         }
+        // set tables modified by the SUT
+        accessedTables.addAll(sqlHandler.getWrittenTables());
 
         return dto;
     }
@@ -340,9 +354,8 @@ public abstract class SutController implements SutHandler, CustomizationHandler
 
             // clean accessed tables
             Set<String> tableDataToInit = null;
-            if (!accessedTables.isEmpty()){
-                List<String> tablesToClean = new ArrayList<>();
-                getTableToClean(accessedTables, tablesToClean);
+            if (!accessedTables.isEmpty() && getForeignKeyGraph() != null){
+                List<String> tablesToClean = fkGraph.getTablesToClean(accessedTables);
                 if (!tablesToClean.isEmpty()){
                     if (emDbClean.schemaNames != null && !emDbClean.schemaNames.isEmpty()){
                         emDbClean.schemaNames.forEach(sch-> DbCleaner.clearDatabase(getConnectionIfExist(), sch,  null, tablesToClean, emDbClean.dbType));
@@ -364,6 +377,10 @@ public abstract class SutController implements SutHandler, CustomizationHandler
         // init db script
         boolean initAll = initSqlScriptAndGetInsertMap(getConnectionIfExist(), spec);
         if (!initAll && tableDataToInit!= null &&!tableDataToInit.isEmpty()){
+            if (initSqlSnapshot != null){
+                initSqlSnapshot.restore(getConnectionIfExist(), tableDataToInit);
+                return;
+            }
             tableDataToInit.forEach(a->{
                 tableInitSqlMap.keySet().stream().filter(t-> t.equalsIgnoreCase(a)).forEach(t->{
                     tableInitSqlMap.get(t).forEach(c->{
@@ -387,31 +404,12 @@ public abstract class SutController implements SutHandler, CustomizationHandler
         accessedTables.addAll(tables);
     }
 
-    private void getTableToClean(List<String> accessedTables, List<String> tablesToClean){
-        for (String t: accessedTables){
-            if (!findInCollectionIgnoreCase(t, tablesToClean).isPresent()){
-                if (findInMapIgnoreCase(t, fkMap).isPresent()){
-                    tablesToClean.add(t);
-                    List<String> fk = fkMap.entrySet().stream().filter(e->
-                            findInCollectionIgnoreCase(t, e.getValue()).isPresent()
-                                    && !findInCollectionIgnoreCase(e.getKey(), tablesToClean).isPresent()).map(Map.Entry::getKey).collect(Collectors.toList());
-                    if (!fk.isEmpty())
-                        getTableToClean(fk, tablesToClean);
-                }else {
-                    SimpleLogger.uniqueWarn("Cannot find the table "+t+" in ["+String.join(",", fkMap.keySet())+"]");
-                }
-
-            }
+    private ForeignKeyGraph getForeignKeyGraph(){
+        if (fkGraph == null){
+            // the graph is built when extracting the schema
+            getSqlDatabaseSchema();
         }
-    }
-
-
-    private Optional<String> findInCollectionIgnoreCase(String name, Collection<String> list){
-        return list.stream().filter(i-> i.equalsIgnoreCase(name)).findFirst();
-    }
-
-    private Optional<? extends Map.Entry<String, ?>> findInMapIgnoreCase(String name, Map<String, ?> list){
-        return list.entrySet().stream().filter(x-> x.getKey().equalsIgnoreCase(name)).findFirst();
+        return fkGraph;
     }
 
     /**
@@ -433,9 +431,14 @@ public abstract class SutController implements SutHandler, CustomizationHandler
             }
             if (!all.isEmpty()){
                 // collect insert sql commands map, key is table name, and value is a list sql insert commands
-                tableInitSqlMap.putAll(SqlScriptRunner.extractSqlTableMap(all));
+                Map<String, List<String>> insertMap = SqlScriptRunner.extractSqlTableMap(all);
+                tableInitSqlMap.putAll(insertMap);
                 // execute all commands
                 SqlScriptRunner.runCommands(connection, all);
+                if (dbSpecification.resetStrategy == DbResetStrategy.SNAPSHOT){
+                    // tables are in the order of the script, to be restored in the same order
+                    initSqlSnapshot = DbSnapshot.take(connection, dbSpecification.dbType, new ArrayList<>(insertMap.keySet()));
+                }
                 return true;
             }
         }
@@ -460,7 +463,12 @@ public abstract class SutController implements SutHandler, CustomizationHandler
         }
 
         try {
-            schemaDto = SchemaExtractor.extract(getConnectionIfExist());
+            DbSpecification spec = getDbSpecifications().get(0);
+            if (spec.schemaCacheFolder != null) {
+                schemaDto = SchemaCache.extract(getConnectionIfExist(), Paths.get(spec.schemaCacheFolder), spec.schemaFingerprintQuery);
+            } else {
+                schemaDto = SchemaExtractor.extract(getConnectionIfExist());
+            }
             Objects.requireNonNull(schemaDto);
             schemaDto.employSmartDbClean = doEmploySmartDbClean();
         } catch (Exception e) {
@@ -468,15 +476,8 @@ public abstract class SutController implements SutHandler, CustomizationHandler
             return null;
         }
 
-        if (fkMap.isEmpty()){
-            schemaDto.tables.forEach(t->{
-                fkMap.putIfAbsent(t.name, new ArrayList<>());
-                if (t.foreignKeys!=null && !t.foreignKeys.isEmpty()){
-                    t.foreignKeys.forEach(f->{
-                        fkMap.get(t.name).add(f.targetTable.toUpperCase());
-                    });
-                }
-            });
+        if (fkGraph == null){
+            fkGraph = new ForeignKeyGraph(schemaDto);
         }
 
         return schemaDto;
@@ -25,15 +25,19 @@ public class ColumnTableAnalyzer {
             throw new IllegalArgumentException("Input string is not a valid SQL DELETE: " + delete);
         }
 
+        return getDeletedTables((Delete) ParserUtils.asStatement(delete));
+    }
+
+    public static Set<String> getDeletedTables(Delete stmt){
+
         Set<String> set = new HashSet<>();
-        Delete stmt = (Delete) ParserUtils.asStatement(delete);
 
         Table table = stmt.getTable();
         if(table != null){
             set.add(table.getName());
         } else {
             //TODO need to handle special cases of multi-tables with JOINs
-            throw new IllegalArgumentException("Cannot handle delete: " + delete);
+            throw new IllegalArgumentException("Cannot handle delete: " + stmt);
         }
 
         return set;
@@ -46,16 +50,19 @@ public class ColumnTableAnalyzer {
             throw new IllegalArgumentException("Input string is not a valid SQL INSERT: " + insert);
         }
 
-        Map<String, Set<String>> map = new HashMap<>();
+        return getInsertedDataFields((Insert) ParserUtils.asStatement(insert));
+    }
+
+    public static Map<String, Set<String>> getInsertedDataFields(Insert stmt){
 
-        Insert stmt = (Insert) ParserUtils.asStatement(insert);
+        Map<String, Set<String>> map = new HashMap<>();
 
         Table table = stmt.getTable();
         if(table != null){
             handleTable(map, table);
         } else {
             //TODO all other cases
-            throw new IllegalArgumentException("Cannot handle insert: " + insert);
+            throw new IllegalArgumentException("Cannot handle insert: " + stmt);
         }
 
         return map;
@@ -68,15 +75,18 @@ public class ColumnTableAnalyzer {
             throw new IllegalArgumentException("Input string is not a valid SQL INSERT: " + update);
         }
 
-        Map<String, Set<String>> map = new HashMap<>();
+        return getUpdatedDataFields((Update) ParserUtils.asStatement(update));
+    }
+
+    public static Map<String, Set<String>> getUpdatedDataFields(Update stmt){
 
-        Update stmt = (Update) ParserUtils.asStatement(update);
+        Map<String, Set<String>> map = new HashMap<>();
 
         Table table = stmt.getTable();
         if(table!=null){
             handleTable(map, table);
         } else {
-            throw new IllegalArgumentException("Cannot handle update: " + update);
+            throw new IllegalArgumentException("Cannot handle update: " + stmt);
         }
 
         return map;
@@ -100,6 +110,14 @@ public class ColumnTableAnalyzer {
             throw new IllegalArgumentException("Input string is not a valid SQL SELECT: " + select);
         }
 
+        return getSelectReadDataFields((Select) ParserUtils.asStatement(select));
+    }
+
+    /**
+     * Same as {@link #getSelectReadDataFields(String)}, on an already parsed SELECT
+     */
+    public static Map<String, Set<String>> getSelectReadDataFields(Select stmt){
+
         Map<String, Set<String>> map = new HashMap<>();
 
         /*
@@ -107,7 +125,6 @@ public class ColumnTableAnalyzer {
             But, we should look at actual read columns.
          */
 
-        Select stmt = (Select) ParserUtils.asStatement(select);
         SelectBody selectBody = stmt.getSelectBody();
 
         if (selectBody instanceof PlainSelect) {
@@ -130,7 +147,7 @@ public class ColumnTableAnalyzer {
                 }
             }
         } else {
-            throw new IllegalArgumentException("Cannot handle select: " + select);
+            throw new IllegalArgumentException("Cannot handle select: " + stmt);
         }
 
         return map;
@@ -0,0 +1,22 @@
+package org.evomaster.client.java.controller.internal.db;
+
+/**
+ * How the data of the tables modified by a test is reset before the following test
+ */
+public enum DbResetStrategy {
+
+    /**
+     * Truncate the tables, and then re-execute the INSERT commands of the init SQL script
+     * on them
+     */
+    TRUNCATE,
+
+    /**
+     * Truncate the tables, and then restore their data from a snapshot taken right after
+     * the init SQL script was executed for the first time.
+     * Compared to {@link #TRUNCATE}, the SQL commands of the script are not executed again
+     * one at a time, but the rows are inserted with JDBC batches.
+     * This is useful when there is a large amount of seeded data.
+     */
+    SNAPSHOT
+}
@@ -1,6 +1,7 @@
 package org.evomaster.client.java.controller.internal.db;
 
 import org.evomaster.client.java.controller.api.dto.database.schema.DatabaseType;
+import org.evomaster.client.java.controller.db.DbSnapshot;
 
 import java.sql.Connection;
 import java.util.ArrayList;
@@ -45,18 +46,40 @@ public class DbSpecification {
      */
     public final boolean employSmartDbClean;
 
+    /**
+     * specify how the data of the cleaned tables is reset to the one
+     * of the init sql script
+     * Default is TRUNCATE
+     */
+    public final DbResetStrategy resetStrategy;
+
+    /**
+     * an optional folder where to cache the extracted schema of the database,
+     * to avoid re-extracting it in each run if it did not change
+     */
+    public final String schemaCacheFolder;
 
-    private DbSpecification(DatabaseType dbType, Connection connection, List<String> schemaNames, String initSqlScript, String initSqlOnResourcePath, boolean employSmartDbClean) {
+    /**
+     * an optional SQL query whose results identify the version of the schema
+     * (eg, the applied migrations), used as key for the cached schema
+     */
+    public final String schemaFingerprintQuery;
+
+
+    private DbSpecification(DatabaseType dbType, Connection connection, List<String> schemaNames, String initSqlScript, String initSqlOnResourcePath, boolean employSmartDbClean, DbResetStrategy resetStrategy, String schemaCacheFolder, String schemaFingerprintQuery) {
         this.dbType = Objects.requireNonNull(dbType);
         this.connection = Objects.requireNonNull(connection);
         this.schemaNames = schemaNames;
         this.initSqlScript = initSqlScript;
         this.initSqlOnResourcePath = initSqlOnResourcePath;
         this.employSmartDbClean = employSmartDbClean;
+        this.resetStrategy = Objects.requireNonNull(resetStrategy);
+        this.schemaCacheFolder = schemaCacheFolder;
+        this.schemaFingerprintQuery = schemaFingerprintQuery;
     }
 
     public DbSpecification(DatabaseType dbType, Connection connection) {
-        this(dbType, connection, null, null, null, true);
+        this(dbType, connection, null, null, null, true, DbResetStrategy.TRUNCATE, null, null);
     }
 
     public DbSpecification withSchemas(String... schemas){
@@ -76,7 +99,10 @@ public class DbSpecification {
                 Arrays.asList(schemas),
                 this.initSqlScript,
                 this.initSqlOnResourcePath,
-                this.employSmartDbClean
+                this.employSmartDbClean,
+                this.resetStrategy,
+                this.schemaCacheFolder,
+                this.schemaFingerprintQuery
         );
     }
 
@@ -87,7 +113,10 @@ public class DbSpecification {
                 this.schemaNames,
                 this.initSqlScript,
                 this.initSqlOnResourcePath,
-                false
+                false,
+                this.resetStrategy,
+                this.schemaCacheFolder,
+                this.schemaFingerprintQuery
         );
     }
 
@@ -103,7 +132,10 @@ public class DbSpecification {
                 this.schemaNames,
                 script,
                 this.initSqlOnResourcePath,
-                this.employSmartDbClean
+                this.employSmartDbClean,
+                this.resetStrategy,
+                this.schemaCacheFolder,
+                this.schemaFingerprintQuery
         );
     }
 
@@ -119,7 +151,60 @@ public class DbSpecification {
                 this.schemaNames,
                 this.initSqlScript,
                 path,
-                this.employSmartDbClean
+                this.employSmartDbClean,
+                this.resetStrategy,
+                this.schemaCacheFolder,
+                this.schemaFingerprintQuery
+        );
+    }
+
+    public DbSpecification withResetStrategy(DbResetStrategy strategy){
+
+        if(strategy == DbResetStrategy.SNAPSHOT && !DbSnapshot.isSupported(dbType)){
+            throw new IllegalArgumentException("Reset strategy " + strategy + " is not supported for " + dbType);
+        }
+
+        return new DbSpecification(
+                this.dbType,
+                this.connection,
+                this.schemaNames,
+                this.initSqlScript,
+                this.initSqlOnResourcePath,
+                this.employSmartDbClean,
+                Objects.requireNonNull(strategy),
+                this.schemaCacheFolder,
+                this.schemaFingerprintQuery
+        );
+    }
+
+    /**
+     * Cache the extracted schema of the database in the given folder.
+     * The schema is re-extracted only when the INFORMATION_SCHEMA metadata of the database changes
+     */
+    public DbSpecification withSchemaCache(String folder){
+        return withSchemaCache(folder, null);
+    }
+
+    /**
+     * Cache the extracted schema of the database in the given folder.
+     * The schema is re-extracted only when the results of the given query change,
+     * eg, a query on the history table of the migrations.
+     * If the query is null, the INFORMATION_SCHEMA metadata of the database are used
+     */
+    public DbSpecification withSchemaCache(String folder, String fingerprintQuery){
+        if(folder==null || folder.isEmpty() || folder.trim().isEmpty()){
+            throw new IllegalArgumentException("Missing folder for the schema cache");
+        }
+        return new DbSpecification(
+                this.dbType,
+                this.connection,
+                this.schemaNames,
+                this.initSqlScript,
+                this.initSqlOnResourcePath,
+                this.employSmartDbClean,
+                this.resetStrategy,
+                folder,
+                fingerprintQuery
         );
     }
 }
@@ -0,0 +1,106 @@
+package org.evomaster.client.java.controller.internal.db;
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto;
+import org.evomaster.client.java.controller.api.dto.database.schema.TableDto;
+import org.evomaster.client.java.utils.SimpleLogger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Foreign keys among the tables of a schema, used to find which tables need to be
+ * cleaned when some data is modified.
+ * If a table is cleaned, then all the tables with rows that can refer to it (directly or
+ * indirectly) need to be cleaned as well.
+ *
+ * Table names are case-insensitive.
+ */
+public class ForeignKeyGraph {
+
+    /**
+     * Key -> table name, in upper case
+     * Value -> table name, as in the schema
+     */
+    private final Map<String, String> names = new HashMap<>();
+
+    /**
+     * Key -> table name, in upper case
+     * Value -> names (in upper case) of the tables with a foreign key to it
+     */
+    private final Map<String, Set<String>> referencedBy = new HashMap<>();
+
+    /**
+     * Key -> table name, in upper case
+     * Value -> names (as in the schema) of the table itself and of all tables that
+     * directly or indirectly refer to it.
+     * This is computed only once per table, when first needed.
+     */
+    private final Map<String, List<String>> closures = new ConcurrentHashMap<>();
+
+    public ForeignKeyGraph(DbSchemaDto schema) {
+
+        for (TableDto t : schema.tables) {
+            String name = t.name.toUpperCase();
+            names.put(name, t.name);
+            referencedBy.putIfAbsent(name, new LinkedHashSet<>());
+        }
+
+        for (TableDto t : schema.tables) {
+            if (t.foreignKeys == null) {
+                continue;
+            }
+            t.foreignKeys.forEach(f -> referencedBy
+                    .computeIfAbsent(f.targetTable.toUpperCase(), k -> new LinkedHashSet<>())
+                    .add(t.name.toUpperCase()));
+        }
+    }
+
+    public boolean contains(String table) {
+        return names.containsKey(table.toUpperCase());
+    }
+
+    /**
+     * @param tables names of tables with modified data
+     * @return names (as in the schema) of the given tables, and of all the tables that refer to them.
+     * Tables that are not in the schema are ignored
+     */
+    public List<String> getTablesToClean(Collection<String> tables) {
+
+        Set<String> result = new LinkedHashSet<>();
+
+        for (String t : tables) {
+            String name = t.toUpperCase();
+            if (!names.containsKey(name)) {
+                SimpleLogger.uniqueWarn("Cannot find the table " + t + " in [" + String.join(",", names.values()) + "]");
+                continue;
+            }
+            result.addAll(closures.computeIfAbsent(name, this::computeClosure));
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    private List<String> computeClosure(String table) {
+
+        Set<String> visited = new LinkedHashSet<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        toVisit.add(table);
+
+        while (!toVisit.isEmpty()) {
+            String current = toVisit.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            for (String other : referencedBy.getOrDefault(current, Collections.emptySet())) {
+                //FKs could also target tables outside of the schema
+                if (names.containsKey(other) && !visited.contains(other)) {
+                    toVisit.add(other);
+                }
+            }
+        }
+
+        List<String> closure = new ArrayList<>(visited.size());
+        visited.forEach(t -> closure.add(names.get(t)));
+        return Collections.unmodifiableList(closure);
+    }
+}
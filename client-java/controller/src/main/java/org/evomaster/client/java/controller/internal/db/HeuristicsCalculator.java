@@ -19,6 +19,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -46,7 +47,30 @@ public class HeuristicsCalculator {
             return Double.MAX_VALUE;
         }
 
-        Statement stmt = ParserUtils.asStatement(statement);
+        return computeDistance(ParserUtils.asStatement(statement), data, schema);
+    }
+
+    /**
+     * Same as {@link #computeDistance(String, QueryResult, DbSchemaDto)}, on an already parsed command,
+     * which is not modified
+     */
+    public static double computeDistance(Statement stmt, QueryResult data, DbSchemaDto schema) {
+        return computeDistance(stmt, data.seeRows(), schema);
+    }
+
+    /**
+     * Same as {@link #computeDistance(Statement, QueryResult, DbSchemaDto)}, but on rows that can
+     * be read one at a time (eg, from a {@link org.evomaster.client.java.controller.db.StreamedQueryResult}).
+     * No more rows are read once one of them satisfies the WHERE clause.
+     */
+    public static double computeDistance(Statement stmt, Iterable<DataRow> data, DbSchemaDto schema) {
+
+        Iterator<DataRow> rows = data.iterator();
+
+        if (!rows.hasNext()) {
+            //if no data, we have no info whatsoever
+            return Double.MAX_VALUE;
+        }
 
         Expression where = getWhere(stmt);
         if (where == null) {
@@ -62,7 +86,8 @@ public class HeuristicsCalculator {
         HeuristicsCalculator calculator = new HeuristicsCalculator(context);
 
         double min = Double.MAX_VALUE;
-        for (DataRow row : data.seeRows()) {
+        while (rows.hasNext()) {
+            DataRow row = rows.next();
             double dist = calculator.computeExpression(where, row);
             if (dist == 0) {
                 return 0;
@@ -0,0 +1,144 @@
+package org.evomaster.client.java.controller.internal.db;
+
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.update.Update;
+
+import java.util.*;
+
+/**
+ * What is derived from parsing all the SQL commands with the same shape,
+ * ie, that only differ in their literals (see {@link SqlStatementCache#normalize(String)}).
+ *
+ * Names of tables and columns do not depend on the literals, so they are computed only once,
+ * from the first command of this shape.
+ * The parsed statement is reused only for that same first command, as computing the heuristics
+ * on a WHERE clause needs the actual literals.
+ *
+ * The parsed statement is shared, and so it must NOT be modified.
+ */
+public class ParsedSql {
+
+    /**
+     * The first command seen with this shape
+     */
+    private final String sql;
+
+    /**
+     * The parsed {@link #sql}, or null if it could not be parsed
+     */
+    private final Statement statement;
+
+    /*
+        Lazily computed, as what is needed depends on the type of the command.
+        Computations are idempotent, so no need to synchronize on them
+     */
+    private volatile Map<String, Set<String>> dataFields;
+    private volatile Set<String> deletedTables;
+
+    /**
+     * The SELECT used to retrieve the data needed to compute the distance of the WHERE clause,
+     * if it does not depend on the literals of the command
+     */
+    private volatile String distanceSelect;
+
+    /**
+     * Whether the {@link #distanceSelect} is different for each command of this shape
+     */
+    private volatile boolean distanceSelectDependsOnLiterals;
+
+    ParsedSql(String sql) {
+        this.sql = Objects.requireNonNull(sql);
+
+        Statement parsed;
+        try {
+            parsed = ParserUtils.asStatement(sql);
+        } catch (IllegalArgumentException e) {
+            parsed = null;
+        }
+        this.statement = parsed;
+    }
+
+    public boolean canParse() {
+        return statement != null;
+    }
+
+    /**
+     * @param command an SQL command with the same shape of this one
+     * @return the parsed command, which must not be modified
+     * @throws IllegalArgumentException if the command cannot be parsed
+     */
+    public Statement getStatement(String command) {
+        if (statement != null && sql.equals(command)) {
+            return statement;
+        }
+        return ParserUtils.asStatement(command);
+    }
+
+    public Map<String, Set<String>> getSelectReadDataFields() {
+        if (dataFields == null) {
+            dataFields = immutable(ColumnTableAnalyzer.getSelectReadDataFields((Select) parsedStatement()));
+        }
+        return dataFields;
+    }
+
+    public Map<String, Set<String>> getInsertedDataFields() {
+        if (dataFields == null) {
+            dataFields = immutable(ColumnTableAnalyzer.getInsertedDataFields((Insert) parsedStatement()));
+        }
+        return dataFields;
+    }
+
+    public Map<String, Set<String>> getUpdatedDataFields() {
+        if (dataFields == null) {
+            dataFields = immutable(ColumnTableAnalyzer.getUpdatedDataFields((Update) parsedStatement()));
+        }
+        return dataFields;
+    }
+
+    public Set<String> getDeletedTables() {
+        if (deletedTables == null) {
+            deletedTables = Collections.unmodifiableSet(ColumnTableAnalyzer.getDeletedTables((Delete) parsedStatement()));
+        }
+        return deletedTables;
+    }
+
+    /**
+     * @param command an SQL SELECT with the same shape of this one
+     * @return a SELECT retrieving all the fields involved in the WHERE of the command, with no constraint
+     */
+    public String getDistanceSelect(String command) {
+
+        String select = distanceSelect;
+        if (select != null) {
+            return select;
+        }
+
+        select = SelectTransformer.toDistanceSelect(command);
+
+        if (!distanceSelectDependsOnLiterals) {
+            if (SqlStatementCache.containsLiterals(select)) {
+                distanceSelectDependsOnLiterals = true;
+            } else {
+                distanceSelect = select;
+            }
+        }
+
+        return select;
+    }
+
+    private Statement parsedStatement() {
+        if (statement == null) {
+            throw new IllegalStateException("Cannot parse SQL command: " + sql);
+        }
+        return statement;
+    }
+
+    private static Map<String, Set<String>> immutable(Map<String, Set<String>> map) {
+        Map<String, Set<String>> copy = new HashMap<>();
+        map.forEach((k, v) -> copy.put(k, Collections.unmodifiableSet(v)));
+        return Collections.unmodifiableMap(copy);
+    }
+}
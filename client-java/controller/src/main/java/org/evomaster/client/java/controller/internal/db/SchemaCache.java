@@ -0,0 +1,202 @@
+package org.evomaster.client.java.controller.internal.db;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto;
+import org.evomaster.client.java.utils.SimpleLogger;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * On-disk cache of the schemas extracted with {@link SchemaExtractor}, to avoid
+ * re-extracting the same schema at each run of EvoMaster.
+ *
+ * Schemas are stored as JSON files, named after a fingerprint of the database.
+ * By default, the fingerprint is a hash of the metadata of all the columns and of
+ * the constraints in the INFORMATION_SCHEMA (when the database has one), plus the
+ * user-defined types for Postgres.
+ * If a query is given (eg, selecting the applied migrations from the history table
+ * of Flyway or Liquibase), the hash of its results is used instead, which
+ * is cheaper to compute.
+ */
+public class SchemaCache {
+
+    /**
+     * to be increased when the content of DbSchemaDto or the way it is extracted change,
+     * so that old cached schemas are not used
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String[] CONSTRAINT_QUERIES = {
+            "SELECT * FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS",
+            "SELECT * FROM INFORMATION_SCHEMA.CHECK_CONSTRAINTS"
+    };
+
+    /**
+     * User-defined types in Postgres (enumerations, composite types and domains),
+     * which are not fully described in the INFORMATION_SCHEMA.
+     * OIDs are not selected, as they can differ between runs for the same schema
+     */
+    private static final String[] POSTGRES_TYPE_QUERIES = {
+            "SELECT n.nspname, t.typname, t.typtype, format_type(t.typbasetype, t.typtypmod), t.typnotnull" +
+                    " FROM pg_type t JOIN pg_namespace n ON n.oid = t.typnamespace" +
+                    " WHERE t.typtype IN ('c', 'd', 'e') AND n.nspname NOT IN ('pg_catalog', 'information_schema')",
+            "SELECT n.nspname, t.typname, e.enumlabel, e.enumsortorder" +
+                    " FROM pg_enum e JOIN pg_type t ON t.oid = e.enumtypid JOIN pg_namespace n ON n.oid = t.typnamespace",
+            "SELECT n.nspname, t.typname, a.attname, a.attnum, format_type(a.atttypid, a.atttypmod), a.attnotnull" +
+                    " FROM pg_type t JOIN pg_namespace n ON n.oid = t.typnamespace" +
+                    " JOIN pg_class c ON c.oid = t.typrelid JOIN pg_attribute a ON a.attrelid = c.oid" +
+                    " WHERE t.typtype = 'c' AND c.relkind = 'c' AND a.attnum > 0 AND NOT a.attisdropped" +
+                    " AND n.nspname NOT IN ('pg_catalog', 'information_schema')"
+    };
+
+    /**
+     * @param connection       to the database
+     * @param folder           where the cached schemas are stored
+     * @param fingerprintQuery an optional SQL query whose results identify the version of the schema
+     * @return the schema of the database, which is read from the cache if present.
+     * Otherwise, it is extracted and saved in the cache
+     */
+    public static DbSchemaDto extract(Connection connection, Path folder, String fingerprintQuery) throws Exception {
+
+        Objects.requireNonNull(folder);
+
+        String fingerprint;
+        try {
+            fingerprint = computeFingerprint(connection, fingerprintQuery);
+        } catch (SQLException e) {
+            SimpleLogger.warn("Failed to compute fingerprint of the database, its schema is not cached: " + e.getMessage());
+            return SchemaExtractor.extract(connection);
+        }
+
+        Path file = folder.resolve("schema_" + fingerprint + ".json");
+        ObjectMapper mapper = new ObjectMapper();
+
+        if (Files.exists(file)) {
+            try {
+                DbSchemaDto schema = mapper.readValue(file.toFile(), DbSchemaDto.class);
+                SimpleLogger.info("Loaded SQL database schema from cache " + file.toAbsolutePath());
+                return schema;
+            } catch (Exception e) {
+                SimpleLogger.warn("Failed to read cached schema in " + file.toAbsolutePath() + ": " + e.getMessage());
+            }
+        }
+
+        DbSchemaDto schema = SchemaExtractor.extract(connection);
+
+        try {
+            Files.createDirectories(folder);
+            //write to a temporary file first, as several runs could share the same cache
+            Path tmp = Files.createTempFile(folder, "schema_", ".tmp");
+            mapper.writeValue(tmp.toFile(), schema);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            SimpleLogger.warn("Failed to save schema in cache " + file.toAbsolutePath() + ": " + e.getMessage());
+        }
+
+        return schema;
+    }
+
+    /**
+     * @return a hash identifying the schema of the database
+     */
+    public static String computeFingerprint(Connection connection, String fingerprintQuery) throws SQLException {
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        DatabaseMetaData md = connection.getMetaData();
+        update(digest, "v" + FORMAT_VERSION);
+        update(digest, SchemaCache.class.getPackage().getImplementationVersion());
+        /*
+            the URL is not used, as host and port of the database can change at each run
+            (eg, when started with Docker), whereas its name does not
+         */
+        update(digest, md.getDatabaseProductName());
+        update(digest, md.getDatabaseProductVersion());
+        update(digest, connection.getCatalog());
+        update(digest, getSchemaName(connection));
+
+        if (fingerprintQuery != null) {
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery(fingerprintQuery)) {
+                update(digest, rs);
+            }
+        } else {
+            try (ResultSet rs = md.getColumns(null, null, "%", "%")) {
+                update(digest, rs);
+            }
+            for (String query : CONSTRAINT_QUERIES) {
+                try (Statement st = connection.createStatement();
+                     ResultSet rs = st.executeQuery(query)) {
+                    update(digest, rs);
+                } catch (SQLException e) {
+                    //not all databases have these tables, or might have them with different names
+                    update(digest, "missing " + query);
+                }
+            }
+            if (md.getDatabaseProductName().toLowerCase().contains("postgres")) {
+                for (String query : POSTGRES_TYPE_QUERIES) {
+                    try (Statement st = connection.createStatement();
+                         ResultSet rs = st.executeQuery(query)) {
+                        update(digest, rs);
+                    }
+                }
+            }
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static String getSchemaName(Connection connection) {
+        try {
+            return connection.getSchema();
+        } catch (Exception | AbstractMethodError e) {
+            //as in SchemaExtractor, some drivers do not support it
+            return null;
+        }
+    }
+
+    private static void update(MessageDigest digest, ResultSet rs) throws SQLException {
+        int n = rs.getMetaData().getColumnCount();
+        /*
+            rows are sorted, as the order of the results of queries without ORDER BY
+            is not guaranteed to be the same
+         */
+        List<String> rows = new ArrayList<>();
+        while (rs.next()) {
+            StringBuilder row = new StringBuilder();
+            for (int i = 1; i <= n; i++) {
+                row.append(rs.getString(i)).append('\u0000');
+            }
+            rows.add(row.toString());
+        }
+        Collections.sort(rows);
+        rows.forEach(r -> update(digest, r));
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        //separator, to distinguish, eg, "ab","c" from "a","bc"
+        digest.update((byte) 0);
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
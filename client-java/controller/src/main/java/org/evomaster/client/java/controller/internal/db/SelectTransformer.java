@@ -26,6 +26,20 @@ public class SelectTransformer {
 
         Select stmt = asSelectStatement(select);
 
+        if (!addFieldsToSelect(stmt)) {
+            return select;
+        }
+
+        return stmt.toString();
+    }
+
+    /**
+     * Same as {@link #addFieldsToSelect(String)}, but modifying the given statement
+     *
+     * @return false if there is no WHERE, and so nothing to do
+     */
+    private static boolean addFieldsToSelect(Select stmt) {
+
         SelectBody selectBody = stmt.getSelectBody();
         if (selectBody instanceof PlainSelect) {
             PlainSelect plainSelect = (PlainSelect) selectBody;
@@ -33,7 +47,7 @@ public class SelectTransformer {
             Expression where = plainSelect.getWhere();
             if (where == null) {
                 //nothing to do
-                return select;
+                return false;
             }
 
             List<SelectItem> fields = plainSelect.getSelectItems();
@@ -66,7 +80,7 @@ public class SelectTransformer {
             }
         }
 
-        return stmt.toString();
+        return true;
     }
 
     /**
@@ -80,6 +94,13 @@ public class SelectTransformer {
     public static String removeOperations(String select){
 
         Select stmt = asSelectStatement(select);
+        removeOperations(stmt);
+
+        return stmt.toString();
+    }
+
+    private static void removeOperations(Select stmt){
+
         SelectBody selectBody = stmt.getSelectBody();
 
         if (selectBody instanceof PlainSelect) {
@@ -90,8 +111,6 @@ public class SelectTransformer {
                             (item instanceof SelectExpressionItem) &&
                             ((SelectExpressionItem)item).getExpression() instanceof Function);
         }
-
-        return stmt.toString();
     }
 
 
@@ -105,6 +124,24 @@ public class SelectTransformer {
         return stmt.toString();
     }
 
+    /**
+     * Apply {@link #addFieldsToSelect(String)}, {@link #removeConstraints(String)} and
+     * {@link #removeOperations(String)}, in this order, parsing the command only once.
+     *
+     * @param select SQL command to transform
+     * @return a SELECT retrieving all the fields involved in the WHERE of the input one, with no constraint
+     */
+    public static String toDistanceSelect(String select) {
+
+        Select stmt = asSelectStatement(select);
+
+        addFieldsToSelect(stmt);
+        handleSelectBody(stmt.getSelectBody());
+        removeOperations(stmt);
+
+        return stmt.toString();
+    }
+
     private static Select asSelectStatement(String select) {
         Statement stmt = ParserUtils.asStatement(select);
         if(! (stmt instanceof Select)){
@@ -3,14 +3,12 @@ package org.evomaster.client.java.controller.internal.db;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.ExpressionVisitor;
 import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.Statement;
 import org.evomaster.client.java.controller.api.dto.database.execution.ExecutionDto;
 import org.evomaster.client.java.controller.api.dto.database.execution.SqlExecutionLogDto;
 import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto;
-import org.evomaster.client.java.controller.db.QueryResult;
-import org.evomaster.client.java.controller.db.SqlScriptRunner;
+import org.evomaster.client.java.controller.db.StreamedQueryResult;
 import org.evomaster.client.java.instrumentation.SqlInfo;
 import org.evomaster.client.java.utils.SimpleLogger;
 
@@ -37,7 +35,7 @@ public class SqlHandler {
      * further queries. So, we buffer them, and execute them only
      * if needed (ie, lazy initialization)
      */
-    private final List<String> buffer;
+    private final List<BufferedCommand> buffer;
 
     /**
      * The heuristics based on the SQL execution
@@ -52,21 +50,65 @@ public class SqlHandler {
     private final List<String> deletedData;
     private final List<SqlExecutionLogDto> executedInfo;
 
+    /**
+     * Names of the tables modified by INSERT, UPDATE and DELETE commands
+     */
+    private final Set<String> writtenTables;
+
     private int numberOfSqlCommands;
 
     private volatile Connection connection;
 
     private volatile boolean calculateHeuristics;
 
+    /**
+     * Whether to keep track of the modified tables even when neither computing the heuristics
+     * nor extracting the execution info, eg, to know which tables need to be cleaned
+     */
+    private volatile boolean trackWrittenTables;
+
     private volatile boolean extractSqlExecution;
 
+    /**
+     * Max number of rows to read from the database when computing the heuristics
+     * of a single SQL command, where 0 means no limit
+     */
+    private volatile int maxRowsForHeuristics;
+
     /**
      * WARNING: in general we shouldn't use mutable DTO as internal data structures.
      * But, here, what we need is very simple (just checking for names).
      */
     private volatile DbSchemaDto schema;
 
+    /**
+     * Parsed commands, shared among all executed tests, as the SUT keeps running
+     * the same commands with different values
+     */
+    private final SqlStatementCache statementCache;
+
+    /**
+     * An executed command, with the parsing info of its shape
+     */
+    private static class BufferedCommand {
+        final String sql;
+        final ParsedSql parsed;
+
+        BufferedCommand(String sql, ParsedSql parsed) {
+            this.sql = sql;
+            this.parsed = parsed;
+        }
+    }
+
     public SqlHandler() {
+        this(SqlStatementCache.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param statementCacheSize max number of shapes of SQL commands to keep parsed. If 0, nothing is cached.
+     */
+    public SqlHandler(int statementCacheSize) {
+        statementCache = new SqlStatementCache(statementCacheSize);
         buffer = new CopyOnWriteArrayList<>();
         distances = new ArrayList<>();
         queriedData = new ConcurrentHashMap<>();
@@ -75,6 +117,7 @@ public class SqlHandler {
         failedWhere = new ConcurrentHashMap<>();
         deletedData = new CopyOnWriteArrayList<>();
         executedInfo = new CopyOnWriteArrayList<>();
+        writtenTables = ConcurrentHashMap.newKeySet();
 
         calculateHeuristics = true;
         numberOfSqlCommands = 0;
@@ -89,6 +132,7 @@ public class SqlHandler {
         failedWhere.clear();
         deletedData.clear();
         executedInfo.clear();
+        writtenTables.clear();
 
         numberOfSqlCommands = 0;
     }
@@ -114,28 +158,54 @@ public class SqlHandler {
         Objects.requireNonNull(sql);
 
         if(!calculateHeuristics && !extractSqlExecution){
+            if(trackWrittenTables && !isSelect(sql)){
+                ParsedSql parsed = statementCache.get(sql);
+                if(parsed.canParse()){
+                    addWrittenTables(sql, parsed);
+                }
+            }
             return;
         }
 
         numberOfSqlCommands++;
 
-        if(! ParserUtils.canParseSqlStatement(sql)){
+        ParsedSql parsed = statementCache.get(sql);
+
+        if(! parsed.canParse()){
             SimpleLogger.warn("Cannot handle SQL statement: " + sql);
             return;
         }
 
-        buffer.add(sql);
+        buffer.add(new BufferedCommand(sql, parsed));
 
         if (isSelect(sql)) {
-            mergeNewData(queriedData, ColumnTableAnalyzer.getSelectReadDataFields(sql));
+            mergeNewData(queriedData, parsed.getSelectReadDataFields());
         } else if(isDelete(sql)){
-            deletedData.addAll(ColumnTableAnalyzer.getDeletedTables(sql));
+            deletedData.addAll(parsed.getDeletedTables());
         } else if(isInsert(sql)){
-            mergeNewData(insertedData, ColumnTableAnalyzer.getInsertedDataFields(sql));
+            mergeNewData(insertedData, parsed.getInsertedDataFields());
         } else if(isUpdate(sql)){
-            mergeNewData(updatedData, ColumnTableAnalyzer.getUpdatedDataFields(sql));
+            mergeNewData(updatedData, parsed.getUpdatedDataFields());
         }
 
+        addWrittenTables(sql, parsed);
+    }
+
+    private void addWrittenTables(String sql, ParsedSql parsed){
+        if(isDelete(sql)){
+            writtenTables.addAll(parsed.getDeletedTables());
+        } else if(isInsert(sql)){
+            writtenTables.addAll(parsed.getInsertedDataFields().keySet());
+        } else if(isUpdate(sql)){
+            writtenTables.addAll(parsed.getUpdatedDataFields().keySet());
+        }
+    }
+
+    /**
+     * @return names of the tables modified by the handled SQL commands since the last reset
+     */
+    public Set<String> getWrittenTables() {
+        return Collections.unmodifiableSet(writtenTables);
     }
 
     public ExecutionDto getExecutionDto() {
@@ -168,11 +238,12 @@ public class SqlHandler {
 
 
         buffer.stream()
-                .forEach(sql -> {
+                .forEach(command -> {
+                    String sql = command.sql;
                     if (!isSelectOne(sql) && (isSelect(sql) || isDelete(sql) || isUpdate(sql))) {
                         double dist;
                         try {
-                             dist = computeDistance(sql);
+                             dist = computeDistance(sql, command.parsed);
                         }catch (Exception e){
                             SimpleLogger.error("FAILED TO COMPUTE HEURISTICS FOR SQL: " + sql);
                             //assert false; //TODO put back once we update JSqlParser
@@ -189,7 +260,7 @@ public class SqlHandler {
     }
 
 
-    private Double computeDistance(String command) {
+    private Double computeDistance(String command, ParsedSql parsed) {
 
         if (connection == null) {
             throw new IllegalStateException("Trying to calculate SQL distance with no DB connection");
@@ -198,7 +269,7 @@ public class SqlHandler {
         Statement statement;
 
         try {
-            statement = CCJSqlParserUtil.parse(command);
+            statement = parsed.getStatement(command);
         } catch (Exception e) {
             SimpleLogger.uniqueWarn("Cannot handle command: " + command + "\n" + e.toString());
             return Double.MAX_VALUE;
@@ -216,7 +287,7 @@ public class SqlHandler {
             //TODO check if table(s) not empty, and give >0 otherwise
             dist = 0;
         } else {
-            dist = getDistanceForWhere(command, columns);
+            dist = getDistanceForWhere(command, statement, parsed, columns);
         }
 
         if (dist > 0) {
@@ -226,7 +297,7 @@ public class SqlHandler {
         return dist;
     }
 
-    private double getDistanceForWhere(String command, Map<String, Set<String>> columns) {
+    private double getDistanceForWhere(String command, Statement statement, ParsedSql parsed, Map<String, Set<String>> columns) {
         String select;
 
         /*
@@ -239,9 +310,7 @@ public class SqlHandler {
            TODO: we need a general solution
          */
         if(isSelect(command)) {
-            select = SelectTransformer.addFieldsToSelect(command);
-            select = SelectTransformer.removeConstraints(select);
-            select = SelectTransformer.removeOperations(select);
+            select = parsed.getDistanceSelect(command);
         } else {
             if(columns.size() > 1){
                 SimpleLogger.uniqueWarn("Cannot analyze: " + command);
@@ -250,15 +319,26 @@ public class SqlHandler {
             select = createSelectForSingleTable(mapping.getKey(), mapping.getValue());
         }
 
-        QueryResult data;
+        /*
+            rows are read one at a time, and not kept in memory, as tables could be huge.
+            we stop as soon as a row satisfies the WHERE, or when reaching the max
+            number of rows. In the latter case, the rows read so far are used as a sample
+            of the whole table
+         */
+        try (StreamedQueryResult data = new StreamedQueryResult(connection, select, maxRowsForHeuristics)) {
+
+            double dist = HeuristicsCalculator.computeDistance(statement, data, null);
+
+            if (data.isTruncated()) {
+                SimpleLogger.uniqueWarn("SQL heuristics computed only on the first " + data.getReadRows()
+                        + " rows of: " + select);
+            }
+
+            return dist;
 
-        try {
-            data = SqlScriptRunner.execCommand(connection, select);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
-
-        return HeuristicsCalculator.computeDistance(command, data);
     }
 
     private String createSelectForSingleTable(String tableName, Set<String> columns){
@@ -383,6 +463,13 @@ public class SqlHandler {
         }
     }
 
+    /**
+     * @return the cache of parsed SQL commands, eg to check its hit rate
+     */
+    public SqlStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public boolean isCalculateHeuristics() {
         return calculateHeuristics;
     }
@@ -398,4 +485,27 @@ public class SqlHandler {
     public void setExtractSqlExecution(boolean extractSqlExecution) {
         this.extractSqlExecution = extractSqlExecution;
     }
+
+    public boolean isTrackWrittenTables() {
+        return trackWrittenTables;
+    }
+
+    public void setTrackWrittenTables(boolean trackWrittenTables) {
+        this.trackWrittenTables = trackWrittenTables;
+    }
+
+    public int getMaxRowsForHeuristics() {
+        return maxRowsForHeuristics;
+    }
+
+    /**
+     * @param maxRowsForHeuristics max number of rows to read when computing the heuristics of
+     *                             a SQL command, where 0 means no limit
+     */
+    public void setMaxRowsForHeuristics(int maxRowsForHeuristics) {
+        if (maxRowsForHeuristics < 0) {
+            throw new IllegalArgumentException("Negative number of rows: " + maxRowsForHeuristics);
+        }
+        this.maxRowsForHeuristics = maxRowsForHeuristics;
+    }
 }
@@ -0,0 +1,240 @@
+package org.evomaster.client.java.controller.internal.db;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of parsed SQL commands, keyed by their shape.
+ * The SUT (especially when using an ORM like Hibernate) executes the same few SQL commands
+ * over and over, only with different values.
+ * Parsing them each time is expensive, and here we parse each shape only once (as long
+ * as it is not evicted).
+ *
+ * When full, the least recently used shape is evicted.
+ * This class is thread-safe.
+ */
+public class SqlStatementCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    /**
+     * Used to mark where a literal was in the normalized commands
+     */
+    private static final char LITERAL = '?';
+
+    private final Map<String, ParsedSql> cache;
+
+    private final int maxSize;
+
+    private final AtomicLong hits = new AtomicLong(0);
+
+    private final AtomicLong misses = new AtomicLong(0);
+
+    public SqlStatementCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize max number of shapes to keep. If 0, nothing is cached.
+     */
+    public SqlStatementCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, ParsedSql>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedSql> eldest) {
+                return size() > SqlStatementCache.this.maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param sql an SQL command executed by the SUT
+     * @return the info on the parsed command, shared with all the commands of the same shape
+     */
+    public ParsedSql get(String sql) {
+
+        String key = normalize(sql);
+
+        ParsedSql parsed = cache.get(key);
+        if (parsed != null) {
+            hits.incrementAndGet();
+            return parsed;
+        }
+
+        misses.incrementAndGet();
+
+        /*
+            parsing is done outside of the lock. if 2 threads miss on the same shape
+            at the same time, the command would be parsed twice, but that is not a problem
+         */
+        parsed = new ParsedSql(sql);
+        if (maxSize > 0) {
+            ParsedSql previous = cache.putIfAbsent(key, parsed);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return parsed;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return ratio of lookups that did not need to parse a command, or 0 if no lookup was done
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / (double) total;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Replace all the string and numeric literals in the command with a '?', and
+     * collapse all sequences of whitespaces into a single space.
+     * Quoted identifiers (eg "Foo" and `Foo`) are left as they are.
+     *
+     * For example, {@code SELECT * FROM Foo WHERE x = 42 AND  y='bar'} would become
+     * {@code SELECT * FROM Foo WHERE x = ? AND y=?}
+     *
+     * @param sql an SQL command
+     * @return the shape of the command
+     */
+    public static String normalize(String sql) {
+        StringBuilder buffer = new StringBuilder(sql.length());
+        scan(sql, buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * @param sql an SQL command
+     * @return whether the command has any string or numeric literal
+     */
+    public static boolean containsLiterals(String sql) {
+        return scan(sql, null) > 0;
+    }
+
+    /**
+     * @param buffer where to write the normalized command, if not null
+     * @return number of literals in the command
+     */
+    private static int scan(String sql, StringBuilder buffer) {
+
+        int literals = 0;
+        int n = sql.length();
+        int i = 0;
+
+        while (i < n) {
+            char c = sql.charAt(i);
+
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                literals++;
+                append(buffer, LITERAL);
+            } else if (c == '"' || c == '`') {
+                int end = skipQuoted(sql, i, c);
+                if (buffer != null) {
+                    buffer.append(sql, i, end);
+                }
+                i = end;
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (buffer != null && buffer.length() > 0 && i < n) {
+                    buffer.append(' ');
+                }
+            } else if (Character.isDigit(c)) {
+                //names are consumed whole below, so this is not in the middle of a name
+                i = skipNumber(sql, i);
+                literals++;
+                append(buffer, LITERAL);
+            } else if (isNameChar(c)) {
+                //a whole name, as it could contain digits, eg foo0_
+                int end = i;
+                while (end < n && isNameChar(sql.charAt(end))) {
+                    end++;
+                }
+                if (buffer != null) {
+                    buffer.append(sql, i, end);
+                }
+                i = end;
+            } else {
+                append(buffer, c);
+                i++;
+            }
+        }
+
+        return literals;
+    }
+
+    private static void append(StringBuilder buffer, char c) {
+        if (buffer != null) {
+            buffer.append(c);
+        }
+    }
+
+    /**
+     * @return the position after the closing quote, where a doubled quote is an escaped one
+     */
+    private static int skipQuoted(String sql, int start, char quote) {
+        int n = sql.length();
+        int i = start + 1;
+        while (i < n) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < n && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return n;
+    }
+
+    private static int skipNumber(String sql, int start) {
+        int n = sql.length();
+        int i = start;
+        while (i < n && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+            i++;
+        }
+        if (i < n && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+            int k = i + 1;
+            if (k < n && (sql.charAt(k) == '+' || sql.charAt(k) == '-')) {
+                k++;
+            }
+            if (k < n && Character.isDigit(sql.charAt(k))) {
+                i = k;
+                while (i < n && Character.isDigit(sql.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        return i;
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,76 @@
+package org.evomaster.client.java.controller.db;
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DatabaseType;
+import org.evomaster.client.java.controller.internal.db.h2.DatabaseH2TestInit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DbSnapshotTest extends DatabaseH2TestInit {
+
+    private void createTables() throws Exception {
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Bar(id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(32))");
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(id INT PRIMARY KEY, x INT, barId BIGINT, " +
+                "CONSTRAINT fk FOREIGN KEY (barId) REFERENCES Bar(id))");
+        SqlScriptRunner.execCommand(connection, "INSERT INTO Bar (name) VALUES ('a'), ('b'), (null)");
+        SqlScriptRunner.execCommand(connection, "INSERT INTO Foo (id, x, barId) VALUES (1, 10, 1), (2, 20, 3)");
+    }
+
+    @Test
+    public void testRestore() throws Exception {
+
+        createTables();
+
+        DbSnapshot snapshot = DbSnapshot.take(connection, DatabaseType.H2, Arrays.asList("Bar", "Foo"));
+        assertEquals(Arrays.asList("Bar", "Foo"), snapshot.getTables());
+        assertEquals(5, snapshot.size());
+
+        QueryResult bar = SqlScriptRunner.execCommand(connection, "SELECT * FROM Bar ORDER BY id");
+        QueryResult foo = SqlScriptRunner.execCommand(connection, "SELECT * FROM Foo ORDER BY id");
+
+        DbCleaner.clearDatabase_H2(connection);
+        assertTrue(SqlScriptRunner.execCommand(connection, "SELECT * FROM Bar").isEmpty());
+
+        //names are case-insensitive
+        snapshot.restore(connection, Arrays.asList("foo", "BAR"));
+
+        QueryResult restoredBar = SqlScriptRunner.execCommand(connection, "SELECT * FROM Bar ORDER BY id");
+        QueryResult restoredFoo = SqlScriptRunner.execCommand(connection, "SELECT * FROM Foo ORDER BY id");
+        assertEquals(bar.size(), restoredBar.size());
+        assertEquals(foo.size(), restoredFoo.size());
+        for (int i = 0; i < bar.size(); i++) {
+            assertEquals(bar.seeRows().get(i).getAsLine(), restoredBar.seeRows().get(i).getAsLine());
+        }
+        for (int i = 0; i < foo.size(); i++) {
+            assertEquals(foo.seeRows().get(i).getAsLine(), restoredFoo.seeRows().get(i).getAsLine());
+        }
+
+        //auto-increment must not clash with the restored rows
+        SqlScriptRunner.execCommand(connection, "INSERT INTO Bar (name) VALUES ('c')");
+        QueryResult c = SqlScriptRunner.execCommand(connection, "SELECT id FROM Bar WHERE name = 'c'");
+        assertEquals(4L, c.seeRows().get(0).getValueByName("id"));
+    }
+
+    @Test
+    public void testRestoreOnlyGivenTables() throws Exception {
+
+        createTables();
+
+        DbSnapshot snapshot = DbSnapshot.take(connection, DatabaseType.H2, Arrays.asList("Bar", "Foo"));
+
+        DbCleaner.clearDatabase_H2(connection, "PUBLIC", null, Collections.singletonList("Foo"));
+        snapshot.restore(connection, Arrays.asList("Foo", "NotInSnapshot"));
+
+        assertEquals(3, SqlScriptRunner.execCommand(connection, "SELECT * FROM Bar").size());
+        assertEquals(2, SqlScriptRunner.execCommand(connection, "SELECT * FROM Foo").size());
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertThrows(DbUnsupportedException.class,
+                () -> DbSnapshot.take(connection, DatabaseType.MS_SQL_SERVER, Collections.singletonList("Foo")));
+    }
+}
@@ -9,9 +9,13 @@ import org.evomaster.client.java.controller.InstrumentedSutStarter;
 import org.evomaster.client.java.controller.api.dto.database.operations.DataRowDto;
 import org.evomaster.client.java.controller.api.dto.database.operations.DatabaseCommandDto;
 import org.evomaster.client.java.controller.api.dto.database.operations.InsertionDto;
+import org.evomaster.client.java.controller.api.dto.database.operations.InsertionResultsDto;
+import org.evomaster.client.java.controller.db.dsl.SequenceDsl;
+import org.evomaster.client.java.controller.db.dsl.StatementDsl;
 import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -412,6 +416,72 @@ public class SqlScriptRunnerTest extends DatabaseH2TestInit implements DatabaseT
     }
 
 
+    @Test
+    public void testBatchOfInsertionsWithGeneratedKeys() throws Exception {
+
+        SqlScriptRunner.execCommand(getConnection(), "CREATE TABLE Foo(" +
+                "  id bigint generated by default as identity " +
+                ", barId bigint not null " +
+                ", primary key (id) " +
+                ");" +
+                " CREATE TABLE Bar(" +
+                " id bigint generated by default as identity " +
+                ", x integer " +
+                ", primary key (id));" +
+                " ALTER TABLE Foo add constraint barIdKey foreign key (barId) references Bar;\n"
+        );
+
+        int n = SqlScriptRunner.MAX_BATCH_SIZE + 10;
+
+        SequenceDsl dsl = sql();
+        StatementDsl last = null;
+        for (int i = 0; i < n; i++) {
+            last = dsl.insertInto("Bar", (long) i).d("id", "default").d("x", "" + i);
+            dsl = last.and();
+        }
+        for (int i = 0; i < n; i++) {
+            last = dsl.insertInto("Foo", (long) (n + i)).d("id", "default").r("barId", i);
+            dsl = last.and();
+        }
+
+        InsertionResultsDto results = SqlScriptRunner.execInsert(getConnection(), last.dtos());
+
+        assertEquals(2 * n, results.executionResults.size());
+        assertTrue(results.executionResults.stream().allMatch(b -> b));
+        assertEquals(2 * n, results.idMapping.size());
+
+        for (int i = 0; i < n; i++) {
+            Long barId = results.idMapping.get((long) i);
+            QueryResult bar = SqlScriptRunner.execCommand(getConnection(), "SELECT x FROM Bar WHERE id = " + barId);
+            assertEquals(i, bar.seeRows().get(0).getValueByName("x"));
+
+            Long fooId = results.idMapping.get((long) (n + i));
+            QueryResult foo = SqlScriptRunner.execCommand(getConnection(), "SELECT barId FROM Foo WHERE id = " + fooId);
+            assertEquals(barId, foo.seeRows().get(0).getValueByName("barId"));
+        }
+        assertTrue(getConnection().getAutoCommit());
+    }
+
+    @Test
+    public void testFailureInBatchOfInsertions() throws Exception {
+
+        SqlScriptRunner.execCommand(getConnection(), "CREATE TABLE Foo(x INT PRIMARY KEY)");
+
+        List<InsertionDto> insertions = sql()
+                .insertInto("Foo").d("x", "1").and()
+                .insertInto("Foo").d("x", "2").and()
+                .insertInto("Foo").d("x", "1").and()
+                .insertInto("Foo").d("x", "3").dtos();
+
+        SQLException e = assertThrows(SQLException.class, () -> SqlScriptRunner.execInsert(getConnection(), insertions));
+        assertTrue(e.getMessage().contains("index 2"), e.getMessage());
+
+        //same as executing the insertions one at a time
+        QueryResult res = SqlScriptRunner.execCommand(getConnection(), "SELECT * FROM Foo;");
+        assertEquals(2, res.size());
+        assertTrue(getConnection().getAutoCommit());
+    }
+
     @Test
     public void testDoubleAlias() throws Exception{
 
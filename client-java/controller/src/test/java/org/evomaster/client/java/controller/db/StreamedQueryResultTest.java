@@ -0,0 +1,116 @@
+package org.evomaster.client.java.controller.db;
+
+import org.evomaster.client.java.controller.internal.db.SchemaExtractor;
+import org.evomaster.client.java.controller.internal.db.SqlHandler;
+import org.evomaster.client.java.controller.internal.db.h2.DatabaseH2TestInit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamedQueryResultTest extends DatabaseH2TestInit {
+
+    private void createFoo(int rows) throws Exception {
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(x INT)");
+        StringBuilder insert = new StringBuilder("INSERT INTO Foo (x) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                insert.append(", ");
+            }
+            insert.append("(").append(i).append(")");
+        }
+        SqlScriptRunner.execCommand(connection, insert.toString());
+    }
+
+    @Test
+    public void testSameAsQueryResult() throws Exception {
+
+        createFoo(10);
+
+        QueryResult all = SqlScriptRunner.execCommand(connection, "SELECT x FROM Foo ORDER BY x");
+
+        List<DataRow> rows = new ArrayList<>();
+        try (StreamedQueryResult streamed = new StreamedQueryResult(connection, "SELECT x FROM Foo ORDER BY x", 0)) {
+            assertEquals(all.seeRows().get(0).getVariableDescriptors(), streamed.getVariableDescriptors());
+            streamed.forEach(rows::add);
+            assertEquals(10, streamed.getReadRows());
+            assertFalse(streamed.isTruncated());
+        }
+
+        assertEquals(all.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(all.seeRows().get(i).getAsLine(), rows.get(i).getAsLine());
+        }
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    public void testMaxRows() throws Exception {
+
+        createFoo(10);
+
+        try (StreamedQueryResult streamed = new StreamedQueryResult(connection, "SELECT x FROM Foo", 4)) {
+            int n = 0;
+            for (DataRow ignored : streamed) {
+                n++;
+            }
+            assertEquals(4, n);
+            assertEquals(4, streamed.getReadRows());
+            assertTrue(streamed.isTruncated());
+        }
+
+        try (StreamedQueryResult streamed = new StreamedQueryResult(connection, "SELECT x FROM Foo", 10)) {
+            streamed.forEach(r -> {});
+            assertEquals(10, streamed.getReadRows());
+            assertFalse(streamed.isTruncated());
+        }
+    }
+
+    @Test
+    public void testStopEarly() throws Exception {
+
+        createFoo(1000);
+
+        try (StreamedQueryResult streamed = new StreamedQueryResult(connection, "SELECT x FROM Foo", 0)) {
+            Iterator<DataRow> rows = streamed.iterator();
+            rows.next();
+            rows.next();
+            assertEquals(2, streamed.getReadRows());
+            assertFalse(streamed.isTruncated());
+            assertThrows(IllegalStateException.class, streamed::iterator);
+        }
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    public void testWrongSelect() throws Exception {
+
+        assertThrows(Exception.class, () -> new StreamedQueryResult(connection, "SELECT x FROM Bar", 0));
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    public void testHeuristicsWithMaxRows() throws Exception {
+
+        createFoo(100);
+
+        SqlHandler handler = new SqlHandler();
+        handler.setConnection(connection);
+        handler.setSchema(SchemaExtractor.extract(connection));
+
+        handler.handle("SELECT x FROM Foo WHERE x = 99");
+        double all = handler.getDistances().get(0).distance;
+        assertEquals(0, all);
+
+        handler.reset();
+        handler.setMaxRowsForHeuristics(10);
+        handler.handle("SELECT x FROM Foo WHERE x = 99");
+        double sampled = handler.getDistances().get(0).distance;
+        //rows in the sample do not satisfy the WHERE, but are still used for the heuristics
+        assertTrue(sampled > 0);
+        assertTrue(sampled < Double.MAX_VALUE);
+    }
+}
@@ -0,0 +1,81 @@
+package org.evomaster.client.java.controller.internal.db;
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto;
+import org.evomaster.client.java.controller.api.dto.database.schema.ForeignKeyDto;
+import org.evomaster.client.java.controller.api.dto.database.schema.TableDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForeignKeyGraphTest {
+
+    private static TableDto table(String name, String... targets) {
+        TableDto t = new TableDto();
+        t.name = name;
+        for (String target : targets) {
+            ForeignKeyDto fk = new ForeignKeyDto();
+            fk.targetTable = target;
+            t.foreignKeys.add(fk);
+        }
+        return t;
+    }
+
+    private static DbSchemaDto schema(TableDto... tables) {
+        DbSchemaDto schema = new DbSchemaDto();
+        schema.tables.addAll(Arrays.asList(tables));
+        return schema;
+    }
+
+    private static Set<String> clean(ForeignKeyGraph graph, String... tables) {
+        return new HashSet<>(graph.getTablesToClean(Arrays.asList(tables)));
+    }
+
+    @Test
+    public void testNoFk() {
+        ForeignKeyGraph graph = new ForeignKeyGraph(schema(table("Foo"), table("Bar")));
+
+        assertEquals(Collections.singleton("Foo"), clean(graph, "Foo"));
+        assertEquals(Collections.singleton("Bar"), clean(graph, "BAR"));
+        assertEquals(new HashSet<>(Arrays.asList("Foo", "Bar")), clean(graph, "foo", "bar", "Foo"));
+        assertTrue(graph.getTablesToClean(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testTransitive() {
+        // C -> B -> A, and D -> A
+        ForeignKeyGraph graph = new ForeignKeyGraph(schema(
+                table("A"),
+                table("B", "a"),
+                table("C", "B"),
+                table("D", "A"),
+                table("E")));
+
+        assertEquals(new HashSet<>(Arrays.asList("A", "B", "C", "D")), clean(graph, "A"));
+        assertEquals(new HashSet<>(Arrays.asList("B", "C")), clean(graph, "B"));
+        assertEquals(Collections.singleton("C"), clean(graph, "C"));
+        assertEquals(new HashSet<>(Arrays.asList("B", "C", "E")), clean(graph, "E", "B"));
+    }
+
+    @Test
+    public void testCycle() {
+        ForeignKeyGraph graph = new ForeignKeyGraph(schema(
+                table("A", "B"),
+                table("B", "A"),
+                table("C", "C")));
+
+        assertEquals(new HashSet<>(Arrays.asList("A", "B")), clean(graph, "A"));
+        assertEquals(new HashSet<>(Arrays.asList("A", "B")), clean(graph, "B"));
+        assertEquals(Collections.singleton("C"), clean(graph, "C"));
+    }
+
+    @Test
+    public void testUnknownTable() {
+        ForeignKeyGraph graph = new ForeignKeyGraph(schema(table("Foo")));
+
+        assertFalse(graph.contains("Bar"));
+        assertTrue(graph.contains("FOO"));
+        assertEquals(Collections.singleton("Foo"), clean(graph, "Bar", "Foo"));
+    }
+}
@@ -3,6 +3,7 @@ package org.evomaster.client.java.controller.internal.db;
 import io.restassured.http.ContentType;
 import org.evomaster.client.java.controller.DatabaseTestTemplate;
 import org.evomaster.client.java.controller.InstrumentedSutStarter;
+import org.evomaster.client.java.controller.api.dto.SutRunDto;
 import org.evomaster.client.java.controller.db.QueryResult;
 import org.evomaster.client.java.controller.db.SqlScriptRunner;
 import org.junit.jupiter.api.Test;
@@ -72,6 +73,54 @@ public interface SmartDbCleanTest extends DatabaseTestTemplate {
     }
 
 
+    @Test
+    default void testAccessedCleanWithoutSqlHeuristics() throws Exception {
+        SqlScriptRunner.execCommand(getConnection(), "CREATE TABLE Foo(x INT, y INT)", true);
+        SqlScriptRunner.execCommand(getConnection(), "INSERT INTO Foo (x, y) VALUES (0, 0)", true);
+
+        InstrumentedSutStarter starter = getInstrumentedSutStarter();
+
+        try {
+            String url = start(starter);
+            url += BASE_PATH;
+
+            given().accept(ContentType.JSON)
+                    .get(url + INFO_SUT_PATH)
+                    .then()
+                    .statusCode(200);
+
+            SutRunDto withoutSql = new SutRunDto(true, true, false, false, "BASE,SQL");
+
+            given().contentType(ContentType.JSON)
+                    .body(withoutSql)
+                    .put(url + RUN_SUT_PATH)
+                    .then()
+                    .statusCode(204);
+            startNewActionInSameTest(url, 0);
+
+            // modified by the SUT, even if no SQL heuristics are computed
+            SqlScriptRunner.execCommand(getConnection(), "UPDATE Foo SET x = 1;", true);
+
+            given().accept(ContentType.JSON)
+                    .get(url + TEST_RESULTS)
+                    .then()
+                    .statusCode(200);
+
+            given().contentType(ContentType.JSON)
+                    .body(withoutSql)
+                    .put(url + RUN_SUT_PATH)
+                    .then()
+                    .statusCode(204);
+
+            QueryResult res = SqlScriptRunner.execCommand(getConnection(), "SELECT * FROM Foo;", true);
+            assertEquals(0, res.seeRows().size());
+
+        } finally {
+            starter.stop();
+        }
+    }
+
+
     @Test
     default void testFkClean() throws Exception {
         SqlScriptRunner.execCommand(getConnection(), "CREATE TABLE Bar(id INT Primary Key, valueColumn INT)", true);
@@ -4,9 +4,9 @@ import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SqlHandlerTest {
@@ -37,4 +37,31 @@ public class SqlHandlerTest {
         Map<String, Set<String>> columns = new SqlHandler().extractColumnsInvolvedInWhere(stmt);
         assertTrue(columns.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWrittenTables() {
+
+        SqlHandler handler = new SqlHandler();
+        handler.setCalculateHeuristics(false);
+        handler.setExtractSqlExecution(false);
+
+        handler.handle("INSERT INTO Foo (x) VALUES (1)");
+        assertTrue(handler.getWrittenTables().isEmpty());
+
+        handler.setTrackWrittenTables(true);
+        handler.handle("SELECT * FROM Bar");
+        handler.handle("INSERT INTO Foo (x) VALUES (1)");
+        handler.handle("UPDATE Hello SET x = 2 WHERE y = 3");
+        handler.handle("DELETE FROM World WHERE x = 4");
+        assertEquals(new HashSet<>(Arrays.asList("Foo", "Hello", "World")), handler.getWrittenTables());
+
+        handler.reset();
+        assertTrue(handler.getWrittenTables().isEmpty());
+
+        //also tracked when computing heuristics, without a connection
+        handler.setCalculateHeuristics(true);
+        handler.setExtractSqlExecution(true);
+        handler.handle("DELETE FROM World WHERE x = 4");
+        assertEquals(Collections.singleton("World"), handler.getWrittenTables());
+    }
+}
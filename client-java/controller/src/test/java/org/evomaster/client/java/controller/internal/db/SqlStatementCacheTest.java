@@ -0,0 +1,152 @@
+package org.evomaster.client.java.controller.internal.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementCacheTest {
+
+    @Test
+    public void testNormalize(){
+
+        assertEquals("SELECT * FROM Foo WHERE x = ? AND y=?",
+                SqlStatementCache.normalize(" SELECT *  FROM Foo\n WHERE x = 42 AND y='bar' "));
+
+        //escaped quotes, decimals and exponents
+        assertEquals("select a from Foo where b=? or c>? or d<?",
+                SqlStatementCache.normalize("select a from Foo where b='it''s' or c>3.14 or d<1e-5"));
+
+        //digits in names are not literals
+        assertEquals("select foo0_.id as id1_0_ from foo foo0_ where foo0_.id=?",
+                SqlStatementCache.normalize("select foo0_.id as id1_0_ from foo foo0_ where foo0_.id=7"));
+
+        //quoted identifiers are kept
+        assertEquals("select \"x 1\" from `t 2` where \"x 1\"=?",
+                SqlStatementCache.normalize("select \"x 1\" from `t 2` where \"x 1\"='5'"));
+    }
+
+    @Test
+    public void testContainsLiterals(){
+
+        assertTrue(SqlStatementCache.containsLiterals("select * from Foo where x=1"));
+        assertTrue(SqlStatementCache.containsLiterals("select 'a' from Foo"));
+        assertFalse(SqlStatementCache.containsLiterals("select x1, \"2\" from Foo f1"));
+    }
+
+    @Test
+    public void testSameShape(){
+
+        SqlStatementCache cache = new SqlStatementCache();
+
+        ParsedSql a = cache.get("select x from Foo where x = 1");
+        ParsedSql b = cache.get("select x from Foo where x = 2");
+        ParsedSql c = cache.get("select y from Foo where y = 2");
+
+        assertSame(a, b);
+        assertNotSame(a, c);
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1d / 3d, cache.getHitRate(), 0.0001);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testStatementOfSameShape(){
+
+        SqlStatementCache cache = new SqlStatementCache();
+
+        String first = "select x from Foo where x = 1";
+        String second = "select x from Foo where x = 2";
+
+        ParsedSql parsed = cache.get(first);
+        assertSame(parsed, cache.get(second));
+
+        assertSame(parsed.getStatement(first), parsed.getStatement(first));
+        //literals are needed for the heuristics, so must not be taken from the first command
+        assertTrue(parsed.getStatement(second).toString().contains("2"));
+    }
+
+    @Test
+    public void testEviction(){
+
+        SqlStatementCache cache = new SqlStatementCache(2);
+
+        cache.get("select a from Foo");
+        cache.get("select b from Foo");
+        cache.get("select a from Foo");
+        cache.get("select c from Foo");
+
+        assertEquals(2, cache.size());
+        //b was the least recently used
+        cache.get("select b from Foo");
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testNoCaching(){
+
+        SqlStatementCache cache = new SqlStatementCache(0);
+
+        assertNotSame(cache.get("select a from Foo"), cache.get("select a from Foo"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testCannotParse(){
+
+        SqlStatementCache cache = new SqlStatementCache();
+
+        ParsedSql parsed = cache.get("this is not SQL");
+        assertFalse(parsed.canParse());
+        assertThrows(IllegalArgumentException.class, () -> parsed.getStatement("this is not SQL"));
+    }
+
+    @Test
+    public void testDataFields(){
+
+        SqlStatementCache cache = new SqlStatementCache();
+
+        assertEquals(ColumnTableAnalyzer.getSelectReadDataFields("select x from Foo where x = 1"),
+                cache.get("select x from Foo where x = 1").getSelectReadDataFields());
+        assertEquals(ColumnTableAnalyzer.getInsertedDataFields("insert into Foo (x) values (1)"),
+                cache.get("insert into Foo (x) values (1)").getInsertedDataFields());
+        assertEquals(ColumnTableAnalyzer.getUpdatedDataFields("update Foo set x = 2 where x = 1"),
+                cache.get("update Foo set x = 2 where x = 1").getUpdatedDataFields());
+        assertEquals(ColumnTableAnalyzer.getDeletedTables("delete from Foo where x = 1"),
+                cache.get("delete from Foo where x = 1").getDeletedTables());
+    }
+
+    @Test
+    public void testDistanceSelect(){
+
+        SqlStatementCache cache = new SqlStatementCache();
+
+        String first = "select count(*) as n from Foo f where f.id=1";
+        String second = "select count(*) as n from Foo f where f.id=2";
+
+        String expected = SelectTransformer.removeOperations(SelectTransformer.removeConstraints(
+                SelectTransformer.addFieldsToSelect(first)));
+
+        ParsedSql parsed = cache.get(first);
+        assertEquals(expected, parsed.getDistanceSelect(first));
+        //the literals were only in the WHERE, so same select
+        assertSame(parsed.getDistanceSelect(first), parsed.getDistanceSelect(second));
+    }
+
+    @Test
+    public void testDistanceSelectDependingOnLiterals(){
+
+        SqlStatementCache cache = new SqlStatementCache();
+
+        String first = "select x, 'a' from Foo where x=1";
+        String second = "select x, 'b' from Foo where x=1";
+
+        ParsedSql parsed = cache.get(first);
+        assertSame(parsed, cache.get(second));
+
+        assertTrue(parsed.getDistanceSelect(first).contains("'a'"));
+        assertTrue(parsed.getDistanceSelect(second).contains("'b'"));
+    }
+}
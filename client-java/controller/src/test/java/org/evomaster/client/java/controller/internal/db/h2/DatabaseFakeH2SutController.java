@@ -4,6 +4,7 @@ import org.evomaster.client.java.controller.EmbeddedSutController;
 import org.evomaster.client.java.controller.api.dto.AuthenticationDto;
 import org.evomaster.client.java.controller.api.dto.SutInfoDto;
 import org.evomaster.client.java.controller.api.dto.database.schema.DatabaseType;
+import org.evomaster.client.java.controller.internal.db.DbResetStrategy;
 import org.evomaster.client.java.controller.internal.db.DbSpecification;
 import org.evomaster.client.java.controller.problem.ProblemInfo;
 import org.evomaster.client.java.controller.problem.RestProblem;
@@ -16,22 +17,29 @@ public class DatabaseFakeH2SutController extends EmbeddedSutController {
 
     private final Connection sqlConnection;
     private final String initScript;
+    private final DbResetStrategy resetStrategy;
 
     public DatabaseFakeH2SutController(Connection connection) {
         this(connection, null);
     }
 
     public DatabaseFakeH2SutController(Connection connection, String initScript) {
+        this(connection, initScript, DbResetStrategy.TRUNCATE);
+    }
+
+    public DatabaseFakeH2SutController(Connection connection, String initScript, DbResetStrategy resetStrategy) {
         this.sqlConnection = connection;
         this.initScript = initScript;
+        this.resetStrategy = resetStrategy;
     }
 
     @Override
     public List<DbSpecification> getDbSpecifications() {
+        DbSpecification spec = new DbSpecification(DatabaseType.H2, sqlConnection).withResetStrategy(resetStrategy);
         if(initScript != null)
-            return Arrays.asList(new DbSpecification(DatabaseType.H2, sqlConnection).withInitSqlScript(initScript));
+            return Arrays.asList(spec.withInitSqlScript(initScript));
         else
-            return Arrays.asList(new DbSpecification(DatabaseType.H2, sqlConnection));
+            return Arrays.asList(spec);
     }
 
     @Override
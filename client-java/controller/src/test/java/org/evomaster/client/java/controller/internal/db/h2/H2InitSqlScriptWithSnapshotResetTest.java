@@ -0,0 +1,20 @@
+package org.evomaster.client.java.controller.internal.db.h2;
+
+import org.evomaster.client.java.controller.internal.SutController;
+import org.evomaster.client.java.controller.internal.db.DbResetStrategy;
+import org.evomaster.client.java.controller.internal.db.InitSqlScriptWithSmartDbCleanTest;
+
+import java.sql.Connection;
+
+public class H2InitSqlScriptWithSnapshotResetTest extends DatabaseH2TestInit implements InitSqlScriptWithSmartDbCleanTest {
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public SutController getSutController() {
+        return new DatabaseFakeH2SutController(connection, getInitSqlScript(), DbResetStrategy.SNAPSHOT);
+    }
+}
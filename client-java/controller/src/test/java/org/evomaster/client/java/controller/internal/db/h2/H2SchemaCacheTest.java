@@ -0,0 +1,114 @@
+package org.evomaster.client.java.controller.internal.db.h2;
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto;
+import org.evomaster.client.java.controller.db.SqlScriptRunner;
+import org.evomaster.client.java.controller.internal.db.SchemaCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class H2SchemaCacheTest extends DatabaseH2TestInit {
+
+    private static long countCachedSchemas(Path folder) throws Exception {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(f -> f.toString().endsWith(".json")).count();
+        }
+    }
+
+    @Test
+    public void testCacheHit(@TempDir Path folder) throws Exception {
+
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(x INT PRIMARY KEY, y VARCHAR(10) CHECK (y <> 'bar'))");
+
+        DbSchemaDto first = SchemaCache.extract(connection, folder, null);
+        assertEquals(1, countCachedSchemas(folder));
+        assertEquals(1, first.tables.size());
+
+        DbSchemaDto second = SchemaCache.extract(connection, folder, null);
+        assertEquals(1, countCachedSchemas(folder));
+
+        assertNotSame(first, second);
+        assertEquals(first.name, second.name);
+        assertEquals(first.databaseType, second.databaseType);
+        assertEquals(first.tables.get(0).name, second.tables.get(0).name);
+        assertEquals(
+                first.tables.get(0).columns.stream().map(c -> c.name + ":" + c.type + ":" + c.primaryKey).collect(Collectors.toList()),
+                second.tables.get(0).columns.stream().map(c -> c.name + ":" + c.type + ":" + c.primaryKey).collect(Collectors.toList()));
+        assertEquals(
+                first.tables.get(0).tableCheckExpressions.stream().map(e -> e.sqlCheckExpression).collect(Collectors.toList()),
+                second.tables.get(0).tableCheckExpressions.stream().map(e -> e.sqlCheckExpression).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFingerprintChangesWithSchema() throws Exception {
+
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(x INT)");
+        String before = SchemaCache.computeFingerprint(connection, null);
+        assertEquals(before, SchemaCache.computeFingerprint(connection, null));
+
+        //data does not change the schema
+        SqlScriptRunner.execCommand(connection, "INSERT INTO Foo (x) VALUES (1)");
+        assertEquals(before, SchemaCache.computeFingerprint(connection, null));
+
+        SqlScriptRunner.execCommand(connection, "ALTER TABLE Foo ADD COLUMN y INT");
+        String withColumn = SchemaCache.computeFingerprint(connection, null);
+        assertNotEquals(before, withColumn);
+
+        SqlScriptRunner.execCommand(connection, "ALTER TABLE Foo ADD CONSTRAINT c CHECK (y > 0)");
+        assertNotEquals(withColumn, SchemaCache.computeFingerprint(connection, null));
+    }
+
+    /**
+     * @return a view of the connection whose metadata reports the given URL,
+     * as happens when the same database is started on a different host/port
+     */
+    private static Connection withUrl(Connection connection, String url) {
+        DatabaseMetaData md = (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, m, args) -> m.getName().equals("getURL") ? url : m.invoke(connection.getMetaData(), args));
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, m, args) -> m.getName().equals("getMetaData") ? md : m.invoke(connection, args));
+    }
+
+    @Test
+    public void testFingerprintDoesNotDependOnUrl() throws Exception {
+
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(x INT)");
+
+        assertEquals(
+                SchemaCache.computeFingerprint(withUrl(connection, "jdbc:h2:tcp://localhost:40123/mem:db_test"), null),
+                SchemaCache.computeFingerprint(withUrl(connection, "jdbc:h2:tcp://localhost:40456/mem:db_test"), null));
+    }
+
+    @Test
+    public void testFingerprintQuery(@TempDir Path folder) throws Exception {
+
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Migrations(version INT)");
+        SqlScriptRunner.execCommand(connection, "INSERT INTO Migrations (version) VALUES (1)");
+        String query = "SELECT version FROM Migrations";
+
+        DbSchemaDto first = SchemaCache.extract(connection, folder, query);
+        assertEquals(1, first.tables.size());
+
+        //not in the fingerprint, so the cached schema is used
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(x INT)");
+        assertEquals(1, SchemaCache.extract(connection, folder, query).tables.size());
+
+        SqlScriptRunner.execCommand(connection, "INSERT INTO Migrations (version) VALUES (2)");
+        assertEquals(2, SchemaCache.extract(connection, folder, query).tables.size());
+        assertEquals(2, countCachedSchemas(folder));
+    }
+}
@@ -0,0 +1,110 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DatabaseType;
+import org.evomaster.client.java.controller.db.DbCleaner;
+import org.evomaster.client.java.controller.db.DbSnapshot;
+import org.evomaster.client.java.controller.db.SqlScriptRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reset of the database between two tests, where all the tables have seeded data
+ * from an init SQL script.
+ * The baseline cleans the tables and re-executes the INSERT commands of the script,
+ * as done with the TRUNCATE reset strategy.
+ *
+ * By default, this runs on an in-memory H2 database. To run it on Postgres, use
+ * "-p database=postgres" and give the JDBC URL of an empty database with the
+ * system property {@link SqlHeuristicsBenchmark#POSTGRES_URL}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DbResetBenchmark {
+
+    @Param({"h2"})
+    public String database;
+
+    @Param({"10", "300"})
+    public int tables;
+
+    /**
+     * number of seeded rows in each table
+     */
+    @Param({"10", "100"})
+    public int rows;
+
+    private Connection connection;
+
+    private DatabaseType type;
+
+    private List<String> tableNames;
+
+    /**
+     * INSERT commands of the init script
+     */
+    private List<String> initSql;
+
+    private DbSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        if (database.equals("postgres")) {
+            String url = System.getProperty(SqlHeuristicsBenchmark.POSTGRES_URL);
+            if (url == null) {
+                throw new IllegalStateException("No JDBC URL given with -D" + SqlHeuristicsBenchmark.POSTGRES_URL);
+            }
+            connection = DriverManager.getConnection(url);
+            type = DatabaseType.POSTGRES;
+        } else {
+            connection = DriverManager.getConnection("jdbc:h2:mem:db_reset_" + tables + "_" + rows, "sa", "");
+            type = DatabaseType.H2;
+        }
+
+        tableNames = new ArrayList<>();
+        initSql = new ArrayList<>();
+        for (int t = 0; t < tables; t++) {
+            String name = "Table" + t;
+            tableNames.add(name);
+            SqlScriptRunner.execCommand(connection, "DROP TABLE IF EXISTS " + name);
+            SqlScriptRunner.execCommand(connection, "CREATE TABLE " + name + "(id INT PRIMARY KEY, name VARCHAR(32), x INT)");
+            for (int i = 0; i < rows; i++) {
+                initSql.add("INSERT INTO " + name + " (id, name, x) VALUES (" + i + ", 'name" + i + "', " + (i * t) + ");");
+            }
+        }
+        SqlScriptRunner.runCommands(connection, initSql);
+
+        snapshot = DbSnapshot.take(connection, type, tableNames);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (database.equals("postgres")) {
+            for (String name : tableNames) {
+                SqlScriptRunner.execCommand(connection, "DROP TABLE " + name);
+            }
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void truncateAndReplayInitSql() {
+        DbCleaner.clearDatabase(connection, null, null, tableNames, type);
+        SqlScriptRunner.runCommands(connection, initSql);
+    }
+
+    @Benchmark
+    public void truncateAndRestoreSnapshot() throws Exception {
+        DbCleaner.clearDatabase(connection, null, null, tableNames, type);
+        snapshot.restore(connection, tableNames);
+    }
+}
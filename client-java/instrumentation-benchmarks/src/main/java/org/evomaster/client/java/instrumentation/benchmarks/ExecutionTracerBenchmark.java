@@ -0,0 +1,132 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.instrumentation.shared.ObjectiveNaming;
+import org.evomaster.client.java.instrumentation.staticstate.ExecutionTracer;
+import org.evomaster.client.java.instrumentation.staticstate.ObjectiveRecorder;
+import org.openjdk.jmh.annotations.*;
+import org.objectweb.asm.Opcodes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes injected by the instrumentation for line and branch coverage, ie what
+ * is executed by the SUT on (almost) every single statement.
+ * Both the probes based on descriptive ids and the ones based on the
+ * numeric indices given at instrumentation time are measured.
+ * <p>
+ * Targets are already reached at setup, so this measures the common case
+ * in which the SUT executes the same code several times in a test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class ExecutionTracerBenchmark {
+
+    @Threads(1)
+    public static class SingleThread extends ExecutionTracerBenchmark {
+    }
+
+    @Threads(8)
+    public static class Contended extends ExecutionTracerBenchmark {
+    }
+
+    private static final String CLASS_NAME = "org/evomaster/benchmark/Foo";
+
+    private static final String METHOD_NAME = "bar";
+
+    private static final String DESCRIPTOR = "(I)I";
+
+    private static final int LINE = 42;
+
+    private static final int BRANCH = 0;
+
+    private int lineIndex;
+
+    private int classIndex;
+
+    private int thenIndex;
+
+    private int elseIndex;
+
+    private String lastLine;
+
+    private String lastMethod;
+
+    private final Object first = new Object();
+
+    private final Object second = new Object();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionTracer.reset();
+        ExecutionTracer.setKillSwitch(false);
+
+        lineIndex = ObjectiveRecorder.registerIndexedTarget(ObjectiveNaming.lineObjectiveName(CLASS_NAME, LINE));
+        classIndex = ObjectiveRecorder.registerIndexedTarget(ObjectiveNaming.classObjectiveName(CLASS_NAME));
+        thenIndex = ObjectiveRecorder.registerIndexedTarget(ObjectiveNaming.branchObjectiveName(CLASS_NAME, LINE, BRANCH, true));
+        elseIndex = ObjectiveRecorder.registerIndexedTarget(ObjectiveNaming.branchObjectiveName(CLASS_NAME, LINE, BRANCH, false));
+
+        lastLine = ExecutionTracer.lastExecutedLineName(CLASS_NAME, METHOD_NAME, LINE);
+        lastMethod = ExecutionTracer.lastExecutedMethodName(CLASS_NAME, METHOD_NAME, DESCRIPTOR);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ExecutionTracer.reset();
+    }
+
+    @Benchmark
+    public void executedLine() {
+        ExecutionTracer.executedLine(CLASS_NAME, METHOD_NAME, DESCRIPTOR, LINE);
+        ExecutionTracer.completedLastExecutedStatement();
+    }
+
+    @Benchmark
+    public void executedLineIndexed() {
+        ExecutionTracer.executedLine(lastLine, lastMethod, lineIndex, classIndex);
+        ExecutionTracer.completedLastExecutedStatement();
+    }
+
+    @Benchmark
+    public void branchJumpSingleValue() {
+        ExecutionTracer.executingBranchJump(5, Opcodes.IFEQ, CLASS_NAME, LINE, BRANCH);
+    }
+
+    @Benchmark
+    public void branchJumpSingleValueIndexed() {
+        ExecutionTracer.executingBranchJump(5, Opcodes.IFEQ, thenIndex, elseIndex);
+    }
+
+    @Benchmark
+    public void branchJumpTwoValues() {
+        ExecutionTracer.executingBranchJump(5, 7, Opcodes.IF_ICMPLT, CLASS_NAME, LINE, BRANCH);
+    }
+
+    @Benchmark
+    public void branchJumpTwoValuesIndexed() {
+        ExecutionTracer.executingBranchJump(5, 7, Opcodes.IF_ICMPLT, thenIndex, elseIndex);
+    }
+
+    @Benchmark
+    public void branchJumpObjects() {
+        ExecutionTracer.executingBranchJump(first, second, Opcodes.IF_ACMPEQ, CLASS_NAME, LINE, BRANCH);
+    }
+
+    @Benchmark
+    public void branchJumpObjectsIndexed() {
+        ExecutionTracer.executingBranchJump(first, second, Opcodes.IF_ACMPEQ, thenIndex, elseIndex);
+    }
+
+    @Benchmark
+    public void branchJumpNull() {
+        ExecutionTracer.executingBranchJump(first, Opcodes.IFNULL, CLASS_NAME, LINE, BRANCH);
+    }
+
+    @Benchmark
+    public void branchJumpNullIndexed() {
+        ExecutionTracer.executingBranchJump(first, Opcodes.IFNULL, thenIndex, elseIndex);
+    }
+}
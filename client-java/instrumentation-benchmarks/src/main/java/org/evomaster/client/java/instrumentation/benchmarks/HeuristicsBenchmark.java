@@ -0,0 +1,97 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.instrumentation.heuristic.HeuristicsForJumps;
+import org.evomaster.client.java.instrumentation.heuristic.Truthness;
+import org.evomaster.client.java.instrumentation.heuristic.TruthnessUtils;
+import org.openjdk.jmh.annotations.*;
+import org.objectweb.asm.Opcodes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Branch distance computations used for every jump instruction
+ * and by most of the method replacements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class HeuristicsBenchmark {
+
+    @Threads(1)
+    public static class SingleThread extends HeuristicsBenchmark {
+    }
+
+    @Threads(8)
+    public static class Contended extends HeuristicsBenchmark {
+    }
+
+    /*
+        non-final fields, to avoid constant folding
+     */
+    private int x = 42;
+
+    private int y = -1_000;
+
+    private long a = 123_456_789L;
+
+    private long b = -5L;
+
+    private double d = 3.14;
+
+    private double e = 2.71;
+
+    private Object obj = new Object();
+
+    @Benchmark
+    public Truthness singleValueJump() {
+        return HeuristicsForJumps.getForSingleValueJump(x, Opcodes.IFLE);
+    }
+
+    @Benchmark
+    public Truthness valueComparison() {
+        return HeuristicsForJumps.getForValueComparison(x, y, Opcodes.IF_ICMPEQ);
+    }
+
+    @Benchmark
+    public Truthness objectComparison() {
+        return HeuristicsForJumps.getForObjectComparison(obj, this, Opcodes.IF_ACMPNE);
+    }
+
+    @Benchmark
+    public Truthness nullComparison() {
+        return HeuristicsForJumps.getForNullComparison(obj, Opcodes.IFNONNULL);
+    }
+
+    @Benchmark
+    public double normalizeValue() {
+        return TruthnessUtils.normalizeValue(d);
+    }
+
+    @Benchmark
+    public Truthness equalityInt() {
+        return TruthnessUtils.getEqualityTruthness(x, y);
+    }
+
+    @Benchmark
+    public Truthness equalityLong() {
+        return TruthnessUtils.getEqualityTruthness(a, b);
+    }
+
+    @Benchmark
+    public Truthness equalityDouble() {
+        return TruthnessUtils.getEqualityTruthness(d, e);
+    }
+
+    @Benchmark
+    public Truthness lessThan() {
+        return TruthnessUtils.getLessThanTruthness(a, b);
+    }
+
+    @Benchmark
+    public Truthness toEmpty() {
+        return TruthnessUtils.getTruthnessToEmpty(x);
+    }
+}
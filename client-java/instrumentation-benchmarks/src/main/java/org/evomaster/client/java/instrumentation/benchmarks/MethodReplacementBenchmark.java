@@ -0,0 +1,132 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.instrumentation.coverage.methodreplacement.classes.CollectionClassReplacement;
+import org.evomaster.client.java.instrumentation.coverage.methodreplacement.classes.StringClassReplacement;
+import org.evomaster.client.java.instrumentation.shared.ObjectiveNaming;
+import org.evomaster.client.java.instrumentation.staticstate.ExecutionTracer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replacements of String and Collection methods, including the update of
+ * the objectives in the ExecutionTracer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class MethodReplacementBenchmark {
+
+    @Threads(1)
+    public static class SingleThread extends MethodReplacementBenchmark {
+    }
+
+    @Threads(8)
+    public static class Contended extends MethodReplacementBenchmark {
+    }
+
+    private final String idTemplate = ObjectiveNaming.methodReplacementObjectiveNameTemplate(
+            "org/evomaster/benchmark/Foo", 42, 0);
+
+    private String caller = "GET /api/v1/users/1234/orders?page=2";
+
+    private String other = "GET /api/v1/users/4321/orders?page=3";
+
+    private String prefix = "GET /api/v2";
+
+    private String infix = "orders?size";
+
+    private String regex = "GET /api/v\\d+/users/\\d+/.*";
+
+    private List<String> list;
+
+    private Set<String> set;
+
+    private List<String> subset;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionTracer.reset();
+
+        list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add("value_" + i);
+        }
+        set = new HashSet<>(list);
+        subset = Arrays.asList("value_3", "value_42", "value_x");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ExecutionTracer.reset();
+    }
+
+    @Benchmark
+    public boolean stringEquals() {
+        return StringClassReplacement.equals(caller, other, idTemplate);
+    }
+
+    @Benchmark
+    public boolean stringEqualsIgnoreCase() {
+        return StringClassReplacement.equalsIgnoreCase(caller, other, idTemplate);
+    }
+
+    @Benchmark
+    public boolean stringStartsWith() {
+        return StringClassReplacement.startsWith(caller, prefix, idTemplate);
+    }
+
+    @Benchmark
+    public boolean stringEndsWith() {
+        return StringClassReplacement.endsWith(caller, prefix, idTemplate);
+    }
+
+    @Benchmark
+    public boolean stringContains() {
+        return StringClassReplacement.contains(caller, infix, idTemplate);
+    }
+
+    @Benchmark
+    public boolean stringIsEmpty() {
+        return StringClassReplacement.isEmpty(caller, idTemplate);
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return StringClassReplacement.matches(caller, regex, idTemplate);
+    }
+
+    @Benchmark
+    public boolean collectionContainsList() {
+        return CollectionClassReplacement.contains(list, "value_x", idTemplate);
+    }
+
+    @Benchmark
+    public boolean collectionContainsSet() {
+        return CollectionClassReplacement.contains(set, "value_x", idTemplate);
+    }
+
+    @Benchmark
+    public boolean collectionContainsAll() {
+        return CollectionClassReplacement.containsAll(list, subset, idTemplate);
+    }
+
+    @Benchmark
+    public boolean collectionIsEmpty() {
+        return CollectionClassReplacement.isEmpty(list, idTemplate);
+    }
+
+    @Benchmark
+    public boolean collectionRemoveMissing() {
+        //element not in the collection, so it is not modified
+        return CollectionClassReplacement.remove(list, "value_x", idTemplate);
+    }
+}
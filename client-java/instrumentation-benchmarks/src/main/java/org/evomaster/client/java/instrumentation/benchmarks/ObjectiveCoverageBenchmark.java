@@ -0,0 +1,102 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.instrumentation.shared.ObjectiveNaming;
+import org.evomaster.client.java.instrumentation.staticstate.ObjectiveCoverageStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the lock-free {@link ObjectiveCoverageStore} with the previous
+ * lock-based implementation ({@link SynchronizedMapCoverage}), when updated
+ * by a single thread and by several threads at the same time, like in a SUT
+ * handling concurrent requests.
+ * <p>
+ * Most updates are for targets already reached with no improvement, as that
+ * is the most common case when executing the SUT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectiveCoverageBenchmark {
+
+    @Param({"1000", "100000"})
+    public int numberOfTargets;
+
+    private String[] ids;
+
+    private SynchronizedMapCoverage baseline;
+
+    private ObjectiveCoverageStore store;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private static final int N = 1 << 16;
+
+        final int[] targets = new int[N];
+
+        final double[] values = new double[N];
+
+        int next = 0;
+
+        @Setup(Level.Trial)
+        public void setup(ObjectiveCoverageBenchmark benchmark) {
+            Random random = new Random(Thread.currentThread().getId());
+            for (int i = 0; i < N; i++) {
+                targets[i] = random.nextInt(benchmark.numberOfTargets);
+                values[i] = random.nextDouble();
+            }
+        }
+
+        int nextPosition() {
+            next = (next + 1) & (N - 1);
+            return next;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        ids = new String[numberOfTargets];
+        baseline = new SynchronizedMapCoverage();
+        store = new ObjectiveCoverageStore();
+
+        for (int i = 0; i < numberOfTargets; i++) {
+            ids[i] = ObjectiveNaming.lineObjectiveName("org/example/Foo" + (i / 100), i % 100);
+            baseline.update(ids[i], 0.5, 0);
+            store.update(i, 0.5, 0);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean baselineSingleThread(ThreadState state) {
+        int k = state.nextPosition();
+        return baseline.update(ids[state.targets[k]], state.values[k], 0);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean baselineContended(ThreadState state) {
+        int k = state.nextPosition();
+        return baseline.update(ids[state.targets[k]], state.values[k], 0);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean storeSingleThread(ThreadState state) {
+        int k = state.nextPosition();
+        return store.update(state.targets[k], state.values[k], 0);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean storeContended(ThreadState state) {
+        int k = state.nextPosition();
+        return store.update(state.targets[k], state.values[k], 0);
+    }
+}
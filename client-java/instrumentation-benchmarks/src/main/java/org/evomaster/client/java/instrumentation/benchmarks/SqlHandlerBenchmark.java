@@ -0,0 +1,139 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.controller.internal.db.ColumnTableAnalyzer;
+import org.evomaster.client.java.controller.internal.db.ParserUtils;
+import org.evomaster.client.java.controller.internal.db.SqlHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handling of the SQL commands intercepted in the SUT, on a trace of commands
+ * with the shapes and frequencies given in sql-trace.txt.
+ * The baseline parses each command as done before the commands were cached by shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlHandlerBenchmark {
+
+    /**
+     * max number of shapes kept in the cache, where 0 means no caching
+     */
+    @Param({"0", "1024"})
+    public int cacheSize;
+
+    private List<String> trace;
+
+    private SqlHandler handler;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        trace = createTrace(10_000, new Random(42));
+        handler = new SqlHandler(cacheSize);
+        index = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void printHitRate() {
+        System.out.println("\nSQL cache hit rate: " + handler.getStatementCache().getHitRate());
+    }
+
+    @Benchmark
+    public void handle() {
+        handler.handle(next());
+    }
+
+    /**
+     * Not affected by {@link #cacheSize}
+     */
+    @Benchmark
+    public void handleWithParsingEachTime(Blackhole bh) {
+        String sql = next();
+
+        if (!ParserUtils.canParseSqlStatement(sql)) {
+            return;
+        }
+        if (ParserUtils.isSelect(sql)) {
+            bh.consume(ColumnTableAnalyzer.getSelectReadDataFields(sql));
+        } else if (ParserUtils.isDelete(sql)) {
+            bh.consume(ColumnTableAnalyzer.getDeletedTables(sql));
+        } else if (ParserUtils.isInsert(sql)) {
+            bh.consume(ColumnTableAnalyzer.getInsertedDataFields(sql));
+        } else if (ParserUtils.isUpdate(sql)) {
+            bh.consume(ColumnTableAnalyzer.getUpdatedDataFields(sql));
+        }
+    }
+
+    private String next() {
+        if (index == trace.size()) {
+            index = 0;
+            //as done at each new test case, otherwise the buffered commands would keep growing
+            handler.reset();
+        }
+        return trace.get(index++);
+    }
+
+    private static List<String> createTrace(int size, Random random) throws IOException {
+
+        List<String> shapes = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                SqlHandlerBenchmark.class.getResourceAsStream("/sql-trace.txt"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] tokens = line.split("\t");
+                int frequency = Integer.parseInt(tokens[0]);
+                for (int i = 0; i < frequency; i++) {
+                    shapes.add(tokens[1]);
+                }
+            }
+        }
+
+        List<String> trace = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String shape = shapes.get(random.nextInt(shapes.size()));
+            trace.add(withLiterals(shape, random));
+        }
+        return trace;
+    }
+
+    private static String withLiterals(String shape, Random random) {
+        StringBuilder sql = new StringBuilder();
+        int i = 0;
+        while (i < shape.length()) {
+            if (shape.startsWith("{n}", i)) {
+                sql.append(random.nextInt(1000));
+                i += 3;
+            } else if (shape.startsWith("{s}", i)) {
+                sql.append('\'');
+                int length = 1 + random.nextInt(10);
+                for (int k = 0; k < length; k++) {
+                    sql.append((char) ('a' + random.nextInt(26)));
+                }
+                sql.append('\'');
+                i += 3;
+            } else {
+                sql.append(shape.charAt(i));
+                i++;
+            }
+        }
+        return sql.toString();
+    }
+}
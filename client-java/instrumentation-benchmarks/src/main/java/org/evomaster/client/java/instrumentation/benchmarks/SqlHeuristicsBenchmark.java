@@ -0,0 +1,119 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.controller.db.QueryResult;
+import org.evomaster.client.java.controller.db.SqlScriptRunner;
+import org.evomaster.client.java.controller.internal.db.HeuristicsCalculator;
+import org.evomaster.client.java.controller.internal.db.SchemaExtractor;
+import org.evomaster.client.java.controller.internal.db.SqlHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heuristics of the WHERE clause of a SQL command, which need to read the rows of the
+ * involved table.
+ * The baseline loads all the rows in memory before computing the heuristics.
+ *
+ * By default, this runs on an in-memory H2 database. To run it on Postgres, use
+ * "-p database=postgres" and give the JDBC URL of an empty database with the
+ * system property {@link #POSTGRES_URL} (eg, "jdbc:postgresql://localhost:5432/bench?user=postgres").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SqlHeuristicsBenchmark {
+
+    public static final String POSTGRES_URL = "evomaster.benchmark.postgres.url";
+
+    @Param({"h2"})
+    public String database;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * max number of rows read for the heuristics, where 0 means no limit
+     */
+    @Param({"0", "10000"})
+    public int maxRows;
+
+    /**
+     * no row satisfies it, so all rows (up to max) need to be read
+     */
+    private final String unsatisfied = "SELECT id, name FROM Foo WHERE id = -1";
+
+    /**
+     * satisfied by a row in the middle of the table
+     */
+    private String satisfied;
+
+    private Connection connection;
+
+    private SqlHandler handler;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        if (database.equals("postgres")) {
+            String url = System.getProperty(POSTGRES_URL);
+            if (url == null) {
+                throw new IllegalStateException("No JDBC URL given with -D" + POSTGRES_URL);
+            }
+            connection = DriverManager.getConnection(url);
+            SqlScriptRunner.execCommand(connection, "DROP TABLE IF EXISTS Foo");
+            SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(id INT PRIMARY KEY, name VARCHAR(32))");
+            SqlScriptRunner.execCommand(connection,
+                    "INSERT INTO Foo (id, name) SELECT x, CONCAT('name', x) FROM generate_series(1, " + rows + ") AS x");
+        } else {
+            connection = DriverManager.getConnection("jdbc:h2:mem:sql_heuristics_" + rows + "_" + maxRows, "sa", "");
+            SqlScriptRunner.execCommand(connection, "CREATE TABLE Foo(id INT PRIMARY KEY, name VARCHAR(32))");
+            SqlScriptRunner.execCommand(connection,
+                    "INSERT INTO Foo (id, name) SELECT X, CONCAT('name', X) FROM SYSTEM_RANGE(1, " + rows + ")");
+        }
+
+        satisfied = "SELECT id, name FROM Foo WHERE id = " + (rows / 2);
+
+        handler = new SqlHandler();
+        handler.setConnection(connection);
+        handler.setSchema(SchemaExtractor.extract(connection));
+        handler.setMaxRowsForHeuristics(maxRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (database.equals("postgres")) {
+            SqlScriptRunner.execCommand(connection, "DROP TABLE Foo");
+        }
+        connection.close();
+    }
+
+    private double distance(String sql) {
+        handler.reset();
+        handler.handle(sql);
+        return handler.getDistances().get(0).distance;
+    }
+
+    @Benchmark
+    public double streamedUnsatisfied() {
+        return distance(unsatisfied);
+    }
+
+    @Benchmark
+    public double streamedSatisfied() {
+        return distance(satisfied);
+    }
+
+    /**
+     * Not affected by {@link #maxRows}
+     */
+    @Benchmark
+    public double loadAllUnsatisfied() throws Exception {
+        QueryResult data = SqlScriptRunner.execCommand(connection, "SELECT id, name FROM Foo");
+        return HeuristicsCalculator.computeDistance(unsatisfied, data);
+    }
+}
@@ -0,0 +1,111 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.controller.api.dto.database.operations.InsertionDto;
+import org.evomaster.client.java.controller.api.dto.database.operations.InsertionResultsDto;
+import org.evomaster.client.java.controller.db.SqlScriptRunner;
+import org.evomaster.client.java.controller.db.dsl.SequenceDsl;
+import org.evomaster.client.java.controller.db.dsl.StatementDsl;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.evomaster.client.java.controller.db.dsl.SqlDsl.sql;
+
+/**
+ * Insertion of rows in the database before executing a test case, where a table with
+ * auto-generated keys is referenced by the rows of another table.
+ * The baseline executes one INSERT per row, as done before the insertions were batched.
+ *
+ * By default, this runs on an in-memory H2 database. To run it on Postgres, use
+ * "-p database=postgres" and give the JDBC URL of an empty database with the
+ * system property {@link SqlHeuristicsBenchmark#POSTGRES_URL}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SqlInsertionBenchmark {
+
+    @Param({"h2"})
+    public String database;
+
+    /**
+     * number of rows inserted in each of the two tables
+     */
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private List<InsertionDto> insertions;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        if (database.equals("postgres")) {
+            String url = System.getProperty(SqlHeuristicsBenchmark.POSTGRES_URL);
+            if (url == null) {
+                throw new IllegalStateException("No JDBC URL given with -D" + SqlHeuristicsBenchmark.POSTGRES_URL);
+            }
+            connection = DriverManager.getConnection(url);
+            SqlScriptRunner.execCommand(connection, "DROP TABLE IF EXISTS Foo");
+            SqlScriptRunner.execCommand(connection, "DROP TABLE IF EXISTS Bar");
+            SqlScriptRunner.execCommand(connection, "CREATE TABLE Bar(id BIGSERIAL PRIMARY KEY, x INT)");
+            SqlScriptRunner.execCommand(connection,
+                    "CREATE TABLE Foo(id BIGSERIAL PRIMARY KEY, name VARCHAR(32), barId BIGINT NOT NULL REFERENCES Bar(id))");
+        } else {
+            connection = DriverManager.getConnection("jdbc:h2:mem:sql_insertion_" + rows, "sa", "");
+            SqlScriptRunner.execCommand(connection, "CREATE TABLE Bar(id BIGINT AUTO_INCREMENT PRIMARY KEY, x INT)");
+            SqlScriptRunner.execCommand(connection,
+                    "CREATE TABLE Foo(id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(32), barId BIGINT NOT NULL REFERENCES Bar(id))");
+        }
+
+        SequenceDsl dsl = sql();
+        StatementDsl last = null;
+        for (int i = 0; i < rows; i++) {
+            last = dsl.insertInto("Bar", (long) i).d("x", "" + i);
+            dsl = last.and();
+        }
+        for (int i = 0; i < rows; i++) {
+            last = dsl.insertInto("Foo", (long) (rows + i)).d("name", "\"name" + i + "\"").r("barId", i);
+            dsl = last.and();
+        }
+        insertions = last.dtos();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (database.equals("postgres")) {
+            SqlScriptRunner.execCommand(connection, "DROP TABLE Foo");
+            SqlScriptRunner.execCommand(connection, "DROP TABLE Bar");
+        }
+        connection.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() throws Exception {
+        SqlScriptRunner.execCommand(connection, "DELETE FROM Foo");
+        SqlScriptRunner.execCommand(connection, "DELETE FROM Bar");
+    }
+
+    @Benchmark
+    public InsertionResultsDto batched() throws Exception {
+        return SqlScriptRunner.execInsert(connection, insertions);
+    }
+
+    @Benchmark
+    public InsertionResultsDto oneAtATime() throws Exception {
+        InsertionResultsDto previous = new InsertionResultsDto();
+        for (InsertionDto insertion : insertions) {
+            InsertionResultsDto result = SqlScriptRunner.execInsert(connection, Collections.singletonList(insertion), previous);
+            previous.idMapping.putAll(result.idMapping);
+        }
+        return previous;
+    }
+}
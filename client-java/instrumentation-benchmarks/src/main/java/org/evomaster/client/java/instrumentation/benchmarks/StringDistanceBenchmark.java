@@ -0,0 +1,81 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.instrumentation.coverage.methodreplacement.DistanceHelper;
+import org.evomaster.client.java.instrumentation.coverage.methodreplacement.RegexDistanceUtils;
+import org.evomaster.client.java.instrumentation.staticstate.ExecutionTracer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String and regex distances, which are among the most expensive heuristics
+ * computed in the SUT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class StringDistanceBenchmark {
+
+    @Threads(1)
+    public static class SingleThread extends StringDistanceBenchmark {
+    }
+
+    @Threads(8)
+    public static class Contended extends StringDistanceBenchmark {
+    }
+
+    @Param({"8", "64"})
+    public int length;
+
+    private String left;
+
+    private String right;
+
+    private String regexInput;
+
+    private final String regex = "[a-z]+\\d{2,4}@(foo|bar)\\.com";
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder l = new StringBuilder();
+        StringBuilder r = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            l.append((char) ('a' + (i % 26)));
+            r.append((char) ('a' + ((i * 7) % 26)));
+        }
+        left = l.toString();
+        right = r.toString();
+        regexInput = left + "12@fo.com";
+    }
+
+    @State(Scope.Thread)
+    public static class ExpensiveOperations {
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            /*
+                otherwise, after few calls, the regex distance would be skipped
+                and replaced with a cheap flag
+             */
+            ExecutionTracer.reset();
+        }
+    }
+
+    @Benchmark
+    public long leftAlignmentDistance() {
+        return DistanceHelper.getLeftAlignmentDistance(left, right);
+    }
+
+    @Benchmark
+    public double distanceObjects() {
+        return DistanceHelper.getDistance(left, right);
+    }
+
+    @Benchmark
+    public int regexStandardDistance(ExpensiveOperations expensiveOperations) {
+        return RegexDistanceUtils.getStandardDistance(regexInput, regex);
+    }
+}
@@ -0,0 +1,42 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.instrumentation.TargetInfo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coverage store as it was implemented in ExecutionTracer before
+ * the introduction of ObjectiveCoverageStore, ie, a map keyed by
+ * descriptive id, with a global lock and a new TargetInfo
+ * for each improvement.
+ * Kept here only as baseline for the benchmarks.
+ */
+public class SynchronizedMapCoverage {
+
+    private final Map<String, TargetInfo> objectiveCoverage = new ConcurrentHashMap<>(65536);
+
+    private final Object lock = new Object();
+
+    public boolean update(String id, double value, int actionIndex) {
+        synchronized (lock) {
+            if (objectiveCoverage.containsKey(id)) {
+                double previous = objectiveCoverage.get(id).value;
+                if (value > previous) {
+                    objectiveCoverage.put(id, new TargetInfo(null, id, value, actionIndex));
+                    return true;
+                }
+                return false;
+            } else {
+                objectiveCoverage.put(id, new TargetInfo(null, id, value, actionIndex));
+                return true;
+            }
+        }
+    }
+
+    public void reset() {
+        synchronized (lock) {
+            objectiveCoverage.clear();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.evomaster.client.java.instrumentation.benchmarks;
+
+import org.evomaster.client.java.instrumentation.TargetInfo;
+import org.evomaster.client.java.instrumentation.external.TargetInfoCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding and decoding the target info sent from the Java Agent
+ * to the SUT controller in external-driver mode: Java serialization of
+ * the whole list (previous approach) against {@link TargetInfoCodec}.
+ * Sockets are not involved, only (de)serialization to/from byte arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetInfoTransferBenchmark {
+
+    @Param({"1000", "100000"})
+    public int numberOfTargets;
+
+    /**
+     * Percentage of requested targets that were reached in the test
+     */
+    @Param({"10"})
+    public int reachedPercentage;
+
+    private List<Integer> ids;
+
+    private List<TargetInfo> infos;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        ids = new ArrayList<>(numberOfTargets);
+        infos = new ArrayList<>(numberOfTargets);
+        for (int i = 0; i < numberOfTargets; i++) {
+            ids.add(i);
+            if (random.nextInt(100) < reachedPercentage) {
+                infos.add(new TargetInfo(i, null, random.nextDouble(), random.nextInt(5)));
+            } else {
+                infos.add(TargetInfo.notReached(i));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            int id = numberOfTargets + i;
+            infos.add(new TargetInfo(id, "Line_at_org.foo.Bar" + i + "_00042", 1d, 0));
+        }
+    }
+
+    @Benchmark
+    public Object javaSerialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(new ArrayList<>(ids));
+        out.writeObject(infos);
+        out.flush();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        in.readObject();
+        return in.readObject();
+    }
+
+    @Benchmark
+    public Object binaryCodec() throws Exception {
+        TargetInfoCodec writer = new TargetInfoCodec();
+        TargetInfoCodec reader = new TargetInfoCodec();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        TargetInfoCodec.writeIds(out, ids);
+        writer.writeDelta(out, infos);
+        out.flush();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        List<Integer> requested = TargetInfoCodec.readIds(in);
+        return reader.readDelta(in, requested);
+    }
+}
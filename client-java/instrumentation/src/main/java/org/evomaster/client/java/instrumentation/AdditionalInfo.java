@@ -4,9 +4,12 @@ import org.evomaster.client.java.instrumentation.shared.StringSpecializationInfo
 import org.evomaster.client.java.instrumentation.staticstate.ExecutionTracer;
 import org.evomaster.client.java.utils.SimpleLogger;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
@@ -95,14 +98,55 @@ public class AdditionalInfo implements Serializable {
 
     private String lastExecutingThread = null;
 
-    private final Set<SqlInfo> sqlInfoData = new CopyOnWriteArraySet<>();
+    /**
+     * SQL commands executed by the SUT, in order, not processed yet.
+     * Adding to this queue is all what is done on the threads of the SUT, as
+     * processing the commands (eg parsing them) would add to the response time
+     * of the SUT.
+     */
+    private final Queue<SqlInfo> pendingSqlInfo = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Processed SQL commands, in the order they were executed.
+     * Access must be synchronized on it.
+     */
+    private final Set<SqlInfo> sqlInfoData = new LinkedHashSet<>();
 
+    /**
+     * Note: this processes all SQL commands executed so far, and so it should
+     * not be called on the threads of the SUT
+     */
     public Set<SqlInfo> getSqlInfoData(){
-        return Collections.unmodifiableSet(sqlInfoData);
+        synchronized (sqlInfoData) {
+            drainPendingSqlInfo();
+            return Collections.unmodifiableSet(new LinkedHashSet<>(sqlInfoData));
+        }
     }
 
     public void addSqlInfo(SqlInfo info){
-        sqlInfoData.add(info);
+        pendingSqlInfo.add(info);
+    }
+
+    /**
+     * Process the pending SQL commands, in FIFO order.
+     * Must be called while holding the lock on {@link #sqlInfoData}
+     */
+    private void drainPendingSqlInfo(){
+        SqlInfo info;
+        while ((info = pendingSqlInfo.poll()) != null) {
+            sqlInfoData.add(info.withFormattedCommand());
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        synchronized (sqlInfoData) {
+            /*
+                the receiver only reads sqlInfoData, so pending commands
+                must be processed before serializing
+             */
+            drainPendingSqlInfo();
+            out.defaultWriteObject();
+        }
     }
 
     public Set<String> getParsedDtoNamesView(){
@@ -6,7 +6,6 @@ import org.evomaster.client.java.instrumentation.staticstate.ObjectiveRecorder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 public class InstrumentationController {
 
@@ -52,13 +51,11 @@ public class InstrumentationController {
 
         List<TargetInfo> list = new ArrayList<>();
 
-        Map<String, TargetInfo> objectives = ExecutionTracer.getInternalReferenceToObjectiveCoverage();
-
         ids.stream().forEach(id -> {
 
             String descriptiveId = ObjectiveRecorder.getDescriptiveId(id);
 
-            TargetInfo info = objectives.get(descriptiveId);
+            TargetInfo info = ExecutionTracer.getTargetInfo(descriptiveId);
             if(info == null){
                 info = TargetInfo.notReached(id);
             } else {
@@ -75,7 +72,7 @@ public class InstrumentationController {
 
             int mappedId = ObjectiveRecorder.getMappedId(s);
 
-            TargetInfo info = objectives.get(s).withMappedId(mappedId);
+            TargetInfo info = ExecutionTracer.getTargetInfo(s).withMappedId(mappedId);
 
             list.add(info);
         });
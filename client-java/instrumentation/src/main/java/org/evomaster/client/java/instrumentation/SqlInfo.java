@@ -1,5 +1,8 @@
 package org.evomaster.client.java.instrumentation;
 
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+
 import java.io.Serializable;
 import java.util.Objects;
 
@@ -52,6 +55,37 @@ public class SqlInfo implements Serializable {
         return command;
     }
 
+    /**
+     * @return a copy of this info, with the command formatted (see {@link #formatSql(String)})
+     */
+    public SqlInfo withFormattedCommand() {
+        if (command == null) {
+            return this;
+        }
+        return new SqlInfo(formatSql(command), noResult, exception, executionTime);
+    }
+
+    /**
+     *
+     * @param sql to format
+     * @return a formatted sql, e.g., removing comments
+     *
+     * Man: actually comments of prepared statement have been removed, this might be redundant for them.
+     *      TODO need to refactor the sql handling a bit
+     */
+    public static String formatSql(String sql){
+        try {
+            return CCJSqlParserUtil.parse(sql).toString();
+        } catch (JSQLParserException e) {
+            /*
+                Man: skip error log here since the sql would be checked when SqlHandler.computeDistance.
+                    in addition, log here would lead to some redundant errors about e.g., SET @@foreign_key_checks, ALTER TABLE flyway_schema_history
+             */
+            //SimpleLogger.error("SQL ERROR. Could not handle "+ sql + " with JSQLParserException, and the error message :"+e.getMessage());
+            return sql;
+        }
+    }
+
     public boolean isNoResult() {
         return noResult;
     }
@@ -54,9 +54,9 @@ public class BranchCovMethodVisitor extends MethodVisitor {
          */
 
         UnitsInfoRecorder.markNewBranchPair();
-        ObjectiveRecorder.registerTarget(
+        int thenIndex = ObjectiveRecorder.registerIndexedTarget(
                 ObjectiveNaming.branchObjectiveName(className, latestVisitLine, branchId, true));
-        ObjectiveRecorder.registerTarget(
+        int elseIndex = ObjectiveRecorder.registerIndexedTarget(
                 ObjectiveNaming.branchObjectiveName(className, latestVisitLine, branchId, false));
 
         switch (opcode) {
@@ -69,14 +69,13 @@ public class BranchCovMethodVisitor extends MethodVisitor {
             case Opcodes.IFLE:
                 this.visitInsn(Opcodes.DUP);
                 this.visitLdcInsn(opcode);
-                this.visitLdcInsn(className);
-                this.visitLdcInsn(latestVisitLine);
-                this.visitLdcInsn(branchId);
+                this.visitLdcInsn(thenIndex);
+                this.visitLdcInsn(elseIndex);
                 mv.visitMethodInsn(
                         Opcodes.INVOKESTATIC,
                         ClassName.get(ExecutionTracer.class).getBytecodeName(),
                         ExecutionTracer.EXECUTING_BRANCH_JUMP_METHOD_NAME,
-                        ExecutionTracer.JUMP_DESC_1_VALUE,
+                        ExecutionTracer.JUMP_DESC_1_VALUE_INDEXED,
                         ExecutionTracer.class.isInterface()); //false
                 break;
 
@@ -89,14 +88,13 @@ public class BranchCovMethodVisitor extends MethodVisitor {
             case Opcodes.IF_ICMPLE:
                 this.visitInsn(Opcodes.DUP2);
                 this.visitLdcInsn(opcode);
-                this.visitLdcInsn(className);
-                this.visitLdcInsn(latestVisitLine);
-                this.visitLdcInsn(branchId);
+                this.visitLdcInsn(thenIndex);
+                this.visitLdcInsn(elseIndex);
                 mv.visitMethodInsn(
                         Opcodes.INVOKESTATIC,
                         ClassName.get(ExecutionTracer.class).getBytecodeName(),
                         ExecutionTracer.EXECUTING_BRANCH_JUMP_METHOD_NAME,
-                        ExecutionTracer.JUMP_DESC_2_VALUES,
+                        ExecutionTracer.JUMP_DESC_2_VALUES_INDEXED,
                         ExecutionTracer.class.isInterface()); //false
                 break;
 
@@ -105,14 +103,13 @@ public class BranchCovMethodVisitor extends MethodVisitor {
             case Opcodes.IF_ACMPNE:
                 this.visitInsn(Opcodes.DUP2);
                 this.visitLdcInsn(opcode);
-                this.visitLdcInsn(className);
-                this.visitLdcInsn(latestVisitLine);
-                this.visitLdcInsn(branchId);
+                this.visitLdcInsn(thenIndex);
+                this.visitLdcInsn(elseIndex);
                 mv.visitMethodInsn(
                         Opcodes.INVOKESTATIC,
                         ClassName.get(ExecutionTracer.class).getBytecodeName(),
                         ExecutionTracer.EXECUTING_BRANCH_JUMP_METHOD_NAME,
-                        ExecutionTracer.JUMP_DESC_OBJECTS,
+                        ExecutionTracer.JUMP_DESC_OBJECTS_INDEXED,
                         ExecutionTracer.class.isInterface()); //false
                 break;
 
@@ -121,14 +118,13 @@ public class BranchCovMethodVisitor extends MethodVisitor {
             case Opcodes.IFNONNULL:
                 this.visitInsn(Opcodes.DUP);
                 this.visitLdcInsn(opcode);
-                this.visitLdcInsn(className);
-                this.visitLdcInsn(latestVisitLine);
-                this.visitLdcInsn(branchId);
+                this.visitLdcInsn(thenIndex);
+                this.visitLdcInsn(elseIndex);
                 mv.visitMethodInsn(
                         Opcodes.INVOKESTATIC,
                         ClassName.get(ExecutionTracer.class).getBytecodeName(),
                         ExecutionTracer.EXECUTING_BRANCH_JUMP_METHOD_NAME,
-                        ExecutionTracer.JUMP_DESC_NULL,
+                        ExecutionTracer.JUMP_DESC_NULL_INDEXED,
                         ExecutionTracer.class.isInterface()); //false
                 break;
             default:
@@ -147,11 +143,11 @@ public class BranchCovMethodVisitor extends MethodVisitor {
     @Override
     public void visitMaxs(int maxStack, int maxLocals) {
         /*
-            as we pushed up to 6 elements on stack in a position on which
+            as we pushed up to 5 elements on stack in a position on which
             the stack might not be empty (and so potentially full of maxStack
             elements), we need to add them to the maxStack value
          */
-        int maxElementsAddedOnStackFrame = 6;
+        int maxElementsAddedOnStackFrame = 5;
         super.visitMaxs(maxElementsAddedOnStackFrame +  maxStack, maxLocals);
     }
 }
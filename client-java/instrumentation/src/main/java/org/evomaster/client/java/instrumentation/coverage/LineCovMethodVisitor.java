@@ -66,21 +66,26 @@ public class LineCovMethodVisitor extends MethodVisitor {
             are used to uniquely identify the line.
             Then, we do a call to ExecutionTracer that
             will pop these 4 elements as input parameters.
+
+            To avoid creating/looking up strings each time the line is executed,
+            the targets are given numeric indices here at instrumentation time,
+            and the descriptions for the last executed statement are precomputed.
          */
 
         UnitsInfoRecorder.markNewLine();
-        ObjectiveRecorder.registerTarget(ObjectiveNaming.lineObjectiveName(className, line));
+        int lineIndex = ObjectiveRecorder.registerIndexedTarget(ObjectiveNaming.lineObjectiveName(className, line));
+        int classIndex = ObjectiveRecorder.registerIndexedTarget(ObjectiveNaming.classObjectiveName(className));
 
-        this.visitLdcInsn(className);
-        this.visitLdcInsn(methodName);
-        this.visitLdcInsn(descriptor);
-        this.visitLdcInsn(line);
+        this.visitLdcInsn(ExecutionTracer.lastExecutedLineName(className, methodName, line));
+        this.visitLdcInsn(ExecutionTracer.lastExecutedMethodName(className, methodName, descriptor));
+        this.visitLdcInsn(lineIndex);
+        this.visitLdcInsn(classIndex);
 
         mv.visitMethodInsn(
                 Opcodes.INVOKESTATIC,
                 ClassName.get(ExecutionTracer.class).getBytecodeName(),
                 ExecutionTracer.EXECUTED_LINE_METHOD_NAME,
-                ExecutionTracer.EXECUTED_LINE_DESCRIPTOR,
+                ExecutionTracer.EXECUTED_LINE_INDEXED_DESCRIPTOR,
                 ExecutionTracer.class.isInterface()); //false
     }
 
@@ -56,34 +56,32 @@ public class SuccessCallMethodVisitor extends MethodVisitor {
 
         String targetId = ObjectiveNaming.successCallObjectiveName(className, currentLine, index);
 
-        ObjectiveRecorder.registerTarget(targetId);
+        int targetIndex = ObjectiveRecorder.registerIndexedTarget(targetId);
 
-        addBaseInstrumentation(index, false);
+        addBaseInstrumentation(targetIndex, false);
         super.visitMethodInsn(opcode, owner, name, desc, itf);
-        addBaseInstrumentation(index, true);
+        addBaseInstrumentation(targetIndex, true);
     }
 
-    private void addBaseInstrumentation(int index, boolean covered){
+    private void addBaseInstrumentation(int targetIndex, boolean covered){
 
-        this.visitLdcInsn(className);
-        this.visitLdcInsn(currentLine);
-        this.visitLdcInsn(index);
+        this.visitLdcInsn(targetIndex);
         this.visitLdcInsn(covered);
 
         mv.visitMethodInsn(
                 Opcodes.INVOKESTATIC,
                 ClassName.get(ExecutionTracer.class).getBytecodeName(),
                 ExecutionTracer.EXECUTING_METHOD_METHOD_NAME,
-                ExecutionTracer.EXECUTING_METHOD_DESCRIPTOR,
+                ExecutionTracer.EXECUTING_METHOD_INDEXED_DESCRIPTOR,
                 ExecutionTracer.class.isInterface());
     }
 
     @Override
     public void visitMaxs(int maxStack, int maxLocals) {
         /*
-            We pushed 4 values on stack before a method call,
-            so we need to increase maxStack by at least 4
+            We pushed 2 values on stack before a method call,
+            so we need to increase maxStack by at least 2
          */
-        super.visitMaxs(maxStack + 4, maxLocals);
+        super.visitMaxs(maxStack + 2, maxLocals);
     }
 }
@@ -1,6 +1,7 @@
 package org.evomaster.client.java.instrumentation.external;
 
 import org.evomaster.client.java.instrumentation.Action;
+import org.evomaster.client.java.instrumentation.AdditionalInfo;
 import org.evomaster.client.java.instrumentation.InstrumentationController;
 import org.evomaster.client.java.instrumentation.staticstate.UnitsInfoRecorder;
 import org.evomaster.client.java.utils.SimpleLogger;
@@ -9,7 +10,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.net.Socket;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Code running in the Java Agent to receive and respond to the
@@ -22,6 +24,11 @@ public class AgentController {
     private static ObjectOutputStream out;
     private static ObjectInputStream in;
 
+    /**
+     * Keep track of the target info already sent in the current test
+     */
+    private static final TargetInfoCodec targetInfoCodec = new TargetInfoCodec();
+
     public static void start(int port){
 
         try{
@@ -62,10 +69,12 @@ public class AgentController {
                 switch(command){
                     case NEW_SEARCH:
                         InstrumentationController.resetForNewSearch();
+                        targetInfoCodec.reset();
                         sendCommand(Command.ACK);
                         break;
                     case NEW_TEST:
                         InstrumentationController.resetForNewTest();
+                        targetInfoCodec.reset();
                         sendCommand(Command.ACK);
                         break;
                     case TARGETS_INFO:
@@ -170,7 +179,17 @@ public class AgentController {
 
     private static void handleAdditionalInfo(){
         try {
-            sendObject(InstrumentationController.getAdditionalInfoList());
+            /*
+                info of previous actions that were already received by the server
+                are not sent again. only their number
+             */
+            int from = in.readInt();
+            List<AdditionalInfo> list = InstrumentationController.getAdditionalInfoList();
+            from = Math.max(0, Math.min(from, list.size()));
+            out.writeInt(list.size());
+            out.writeInt(from);
+            out.flush();
+            sendObject(new ArrayList<>(list.subList(from, list.size())));
         } catch (Exception e) {
             SimpleLogger.error("Failure in handling additional info: "+e.getMessage());
         }
@@ -187,9 +206,9 @@ public class AgentController {
     private static void handleTargetInfos() {
 
         try {
-            Object msg = in.readObject();
-            Collection<Integer> ids = (Collection<Integer>) msg;
-            sendObject(InstrumentationController.getTargetInfos(ids));
+            List<Integer> ids = TargetInfoCodec.readIds(in);
+            targetInfoCodec.writeDelta(out, InstrumentationController.getTargetInfos(ids));
+            out.flush();
 
         } catch (Exception e) {
             SimpleLogger.error("Failure in handling ids: "+e.getMessage());
@@ -10,6 +10,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -21,6 +22,9 @@ import java.util.List;
  * unnecessary complexity to the Agent (which runs together with the SUT),
  * no REST or RMI is used here, just basic, old-style TCP raw connections
  * with serialized Java objects.
+ * The exception is for the info on the covered targets, which can be large and
+ * is requested after each test. For it, a compact binary encoding is used,
+ * sending only what changed (see {@link TargetInfoCodec}).
  */
 public class ServerController {
 
@@ -35,6 +39,16 @@ public class ServerController {
     protected ObjectOutputStream out;
     protected ObjectInputStream in;
 
+    /**
+     * Keep track of the target info already received in the current test
+     */
+    private final TargetInfoCodec targetInfoCodec = new TargetInfoCodec();
+
+    /**
+     * Additional info already received in the current test
+     */
+    private final List<AdditionalInfo> additionalInfoList = new ArrayList<>();
+
     public synchronized int startServer() {
 
         closeServer();
@@ -184,14 +198,21 @@ public class ServerController {
                 + ", but rather received " + repMsg;
     }
 
-    public boolean resetForNewSearch() {
+    public synchronized boolean resetForNewSearch() {
+        clearTestState();
         return sendAndExpectACK(Command.NEW_SEARCH);
     }
 
-    public boolean resetForNewTest() {
+    public synchronized boolean resetForNewTest() {
+        clearTestState();
         return sendAndExpectACK(Command.NEW_TEST);
     }
 
+    private void clearTestState(){
+        targetInfoCodec.reset();
+        additionalInfoList.clear();
+    }
+
     public boolean setAction(Action action) {
         return sendWithDataAndExpectACK(Command.ACTION_INDEX, action);
     }
@@ -215,22 +236,20 @@ public class ServerController {
             return null;
         }
 
-        if(! sendObject(ids)){
-            SimpleLogger.error("Failed to send ids");
+        try {
+            TargetInfoCodec.writeIds(out, ids);
+            out.flush();
+        } catch (IOException e) {
+            SimpleLogger.error("Failed to send ids", e);
             return null;
         }
 
-        Object response = waitAndGetResponse();
-        if (response == null) {
-            SimpleLogger.error("Failed to read response about covered targets");
+        try {
+            return targetInfoCodec.readDelta(in, ids);
+        } catch (IOException e) {
+            SimpleLogger.error("Failed to read response about covered targets", e);
             return null;
         }
-
-        if (!(response instanceof List<?>)) {
-            throw new IllegalStateException(errorMsgExpectingResponse(response, "a List"));
-        }
-
-        return (List<TargetInfo>) response;
     }
 
     public synchronized List<AdditionalInfo> getAdditionalInfoList() {
@@ -241,6 +260,22 @@ public class ServerController {
             return null;
         }
 
+        int total;
+        int from;
+        try {
+            /*
+                the info of the last action we got might have changed since then,
+                so we always ask for it again
+             */
+            out.writeInt(Math.max(0, additionalInfoList.size() - 1));
+            out.flush();
+            total = in.readInt();
+            from = in.readInt();
+        } catch (IOException e) {
+            SimpleLogger.error("Failed to read response about additional info", e);
+            return null;
+        }
+
         Object response = waitAndGetResponse();
         if (response == null) {
             SimpleLogger.error("Failed to read response about additional info");
@@ -251,7 +286,16 @@ public class ServerController {
             throw new IllegalStateException(errorMsgExpectingResponse(response, "a List"));
         }
 
-        return (List<AdditionalInfo>) response;
+        while (additionalInfoList.size() > from) {
+            additionalInfoList.remove(additionalInfoList.size() - 1);
+        }
+        additionalInfoList.addAll((List<AdditionalInfo>) response);
+
+        if (additionalInfoList.size() != total) {
+            throw new IllegalStateException("Expected " + total + " additional info, but got " + additionalInfoList.size());
+        }
+
+        return new ArrayList<>(additionalInfoList);
     }
 
     public synchronized BootTimeObjectiveInfo handleBootTimeObjectiveInfo() {
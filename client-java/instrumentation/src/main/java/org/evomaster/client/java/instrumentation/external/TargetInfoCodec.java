@@ -0,0 +1,133 @@
+package org.evomaster.client.java.instrumentation.external;
+
+import org.evomaster.client.java.instrumentation.TargetInfo;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compact binary encoding of target info, used between {@link ServerController}
+ * and {@link AgentController} instead of Java serialization of whole object graphs.
+ * <br>
+ * Each message is length-prefixed: first the number of entries, and then, for each
+ * entry, its mapped id, value, action index and, only for targets seen for the first
+ * time, its descriptive id.
+ * <br>
+ * Furthermore, the encoding is a delta: targets that were not reached are never sent
+ * (as the receiver knows which ids it asked for), and requested targets that were already
+ * sent with the same values in the current test are not sent again.
+ * Targets seen for the first time are always sent, as each of them is given only once
+ * (they are cleared in ObjectiveRecorder when retrieved).
+ * Both sides keep track of what was sent in the current test, and such state must be
+ * cleared at each new test with {@link #reset()}.
+ */
+public class TargetInfoCodec {
+
+    /**
+     * Key -> mapped id of the target.
+     * Only for requested targets, ie, without descriptive id
+     */
+    private final Map<Integer, TargetInfo> known = new HashMap<>();
+
+
+    public void reset() {
+        known.clear();
+    }
+
+    public static void writeIds(DataOutput out, Collection<Integer> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (Integer id : ids) {
+            out.writeInt(id);
+        }
+    }
+
+    public static List<Integer> readIds(DataInput in) throws IOException {
+        int n = in.readInt();
+        List<Integer> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ids.add(in.readInt());
+        }
+        return ids;
+    }
+
+    /**
+     * Write only the targets that have changed since the last call in this test.
+     *
+     * @param out   where to write
+     * @param infos all target info, as computed by InstrumentationController
+     * @return number of written entries
+     */
+    public int writeDelta(DataOutput out, List<TargetInfo> infos) throws IOException {
+
+        List<TargetInfo> delta = new ArrayList<>();
+
+        for (TargetInfo info : infos) {
+            if (info.descriptiveId == null && info.actionIndex < 0 && info.value == 0d) {
+                //not reached. receiver will know it
+                continue;
+            }
+            if (info.descriptiveId == null) {
+                TargetInfo previous = known.get(info.mappedId);
+                if (previous != null
+                        && previous.value.equals(info.value)
+                        && previous.actionIndex.equals(info.actionIndex)) {
+                    continue;
+                }
+                known.put(info.mappedId, info);
+            }
+            delta.add(info);
+        }
+
+        out.writeInt(delta.size());
+        for (TargetInfo info : delta) {
+            out.writeInt(info.mappedId);
+            out.writeDouble(info.value);
+            out.writeInt(info.actionIndex);
+            out.writeBoolean(info.descriptiveId != null);
+            if (info.descriptiveId != null) {
+                out.writeUTF(info.descriptiveId);
+            }
+        }
+
+        return delta.size();
+    }
+
+    /**
+     * Read a delta written with {@link #writeDelta(DataOutput, List)}, and merge it
+     * with what already received in this test.
+     *
+     * @param in  where to read from
+     * @param ids the ids of the targets that were requested
+     * @return the same list of target info as if it was computed directly by InstrumentationController,
+     * ie, an entry for each requested id, followed by the targets seen for the first time since the last call
+     */
+    public List<TargetInfo> readDelta(DataInput in, Collection<Integer> ids) throws IOException {
+
+        List<TargetInfo> seenFirstTime = new ArrayList<>();
+
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            int id = in.readInt();
+            double value = in.readDouble();
+            int actionIndex = in.readInt();
+            boolean firstTime = in.readBoolean();
+            if (firstTime) {
+                String descriptiveId = in.readUTF();
+                seenFirstTime.add(new TargetInfo(id, descriptiveId, value, actionIndex));
+            } else {
+                known.put(id, new TargetInfo(id, null, value, actionIndex));
+            }
+        }
+
+        List<TargetInfo> list = new ArrayList<>(ids.size() + seenFirstTime.size());
+        for (Integer id : ids) {
+            TargetInfo info = known.get(id);
+            list.add(info != null ? info : TargetInfo.notReached(id));
+        }
+        list.addAll(seenFirstTime);
+
+        return list;
+    }
+}
@@ -7,6 +7,7 @@ import org.evomaster.client.java.instrumentation.shared.*;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -20,8 +21,9 @@ import java.util.stream.Collectors;
  * Furthermore, this issue does not really seem to happen in Spring... as the sending of HTTP responses is not handled
  * in the instrumented classes, but rather in the framework itself.
  * <p>
- * TODO sync only when necessary... however, currently the overhead seems minimal (but proper tests would be
- * needed to confirm it)
+ * To reduce such overhead, the updates of the coverage objectives (ie, what is done on every
+ * single instruction) are lock-free, see {@link ObjectiveCoverageStore}. A lock is still
+ * used when starting new actions and resetting the state.
  */
 public class ExecutionTracer {
 
@@ -45,17 +47,33 @@ public class ExecutionTracer {
 
 
     /**
-     * Key -> the unique descriptive id of the coverage objective
+     * Best heuristic value reached so far in the current test for each coverage objective
+     * that was given a numeric index at instrumentation time
+     * (see {@link ObjectiveRecorder#registerIndexedTarget(String)}).
+     * <br>
+     * This is lock-free, as it is updated on every single probe in the SUT, possibly
+     * from several threads at the same time.
+     * Once a target is reached, further executions that do not improve its value are
+     * just a read and compare, without any string being created or looked up.
      */
-    private static final Map<String, TargetInfo> objectiveCoverage =
-            new ConcurrentHashMap<>(65536);
+    private static final ObjectiveCoverageStore objectiveCoverage = new ObjectiveCoverageStore();
+
+    /**
+     * Best heuristic value reached so far in the current test for the coverage objectives
+     * that are created dynamically during the execution (eg, based on the compared values),
+     * and so have no numeric index.
+     * Key -> descriptive id of the objective.
+     * <br>
+     * These are not indexed, as otherwise the indices would grow without bound during the search.
+     */
+    private static final Map<String, TargetInfo> dynamicObjectiveCoverage = new ConcurrentHashMap<>();
 
     /**
      * A test case can be composed by 1 or more actions, eg HTTP calls.
      * When we get the best distance for a testing target, we might
      * also want to know which action in the test led to it.
      */
-    private static int actionIndex = 0;
+    private static volatile int actionIndex = 0;
 
     /**
      * A set of possible values used in the tests, needed for some kinds
@@ -73,7 +91,7 @@ public class ExecutionTracer {
      * keep track during test execution.
      * We keep track of it separately for each action
      */
-    private static final List<AdditionalInfo> additionalInfoList = new ArrayList<>();
+    private static volatile List<AdditionalInfo> additionalInfoList = new CopyOnWriteArrayList<>();
 
     /**
      * Keep track of expensive operations. Might want to skip doing them if too many.
@@ -98,10 +116,15 @@ public class ExecutionTracer {
 
     public static void reset() {
         synchronized (lock) {
-            objectiveCoverage.clear();
+            objectiveCoverage.reset();
+            dynamicObjectiveCoverage.clear();
             actionIndex = 0;
-            additionalInfoList.clear();
-            additionalInfoList.add(new AdditionalInfo());
+            /*
+                replaced instead of cleared, as read without lock
+             */
+            List<AdditionalInfo> infos = new CopyOnWriteArrayList<>();
+            infos.add(new AdditionalInfo());
+            additionalInfoList = infos;
             inputVariables = new HashSet<>();
             killSwitch = false;
             expensiveOperation = 0;
@@ -139,8 +162,9 @@ public class ExecutionTracer {
             expensiveOperation = 0;
 
             if (action.getIndex() != actionIndex) {
-                actionIndex = action.getIndex();
+                //must be added before the index is changed, as read without lock
                 additionalInfoList.add(new AdditionalInfo());
+                actionIndex = action.getIndex();
             }
 
             if (action.getInputVariables() != null && !action.getInputVariables().isEmpty()) {
@@ -240,9 +264,12 @@ public class ExecutionTracer {
 
 
     private static AdditionalInfo getCurrentAdditionalInfo() {
-        synchronized (lock) {
-            return additionalInfoList.get(actionIndex);
-        }
+        /*
+            no lock needed here: the list is copy-on-write, and a new info is
+            always added before the action index is increased
+         */
+        List<AdditionalInfo> infos = additionalInfoList;
+        return infos.get(Math.min(actionIndex, infos.size() - 1));
     }
 
     public static void markRawAccessOfHttpBodyPayload() {
@@ -281,8 +308,44 @@ public class ExecutionTracer {
         getCurrentAdditionalInfo().popLastExecutedStatement();
     }
 
+    /**
+     * @return a snapshot of the coverage of all the objectives reached so far in the current
+     * test, where the key is the descriptive id of the objective.
+     * Note: this does not get updated by further executions in the SUT.
+     */
     public static Map<String, TargetInfo> getInternalReferenceToObjectiveCoverage() {
-        return objectiveCoverage;
+        Map<String, TargetInfo> map = new HashMap<>();
+        objectiveCoverage.forEachReached(index -> {
+            TargetInfo info = toTargetInfo(index);
+            if (info != null) {
+                map.put(info.descriptiveId, info);
+            }
+        });
+        map.putAll(dynamicObjectiveCoverage);
+        return map;
+    }
+
+    /**
+     * @return the coverage of the given objective in the current test,
+     * or {@code null} if the objective has not been reached
+     */
+    public static TargetInfo getTargetInfo(String descriptiveId) {
+        Integer index = ObjectiveRecorder.findTargetIndex(descriptiveId);
+        if (index == null) {
+            return dynamicObjectiveCoverage.get(descriptiveId);
+        }
+        return toTargetInfo(index);
+    }
+
+    private static TargetInfo toTargetInfo(int index) {
+        double value = objectiveCoverage.getValue(index);
+        if (value < 0) {
+            return null;
+        }
+        return new TargetInfo(null,
+                ObjectiveRecorder.getIndexedTargetDescriptiveId(index),
+                value,
+                objectiveCoverage.getActionIndex(index));
     }
 
     /**
@@ -290,13 +353,13 @@ public class ExecutionTracer {
      * during the test execution
      */
     public static int getNumberOfObjectives() {
-        return objectiveCoverage.size();
+        return objectiveCoverage.getNumberOfReached() + dynamicObjectiveCoverage.size();
     }
 
     public static int getNumberOfObjectives(String prefix) {
-        return (int) objectiveCoverage
-                .entrySet().stream()
-                .filter(e -> prefix == null || e.getKey().startsWith(prefix))
+        return (int) getInternalReferenceToObjectiveCoverage()
+                .keySet().stream()
+                .filter(k -> prefix == null || k.startsWith(prefix))
                 .count();
     }
 
@@ -319,7 +382,7 @@ public class ExecutionTracer {
 
     public static Set<String> getNonCoveredObjectives(String prefix) {
 
-        return objectiveCoverage
+        return getInternalReferenceToObjectiveCoverage()
                 .entrySet().stream()
                 .filter(e -> prefix == null || e.getKey().startsWith(prefix))
                 .filter(e -> e.getValue().value < 1)
@@ -328,7 +391,7 @@ public class ExecutionTracer {
     }
 
     public static Double getValue(String id) {
-        return objectiveCoverage.get(id).value;
+        return getTargetInfo(id).value;
     }
 
     private static void updateObjective(String id, double value) {
@@ -336,22 +399,50 @@ public class ExecutionTracer {
             throw new IllegalArgumentException("Invalid value " + value + " out of range [0,1]");
         }
 
+        Integer index = ObjectiveRecorder.findTargetIndex(id);
+        if (index != null) {
+            updateIndexedObjective(index, value);
+            return;
+        }
+
         /*
             In the same execution, a target could be reached several times,
             so we should keep track of the best value found so far
          */
-        synchronized (lock) {
-            if (objectiveCoverage.containsKey(id)) {
-                double previous = objectiveCoverage.get(id).value;
-                if (value > previous) {
-                    objectiveCoverage.put(id, new TargetInfo(null, id, value, actionIndex));
-                }
-            } else {
-                objectiveCoverage.put(id, new TargetInfo(null, id, value, actionIndex));
+        boolean[] improved = {false};
+        dynamicObjectiveCoverage.compute(id, (k, current) -> {
+            if (current != null && current.value >= value) {
+                return current;
             }
+            improved[0] = true;
+            return new TargetInfo(null, k, value, actionIndex);
+        });
+        if (improved[0]) {
+            ObjectiveRecorder.update(id, value, !executingAction);
+        }
+    }
+
+    private static void updateObjective(int index, double value) {
+
+        if (value < 0d || value > 1d) {
+            throw new IllegalArgumentException("Invalid value " + value + " out of range [0,1]");
         }
 
-        ObjectiveRecorder.update(id, value, !executingAction);
+        updateIndexedObjective(index, value);
+    }
+
+    private static void updateIndexedObjective(int index, double value) {
+
+        if (!objectiveCoverage.wouldImprove(index, value)) {
+            /*
+                Most common case: target already reached in this test, and no improvement
+             */
+            return;
+        }
+
+        if (objectiveCoverage.update(index, value, actionIndex)) {
+            ObjectiveRecorder.update(ObjectiveRecorder.getIndexedTargetDescriptiveId(index), value, !executingAction);
+        }
     }
 
     public static void executedNumericComparison(String idTemplate, double lt, double eq, double gt) {
@@ -420,11 +511,49 @@ public class ExecutionTracer {
         updateObjective(classId, 1d);
 
         //to calculate last executed line
-        String lastLine = className + "_" + line + "_" + methodName;
-        String lastMethod = className + "_" + methodName + "_" + descriptor;
+        String lastLine = lastExecutedLineName(className, methodName, line);
+        String lastMethod = lastExecutedMethodName(className, methodName, descriptor);
+        markLastExecutedStatement(lastLine, lastMethod);
+    }
+
+    public static final String EXECUTED_LINE_INDEXED_DESCRIPTOR = "(Ljava/lang/String;Ljava/lang/String;II)V";
+
+    /**
+     * Report on the fact that a given line has been executed.
+     * Same as {@link #executedLine(String, String, String, int)}, but based on the
+     * numeric indices of the targets computed at instrumentation time.
+     *
+     * @param lastLine   description of the line, used to compute the last executed statement
+     * @param lastMethod description of the method, used to compute the last executed statement
+     * @param lineIndex  numeric index of the line target
+     * @param classIndex numeric index of the class target
+     */
+    public static void executedLine(String lastLine, String lastMethod, int lineIndex, int classIndex) {
+
+        if (isKillSwitch()) {
+            //see comments in the other executedLine
+            boolean initClass = Arrays.stream(Thread.currentThread().getStackTrace())
+                    .anyMatch(e -> e.getMethodName().equals("<clinit>"));
+
+            if (!initClass) {
+                throw new KillSwitchException();
+            }
+        }
+
+        updateObjective(lineIndex, 1d);
+        updateObjective(classIndex, 1d);
+
         markLastExecutedStatement(lastLine, lastMethod);
     }
 
+    public static String lastExecutedLineName(String className, String methodName, int line) {
+        return className + "_" + line + "_" + methodName;
+    }
+
+    public static String lastExecutedMethodName(String className, String methodName, String descriptor) {
+        return className + "_" + methodName + "_" + descriptor;
+    }
+
     public static final String EXECUTING_METHOD_METHOD_NAME = "executingMethod";
     public static final String EXECUTING_METHOD_DESCRIPTOR = "(Ljava/lang/String;IIZ)V";
 
@@ -446,6 +575,20 @@ public class ExecutionTracer {
         }
     }
 
+    public static final String EXECUTING_METHOD_INDEXED_DESCRIPTOR = "(IZ)V";
+
+    /**
+     * Same as {@link #executingMethod(String, int, int, boolean)}, but based
+     * on the numeric index of the target computed at instrumentation time
+     */
+    public static void executingMethod(int index, boolean completed) {
+        if (completed) {
+            updateObjective(index, 1d);
+        } else {
+            updateObjective(index, 0.5);
+        }
+    }
+
 
     //---- branch-jump methods --------------------------
 
@@ -467,6 +610,12 @@ public class ExecutionTracer {
         updateObjective(forThen, t.getOfFalse());
     }
 
+    private static void updateBranch(int thenIndex, int elseIndex, Truthness t) {
+        //see comments in the other updateBranch
+        updateObjective(elseIndex, t.getOfTrue());
+        updateObjective(thenIndex, t.getOfFalse());
+    }
+
     public static final String EXECUTING_BRANCH_JUMP_METHOD_NAME = "executingBranchJump";
 
 
@@ -514,6 +663,51 @@ public class ExecutionTracer {
         updateBranch(className, line, branchId, t);
     }
 
+    /*
+        Same as the methods above, but based on the numeric indices of the then/else
+        targets computed at instrumentation time
+     */
+
+    public static final String JUMP_DESC_1_VALUE_INDEXED = "(IIII)V";
+
+    public static void executingBranchJump(
+            int value, int opcode, int thenIndex, int elseIndex) {
+
+        Truthness t = HeuristicsForJumps.getForSingleValueJump(value, opcode);
+
+        updateBranch(thenIndex, elseIndex, t);
+    }
+
+    public static final String JUMP_DESC_2_VALUES_INDEXED = "(IIIII)V";
+
+    public static void executingBranchJump(
+            int firstValue, int secondValue, int opcode, int thenIndex, int elseIndex) {
+
+        Truthness t = HeuristicsForJumps.getForValueComparison(firstValue, secondValue, opcode);
+
+        updateBranch(thenIndex, elseIndex, t);
+    }
+
+    public static final String JUMP_DESC_OBJECTS_INDEXED = "(Ljava/lang/Object;Ljava/lang/Object;III)V";
+
+    public static void executingBranchJump(
+            Object first, Object second, int opcode, int thenIndex, int elseIndex) {
+
+        Truthness t = HeuristicsForJumps.getForObjectComparison(first, second, opcode);
+
+        updateBranch(thenIndex, elseIndex, t);
+    }
+
+    public static final String JUMP_DESC_NULL_INDEXED = "(Ljava/lang/Object;III)V";
+
+    public static void executingBranchJump(
+            Object obj, int opcode, int thenIndex, int elseIndex) {
+
+        Truthness t = HeuristicsForJumps.getForNullComparison(obj, opcode);
+
+        updateBranch(thenIndex, elseIndex, t);
+    }
+
     /**
      * Add the external HTTP/S hostname to the additional info to keep track.
      */
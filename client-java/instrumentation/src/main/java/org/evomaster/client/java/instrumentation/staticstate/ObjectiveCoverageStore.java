@@ -0,0 +1,192 @@
+package org.evomaster.client.java.instrumentation.staticstate;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Keep track of the best heuristic value reached by each testing target
+ * during the current test execution, together with the index of the action
+ * in which such value was reached.
+ * <p>
+ * Targets are identified by their dense numeric index (see
+ * {@link ObjectiveRecorder#registerIndexedTarget(String)}), and each target has
+ * its own slot. Slots are updated with CAS and "max" semantics, so no lock
+ * is needed when several threads of the SUT update the coverage at the same time.
+ * <p>
+ * Slots are allocated in chunks, lazily, the first time a target in a chunk is
+ * reached. Chunks are never removed, so a slot can be written without worrying
+ * about concurrent resizing.
+ * <p>
+ * Note: the action index is written right after the value. If two threads improve
+ * the same target at the same time in two different actions (which can only happen
+ * if threads from a previous action are still running), then the recorded action
+ * index could be of either of them.
+ */
+public class ObjectiveCoverageStore {
+
+    private static final int CHUNK_BITS = 12;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int MAX_CHUNKS = 1 << 16;
+
+    /**
+     * As values are in [0,1], their raw bits as long are non-negative, and ordered
+     * in the same way as the double values. So we can use a negative number to
+     * represent targets not reached yet.
+     */
+    private static final long NOT_REACHED = -1L;
+
+    private static final class Chunk {
+
+        final AtomicLongArray values;
+
+        final AtomicIntegerArray actionIndexes = new AtomicIntegerArray(CHUNK_SIZE);
+
+        Chunk() {
+            long[] init = new long[CHUNK_SIZE];
+            Arrays.fill(init, NOT_REACHED);
+            values = new AtomicLongArray(init);
+        }
+    }
+
+    private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+    /**
+     * Indices of the targets reached since last reset.
+     * Each target is added only once, when it is reached for the first time.
+     */
+    private final Queue<Integer> reached = new ConcurrentLinkedQueue<>();
+
+
+    private Chunk getChunk(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Negative index: " + index);
+        }
+        int position = index >>> CHUNK_BITS;
+        if (position >= MAX_CHUNKS) {
+            throw new IllegalArgumentException("Too many targets: " + index);
+        }
+
+        Chunk chunk = chunks.get(position);
+        if (chunk == null) {
+            chunks.compareAndSet(position, null, new Chunk());
+            chunk = chunks.get(position);
+        }
+        return chunk;
+    }
+
+    /**
+     * Record the given heuristic value for the target, if better than what
+     * was reached so far in the current test
+     *
+     * @param index       of the target
+     * @param value       heuristic value in [0,1]
+     * @param actionIndex index of the action currently executed
+     * @return whether the value was an improvement for the target
+     */
+    public boolean update(int index, double value, int actionIndex) {
+
+        Chunk chunk = getChunk(index);
+        int slot = index & CHUNK_MASK;
+
+        //do not want to deal with -0.0
+        long bits = value == 0d ? 0L : Double.doubleToRawLongBits(value);
+
+        while (true) {
+            long current = chunk.values.get(slot);
+            if (bits <= current) {
+                return false;
+            }
+            if (chunk.values.compareAndSet(slot, current, bits)) {
+                chunk.actionIndexes.set(slot, actionIndex);
+                if (current == NOT_REACHED) {
+                    reached.add(index);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return whether the given value would be an improvement for the target.
+     * This is just a read, and no update is done
+     */
+    public boolean wouldImprove(int index, double value) {
+        Chunk chunk = chunks.get(index >>> CHUNK_BITS);
+        if (chunk == null) {
+            return true;
+        }
+        long bits = value == 0d ? 0L : Double.doubleToRawLongBits(value);
+        return bits > chunk.values.get(index & CHUNK_MASK);
+    }
+
+    /**
+     * @return whether the target has been reached in the current test
+     */
+    public boolean isReached(int index) {
+        Chunk chunk = chunks.get(index >>> CHUNK_BITS);
+        return chunk != null && chunk.values.get(index & CHUNK_MASK) != NOT_REACHED;
+    }
+
+    /**
+     * @return the best value for the target, or a negative number if not reached
+     */
+    public double getValue(int index) {
+        Chunk chunk = chunks.get(index >>> CHUNK_BITS);
+        if (chunk == null) {
+            return -1d;
+        }
+        long bits = chunk.values.get(index & CHUNK_MASK);
+        if (bits == NOT_REACHED) {
+            return -1d;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * @return the index of the action in which the best value for the target was reached,
+     * or a negative number if not reached
+     */
+    public int getActionIndex(int index) {
+        if (!isReached(index)) {
+            return -1;
+        }
+        return chunks.get(index >>> CHUNK_BITS).actionIndexes.get(index & CHUNK_MASK);
+    }
+
+    /**
+     * Apply the consumer to the indices of all the targets reached so far in
+     * the current test, in the order in which they were reached first
+     */
+    public void forEachReached(IntConsumer consumer) {
+        for (Integer index : reached) {
+            consumer.accept(index);
+        }
+    }
+
+    public int getNumberOfReached() {
+        return reached.size();
+    }
+
+    /**
+     * Mark all targets as not reached.
+     * Only the slots of reached targets are touched, so the cost is not
+     * based on the total number of targets in the SUT.
+     */
+    public void reset() {
+        Integer index;
+        while ((index = reached.poll()) != null) {
+            Chunk chunk = chunks.get(index >>> CHUNK_BITS);
+            chunk.values.set(index & CHUNK_MASK, NOT_REACHED);
+            chunk.actionIndexes.set(index & CHUNK_MASK, 0);
+        }
+    }
+}
@@ -60,6 +60,26 @@ public class ObjectiveRecorder {
             new ConcurrentHashMap<>(65536);
 
 
+    /**
+     * Descriptive ids of the targets that were given a dense numeric index
+     * at instrumentation time.
+     * The position in the array is the index.
+     * <br>
+     * Such indices are hardcoded as constants in the bytecode of the instrumented
+     * SUT classes, so that the probes do not need to build/lookup any string
+     * when executed. As classes are not re-instrumented once loaded, this data
+     * is NEVER reset, not even when {@code alsoAtLoadTime} is true.
+     * <br>
+     * Note: these indices are NOT the same as the ones in idMapping, as those
+     * depend on the order in which targets are reached in the search, and they
+     * are reset at each new search.
+     */
+    private static volatile String[] indexedTargets = new String[65536];
+
+    private static int numberOfIndexedTargets = 0;
+
+    private static final Map<String, Integer> targetIndexes = new ConcurrentHashMap<>(65536);
+
     /**
      * Counter used to generate unique numeric ids for idMapping
      */
@@ -147,6 +167,77 @@ public class ObjectiveRecorder {
         allTargets.add(target);
     }
 
+    /**
+     * Mark the existence of a testing target, and give it a dense numeric index
+     * that can be used in the instrumentation probes instead of its descriptive id.
+     * Registering the same target more than once (eg, same class loaded by
+     * different classloaders) returns the same index.
+     *
+     * @param target a descriptive string representing the id of the target
+     * @return a non-negative index, unique for the given target
+     */
+    public static int registerIndexedTarget(String target) {
+        registerTarget(target);
+        return getTargetIndex(target);
+    }
+
+    /**
+     * Get the dense numeric index of the given target, creating a new one if
+     * the target was never indexed before.
+     *
+     * @param target a descriptive string representing the id of the target
+     * @return a non-negative index, unique for the given target
+     */
+    private static int getTargetIndex(String target) {
+
+        Integer index = targetIndexes.get(target);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (targetIndexes) {
+            return targetIndexes.computeIfAbsent(target, k -> {
+                String[] targets = indexedTargets;
+                if (numberOfIndexedTargets == targets.length) {
+                    targets = Arrays.copyOf(targets, targets.length * 2);
+                    indexedTargets = targets;
+                }
+                /*
+                    written before the index is published in the map, so whoever gets
+                    the index can read the descriptive id as well
+                 */
+                targets[numberOfIndexedTargets] = k;
+                return numberOfIndexedTargets++;
+            });
+        }
+    }
+
+    /**
+     * @return the dense numeric index of the given target, or {@code null} if it has not been indexed
+     */
+    public static Integer findTargetIndex(String target) {
+        return targetIndexes.get(target);
+    }
+
+    /**
+     * @return the descriptive id of the target registered with the given index
+     */
+    public static String getIndexedTargetDescriptiveId(int index) {
+        String[] targets = indexedTargets;
+        String id = (index >= 0 && index < targets.length) ? targets[index] : null;
+        if (id == null) {
+            throw new IllegalArgumentException("Index '" + index + "' is not registered");
+        }
+        return id;
+    }
+
+    /**
+     * @return how many targets have been given a numeric index so far
+     */
+    public static int getNumberOfIndexedTargets() {
+        return targetIndexes.size();
+    }
+
     /**
      * @return a coverage value in [0,1]
      */
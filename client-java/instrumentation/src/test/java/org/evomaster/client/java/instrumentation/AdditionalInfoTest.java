@@ -0,0 +1,112 @@
+package org.evomaster.client.java.instrumentation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdditionalInfoTest {
+
+    private static List<String> commands(AdditionalInfo info) {
+        return info.getSqlInfoData().stream().map(SqlInfo::getCommand).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSqlIsFormattedWhenRead() {
+
+        AdditionalInfo info = new AdditionalInfo();
+        info.addSqlInfo(new SqlInfo("select  *  from Foo   where x=1", false, false, 3));
+        info.addSqlInfo(new SqlInfo("not  SQL", false, true));
+
+        List<String> commands = commands(info);
+        assertEquals(2, commands.size());
+        assertEquals(SqlInfo.formatSql("select  *  from Foo   where x=1"), commands.get(0));
+        assertNotEquals("select  *  from Foo   where x=1", commands.get(0));
+        //cannot be parsed, so left as it is
+        assertEquals("not  SQL", commands.get(1));
+
+        assertEquals(3, info.getSqlInfoData().iterator().next().getExecutionTime());
+    }
+
+    @Test
+    public void testOrderAndDuplicates() {
+
+        AdditionalInfo info = new AdditionalInfo();
+        info.addSqlInfo(new SqlInfo("SELECT * FROM A", false, false));
+        info.addSqlInfo(new SqlInfo("SELECT * FROM B", false, false));
+
+        assertEquals(2, info.getSqlInfoData().size());
+
+        info.addSqlInfo(new SqlInfo("SELECT  *  FROM A", false, false));
+        info.addSqlInfo(new SqlInfo("SELECT * FROM C", false, false));
+
+        List<String> expected = new ArrayList<>();
+        expected.add("SELECT * FROM A");
+        expected.add("SELECT * FROM B");
+        expected.add("SELECT * FROM C");
+        assertEquals(expected, commands(info));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+
+        AdditionalInfo info = new AdditionalInfo();
+        int perThread = 500;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    info.addSqlInfo(new SqlInfo("SELECT * FROM T" + id + " WHERE x = " + i, false, false));
+                    if (i % 100 == 0) {
+                        info.getSqlInfoData();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        List<String> commands = commands(info);
+        assertEquals(4 * perThread, commands.size());
+
+        //commands of each thread are in the order they were executed
+        for (int t = 0; t < 4; t++) {
+            String table = "T" + t;
+            List<String> ofThread = commands.stream().filter(c -> c.contains(table)).collect(Collectors.toList());
+            for (int i = 0; i < perThread; i++) {
+                assertTrue(ofThread.get(i).endsWith("= " + i));
+            }
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+
+        AdditionalInfo info = new AdditionalInfo();
+        info.addSqlInfo(new SqlInfo("SELECT * FROM A", false, false));
+        info.getSqlInfoData();
+        info.addSqlInfo(new SqlInfo("SELECT * FROM B", false, false));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(info);
+        }
+        AdditionalInfo copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (AdditionalInfo) in.readObject();
+        }
+
+        assertEquals(commands(info), commands(copy));
+    }
+}
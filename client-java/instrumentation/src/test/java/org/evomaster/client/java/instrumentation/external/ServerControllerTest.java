@@ -0,0 +1,75 @@
+package org.evomaster.client.java.instrumentation.external;
+
+import org.evomaster.client.java.instrumentation.AdditionalInfo;
+import org.evomaster.client.java.instrumentation.TargetInfo;
+import org.evomaster.client.java.instrumentation.staticstate.ExecutionTracer;
+import org.evomaster.client.java.instrumentation.staticstate.ObjectiveRecorder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerControllerTest {
+
+    private static ServerController server;
+
+    @BeforeAll
+    public static void initClass() {
+        server = new ServerController();
+        int port = server.startServer();
+        //agent blocks until the server accepts the connection
+        Thread agent = new Thread(() -> AgentController.start(port));
+        agent.setDaemon(true);
+        agent.start();
+        assertTrue(server.waitForIncomingConnection(10_000));
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        server.closeServer();
+    }
+
+    @Test
+    public void testTargetsAndAdditionalInfo() {
+
+        assertTrue(server.resetForNewSearch());
+        assertTrue(server.resetForNewTest());
+
+        //no target reached yet
+        List<TargetInfo> infos = server.getTargetsInfo(Collections.emptyList());
+        assertNotNull(infos);
+        assertEquals(0, infos.size());
+
+        String foo = "Line_at_org.foo.Foo_00001";
+        String bar = "Line_at_org.foo.Foo_00002";
+        ExecutionTracer.executedLine("org/foo/Foo", "x", "()V", 1);
+        ExecutionTracer.completedLastExecutedStatement();
+
+        infos = server.getTargetsInfo(Collections.emptyList());
+        assertTrue(infos.stream().anyMatch(t -> foo.equals(t.descriptiveId)));
+        int fooId = ObjectiveRecorder.getMappedId(foo);
+        int barId = ObjectiveRecorder.getMappedId(bar);
+
+        //asked again in same test, with nothing changed
+        infos = server.getTargetsInfo(Arrays.asList(fooId, barId));
+        TargetInfo fooInfo = infos.stream().filter(t -> t.mappedId == fooId && t.descriptiveId == null).findFirst().get();
+        assertEquals(1d, fooInfo.value, 0.0);
+        TargetInfo barInfo = infos.stream().filter(t -> t.mappedId == barId && t.descriptiveId == null).findFirst().get();
+        assertEquals(0d, barInfo.value, 0.0);
+
+        List<AdditionalInfo> additionalInfos = server.getAdditionalInfoList();
+        assertEquals(1, additionalInfos.size());
+        additionalInfos = server.getAdditionalInfoList();
+        assertEquals(1, additionalInfos.size());
+
+        assertTrue(server.resetForNewTest());
+        infos = server.getTargetsInfo(Arrays.asList(fooId));
+        assertEquals(1, infos.size());
+        assertEquals(0d, infos.get(0).value, 0.0);
+    }
+}
@@ -0,0 +1,91 @@
+package org.evomaster.client.java.instrumentation.external;
+
+import org.evomaster.client.java.instrumentation.TargetInfo;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TargetInfoCodecTest {
+
+    private final TargetInfoCodec writer = new TargetInfoCodec();
+
+    private final TargetInfoCodec reader = new TargetInfoCodec();
+
+    private List<TargetInfo> roundTrip(List<TargetInfo> infos, List<Integer> ids, int expectedSent) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int sent = writer.writeDelta(new DataOutputStream(bytes), infos);
+        assertEquals(expectedSent, sent);
+        return reader.readDelta(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), ids);
+    }
+
+    @Test
+    public void testIds() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TargetInfoCodec.writeIds(new DataOutputStream(bytes), Arrays.asList(3, 1, 42));
+        List<Integer> ids = TargetInfoCodec.readIds(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(Arrays.asList(3, 1, 42), ids);
+    }
+
+    @Test
+    public void testDelta() throws IOException {
+
+        List<Integer> ids = Arrays.asList(0, 1, 2);
+
+        List<TargetInfo> infos = Arrays.asList(
+                new TargetInfo(0, null, 0.5, 0),
+                TargetInfo.notReached(1),
+                new TargetInfo(2, null, 1d, 1),
+                new TargetInfo(5, "Line_foo", 1d, 0)
+        );
+
+        List<TargetInfo> res = roundTrip(infos, ids, 3);
+        assertEquals(4, res.size());
+        assertEquals(0.5, res.get(0).value, 0.0);
+        assertEquals(0d, res.get(1).value, 0.0);
+        assertEquals(-1, res.get(1).actionIndex);
+        assertNull(res.get(1).descriptiveId);
+        assertEquals(1, res.get(2).actionIndex);
+        assertEquals("Line_foo", res.get(3).descriptiveId);
+        assertEquals(5, res.get(3).mappedId);
+
+        /*
+            same info again in same test, but without the target seen for the first time,
+            as the agent gives it only once: nothing is sent, and the first-time target
+            is not returned again
+         */
+        infos = Arrays.asList(
+                new TargetInfo(0, null, 0.5, 0),
+                TargetInfo.notReached(1),
+                new TargetInfo(2, null, 1d, 1)
+        );
+        res = roundTrip(infos, ids, 0);
+        assertEquals(3, res.size());
+        assertEquals(0.5, res.get(0).value, 0.0);
+        assertTrue(res.stream().allMatch(t -> t.descriptiveId == null));
+
+        //only the changed target is sent, together with a new first-time target
+        infos = Arrays.asList(
+                new TargetInfo(0, null, 0.7, 1),
+                TargetInfo.notReached(1),
+                new TargetInfo(2, null, 1d, 1),
+                new TargetInfo(6, "Line_bar", 0.5, 1)
+        );
+        res = roundTrip(infos, ids, 2);
+        assertEquals(4, res.size());
+        assertEquals(0.7, res.get(0).value, 0.0);
+        assertEquals(1, res.get(0).actionIndex);
+        assertEquals("Line_bar", res.get(3).descriptiveId);
+        assertEquals(6, res.get(3).mappedId);
+
+        //new test
+        writer.reset();
+        reader.reset();
+        res = roundTrip(Arrays.asList(TargetInfo.notReached(0)), Arrays.asList(0), 0);
+        assertEquals(1, res.size());
+        assertEquals(0d, res.get(0).value, 0.0);
+    }
+}
@@ -0,0 +1,55 @@
+package org.evomaster.client.java.instrumentation.staticstate;
+
+import org.evomaster.client.java.instrumentation.shared.ObjectiveNaming;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionTracerTest {
+
+    @BeforeEach
+    @AfterEach
+    public void reset() {
+        ObjectiveRecorder.reset(true);
+        ExecutionTracer.reset();
+    }
+
+    @Test
+    public void testDynamicTargetsAreNotIndexed() {
+
+        int indexed = ObjectiveRecorder.getNumberOfIndexedTargets();
+        String id = ObjectiveNaming.numericComparisonObjectiveName("ExecutionTracerTest_dynamic", 0);
+
+        ExecutionTracer.executedNumericComparison("ExecutionTracerTest_dynamic", 0.2, 0.5, 0.1);
+        ExecutionTracer.executedNumericComparison("ExecutionTracerTest_dynamic", 0.1, 0.7, 0.1);
+
+        assertEquals(indexed, ObjectiveRecorder.getNumberOfIndexedTargets());
+        assertNull(ObjectiveRecorder.findTargetIndex(id));
+        assertEquals(0.7, ExecutionTracer.getValue(id), 0.0);
+        assertEquals(3, ExecutionTracer.getNumberOfObjectives());
+        assertTrue(ExecutionTracer.getInternalReferenceToObjectiveCoverage().containsKey(id));
+
+        ExecutionTracer.reset();
+        assertNull(ExecutionTracer.getTargetInfo(id));
+        assertEquals(0, ExecutionTracer.getNumberOfObjectives());
+    }
+
+    @Test
+    public void testIndexedTarget() {
+
+        String id = ObjectiveNaming.successCallObjectiveName("ExecutionTracerTest_indexed", 1, 0);
+        int index = ObjectiveRecorder.registerIndexedTarget(id);
+
+        ExecutionTracer.executingMethod(index, false);
+        ExecutionTracer.executingMethod(index, true);
+        assertEquals(1d, ExecutionTracer.getValue(id), 0.0);
+
+        //reached by the non-indexed probe as well
+        ExecutionTracer.reset();
+        ExecutionTracer.executingMethod("ExecutionTracerTest_indexed", 1, 0, false);
+        assertEquals(0.5, ExecutionTracer.getValue(id), 0.0);
+        assertEquals(1, ExecutionTracer.getNumberOfObjectives());
+    }
+}
@@ -0,0 +1,74 @@
+package org.evomaster.client.java.instrumentation.staticstate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectiveCoverageStoreTest {
+
+    @Test
+    public void testBase() {
+
+        ObjectiveCoverageStore store = new ObjectiveCoverageStore();
+
+        assertFalse(store.isReached(42));
+        assertTrue(store.getValue(42) < 0);
+
+        assertTrue(store.update(42, 0.3, 0));
+        assertFalse(store.update(42, 0.2, 1));
+        assertEquals(0.3, store.getValue(42), 0.0);
+        assertEquals(0, store.getActionIndex(42));
+
+        assertTrue(store.update(42, 0.5, 2));
+        assertEquals(0.5, store.getValue(42), 0.0);
+        assertEquals(2, store.getActionIndex(42));
+
+        //zero is still reached
+        assertTrue(store.update(100_000, 0d, 3));
+        assertTrue(store.isReached(100_000));
+        assertEquals(2, store.getNumberOfReached());
+
+        store.reset();
+        assertFalse(store.isReached(42));
+        assertFalse(store.isReached(100_000));
+        assertEquals(0, store.getNumberOfReached());
+    }
+
+    @Test
+    public void testConcurrentMax() throws Exception {
+
+        ObjectiveCoverageStore store = new ObjectiveCoverageStore();
+
+        int nThreads = 8;
+        int nTargets = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nThreads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < nTargets; i++) {
+                        store.update(i, (double) (thread + 1) / nThreads, 0);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(nTargets, store.getNumberOfReached());
+        for (int i = 0; i < nTargets; i++) {
+            assertEquals(1d, store.getValue(i), 0.0);
+        }
+    }
+}
@@ -280,6 +280,15 @@ class EMConfig {
             throw IllegalArgumentException("Cannot setup bbExperiments without black-box mode")
         }
 
+        if (numberOfSutControllers > 1) {
+            if (blackBox) {
+                throw IllegalArgumentException("Using several drivers in parallel is only possible for white-box testing")
+            }
+            if (sutControllerPort + numberOfSutControllers - 1 > maxTcpPort) {
+                throw IllegalArgumentException("Too many drivers for the port range starting at $sutControllerPort")
+            }
+        }
+
         if(!blackBox && ratePerMinute > 0){
             throw IllegalArgumentException("ratePerMinute is used only for black-box testing")
         }
@@ -821,6 +830,17 @@ class EMConfig {
     @Cfg("Host name or IP address of where the SUT REST controller is listening on")
     var sutControllerHost = ControllerConstants.DEFAULT_CONTROLLER_HOST
 
+    @Experimental
+    @Cfg("Number of EvoMaster Drivers to use in parallel, to evaluate more tests per second." +
+            " All drivers must be already running, on the same host, listening on consecutive TCP ports" +
+            " starting from 'sutControllerPort'." +
+            " Each driver is used by an independent search, with its own seed (if any is set)." +
+            " At the end, the tests found by all searches are evaluated again on the first driver, and merged." +
+            " This merge is part of the search budget, of which 10% is kept for it." +
+            " If the stopping criterion is based on fitness evaluations, the rest of the budget is split among the searches")
+    @Min(1.0)
+    var numberOfSutControllers = 1
+
     @Cfg("Limit of number of individuals per target to keep in the archive")
     @Min(1.0)
     var archiveTargetLimit = 10
@@ -881,7 +901,9 @@ class EMConfig {
     @FilePath
     var statisticsFile = "statistics.csv"
 
-    @Cfg("Whether should add to an existing statistics file, instead of replacing it")
+    @Cfg("Whether should add to an existing statistics file, instead of replacing it." +
+            " If the existing file has different columns (eg, it was created with a different version of EvoMaster)," +
+            " rows are rather added to a new file with a numeric suffix")
     var appendToStatisticsFile = false
 
     @Cfg("If positive, check how often, in percentage % of the budget, to collect statistics snapshots." +
@@ -994,6 +1016,23 @@ class EMConfig {
     @Probability
     var probOfSmartSampling = 0.95
 
+    @Experimental
+    @Cfg("When sampling new test cases at random, do it in a background thread, ahead of when they are needed," +
+            " while the search is waiting for the SUT to evaluate the previous test cases." +
+            " This is applied only to problem types whose random sampling does not depend on the state of the search")
+    var pipelinedSampling = false
+
+    @Experimental
+    @Cfg("Max number of test cases that can be sampled ahead, when pipelinedSampling is on")
+    @Min(1.0)
+    var pipelinedSamplingQueueSize = 8
+
+    @Experimental
+    @Cfg("When pipelinedSampling is on, sample only one test case ahead, based on the state of the search" +
+            " when the previous one was taken. This keeps seeded runs reproducible, at the cost of a smaller" +
+            " overlap with the evaluation of test cases on the SUT")
+    var reproduciblePipelinedSampling = true
+
     @Cfg("Max number of 'actions' (e.g., RESTful calls or SQL commands) that can be done in a single test")
     @Min(1.0)
     var maxTestSize = 10
@@ -1004,6 +1043,13 @@ class EMConfig {
     @Cfg("Enable extracting SQL execution info")
     var extractSqlExecutionInfo = true
 
+    @Cfg("Max number of rows to read from the database when computing the heuristics of a single SQL command." +
+            " Rows are read one at a time, and reading stops as soon as one satisfies the WHERE clause of the command." +
+            " When this limit is reached, the rows read so far are used as a sample of the table." +
+            " A value of 0 means no limit")
+    @Min(0.0)
+    var heuristicsForSQLMaxRows = 0
+
     @Experimental
     @Cfg("Enable EvoMaster to generate SQL data with direct accesses to the database. Use Dynamic Symbolic Execution")
     var generateSqlDataWithDSE = false
@@ -1388,6 +1434,11 @@ class EMConfig {
     @Cfg("Specify whether to collect impact info that provides an option to enable of collecting impact info when archive-based gene selection is disable. ")
     var doCollectImpact = false
 
+    @Experimental
+    @Cfg("Specify whether to remove the impact info collected for targets, once these are covered." +
+            " This reduces the memory used by the impact collection in long searches")
+    var removeCoveredTargetsFromImpacts = false
+
     @Experimental
     @Cfg("During mutation, whether to abstract genes for repeated SQL actions")
     var abstractInitializationGeneToMutate = false
@@ -1561,6 +1612,13 @@ class EMConfig {
             " from previous HTTP calls affecting the current one")
     var killSwitch = true
 
+    @Cfg("When retrieving test results from the SUT driver, ask for a compact response." +
+            " Descriptive ids of the targets are sent only the first time they are seen, targets not reached" +
+            " are omitted, and all the other targets are sent in a binary columnar encoding." +
+            " This reduces the size of the responses for SUTs with a large number of targets." +
+            " Drivers not supporting it just ignore it, and send a full response")
+    var compactTestResults = true
+
     @Cfg("Number of milliseconds we are going to wait to get a response on a TCP connection, e.g., " +
             "when making HTTP calls to a Web API")
     var tcpTimeoutMs = 30_000
@@ -1587,6 +1645,24 @@ class EMConfig {
             "Note that a negative number means all existing data would be sampled")
     var maximumExistingDataToSampleInDb = -1
 
+    @Experimental
+    @Cfg("Specify a folder where to cache the table constraints parsed from the SQL schema," +
+            " to avoid parsing them again in each run on the same schema. An empty value means no cache is used")
+    @Folder
+    var sqlConstraintCacheFolder = ""
+
+    @Experimental
+    @Cfg("Whether to cache the results of the fitness evaluations, to avoid executing again tests with the same" +
+            " actions and input values. This must be enabled only if the SUT is deterministic, ie," +
+            " executing the same test twice always leads to the same results." +
+            " Note that cached evaluations still count toward the search budget")
+    var enableEvaluationCache = false
+
+    @Experimental
+    @Cfg("Maximum number of fitness evaluations to cache, when the evaluation cache is enabled")
+    @Min(1.0)
+    var evaluationCacheSize = 1000
+
     @Experimental
     @Cfg("Whether to output executed sql info")
     var outputExecutedSQL = OutputExecutedSQL.NONE
@@ -36,6 +36,8 @@ import org.evomaster.core.search.service.*
 import org.evomaster.core.search.service.monitor.SearchProcessMonitor
 import org.evomaster.core.search.service.mutator.genemutation.ArchiveImpactSelector
 import java.lang.reflect.InvocationTargetException
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
 
 
 /**
@@ -148,7 +150,11 @@ class Main {
             val config = injector.getInstance(EMConfig::class.java)
             val idMapper = injector.getInstance(IdMapper::class.java)
 
-            val solution = run(injector, controllerInfo)
+            val solution = if (config.numberOfSutControllers > 1) {
+                runInParallel(args, injector, controllerInfo)
+            } else {
+                run(injector, controllerInfo)
+            }
             val faults = solution.overall.potentialFoundFaults(idMapper)
 
             writeOverallProcessData(injector)
@@ -424,6 +430,20 @@ class Main {
                 rc.startANewSearch()
             }
 
+            val imp = getAlgorithm(injector)
+
+            LoggingUtil.getInfoLogger().info("Starting to generate test cases")
+
+            return imp.search { solution: Solution<*>,
+                                snapshotTimestamp: String ->
+                writeTestsAsSnapshots(injector, solution, controllerInfo, snapshotTimestamp)
+            }
+        }
+
+        private fun getAlgorithm(injector: Injector): SearchAlgorithm<*> {
+
+            val config = injector.getInstance(EMConfig::class.java)
+
             val key = when (config.problemType) {
                 EMConfig.ProblemType.REST -> getAlgorithmKeyRest(config)
                 EMConfig.ProblemType.GRAPHQL -> getAlgorithmKeyGraphQL(config)
@@ -431,13 +451,68 @@ class Main {
                 else -> throw IllegalStateException("Unrecognized problem type ${config.problemType}")
             }
 
-            val imp = injector.getInstance(key)
+            return injector.getInstance(key)
+        }
+
+        /**
+         * Run an independent search for each of the drivers, at the same time.
+         * The search using [injector] is the main one, in which the tests found by the other
+         * searches are merged at the end.
+         */
+        private fun runInParallel(args: Array<String>, injector: Injector, controllerInfo: ControllerInfoDto?): Solution<*> {
+
+            val config = injector.getInstance(EMConfig::class.java)
+            val n = config.numberOfSutControllers
+
+            LoggingUtil.getInfoLogger().info("Using $n drivers in parallel, on ports" +
+                    " ${config.sutControllerPort}-${config.sutControllerPort + n - 1}")
+
+            //injectors are created sequentially, as their initialization is not thread-safe
+            val injectors = listOf(injector) + (1 until n).map { init(ParallelSearch.argumentsForSearch(args, config, it)) }
+            val infos = listOf(controllerInfo) + injectors.drop(1).map { checkState(it) }
+
+            val totalBudget = config.maxActionEvaluations
+            val totalTime = config.maxTimeInSeconds
+            when (config.stoppingCriterion) {
+                EMConfig.StoppingCriterion.FITNESS_EVALUATIONS ->
+                    config.maxActionEvaluations = ParallelSearch.budgetPerSearch(config)
+                EMConfig.StoppingCriterion.TIME ->
+                    config.maxTimeInSeconds = ParallelSearch.timePerSearch(config)
+            }
+
+            val executor = Executors.newFixedThreadPool(n)
+            val solutions = try {
+                injectors.indices
+                        .map { executor.submit(Callable { run(injectors[it], infos[it]) }) }
+                        .map { it.get() }
+            } finally {
+                executor.shutdownNow()
+                config.maxActionEvaluations = totalBudget
+                config.maxTimeInSeconds = totalTime
+            }
 
-            LoggingUtil.getInfoLogger().info("Starting to generate test cases")
+            /*
+                the evaluations done in the merge count toward the search budget, ie, what
+                was left by all the searches. For time, this is already the case, as the time
+                of the first search started together with the others
+             */
+            if (config.stoppingCriterion == EMConfig.StoppingCriterion.FITNESS_EVALUATIONS) {
+                val used = injectors.sumOf { it.getInstance(SearchTimeController::class.java).evaluatedActions }
+                val usedByMain = injector.getInstance(SearchTimeController::class.java).evaluatedActions
+                config.maxActionEvaluations = usedByMain + maxOf(0, totalBudget - used)
+            }
 
-            return imp.search { solution: Solution<*>,
-                                snapshotTimestamp: String ->
-                writeTestsAsSnapshots(injector, solution, controllerInfo, snapshotTimestamp)
+            //most useful tests first, in case the budget runs out before all of them are evaluated
+            val others = solutions.drop(1)
+                    .flatMap { it.individuals }
+                    .sortedByDescending { it.fitness.coveredTargets() }
+
+            LoggingUtil.getInfoLogger().info("Merging the ${others.size} tests found by the ${n - 1} other searches")
+
+            return try {
+                getAlgorithm(injector).importIndividuals(others)
+            } finally {
+                config.maxActionEvaluations = totalBudget
             }
         }
 
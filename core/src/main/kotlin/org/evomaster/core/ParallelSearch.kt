@@ -0,0 +1,106 @@
+package org.evomaster.core
+
+/**
+ * Utilities to run several independent searches at the same time, one per
+ * EvoMaster Driver, when [EMConfig.numberOfSutControllers] is greater than 1.
+ *
+ * The services used in a search (eg, archive, id mapper and randomness) are not thread-safe.
+ * So, each search has its own injector, built from the same command-line arguments apart
+ * from the options overridden here. Only the first search (ie, index 0) writes any output.
+ */
+object ParallelSearch {
+
+    /**
+     * Share of the search budget which is not given to the searches, but rather kept for
+     * evaluating again, on the first driver, the tests found by the other searches
+     */
+    const val MERGE_BUDGET_RATIO = 0.1
+
+    /**
+     * Options that make a search write files or print on the console during the search.
+     * These are disabled in all searches but the first, to avoid them clashing.
+     */
+    private val disabledOutputs = mapOf(
+            "showProgress" to "false",
+            "enableProcessMonitor" to "false",
+            "writeExtraHeuristicsFile" to "false",
+            "enableWriteSnapshotTests" to "false",
+            "recordExceededTargets" to "false",
+            "saveMutationInfo" to "false",
+            "saveArchiveAfterMutation" to "false",
+            "outputExecutedSQL" to EMConfig.OutputExecutedSQL.NONE.toString()
+    )
+
+    /**
+     * @return the command-line arguments for the search at position [index],
+     * based on the [args] given by the user and on the resolved [config] of the first search
+     */
+    fun argumentsForSearch(args: Array<String>, config: EMConfig, index: Int): Array<String> {
+
+        if (index < 1 || index >= config.numberOfSutControllers) {
+            throw IllegalArgumentException("Invalid search index $index")
+        }
+
+        val overrides = mutableMapOf(
+                "sutControllerPort" to "${config.sutControllerPort + index}",
+                "numberOfSutControllers" to "1",
+                //already resolved by the first search, no need to ask the driver again
+                "problemType" to config.problemType.toString()
+        )
+        if (config.seed >= 0) {
+            overrides["seed"] = "${config.seed + index}"
+        }
+        when (config.stoppingCriterion) {
+            EMConfig.StoppingCriterion.FITNESS_EVALUATIONS ->
+                overrides["maxActionEvaluations"] = "${budgetPerSearch(config)}"
+            EMConfig.StoppingCriterion.TIME ->
+                overrides["maxTimeInSeconds"] = "${timePerSearch(config)}"
+        }
+        overrides.putAll(disabledOutputs)
+
+        return withOverrides(args, overrides)
+    }
+
+    /**
+     * @return how many action evaluations each search can do, when the total budget
+     * (apart from what is kept for the merge) is split evenly
+     */
+    fun budgetPerSearch(config: EMConfig): Int {
+        val n = config.numberOfSutControllers
+        val forSearches = (config.maxActionEvaluations * (1 - MERGE_BUDGET_RATIO)).toInt()
+        return maxOf(1, (forSearches + n - 1) / n)
+    }
+
+    /**
+     * @return for how many seconds each search can run. As searches run at the same time,
+     * the time budget is not split among them, apart from what is kept for the merge
+     */
+    fun timePerSearch(config: EMConfig): Int {
+        return maxOf(1, (config.timeLimitInSeconds() * (1 - MERGE_BUDGET_RATIO)).toInt())
+    }
+
+    private fun withOverrides(args: Array<String>, overrides: Map<String, String>): Array<String> {
+
+        val result = mutableListOf<String>()
+
+        var i = 0
+        while (i < args.size) {
+            val token = args[i]
+            val name = token.trimStart('-').substringBefore('=')
+            if (token.startsWith("-") && overrides.containsKey(name)) {
+                //skip it, and its value if not given with '='
+                i += if (token.contains('=')) 1 else 2
+                continue
+            }
+            result.add(token)
+            i++
+        }
+
+        overrides.forEach { (name, value) ->
+            result.add("--$name")
+            result.add(value)
+        }
+
+        return result.toTypedArray()
+    }
+}
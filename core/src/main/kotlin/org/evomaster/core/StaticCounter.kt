@@ -1,5 +1,7 @@
 package org.evomaster.core
 
+import java.util.concurrent.atomic.AtomicInteger
+
 
 /**
  * WARNING: here we have mutable static state.
@@ -13,12 +15,16 @@ class StaticCounter {
 
     companion object{
 
-        private var counter = 0
+        /*
+            atomic, as there can be several searches at the same time in the same process,
+            see [EMConfig.numberOfSutControllers]
+         */
+        private val counter = AtomicInteger(0)
 
-        fun getAndIncrease() = counter++
+        fun getAndIncrease() = counter.getAndIncrement()
 
         fun reset() {
-            counter = 0
+            counter.set(0)
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package org.evomaster.core.database
+
+import org.evomaster.core.search.gene.Gene
+import org.evomaster.core.search.gene.NumberGene
+import org.evomaster.core.search.gene.sql.SqlNullableGene
+import org.evomaster.dbconstraint.*
+import java.util.IdentityHashMap
+import java.util.regex.Pattern
+
+/**
+ * A table constraint compiled into a predicate on DbActions.
+ * Everything that does not depend on the evaluated action (eg, the translation and
+ * compilation of LIKE and SIMILAR TO patterns) is done only once, when compiling.
+ *
+ * UNIQUE constraints depend on the rows inserted by previous actions, whose values are
+ * given with [PreviousRows]. The database is expected to be initially empty, ie only
+ * those previous rows are considered.
+ */
+class CompiledTableConstraint private constructor(
+        val constraint: TableConstraint,
+        private val predicate: (DbAction, PreviousRows) -> Boolean,
+        /**
+         * all the UNIQUE constraints in the constraint tree
+         */
+        val uniqueConstraints: List<UniqueConstraint>
+) {
+
+    companion object {
+
+        fun compile(constraint: TableConstraint): CompiledTableConstraint {
+            val uniques = mutableListOf<UniqueConstraint>()
+            val predicate = constraint.accept(Compiler(uniques), null)
+            return CompiledTableConstraint(constraint, predicate, uniques)
+        }
+
+        private fun findGene(dbAction: DbAction, columnName: String): Gene? =
+                dbAction.seeGenes().firstOrNull { it.name == columnName }
+
+        /**
+         * @return the raw values of the given columns, where a missing column is considered NULL
+         */
+        fun getTuple(dbAction: DbAction, columnNames: List<String>): List<String?> =
+                columnNames.map { findGene(dbAction, it)?.getValueAsRawString() }
+
+        private fun getLong(dbAction: DbAction, columnName: String): Long? {
+            // TODO: Handle DEFAULT column values different than NULL
+            val gene = findGene(dbAction, columnName) ?: return null
+            return gene.flatView().filterIsInstance<NumberGene<*>>().first().toLong()
+        }
+    }
+
+    /**
+     * @param previous values of the rows inserted by the previous actions
+     * @return whether the action satisfies this constraint
+     */
+    fun isSatisfied(dbAction: DbAction, previous: PreviousRows = PreviousRows()): Boolean =
+            predicate(dbAction, previous)
+
+
+    private class Compiler(
+            private val uniques: MutableList<UniqueConstraint>
+    ) : TableConstraintVisitor<(DbAction, PreviousRows) -> Boolean, Any?> {
+
+        /**
+         * If the action is not referred to the table of the constraint, we conclude
+         * the action does not invalidate the constraint
+         */
+        private fun onTable(tableName: String, predicate: (DbAction, PreviousRows) -> Boolean): (DbAction, PreviousRows) -> Boolean =
+                { a, p -> a.table.name != tableName || predicate(a, p) }
+
+        override fun visit(constraint: AndConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val left = constraint.left.accept(this, argument)
+            val right = constraint.right.accept(this, argument)
+            return { a, p -> left(a, p) && right(a, p) }
+        }
+
+        override fun visit(constraint: OrConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val list = constraint.constraintList.map { it.accept(this, argument) }
+            return { a, p -> list.any { it(a, p) } }
+        }
+
+        override fun visit(constraint: IffConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val left = constraint.left.accept(this, argument)
+            val right = constraint.right.accept(this, argument)
+            return { a, p -> left(a, p) == right(a, p) }
+        }
+
+        override fun visit(constraint: IsNotNullConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val column = constraint.columnName
+            return onTable(constraint.tableName) { a, _ ->
+                when (val gene = findGene(a, column)) {
+                    null -> false
+                    is SqlNullableGene -> gene.isPresent
+                    else -> true
+                }
+            }
+        }
+
+        override fun visit(constraint: LowerBoundConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val column = constraint.columnName
+            val lower = constraint.lowerBound
+            return onTable(constraint.tableName) { a, _ ->
+                val value = getLong(a, column)
+                value != null && lower <= value
+            }
+        }
+
+        override fun visit(constraint: UpperBoundConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val column = constraint.columnName
+            val upper = constraint.upperBound
+            return onTable(constraint.tableName) { a, _ ->
+                val value = getLong(a, column)
+                value != null && value <= upper
+            }
+        }
+
+        override fun visit(constraint: RangeConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val column = constraint.columnName
+            val min = constraint.minValue
+            val max = constraint.maxValue
+            return onTable(constraint.tableName) { a, _ ->
+                val value = getLong(a, column)
+                value != null && min <= value && value <= max
+            }
+        }
+
+        override fun visit(constraint: EnumConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            val column = constraint.columnName
+            val values = constraint.valuesAsStrings.toHashSet()
+            return onTable(constraint.tableName) { a, _ ->
+                val gene = findGene(a, column)
+                gene != null && values.contains(gene.getValueAsRawString())
+            }
+        }
+
+        override fun visit(constraint: UniqueConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            uniques.add(constraint)
+            val columns = constraint.uniqueColumnNames
+            return onTable(constraint.tableName) { a, p ->
+                !p.contains(constraint, getTuple(a, columns))
+            }
+        }
+
+        override fun visit(constraint: UnsupportedTableConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            return { _, _ -> true }
+        }
+
+        override fun visit(constraint: LikeConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            return matching(constraint.tableName, constraint.columnName, constraint.databaseType) {
+                PostgresToJavaRegExTranslator().translatePostgresLike(constraint.pattern)
+            }
+        }
+
+        override fun visit(constraint: SimilarToConstraint, argument: Any?): (DbAction, PreviousRows) -> Boolean {
+            return matching(constraint.tableName, constraint.columnName, constraint.databaseType) {
+                PostgresToJavaRegExTranslator().translatePostgresSimilarTo(constraint.pattern)
+            }
+        }
+
+        private fun matching(tableName: String,
+                             columnName: String,
+                             databaseType: ConstraintDatabaseType,
+                             translate: () -> String
+        ): (DbAction, PreviousRows) -> Boolean {
+
+            val pattern: Pattern? = when (databaseType) {
+                ConstraintDatabaseType.POSTGRES -> Pattern.compile(translate())
+                else -> null
+            }
+
+            return onTable(tableName) { a, _ ->
+                val gene = findGene(a, columnName)
+                when {
+                    gene == null -> false
+                    pattern == null -> throw UnsupportedOperationException("Must implement java regex translation from %s".format(databaseType))
+                    else -> pattern.matcher(gene.getValueAsRawString()).find()
+                }
+            }
+        }
+    }
+}
+
+/**
+ * Values in the columns of UNIQUE constraints for the rows inserted by a sequence of
+ * actions, to check in constant time if a new row would break those constraints.
+ */
+class PreviousRows {
+
+    /**
+     * Key -> a UNIQUE constraint (by identity)
+     * Value -> tuples of values already inserted for its columns
+     */
+    private val tuples = IdentityHashMap<UniqueConstraint, MutableSet<List<String?>>>()
+
+    fun contains(constraint: UniqueConstraint, tuple: List<String?>): Boolean =
+            tuples[constraint]?.contains(tuple) ?: false
+
+    fun add(constraint: UniqueConstraint, tuple: List<String?>) {
+        tuples.getOrPut(constraint) { mutableSetOf() }.add(tuple)
+    }
+
+    fun remove(constraint: UniqueConstraint, tuple: List<String?>) {
+        tuples[constraint]?.remove(tuple)
+    }
+
+    /**
+     * Add the values of the row inserted by the given action
+     */
+    fun add(dbAction: DbAction) {
+        tuplesOf(dbAction).forEach { add(it.first, it.second) }
+    }
+
+    companion object {
+
+        /**
+         * @return the values of the row inserted by the given action, for each UNIQUE table constraint of its table
+         */
+        fun tuplesOf(dbAction: DbAction): List<Pair<UniqueConstraint, List<String?>>> =
+                dbAction.table.compiledConstraints
+                        .flatMap { it.uniqueConstraints }
+                        .filter { it.tableName == dbAction.table.name }
+                        .map { Pair(it, CompiledTableConstraint.getTuple(dbAction, it.uniqueColumnNames)) }
+    }
+}
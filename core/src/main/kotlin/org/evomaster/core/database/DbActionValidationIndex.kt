@@ -0,0 +1,258 @@
+package org.evomaster.core.database
+
+import org.evomaster.core.search.gene.Gene
+import org.evomaster.core.search.gene.sql.SqlForeignKeyGene
+import org.evomaster.core.search.gene.sql.SqlPrimaryKeyGene
+import org.evomaster.core.search.service.Randomness
+import org.evomaster.dbconstraint.UniqueConstraint
+
+/**
+ * Values of the rows inserted by a prefix of a list of DbActions which has already been
+ * validated, ie, all its foreign keys, primary keys, unique columns and table constraints
+ * are satisfied.
+ *
+ * This is used to check the following actions in the list without re-processing the whole
+ * list each time, eg, when actions are repaired one at a time.
+ * The index is valid only as long as the actions in the validated prefix are not modified.
+ * If they are, [invalidateFrom] must be called with the position of the first modified action.
+ */
+class DbActionValidationIndex {
+
+    /**
+     * Values added to the index by a validated action, so that they can be
+     * removed when the action is invalidated
+     */
+    private class Row(
+            val tableName: String,
+            val uniqueValues: List<Pair<Pair<String, String>, String>>,
+            val pk: String?,
+            val tuples: List<Pair<UniqueConstraint, List<String?>>>
+    )
+
+    private val rows = mutableListOf<Row>()
+
+    /*
+        Key -> tableName/columnName
+        Value -> raw gene value
+     */
+    private val uniqueColumnValues = mutableMapOf<Pair<String, String>, MutableSet<String>>()
+
+    /*
+        Key -> tableName
+        Value -> concatenated values of raw genes, in order
+     */
+    private val pksValues = mutableMapOf<String, MutableSet<String>>()
+
+    /*
+        values of the previous actions for the UNIQUE table constraints
+     */
+    private val previousRows = PreviousRows()
+
+    /**
+     * number of actions, at the beginning of the list, which are known to be valid
+     */
+    val validatedSize: Int
+        get() = rows.size
+
+    /**
+     * Remove from the index all the actions starting from [position]
+     */
+    fun invalidateFrom(position: Int) {
+        if (position < 0) {
+            throw IllegalArgumentException("Invalid negative position: $position")
+        }
+        while (rows.size > position) {
+            val row = rows.removeAt(rows.lastIndex)
+            row.uniqueValues.forEach { uniqueColumnValues[it.first]?.remove(it.second) }
+            row.pk?.let { pksValues[row.tableName]?.remove(it) }
+            row.tuples.forEach { previousRows.remove(it.first, it.second) }
+        }
+    }
+
+    /**
+     * Validate the actions following the already validated prefix, which are then added to the index.
+     *
+     * Returns the first offending gene found with the action index to the
+     * passed list where the gene was found.
+     * If no such gene is found, the function returns the tuple (-1,null).
+     * If randomness is provided, the returning gene for a broken table constraint is randomly
+     * selected from all the genes in the constraint
+     */
+    fun findFirstOffendingGene(
+            actions: List<DbAction>,
+            randomness: Randomness? = null
+    ): Pair<Gene?, Int> {
+
+        if (rows.size > actions.size) {
+            invalidateFrom(actions.size)
+        }
+
+        /*
+            genes of all the actions up to the current one (included), used to
+            resolve references to PKs
+         */
+        val all = actions.subList(0, rows.size).flatMapTo(mutableListOf()) { it.seeGenes() }
+
+        for (actionIndex in rows.size until actions.size) {
+
+            val action = actions[actionIndex]
+            all.addAll(action.seeGenes())
+
+            handleFKs(action)?.let { return Pair(it, actionIndex) }
+
+            val uniqueValues = mutableListOf<Pair<Pair<String, String>, String>>()
+            handleUnique(action, uniqueValues, all)?.let { return Pair(it, actionIndex) }
+
+            val pk = computePk(action, all)
+            if (pk != null && pksValues[action.table.name]?.contains(pk) == true) {
+                /*
+                    we have a problem.
+                    TODO could take one of the offending genes at random?
+                 */
+                return Pair(action.seeGenes().filterIsInstance<SqlPrimaryKeyGene>().first(), actionIndex)
+            }
+
+            checkIfTableConstraintsAreSatisfied(action, randomness)?.let { return Pair(it, actionIndex) }
+
+            //the action is valid, so add its values to the index
+            val row = Row(action.table.name, uniqueValues, pk, PreviousRows.tuplesOf(action))
+            row.uniqueValues.forEach { uniqueColumnValues.getOrPut(it.first) { mutableSetOf() }.add(it.second) }
+            row.pk?.let { pksValues.getOrPut(row.tableName) { mutableSetOf() }.add(it) }
+            row.tuples.forEach { previousRows.add(it.first, it.second) }
+            rows.add(row)
+        }
+
+        //if reached here, then there was no problem
+        return Pair(null, -1)
+    }
+
+    private fun handleFKs(action: DbAction): Gene? {
+
+        return action.seeGenes().flatMap { it.flatView() }
+                .filterIsInstance<SqlForeignKeyGene>()
+                .firstOrNull { !it.hasValidUniqueIdOfPrimaryKey() }
+    }
+
+    /**
+     * Values of unique columns of [action] are added to [values], and not to the index.
+     * @return an offending gene, if any
+     */
+    private fun handleUnique(
+            action: DbAction,
+            values: MutableList<Pair<Pair<String, String>, String>>,
+            all: List<Gene>
+    ): Gene? {
+
+        val tableName = action.table.name
+
+        /*
+            columns in database for which we need to enforce a unique constraint
+         */
+        val uniqueColumns = action.table.columns
+                .filter { !it.autoIncrement && it.unique }
+                .map { it.name }
+                .toSet()
+
+        if (uniqueColumns.isEmpty()) {
+            return null
+        }
+
+        action.seeGenes().forEach { g ->
+
+            if (uniqueColumns.contains(g.name)) {
+
+                val key = Pair(tableName, g.name)
+
+                val value = getStringValue(g, all)
+
+                if (uniqueColumnValues[key]?.contains(value) == true) {
+                    //we have a problem
+                    return g
+                }
+                values.add(Pair(key, value))
+            }
+        }
+
+        return null
+    }
+
+    /**
+     * @return the value of the PK of the [action], or null if there is no need to check it
+     */
+    private fun computePk(action: DbAction, all: List<Gene>): String? {
+
+        val pks = action.table.primaryKeys()
+
+        if (pks.isEmpty()) {
+            //it can happen that a table has no PK
+            return null
+        }
+
+        if (pks.any { it.autoIncrement }) {
+            //auto-increment should never lead to unique violations
+            return null
+        }
+
+        /*
+           Primary Keys are unique as well. However, a PK could be
+           defined by several columns, i.e by a tuple.
+           So, here we concatenate all PK columns into a single string
+           to check for uniqueness
+         */
+        return action.seeGenes()
+                .filterIsInstance<SqlPrimaryKeyGene>()
+                .sortedBy { it.name }
+                .joinToString("__") { it.name + "=" + getStringValue(it, all) }
+    }
+
+    /**
+     * Returns a gene of a table constraint of the table of [dbAction] which is not satisfied, if any.
+     * If randomness is provided, the returning gene is randomly selected from all the genes in the constraint
+     */
+    private fun checkIfTableConstraintsAreSatisfied(
+            dbAction: DbAction,
+            randomness: Randomness? = null
+    ): Gene? {
+
+        for (compiled in dbAction.table.compiledConstraints) {
+            if (!compiled.isSatisfied(dbAction, previousRows)) {
+                // This constraint is not satisfied, collect all genes related to constraint
+                val geneCollector = TableConstraintGeneCollector()
+                val genes = compiled.constraint.accept(geneCollector, dbAction)
+                // it is expected that at least one gene should be involved in not satisfying this
+
+                return if (randomness == null) {
+                    genes.first()
+                } else {
+                    randomness.choose(genes)
+                }
+            }
+        }
+
+        // no problem found
+        return null
+    }
+
+    private fun getStringValue(g: Gene, all: List<Gene>): String {
+        /*
+               The code here cannot use Gene#containsSameValueAs, as the same type of
+               values could be represented with different gene structures.
+               For example, in the case of PKs, those could be regular genes, or
+               immutable ones when representing existing data in the DB.
+               So, the check for uniqueness is based on value representation...
+               but not all values can be printed... in those case we use an ad-hoc
+               string with the unique ids.
+        */
+        return if (g is SqlForeignKeyGene && g.isReferenceToNonPrintable(all)) {
+            "FK_REFERENCE_ " + g.uniqueIdOfPrimaryKey
+        } else if ((g is SqlPrimaryKeyGene && g.isReferenceToNonPrintable(all))) {
+            "FK_REFERENCE_ " + (g.gene as SqlForeignKeyGene).uniqueIdOfPrimaryKey
+        } else {
+            g.getValueAsPrintableString(all, targetFormat = null)
+            /*  TODO: the above code needs to be refactored to get the targetFormat from EMConfig.
+                    The target format has an impact on which characters are escaped and may result in compilation errors.
+                    The current version performs no escaping of characters by default (i.e. when the target format is null).
+            */
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.evomaster.core.database.schema.ColumnFactory.createColumnFromDto
 import org.evomaster.core.search.gene.Gene
 import org.evomaster.core.search.gene.ImmutableDataHolderGene
 import org.evomaster.core.search.gene.sql.SqlPrimaryKeyGene
+import org.evomaster.core.search.service.Randomness
 import org.evomaster.dbconstraint.*
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -19,7 +20,11 @@ import org.slf4j.LoggerFactory
 
 class SqlInsertBuilder(
         schemaDto: DbSchemaDto,
-        private val dbExecutor: DatabaseExecutor? = null
+        private val dbExecutor: DatabaseExecutor? = null,
+        /**
+         * if present, used to avoid parsing again the table constraints of a schema already seen
+         */
+        constraintCache: TableConstraintCache? = null
 ) {
 
     /**
@@ -41,6 +46,11 @@ class SqlInsertBuilder(
 
     companion object {
         private val log: Logger = LoggerFactory.getLogger(SqlInsertBuilder::class.java)
+
+        /**
+         * max number of rows retrieved with a single SELECT when extracting existing data
+         */
+        const val EXISTING_DATA_PAGE_SIZE = 1000
     }
 
 
@@ -76,9 +86,11 @@ class SqlInsertBuilder(
         val tableToForeignKeys = mutableMapOf<String, MutableSet<ForeignKey>>()
         val tableToConstraints = mutableMapOf<String, Set<TableConstraint>>()
 
+        val cachedConstraints = constraintCache?.getOrParse(schemaDto) { parseTableConstraints(it) }
+
         for (t in schemaDto.tables) {
 
-            val tableConstraints = parseTableConstraints(t).toMutableList()
+            val tableConstraints = (cachedConstraints?.get(t.name) ?: parseTableConstraints(t)).toMutableList()
 
             val columns = mutableSetOf<Column>()
 
@@ -478,15 +490,35 @@ class SqlInsertBuilder(
     /**
      * Check current state of database.
      * For each row, create a DbAction containing only Primary Keys
-     * and immutable data
+     * and immutable data.
+     *
+     * Rows are retrieved in pages of [pageSize] rows, to avoid having whole tables in
+     * memory (in the SUT driver, in the JSON responses and here) at the same time.
+     * If [maxSize] is positive, then only a uniform random sample of at most [maxSize]
+     * rows among all the tables is kept (using reservoir sampling), and so [randomness]
+     * is required.
      */
-    fun extractExistingPKs(): List<DbAction> {
+    fun extractExistingPKs(
+            maxSize: Int = -1,
+            randomness: Randomness? = null,
+            pageSize: Int = EXISTING_DATA_PAGE_SIZE
+    ): List<DbAction> {
 
         if (dbExecutor == null) {
             throw IllegalStateException("No Database Executor registered for this object")
         }
+        if (maxSize > 0 && randomness == null) {
+            throw IllegalArgumentException("Randomness is needed to sample at most $maxSize existing rows")
+        }
+        if (pageSize <= 0) {
+            throw IllegalArgumentException("Invalid page size: $pageSize")
+        }
 
-        val list = mutableListOf<DbAction>()
+        /*
+            sampled rows, as table with its pk columns, and their values
+         */
+        val reservoir = mutableListOf<Triple<Table, List<Column>, DataRowDto>>()
+        var seen = 0
 
         for (table in tables.values) {
 
@@ -501,31 +533,57 @@ class SqlInsertBuilder(
                 continue
             }
 
-            val sql = formatSelect(pks.map { it.name }, table.name)
-
-            val dto = DatabaseCommandDto()
-            dto.command = sql
+            /*
+                PK values of the last row of the previous page, if any
+             */
+            var last: List<String?>? = null
+
+            while (true) {
+
+                val dto = DatabaseCommandDto()
+                dto.command = formatPagedSelect(pks, table.name, last, pageSize)
+
+                val result: QueryResultDto = dbExecutor.executeDatabaseCommandAndGetQueryResults(dto)
+                        ?: break
+
+                for (r in result.rows) {
+                    seen++
+                    if (maxSize <= 0 || reservoir.size < maxSize) {
+                        reservoir.add(Triple(table, pks, r))
+                    } else {
+                        val k = randomness!!.nextInt(seen)
+                        if (k < maxSize) {
+                            reservoir[k] = Triple(table, pks, r)
+                        }
+                    }
+                }
 
-            val result: QueryResultDto = dbExecutor.executeDatabaseCommandAndGetQueryResults(dto)
-                    ?: continue
+                if (!canPage() || result.rows.size < pageSize) {
+                    break
+                }
+                last = result.rows.last().columnData
+            }
+        }
 
-            result.rows.forEach { r ->
+        if (maxSize > 0 && seen > maxSize) {
+            log.info("Sampled $maxSize existing rows in the database out of $seen")
+        }
 
-                val id = counter++
+        val list = reservoir.map { (table, pks, r) ->
 
-                val genes = mutableListOf<Gene>()
+            val id = counter++
 
-                for (i in 0 until pks.size) {
-                    val pkName = pks[i].name
-                    val inQuotes = pks[i].type.shouldBePrintedInQuotes() || pks[i].dimension > 0
-                    val data = ImmutableDataHolderGene(pkName, r.columnData[i], inQuotes)
-                    val pk = SqlPrimaryKeyGene(pkName, table.name, data, id)
-                    genes.add(pk)
-                }
+            val genes = mutableListOf<Gene>()
 
-                val action = DbAction(table, pks.toSet(), id, genes, true)
-                list.add(action)
+            for (i in 0 until pks.size) {
+                val pkName = pks[i].name
+                val inQuotes = pks[i].type.shouldBePrintedInQuotes() || pks[i].dimension > 0
+                val data = ImmutableDataHolderGene(pkName, r.columnData[i], inQuotes)
+                val pk = SqlPrimaryKeyGene(pkName, table.name, data, id)
+                genes.add(pk)
             }
+
+            DbAction(table, pks.toSet(), id, genes, true)
         }
         list.forEach { it.doInitialize() }
 
@@ -683,6 +741,52 @@ class SqlInsertBuilder(
         return "SELECT ${columnNames.joinToString(",") { formatNameInSql(it) }} FROM ${formatNameInSql(tableName)}"
     }
 
+    /**
+     * @return whether the SQL dialect of the database is known to support limiting the number of selected rows
+     */
+    private fun canPage() = databaseType != DatabaseType.OTHER && databaseType != DatabaseType.DERBY
+
+    /**
+     * A SELECT of a page of rows, ordered by the given primary key columns.
+     * Pages are selected by key (ie, rows after the [last] one of the previous page),
+     * and not with an OFFSET, as the database would need to scan all the skipped rows
+     * at each page.
+     * If the database does not support pagination, all the rows are selected
+     */
+    private fun formatPagedSelect(pks: List<Column>, tableName: String, last: List<String?>?, pageSize: Int): String {
+        val select = formatSelect(pks.map { it.name }, tableName)
+        if (!canPage()) {
+            return select
+        }
+        val where = if (last == null) "" else " WHERE ${formatAfterKey(pks, last)}"
+        val order = "$select$where ORDER BY ${pks.joinToString(",") { formatNameInSql(it.name) }}"
+        return when (databaseType) {
+            DatabaseType.MS_SQL_SERVER -> "$order OFFSET 0 ROWS FETCH NEXT $pageSize ROWS ONLY"
+            else -> "$order LIMIT $pageSize"
+        }
+    }
+
+    /**
+     * Condition for rows whose key comes after the given [key] values, in lexicographic order
+     * of the [pks] columns, ie, (a > x) OR (a = x AND b > y) OR ...
+     * Row value comparisons, eg (a,b) > (x,y), are not used as not supported by all databases
+     */
+    private fun formatAfterKey(pks: List<Column>, key: List<String?>): String {
+        return pks.indices.joinToString(" OR ") { i ->
+            (0..i).joinToString(" AND ", "(", ")") { j ->
+                "${formatNameInSql(pks[j].name)} ${if (j == i) ">" else "="} ${formatValueInSql(key[j])}"
+            }
+        }
+    }
+
+    /**
+     * Values are always in quotes, as string literals are converted to the type of the
+     * compared column, whereas, eg, an unquoted date would be evaluated as an arithmetic expression
+     */
+    private fun formatValueInSql(value: String?): String {
+        return if (value == null) "NULL" else "'${value.replace("'", "''")}'"
+    }
+
     private fun formatNameInSql(name: String): String {
         return when {
             databaseType == DatabaseType.MYSQL || name == SQLKey.ALL.key -> name
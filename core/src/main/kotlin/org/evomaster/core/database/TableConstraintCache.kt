@@ -0,0 +1,91 @@
+package org.evomaster.core.database
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto
+import org.evomaster.client.java.controller.api.dto.database.schema.TableDto
+import org.evomaster.dbconstraint.TableConstraint
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import java.io.ObjectInputStream
+import java.io.ObjectOutputStream
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+
+/**
+ * On-disk cache of the table constraints parsed from the check expressions of a schema,
+ * to avoid parsing them again in each run on the same schema.
+ *
+ * The constraints of a schema are stored in a single file, named after a hash of
+ * the database type and of the check expressions of all its tables.
+ * A cached file that cannot be read (eg, because created by a different version of
+ * the constraint classes) is just ignored, and replaced.
+ */
+class TableConstraintCache(private val folder: Path) {
+
+    companion object {
+        private val log: Logger = LoggerFactory.getLogger(TableConstraintCache::class.java)
+
+        /**
+         * @return a hash of the database type and of all the check expressions in the schema
+         */
+        fun computeKey(schemaDto: DbSchemaDto): String {
+
+            val digest = MessageDigest.getInstance("SHA-256")
+            val update = { s: String? ->
+                //separator, to distinguish, eg, "ab","c" from "a","bc"
+                digest.update(0)
+                if (s != null) digest.update(s.toByteArray(StandardCharsets.UTF_8))
+            }
+
+            update(TableConstraintCache::class.java.`package`?.implementationVersion)
+            update(schemaDto.databaseType?.toString())
+            for (t in schemaDto.tables) {
+                update(t.name)
+                t.tableCheckExpressions.forEach { update(it.sqlCheckExpression) }
+            }
+
+            return digest.digest().joinToString("") { "%02x".format(it) }
+        }
+    }
+
+    /**
+     * @param parse used to parse the constraints of a table, when they are not in the cache
+     * @return the constraints of each table of the schema, by table name
+     */
+    fun getOrParse(schemaDto: DbSchemaDto, parse: (TableDto) -> List<TableConstraint>): Map<String, List<TableConstraint>> {
+
+        val file = folder.resolve("constraints_${computeKey(schemaDto)}.ser")
+
+        if (Files.exists(file)) {
+            try {
+                ObjectInputStream(Files.newInputStream(file)).use {
+                    @Suppress("UNCHECKED_CAST")
+                    val cached = it.readObject() as Map<String, List<TableConstraint>>
+                    if (schemaDto.tables.all { t -> cached.containsKey(t.name) }) {
+                        log.info("Loaded table constraints from cache $file")
+                        return cached
+                    }
+                }
+            } catch (e: Exception) {
+                log.warn("Failed to read cached table constraints in $file: ${e.message}")
+            }
+        }
+
+        val parsed = LinkedHashMap<String, List<TableConstraint>>()
+        schemaDto.tables.forEach { parsed[it.name] = ArrayList(parse(it)) }
+
+        try {
+            Files.createDirectories(folder)
+            //write to a temporary file first, as several runs could share the same cache
+            val tmp = Files.createTempFile(folder, "constraints_", ".tmp")
+            ObjectOutputStream(Files.newOutputStream(tmp)).use { it.writeObject(parsed) }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+        } catch (e: Exception) {
+            log.warn("Failed to save table constraints in cache $file: ${e.message}")
+        }
+
+        return parsed
+    }
+}
@@ -1,5 +1,6 @@
 package org.evomaster.core.database.schema
 
+import org.evomaster.core.database.CompiledTableConstraint
 import org.evomaster.dbconstraint.TableConstraint
 
 /**
@@ -21,4 +22,14 @@ data class Table(
 ){
 
     fun primaryKeys() = columns.filter { it.primaryKey }
+
+    /**
+     * the constraints on this table, compiled only once as tables are shared among
+     * all the actions inserting into them
+     */
+    val compiledConstraints: List<CompiledTableConstraint> by lazy {
+        tableConstraints
+                .filter { it.tableName == name }
+                .map { CompiledTableConstraint.compile(it) }
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import ch.qos.logback.classic.turbo.TurboFilter
 import ch.qos.logback.core.spi.FilterReply
 import org.slf4j.Marker
 import org.slf4j.MarkerFactory
+import java.util.concurrent.ConcurrentHashMap
 
 
 /**
@@ -19,7 +20,7 @@ class UniqueTurboFilter : TurboFilter() {
     companion object {
         val UNIQUE_MARKER = MarkerFactory.getMarker("unique_marker_for_logs")!!
 
-        private val uniqueMessages = mutableSetOf<String>()
+        private val uniqueMessages: MutableSet<String> = ConcurrentHashMap.newKeySet()
     }
 
     override fun decide(marker: Marker?,
@@ -35,12 +36,10 @@ class UniqueTurboFilter : TurboFilter() {
 
         val msgKey = format + "_" + params?.map { it.toString() }?.joinToString("_")
 
-        if(uniqueMessages.contains(msgKey)){
+        if(!uniqueMessages.add(msgKey)){
             return FilterReply.DENY
         }
 
-        uniqueMessages.add(msgKey)
-
         return FilterReply.NEUTRAL
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.evomaster.core.problem.rest.BlackBoxUtils
 import org.evomaster.core.problem.rpc.RPCIndividual
 import org.evomaster.core.search.Solution
 import org.evomaster.core.search.service.Sampler
+import org.evomaster.core.search.service.SearchPhase
 import org.evomaster.core.search.service.SearchTimeController
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -63,9 +64,11 @@ class TestSuiteWriter {
         snapshotTimestamp: String = ""
     ) {
 
-        val name = TestSuiteFileName(solution.getFileName())
-        val content = convertToCompilableTestCode(solution, name, snapshotTimestamp, controllerName, controllerInput)
-        saveToDisk(content, config, name)
+        searchTimeController.measurePhase(SearchPhase.TEST_WRITING) {
+            val name = TestSuiteFileName(solution.getFileName())
+            val content = convertToCompilableTestCode(solution, name, snapshotTimestamp, controllerName, controllerInput)
+            saveToDisk(content, config, name)
+        }
     }
 
 
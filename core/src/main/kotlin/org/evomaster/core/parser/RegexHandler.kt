@@ -3,6 +3,7 @@ package org.evomaster.core.parser
 import org.antlr.v4.runtime.*
 import org.antlr.v4.runtime.misc.ParseCancellationException
 import org.evomaster.core.search.gene.regex.RegexGene
+import java.util.concurrent.ConcurrentHashMap
 
 
 /**
@@ -19,10 +20,10 @@ object RegexHandler {
         WARNING mutable static state, but those are just caches.
         Key -> regex
      */
-    private val cacheJVM : MutableMap<String, RegexGene> = mutableMapOf()
-    private val cacheEcma262 : MutableMap<String, RegexGene> = mutableMapOf()
-    private val cachePostgresLike : MutableMap<String, RegexGene> = mutableMapOf()
-    private val cachePostgresSimilarTo : MutableMap<String, RegexGene> = mutableMapOf()
+    private val cacheJVM : MutableMap<String, RegexGene> = ConcurrentHashMap()
+    private val cacheEcma262 : MutableMap<String, RegexGene> = ConcurrentHashMap()
+    private val cachePostgresLike : MutableMap<String, RegexGene> = ConcurrentHashMap()
+    private val cachePostgresSimilarTo : MutableMap<String, RegexGene> = ConcurrentHashMap()
 
     fun createGeneForJVM(regex: String) : RegexGene {
 
@@ -127,6 +127,14 @@ abstract class ApiWsFitness<T> : FitnessFunction<T>() where T : Individual {
         }
     }
 
+    /**
+     * As only a random subset of the non-covered targets is evaluated anyway (see [targetsToEvaluate]),
+     * a cached evaluation can be reused as long as it covers the prioritized targets
+     */
+    override fun targetsRequiredFromCache(targets: Set<Int>, individual: T): Set<Int> {
+        return targets.filter { !IdMapper.isLocal(it) }.toSet()
+    }
+
     private fun recordExceededTarget(targets: Collection<Int>){
         if(!config.recordExceededTargets) return
         if (targets.size <= 100) return
@@ -138,10 +146,19 @@ abstract class ApiWsFitness<T> : FitnessFunction<T>() where T : Individual {
     }
 
 
+    /**
+     * reset the state of the SUT, before executing a new test
+     */
+    protected fun resetSUT() {
+        time.measurePhase(SearchPhase.SUT_RESET) { rc.resetSUT() }
+    }
+
+    /**
+     * @param targets the ids of the targets to retrieve, as selected with [targetsToEvaluate]
+     */
     protected fun updateFitnessAfterEvaluation(targets: Set<Int>, individual: T, fv: FitnessValue) : TestResultsDto?{
-        val ids = targetsToEvaluate(targets, individual)
 
-        val dto = rc.getTestResults(ids)
+        val dto = time.measurePhase(SearchPhase.TEST_RESULTS) { rc.getTestResults(targets) }
         if (dto == null) {
             log.warn("Cannot retrieve coverage")
             return null
@@ -217,7 +234,7 @@ abstract class ApiWsFitness<T> : FitnessFunction<T>() where T : Individual {
         }
         dto.idCounter = StaticCounter.getAndIncrease()
 
-        val sqlResults = rc.executeDatabaseInsertionsAndGetIdMapping(dto)
+        val sqlResults = time.measurePhase(SearchPhase.DB_INSERTION) { rc.executeDatabaseInsertionsAndGetIdMapping(dto) }
         val map = sqlResults?.idMapping
         val executedResults = sqlResults?.executionResults
 
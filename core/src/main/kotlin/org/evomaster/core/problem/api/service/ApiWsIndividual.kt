@@ -3,6 +3,7 @@ package org.evomaster.core.problem.api.service
 import org.evomaster.core.Lazy
 import org.evomaster.core.database.DbAction
 import org.evomaster.core.database.DbActionUtils
+import org.evomaster.core.database.DbActionValidationIndex
 import org.evomaster.core.search.Individual
 import org.evomaster.core.search.StructuralElement
 import org.evomaster.core.search.gene.GeneUtils
@@ -54,16 +55,20 @@ abstract class ApiWsIndividual (
         if (log.isTraceEnabled)
             log.trace("invoke GeneUtils.repairGenes")
 
-        GeneUtils.repairGenes(this.seeGenes(GeneFilter.ONLY_SQL).flatMap { it.flatView() })
+        GeneUtils.repairGenes(geneIndex().flatGenes(GeneFilter.ONLY_SQL))
 
         /**
          * Now repair database constraints (primary keys, foreign keys, unique fields, etc.)
          */
-        if (!verifyInitializationActions()) {
+        val previous = dbInitialization.toMutableList()
+        /*
+            actions found valid here are not checked again when repairing
+         */
+        val index = DbActionValidationIndex()
+        if (index.findFirstOffendingGene(previous).first != null || !DbActionUtils.verifyForeignKeys(previous)) {
             if (log.isTraceEnabled)
                 log.trace("invoke GeneUtils.repairBrokenDbActionsList")
-            val previous = dbInitialization.toMutableList()
-            DbActionUtils.repairBrokenDbActionsList(previous, randomness)
+            DbActionUtils.repairBrokenDbActionsList(previous, randomness, index = index)
             resetInitializingActions(previous)
             Lazy.assert{verifyInitializationActions()}
         }
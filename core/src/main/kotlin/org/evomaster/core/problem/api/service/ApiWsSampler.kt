@@ -1,9 +1,13 @@
 package org.evomaster.core.problem.api.service
 
 import org.evomaster.client.java.controller.api.dto.SutInfoDto
+import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto
+import org.evomaster.core.EMConfig
+import org.evomaster.core.database.DatabaseExecutor
 import org.evomaster.core.database.DbAction
 import org.evomaster.core.database.DbActionUtils
 import org.evomaster.core.database.SqlInsertBuilder
+import org.evomaster.core.database.TableConstraintCache
 import org.evomaster.core.output.OutputFormat
 import org.evomaster.core.remote.SutProblemException
 import org.evomaster.core.search.Action
@@ -11,6 +15,7 @@ import org.evomaster.core.search.Individual
 import org.evomaster.core.search.service.Sampler
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import java.nio.file.Paths
 
 /**
  * abstract sampler for handling API based SUT, such as REST, GraphQL, RPC
@@ -19,6 +24,12 @@ abstract class ApiWsSampler<T> : Sampler<T>() where T : Individual {
 
     companion object {
         private val log: Logger = LoggerFactory.getLogger(ApiWsSampler::class.java)
+
+        /**
+         * how many times [EMConfig.maximumExistingDataToSampleInDb] existing rows are kept,
+         * among which a different subset is chosen for each individual
+         */
+        const val EXISTING_DATA_POOL_FACTOR = 100
     }
 
     var sqlInsertBuilder: SqlInsertBuilder? = null
@@ -27,8 +38,33 @@ abstract class ApiWsSampler<T> : Sampler<T>() where T : Individual {
     var existingSqlData : List<DbAction> = listOf()
         protected set
 
+    /**
+     * @return a builder for the SQL insertions in the given schema, which is
+     * using the cache of table constraints if any is configured
+     */
+    protected fun createSqlInsertBuilder(schemaDto: DbSchemaDto, dbExecutor: DatabaseExecutor?): SqlInsertBuilder {
+        val cache = if (config.sqlConstraintCacheFolder.isNotBlank())
+            TableConstraintCache(Paths.get(config.sqlConstraintCacheFolder))
+        else null
+        return SqlInsertBuilder(schemaDto, dbExecutor, cache)
+    }
+
 
 
+    /**
+     * Extract the existing data in the database, to be used in [existingSqlData].
+     *
+     * When sampling at most [EMConfig.maximumExistingDataToSampleInDb] existing rows, a
+     * larger random sample is kept, so that each individual can still use a different
+     * random subset of them.
+     */
+    protected fun extractExistingSqlData() {
+        val max = config.maximumExistingDataToSampleInDb
+        existingSqlData = sqlInsertBuilder!!.extractExistingPKs(
+                if (max > 0) (max.toLong() * EXISTING_DATA_POOL_FACTOR).coerceAtMost(Int.MAX_VALUE.toLong()).toInt() else max,
+                randomness)
+    }
+
     protected fun updateConfigBasedOnSutInfoDto(infoDto: SutInfoDto) {
         if (config.outputFormat == OutputFormat.DEFAULT) {
             try {
@@ -8,6 +8,7 @@ import org.evomaster.core.problem.httpws.service.HttpWsCallResult
 import org.evomaster.core.search.ActionResult
 import org.evomaster.core.search.EvaluatedIndividual
 import org.evomaster.core.search.FitnessValue
+import org.evomaster.core.search.service.SearchPhase
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
@@ -27,7 +28,7 @@ class GraphQLBlackBoxFitness : GraphQLFitness() {
                 Eg, this was a huge problem for features-service with AdditionalInfo having a
                 memory leak
              */
-            rc.resetSUT()
+            resetSUT()
         }
 
         val fv = FitnessValue(individual.size().toDouble())
@@ -42,7 +43,7 @@ class GraphQLBlackBoxFitness : GraphQLFitness() {
             var ok = false
 
             if (a is GraphQLAction) {
-                ok = handleGraphQLCall(a, actionResults, mapOf(), mapOf())
+                ok = time.measurePhase(SearchPhase.ACTION_EXECUTION) { handleGraphQLCall(a, actionResults, mapOf(), mapOf()) }
                 actionResults[i].stopping = !ok
             } else {
                 throw IllegalStateException("Cannot handle: ${a.javaClass}")
@@ -55,7 +56,7 @@ class GraphQLBlackBoxFitness : GraphQLFitness() {
 
         handleResponseTargets(fv, individual.seeActions(), actionResults, listOf())
 
-        return EvaluatedIndividual(fv, individual.copy() as GraphQLIndividual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
+        return EvaluatedIndividual(fv, individual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
     }
 
     override fun getlocation5xx(status: Int, additionalInfoList: List<AdditionalInfoDto>, indexOfAction: Int, result: HttpWsCallResult, name: String): String? {
@@ -14,6 +14,7 @@ import org.evomaster.core.search.ActionResult
 import org.evomaster.core.search.EvaluatedIndividual
 import org.evomaster.core.search.FitnessValue
 import org.evomaster.core.search.gene.*
+import org.evomaster.core.search.service.SearchPhase
 import org.evomaster.core.taint.TaintAnalysis
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -35,7 +36,7 @@ open class GraphQLFitness : HttpWsFitness<GraphQLIndividual>() {
         individual: GraphQLIndividual,
         targets: Set<Int>
     ): EvaluatedIndividual<GraphQLIndividual>? {
-        rc.resetSUT()
+        resetSUT()
 
         val cookies = getCookies(individual)
         val tokens = getTokens(individual)
@@ -57,7 +58,7 @@ open class GraphQLFitness : HttpWsFitness<GraphQLIndividual>() {
             var ok = false
 
             if (a is GraphQLAction) {
-                ok = handleGraphQLCall(a, actionResults, cookies, tokens)
+                ok = time.measurePhase(SearchPhase.ACTION_EXECUTION) { handleGraphQLCall(a, actionResults, cookies, tokens) }
                 actionResults.filterIsInstance<GraphQlCallResult>()[i].stopping = !ok
             } else {
                 throw IllegalStateException("Cannot handle: ${a.javaClass}")
@@ -98,7 +99,7 @@ open class GraphQLFitness : HttpWsFitness<GraphQLIndividual>() {
 
         return EvaluatedIndividual(
             fv,
-            individual.copy() as GraphQLIndividual,
+            individual,
             actionResults,
             trackOperator = individual.trackOperator,
             index = time.evaluatedIndividuals,
@@ -2,7 +2,6 @@ package org.evomaster.core.problem.graphql.service
 
 import com.google.inject.Inject
 import org.evomaster.client.java.controller.api.dto.SutInfoDto
-import org.evomaster.core.database.SqlInsertBuilder
 import org.evomaster.core.problem.graphql.*
 import org.evomaster.core.problem.graphql.builder.GraphQLActionBuilder
 import org.evomaster.core.problem.httpws.service.HttpWsSampler
@@ -128,8 +127,8 @@ class GraphQLSampler : HttpWsSampler<GraphQLIndividual>() {
     override fun initSqlInfo(infoDto: SutInfoDto) {
         if (infoDto.sqlSchemaDto != null && config.shouldGenerateSqlData()) {
 
-            sqlInsertBuilder = SqlInsertBuilder(infoDto.sqlSchemaDto, rc)
-            existingSqlData = sqlInsertBuilder!!.extractExistingPKs()
+            sqlInsertBuilder = createSqlInsertBuilder(infoDto.sqlSchemaDto, rc)
+            extractExistingSqlData()
         }
     }
 }
\ No newline at end of file
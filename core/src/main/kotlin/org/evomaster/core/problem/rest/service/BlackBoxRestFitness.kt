@@ -8,6 +8,7 @@ import org.evomaster.core.problem.rest.RestIndividual
 import org.evomaster.core.search.ActionResult
 import org.evomaster.core.search.EvaluatedIndividual
 import org.evomaster.core.search.FitnessValue
+import org.evomaster.core.search.service.SearchPhase
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import javax.ws.rs.core.NewCookie
@@ -31,7 +32,7 @@ class BlackBoxRestFitness : RestFitness() {
                 Eg, this was a huge problem for features-service with AdditionalInfo having a
                 memory leak
              */
-            rc.resetSUT()
+            resetSUT()
 
             /*
                 currently, for bb, the auth can be only configured with the driver,
@@ -57,7 +58,7 @@ class BlackBoxRestFitness : RestFitness() {
             var ok = false
 
             if (a is RestCallAction) {
-                ok = handleRestCall(a, actionResults, chainState, cookies, tokens)
+                ok = time.measurePhase(SearchPhase.ACTION_EXECUTION) { handleRestCall(a, actionResults, chainState, cookies, tokens) }
                 actionResults[i].stopping = !ok
             } else {
                 throw IllegalStateException("Cannot handle: ${a.javaClass}")
@@ -70,7 +71,7 @@ class BlackBoxRestFitness : RestFitness() {
 
         handleResponseTargets(fv, individual.seeActions(), actionResults, listOf())
 
-        return EvaluatedIndividual(fv, individual.copy() as RestIndividual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
+        return EvaluatedIndividual(fv, individual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
     }
 
     override fun getlocation5xx(status: Int, additionalInfoList: List<AdditionalInfoDto>, indexOfAction: Int, result: HttpWsCallResult, name: String): String? {
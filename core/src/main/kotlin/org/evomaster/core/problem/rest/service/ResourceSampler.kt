@@ -2,7 +2,6 @@ package org.evomaster.core.problem.rest.service
 
 import com.google.inject.Inject
 import org.evomaster.client.java.controller.api.dto.SutInfoDto
-import org.evomaster.core.database.SqlInsertBuilder
 import org.evomaster.core.problem.rest.*
 import org.evomaster.core.problem.httpws.service.auth.NoAuth
 import org.evomaster.core.problem.rest.resource.RestResourceCalls
@@ -37,8 +36,8 @@ open class ResourceSampler : AbstractRestSampler() {
         //when ResourceDependency is enabled, SQL info is required to identify dependency
         if (infoDto.sqlSchemaDto != null && (configuration.shouldGenerateSqlData() || config.isEnabledResourceDependency())) {
 
-            sqlInsertBuilder = SqlInsertBuilder(infoDto.sqlSchemaDto, rc)
-            existingSqlData = sqlInsertBuilder!!.extractExistingPKs()
+            sqlInsertBuilder = createSqlInsertBuilder(infoDto.sqlSchemaDto, rc)
+            extractExistingSqlData()
         }
     }
 
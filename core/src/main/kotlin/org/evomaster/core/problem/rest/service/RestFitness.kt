@@ -11,6 +11,7 @@ import org.evomaster.core.search.ActionFilter
 import org.evomaster.core.search.ActionResult
 import org.evomaster.core.search.EvaluatedIndividual
 import org.evomaster.core.search.FitnessValue
+import org.evomaster.core.search.service.SearchPhase
 import org.evomaster.core.taint.TaintAnalysis
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -24,7 +25,7 @@ open class RestFitness : AbstractRestFitness<RestIndividual>() {
 
     override fun doCalculateCoverage(individual: RestIndividual, targets: Set<Int>): EvaluatedIndividual<RestIndividual>? {
 
-        rc.resetSUT()
+        resetSUT()
 
         val cookies = getCookies(individual)
         val tokens = getTokens(individual)
@@ -72,7 +73,7 @@ open class RestFitness : AbstractRestFitness<RestIndividual>() {
             var ok = false
 
             if (a is RestCallAction) {
-                ok = handleRestCall(a, actionResults, chainState, cookies, tokens)
+                ok = time.measurePhase(SearchPhase.ACTION_EXECUTION) { handleRestCall(a, actionResults, chainState, cookies, tokens) }
                 /*
                     the action might be stopped due to e.g., timeout (see [handleRestCall]),
                     but the property of [stopping] is not handle.
@@ -102,7 +103,7 @@ open class RestFitness : AbstractRestFitness<RestIndividual>() {
         if (actionResults.size > individual.seeActions(ActionFilter.ALL).size)
             log.warn("initialize invalid evaluated individual")
 
-        return EvaluatedIndividual(fv, individual.copy() as RestIndividual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
+        return EvaluatedIndividual(fv, individual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
     }
 
 }
\ No newline at end of file
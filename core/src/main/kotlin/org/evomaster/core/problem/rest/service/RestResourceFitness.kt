@@ -8,6 +8,7 @@ import org.evomaster.core.search.ActionFilter
 import org.evomaster.core.search.ActionResult
 import org.evomaster.core.search.EvaluatedIndividual
 import org.evomaster.core.search.FitnessValue
+import org.evomaster.core.search.service.SearchPhase
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
@@ -33,7 +34,7 @@ class RestResourceFitness : AbstractRestFitness<RestIndividual>() {
      */
     override fun doCalculateCoverage(individual: RestIndividual, targets: Set<Int>): EvaluatedIndividual<RestIndividual>? {
 
-        rc.resetSUT()
+        resetSUT()
 
         /*
             there might some dbaction between rest actions.
@@ -73,7 +74,7 @@ class RestResourceFitness : AbstractRestFitness<RestIndividual>() {
                 val ok: Boolean
 
                 if (a is RestCallAction) {
-                    ok = handleRestCall(a, actionResults, chainState, cookies, tokens)
+                    ok = time.measurePhase(SearchPhase.ACTION_EXECUTION) { handleRestCall(a, actionResults, chainState, cookies, tokens) }
                     // update creation of resources regarding response status
                     val restActionResult = actionResults.filterIsInstance<RestCallResult>()[indexOfAction]
                     call.getResourceNode().confirmFailureCreationByPost(call, a, restActionResult)
@@ -114,7 +115,7 @@ class RestResourceFitness : AbstractRestFitness<RestIndividual>() {
             log.warn("initialize invalid evaluated individual")
 
         return EvaluatedIndividual(
-                fv, individual.copy() as RestIndividual, actionResults, config = config, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals)
+                fv, individual, actionResults, config = config, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals)
 
     }
 }
\ No newline at end of file
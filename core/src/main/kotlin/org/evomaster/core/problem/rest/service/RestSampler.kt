@@ -2,7 +2,6 @@ package org.evomaster.core.problem.rest.service
 
 import org.evomaster.client.java.controller.api.dto.SutInfoDto
 import org.evomaster.core.Lazy
-import org.evomaster.core.database.SqlInsertBuilder
 import org.evomaster.core.problem.rest.*
 import org.evomaster.core.problem.httpws.service.auth.HttpWsAuthenticationInfo
 import org.evomaster.core.problem.httpws.service.auth.NoAuth
@@ -21,8 +20,8 @@ class RestSampler : AbstractRestSampler(){
     override fun initSqlInfo(infoDto: SutInfoDto) {
         if (infoDto.sqlSchemaDto != null && configuration.shouldGenerateSqlData()) {
 
-            sqlInsertBuilder = SqlInsertBuilder(infoDto.sqlSchemaDto, rc)
-            existingSqlData = sqlInsertBuilder!!.extractExistingPKs()
+            sqlInsertBuilder = createSqlInsertBuilder(infoDto.sqlSchemaDto, rc)
+            extractExistingSqlData()
         }
     }
 
@@ -34,11 +33,13 @@ class RestSampler : AbstractRestSampler(){
         (0 until n).forEach {
             actions.add(sampleRandomAction(0.05) as RestCallAction)
         }
-        val ind = RestIndividual(actions, SampleType.RANDOM, mutableListOf(), this, time.evaluatedIndividuals)
+        val ind = RestIndividual(actions, SampleType.RANDOM, mutableListOf(), this, getCreationIndex())
         ind.searchGlobalState = searchGlobalState
         return ind
     }
 
+    override fun canSampleAtRandomInBackground() = true
+
 
     /*
         FIXME: following call is likely unnecessary... originally under RestAction will could have different
@@ -15,6 +15,7 @@ import org.evomaster.core.search.ActionResult
 import org.evomaster.core.search.EvaluatedIndividual
 import org.evomaster.core.search.FitnessValue
 import org.evomaster.core.search.gene.CollectionGene
+import org.evomaster.core.search.service.SearchPhase
 import org.evomaster.core.taint.TaintAnalysis
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -34,7 +35,7 @@ class RPCFitness : ApiWsFitness<RPCIndividual>() {
 
     override fun doCalculateCoverage(individual: RPCIndividual, targets: Set<Int>): EvaluatedIndividual<RPCIndividual>? {
 
-        rc.resetSUT()
+        resetSUT()
 
         // TODO handle auth
         val actionResults: MutableList<ActionResult> = mutableListOf()
@@ -45,7 +46,7 @@ class RPCFitness : ApiWsFitness<RPCIndividual>() {
 
         run loop@{
             individual.seeActions().forEachIndexed { index, action->
-                val ok = executeNewAction(action, index, actionResults)
+                val ok = time.measurePhase(SearchPhase.ACTION_EXECUTION) { executeNewAction(action, index, actionResults) }
                 if (!ok) return@loop
             }
         }
@@ -69,7 +70,7 @@ class RPCFitness : ApiWsFitness<RPCIndividual>() {
             TaintAnalysis.doTaintAnalysis(individual, dto.additionalInfoList, randomness)
         }
 
-        return EvaluatedIndividual(fv, individual.copy() as RPCIndividual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
+        return EvaluatedIndividual(fv, individual, actionResults, trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
 
     }
 
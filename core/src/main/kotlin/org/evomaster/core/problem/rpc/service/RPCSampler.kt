@@ -3,7 +3,6 @@ package org.evomaster.core.problem.rpc.service
 import com.google.inject.Inject
 import org.evomaster.client.java.controller.api.dto.SutInfoDto
 import org.evomaster.core.EMConfig
-import org.evomaster.core.database.SqlInsertBuilder
 import org.evomaster.core.problem.api.service.ApiWsSampler
 import org.evomaster.core.problem.rpc.RPCCallAction
 import org.evomaster.core.problem.rpc.RPCIndividual
@@ -74,8 +73,8 @@ class RPCSampler: ApiWsSampler<RPCIndividual>() {
 
     override fun initSqlInfo(infoDto: SutInfoDto) {
         if (infoDto.sqlSchemaDto != null && configuration.shouldGenerateSqlData()) {
-            sqlInsertBuilder = SqlInsertBuilder(infoDto.sqlSchemaDto, rc)
-            existingSqlData = sqlInsertBuilder!!.extractExistingPKs()
+            sqlInsertBuilder = createSqlInsertBuilder(infoDto.sqlSchemaDto, rc)
+            extractExistingSqlData()
         }
     }
 
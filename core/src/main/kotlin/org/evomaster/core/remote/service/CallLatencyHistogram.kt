@@ -0,0 +1,119 @@
+package org.evomaster.core.remote.service
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Histogram of the latencies of the calls made toward the EvoMaster Driver.
+ * Also used for the time spent in each phase of the search, see [org.evomaster.core.search.service.SearchPhase].
+ *
+ * Latencies are recorded in microseconds, in buckets with a log-linear scale:
+ * each power of two is split into [SUB_BUCKETS] linear sub-buckets, so that
+ * percentiles are estimated with a relative error of at most 1/[SUB_BUCKETS],
+ * while using a small fixed amount of memory regardless of the number of calls.
+ *
+ * Recording is thread-safe.
+ */
+class CallLatencyHistogram {
+
+    companion object {
+
+        private const val SUB_BUCKET_BITS = 3
+
+        const val SUB_BUCKETS = 1 shl SUB_BUCKET_BITS
+
+        /**
+         * enough to represent up to 2^40 microseconds, ie, more than 12 days
+         */
+        private const val MAX_EXPONENT = 40
+
+        private const val N_BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS
+
+        private fun bucketIndex(us: Long): Int {
+            if (us < SUB_BUCKETS) {
+                return us.toInt()
+            }
+            val exponent = minOf(63 - java.lang.Long.numberOfLeadingZeros(us), MAX_EXPONENT - 1)
+            val shift = exponent - SUB_BUCKET_BITS
+            val sub = ((us ushr shift) and (SUB_BUCKETS - 1).toLong()).toInt()
+            return minOf(SUB_BUCKETS + shift * SUB_BUCKETS + sub, N_BUCKETS - 1)
+        }
+
+        /**
+         * @return the highest value (inclusive) that is recorded in the given bucket
+         */
+        private fun bucketUpperBound(index: Int): Long {
+            if (index < SUB_BUCKETS) {
+                return index.toLong()
+            }
+            val shift = (index - SUB_BUCKETS) / SUB_BUCKETS
+            val sub = (index - SUB_BUCKETS) % SUB_BUCKETS
+            val lower = (SUB_BUCKETS + sub).toLong() shl shift
+            return lower + (1L shl shift) - 1
+        }
+    }
+
+    private val buckets = AtomicLongArray(N_BUCKETS)
+
+    private val count = AtomicLong(0)
+
+    private val totalUs = AtomicLong(0)
+
+    private val maxUs = AtomicLong(0)
+
+
+    fun record(elapsedNanos: Long) {
+        val us = maxOf(0L, elapsedNanos / 1000)
+        buckets.incrementAndGet(bucketIndex(us))
+        count.incrementAndGet()
+        totalUs.addAndGet(us)
+        maxUs.accumulateAndGet(us) { a, b -> maxOf(a, b) }
+    }
+
+    fun getCount() = count.get()
+
+    fun averageMs(): Double {
+        val n = count.get()
+        return if (n == 0L) 0.0 else totalUs.get() / (n * 1000.0)
+    }
+
+    fun maxMs() = maxUs.get() / 1000.0
+
+    fun totalMs() = totalUs.get() / 1000.0
+
+    /**
+     * @param p percentile, in (0,100]
+     * @return an estimation of the latency in milliseconds under which
+     *          the [p] percent of the calls completed. 0 if no call was recorded
+     */
+    fun percentileMs(p: Double): Double {
+        if (p <= 0 || p > 100) {
+            throw IllegalArgumentException("Invalid percentile: $p")
+        }
+        val n = count.get()
+        if (n == 0L) {
+            return 0.0
+        }
+        val threshold = Math.ceil(n * p / 100.0).toLong()
+        var seen = 0L
+        for (i in 0 until N_BUCKETS) {
+            seen += buckets.get(i)
+            if (seen >= threshold) {
+                return minOf(bucketUpperBound(i), maxUs.get()) / 1000.0
+            }
+        }
+        return maxMs()
+    }
+
+    /**
+     * Add all the recorded values of [other] into this histogram
+     */
+    fun merge(other: CallLatencyHistogram) {
+        for (i in 0 until N_BUCKETS) {
+            buckets.addAndGet(i, other.buckets.get(i))
+        }
+        count.addAndGet(other.count.get())
+        totalUs.addAndGet(other.totalUs.get())
+        maxUs.accumulateAndGet(other.maxUs.get()) { a, b -> maxOf(a, b) }
+    }
+}
@@ -57,5 +57,10 @@ interface RemoteController : DatabaseExecutor {
 
     fun address() : String
 
+    /**
+     * @return latencies of the calls made so far toward the driver, grouped by endpoint path
+     */
+    fun getCallLatencies(): Map<String, CallLatencyHistogram> = mapOf()
+
     fun close()
 }
\ No newline at end of file
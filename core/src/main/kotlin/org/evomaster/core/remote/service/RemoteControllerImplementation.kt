@@ -2,6 +2,7 @@ package org.evomaster.core.remote.service
 
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException
 import com.google.inject.Inject
+import org.evomaster.client.java.controller.api.CompactTargetInfoCodec
 import org.evomaster.client.java.controller.api.ControllerConstants
 import org.evomaster.client.java.controller.api.dto.*
 import org.evomaster.client.java.controller.api.dto.database.operations.DatabaseCommandDto
@@ -12,8 +13,15 @@ import org.evomaster.core.logging.LoggingUtil
 import org.evomaster.core.remote.NoRemoteConnectionException
 import org.evomaster.core.remote.SutProblemException
 import org.evomaster.core.remote.TcpUtils
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager
+import org.glassfish.jersey.apache.connector.ApacheClientProperties
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider
+import org.glassfish.jersey.client.ClientConfig
+import org.glassfish.jersey.client.ClientProperties
+import org.glassfish.jersey.client.RequestEntityProcessing
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
 import javax.annotation.PostConstruct
 import javax.annotation.PreDestroy
 import javax.ws.rs.ProcessingException
@@ -45,7 +53,12 @@ class RemoteControllerImplementation() : RemoteController{
     @Inject
     private lateinit var config: EMConfig
 
-    private var client: Client = ClientBuilder.newClient()
+    private var client: Client = createClient()
+
+    /**
+     * Key -> path of the endpoint of the driver
+     */
+    private val latencies: MutableMap<String, CallLatencyHistogram> = ConcurrentHashMap()
 
     constructor(config: EMConfig) : this(){
         this.config = config
@@ -82,6 +95,51 @@ class RemoteControllerImplementation() : RemoteController{
         return client.target("http://$host:$port" + ControllerConstants.BASE_PATH)
     }
 
+    /**
+     * The driver is always on the same host:port, and there are several calls per
+     * evaluated test. So we use a pool of keep-alive connections, instead of opening
+     * a new TCP connection each time.
+     */
+    private fun createClient(): Client {
+
+        val connectionManager = PoolingHttpClientConnectionManager()
+        connectionManager.maxTotal = 16
+        connectionManager.defaultMaxPerRoute = 16
+        //the driver might have closed an idle connection in the meantime
+        connectionManager.validateAfterInactivity = 1_000
+
+        val clientConfig = ClientConfig()
+                .connectorProvider(ApacheConnectorProvider())
+                .property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+                //payloads are small, so send them with a content-length instead of chunked
+                .property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED)
+
+        return ClientBuilder.newClient(clientConfig)
+    }
+
+    override fun getCallLatencies(): Map<String, CallLatencyHistogram> = latencies
+
+    /**
+     * Make the call, and fully read its response body, to give back the connection to the pool
+     * as soon as possible.
+     * The time of the whole call is recorded for the given [endpoint].
+     */
+    private fun makeHttpCall(endpoint: String, lambda:  () -> Response) : Response {
+
+        val start = System.nanoTime()
+
+        val response = makeHttpCall {
+            val r = lambda.invoke()
+            r.bufferEntity()
+            r
+        }
+
+        latencies.computeIfAbsent(endpoint) { CallLatencyHistogram() }
+                .record(System.nanoTime() - start)
+
+        return response
+    }
+
     private fun makeHttpCall(lambda:  () -> Response) : Response {
 
         return  try{
@@ -96,7 +154,7 @@ class RemoteControllerImplementation() : RemoteController{
                     And while we are at it, let's release any hanging network resource
                     */
                     client.close() //make sure to release any resource
-                    client = ClientBuilder.newClient()
+                    client = createClient()
 
                     TcpUtils.handleEphemeralPortIssue()
 
@@ -189,7 +247,7 @@ class RemoteControllerImplementation() : RemoteController{
 
     override fun getSutInfo(): SutInfoDto? {
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.INFO_SUT_PATH) {
             getWebTarget()
                     .path(ControllerConstants.INFO_SUT_PATH)
                     .request(MediaType.APPLICATION_JSON_TYPE)
@@ -208,7 +266,7 @@ class RemoteControllerImplementation() : RemoteController{
 
     override fun getControllerInfo(): ControllerInfoDto? {
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.CONTROLLER_INFO) {
             getWebTarget()
                     .path(ControllerConstants.CONTROLLER_INFO)
                     .queryParam(ControllerConstants.METHOD_REPLACEMENT_CATEGORIES, config.methodReplacementCategories())
@@ -228,11 +286,12 @@ class RemoteControllerImplementation() : RemoteController{
     private fun changeState(run: Boolean, reset: Boolean): Boolean {
 
         val response = try {
-            makeHttpCall {
+            makeHttpCall(ControllerConstants.RUN_SUT_PATH) {
                 getWebTarget()
                         .path(ControllerConstants.RUN_SUT_PATH)
                         .request()
-                        .put(Entity.json(SutRunDto(run, reset, computeSqlHeuristics, extractSqlExecutionInfo, config.methodReplacementCategories())))
+                        .put(Entity.json(SutRunDto(run, reset, computeSqlHeuristics, extractSqlExecutionInfo, config.methodReplacementCategories())
+                                .apply { sqlHeuristicsMaxRows = config.heuristicsForSQLMaxRows }))
             }
         } catch (e: Exception) {
             log.warn("Failed to connect to SUT: ${e.message}")
@@ -275,7 +334,7 @@ class RemoteControllerImplementation() : RemoteController{
 
     override fun startANewSearch(): Boolean {
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.NEW_SEARCH) {
             getWebTarget()
                     .path(ControllerConstants.NEW_SEARCH)
                     .request()
@@ -289,11 +348,12 @@ class RemoteControllerImplementation() : RemoteController{
 
         val queryParam = ids.joinToString(",")
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.TEST_RESULTS) {
             getWebTarget()
                     .path(ControllerConstants.TEST_RESULTS)
                     .queryParam("ids", queryParam)
                     .queryParam("killSwitch", !ignoreKillSwitch && config.killSwitch)
+                    .queryParam("compact", config.compactTestResults)
                     .request(MediaType.APPLICATION_JSON_TYPE)
                     .get()
         }
@@ -304,7 +364,38 @@ class RemoteControllerImplementation() : RemoteController{
             return null
         }
 
-        return getData(dto)
+        val results = getData(dto) ?: return null
+        expandCompactTargets(results, ids)
+        return results
+    }
+
+    /**
+     * In a compact response, reached targets that were already seen are in [TestResultsDto.compactTargets],
+     * whereas the not reached ones are not sent at all.
+     * Here we rebuild [TestResultsDto.targets] as if a full response was received.
+     * Nothing is done if the response was not compact, eg, if the driver does not support it.
+     */
+    private fun expandCompactTargets(results: TestResultsDto, ids: Set<Int>) {
+
+        val compact = results.compactTargets ?: return
+        results.compactTargets = null
+
+        val targets = CompactTargetInfoCodec.decode(compact)
+        val received = HashSet<Int>(targets.size * 2)
+        targets.forEach { received.add(it.id) }
+        //first-time targets are reached as well
+        results.targets.forEach { received.add(it.id) }
+
+        results.targets.addAll(targets)
+
+        ids.filter { !received.contains(it) }
+                .forEach {
+                    val t = TargetInfoDto()
+                    t.id = it
+                    t.value = 0.0
+                    t.actionIndex = -1
+                    results.targets.add(t)
+                }
     }
 
 
@@ -314,7 +405,7 @@ class RemoteControllerImplementation() : RemoteController{
      */
     override fun executeNewRPCActionAndGetResponse(actionDto: ActionDto) : ActionResponseDto?{
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.NEW_ACTION) {
             getWebTarget()
                     .path(ControllerConstants.NEW_ACTION)
                     .request()
@@ -334,7 +425,7 @@ class RemoteControllerImplementation() : RemoteController{
      * process post actions after search based on [postSearchActionDto]
      */
     override fun postSearchAction(postSearchActionDto: PostSearchActionDto): Boolean {
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.POST_SEARCH_ACTION) {
             getWebTarget()
                 .path(ControllerConstants.POST_SEARCH_ACTION)
                 .request()
@@ -349,7 +440,7 @@ class RemoteControllerImplementation() : RemoteController{
 
     override fun registerNewAction(actionDto: ActionDto) : Boolean{
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.NEW_ACTION) {
             getWebTarget()
                     .path(ControllerConstants.NEW_ACTION)
                     .request()
@@ -363,7 +454,7 @@ class RemoteControllerImplementation() : RemoteController{
 
         log.trace("Going to execute database command. Command:{} , Insertion.size={}",dto.command,dto.insertions?.size ?: 0)
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.DATABASE_COMMAND) {
             getWebTarget()
                     .path(ControllerConstants.DATABASE_COMMAND)
                     .request()
@@ -422,7 +513,7 @@ class RemoteControllerImplementation() : RemoteController{
 
     private fun <T> executeDatabaseCommandAndGetResults(dto: DatabaseCommandDto, type: GenericType<WrappedResponseDto<T>>): T?{
 
-        val response = makeHttpCall {
+        val response = makeHttpCall(ControllerConstants.DATABASE_COMMAND) {
             getWebTarget()
                     .path(ControllerConstants.DATABASE_COMMAND)
                     .request()
@@ -113,6 +113,12 @@ class EvaluatedIndividual<T>(val fitness: FitnessValue,
         return ei
     }
 
+    /**
+     * @return the results of all the evaluated actions, including the initializing ones,
+     * in the same order of the actions
+     */
+    fun seeAllResults(): List<ActionResult> = results
+
     /**
      * @return action results based on the specified [actions].
      *      Note that if [actions] is null, then we employ individual.seeActions() as default
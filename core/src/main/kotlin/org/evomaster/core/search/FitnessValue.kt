@@ -7,6 +7,7 @@ import org.evomaster.core.EMConfig.SecondaryObjectiveStrategy.*
 import org.evomaster.core.Lazy
 import org.evomaster.core.search.service.IdMapper
 import org.evomaster.core.search.service.mutator.EvaluatedMutation
+import org.evomaster.core.utils.IntIntMap
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import kotlin.math.min
@@ -37,12 +38,32 @@ class FitnessValue(
         private val log: Logger = LoggerFactory.getLogger(FitnessValue::class.java)
     }
 
+    /*
+        Heuristics for each reached target, ie, the heuristic distance in [0,1], where 1 is for "covered",
+        and the index of the action that led to it.
+        Every evaluated individual has one of these, and the archive can hold thousands of them.
+        So, instead of a map with an object per target, these are stored in parallel arrays,
+        in the order in which the targets were first added.
+        A target at position i has id targetIds[i], distance distances[i] and action actionIndexes[i].
+     */
+
     /**
      *  Key -> target Id
      *
-     *  Value -> heuristic distance in [0,1], where 1 is for "covered"
+     *  Value -> its position in the arrays
+     */
+    private var positions = IntIntMap(0)
+
+    private var targetIds = IntArray(0)
+
+    private var distances = DoubleArray(0)
+
+    private var actionIndexes = IntArray(0)
+
+    /**
+     * Number of targets with a heuristic value
      */
-    private val targets: MutableMap<Int, Heuristics> = mutableMapOf()
+    private var nTargets = 0
 
     /**
      *  Key -> action Id
@@ -79,7 +100,11 @@ class FitnessValue(
 
     fun copy(): FitnessValue {
         val copy = FitnessValue(size)
-        copy.targets.putAll(this.targets)
+        copy.positions = positions.copy()
+        copy.targetIds = targetIds.copyOf(nTargets)
+        copy.distances = distances.copyOf(nTargets)
+        copy.actionIndexes = actionIndexes.copyOf(nTargets)
+        copy.nTargets = nTargets
         copy.extraToMinimize.putAll(this.extraToMinimize)
         copy.databaseExecutions.putAll(this.databaseExecutions) //note: DatabaseExecution supposed to be immutable
         copy.aggregateDatabaseData()
@@ -111,41 +136,133 @@ class FitnessValue(
 
     fun isAnyDatabaseExecutionInfo() = databaseExecutions.isNotEmpty()
 
+    /**
+     * Note: this creates a new map, with an object per target.
+     * To just iterate over the targets, use [forEachTarget], or [numberOfTargets] with the accessors by position.
+     *
+     * @return a copy of the heuristics of all the targets, in the order in which they were added
+     */
     fun getViewOfData(): Map<Int, Heuristics> {
-        return targets
+        val map = LinkedHashMap<Int, Heuristics>(nTargets * 2)
+        for (i in 0 until nTargets) {
+            map[targetIds[i]] = Heuristics(distances[i], actionIndexes[i])
+        }
+        return map
+    }
+
+    /**
+     * @return how many targets have a heuristic value, ie, were reached (even if with 0 distance)
+     */
+    fun numberOfTargets() = nTargets
+
+    /**
+     * @return the id of the target at [position], in [0, [numberOfTargets])
+     */
+    fun getTargetIdAt(position: Int): Int {
+        checkPosition(position)
+        return targetIds[position]
+    }
+
+    /**
+     * @return the heuristic distance of the target at [position], in [0, [numberOfTargets])
+     */
+    fun getHeuristicAt(position: Int): Double {
+        checkPosition(position)
+        return distances[position]
+    }
+
+    private fun checkPosition(position: Int) {
+        if (position < 0 || position >= nTargets) {
+            throw IndexOutOfBoundsException("Invalid position $position for $nTargets targets")
+        }
+    }
+
+    /**
+     * Iterate over the id and heuristic distance of each target, without creating any object
+     */
+    inline fun forEachTarget(action: (target: Int, distance: Double) -> Unit) {
+        for (i in 0 until numberOfTargets()) {
+            action(getTargetIdAt(i), getHeuristicAt(i))
+        }
+    }
+
+    /**
+     * @return the ids of all targets with a heuristic value
+     */
+    fun getTargetIds(): Set<Int> {
+        val ids = LinkedHashSet<Int>(nTargets * 2)
+        for (i in 0 until nTargets) {
+            ids.add(targetIds[i])
+        }
+        return ids
+    }
+
+    /**
+     * @return the ids of the targets for which [predicate] holds on their heuristic distance
+     */
+    private inline fun targetsWith(predicate: (Double) -> Boolean): List<Int> {
+        val ids = mutableListOf<Int>()
+        for (i in 0 until nTargets) {
+            if (predicate(distances[i])) {
+                ids.add(targetIds[i])
+            }
+        }
+        return ids
+    }
+
+    private fun getActionIndex(target: Int): Int? {
+        val position = positions.get(target)
+        return if (position == IntIntMap.MISSING) null else actionIndexes[position]
     }
 
     fun getViewOfAggregatedFailedWhere() = aggregatedFailedWhere
 
     fun doesCover(target: Int): Boolean {
-        return targets[target]?.distance == MAX_VALUE
+        return getHeuristic(target) == MAX_VALUE
     }
 
-    fun getHeuristic(target: Int): Double = targets[target]?.distance ?: 0.0
+    fun getHeuristic(target: Int): Double {
+        val position = positions.get(target)
+        return if (position == IntIntMap.MISSING) 0.0 else distances[position]
+    }
 
-    fun reachedTargets() : Set<Int> = getViewOfData().filter { it.value.distance > 0.0 }.keys
+    fun reachedTargets() : Set<Int> = targetsWith { it > 0.0 }.toSet()
 
     fun computeFitnessScore(): Double {
 
-        return targets.values.map { h -> h.distance }.sum()
+        var sum = 0.0
+        for (i in 0 until nTargets) {
+            sum += distances[i]
+        }
+        return sum
     }
 
     fun computeFitnessScore(targetIds : List<Int>): Double {
 
-        return targets.filterKeys { targetIds.contains(it)}.values.map { h -> h.distance }.sum()
+        var sum = 0.0
+        for (i in 0 until nTargets) {
+            if (targetIds.contains(this.targetIds[i])) {
+                sum += distances[i]
+            }
+        }
+        return sum
     }
 
     fun coveredTargets(): Int {
 
-        return targets.values.filter { t -> t.distance == MAX_VALUE }.count()
+        var n = 0
+        for (i in 0 until nTargets) {
+            if (distances[i] == MAX_VALUE) {
+                n++
+            }
+        }
+        return n
     }
 
     fun coveredTargets(prefix: String, idMapper: IdMapper) : Int{
 
-        return targets.entries
-                .filter { it.value.distance == MAX_VALUE }
-                .filter { idMapper.getDescriptiveId(it.key).startsWith(prefix) }
-                .count()
+        return targetsWith { it == MAX_VALUE }
+                .count { idMapper.getDescriptiveId(it).startsWith(prefix) }
     }
 
     /**
@@ -161,9 +278,9 @@ class FitnessValue(
         val bootTime = bootTimeInfoDto.targets.filter { it.value == MAX_VALUE && (prefix == null || it.descriptiveId.startsWith(prefix)) }
         // counter for duplicated targets
         var duplicatedcounter = 0
-        val searchTime = targets.entries.count { e ->
-            (e.value.distance == MAX_VALUE && (prefix == null || idMapper.getDescriptiveId(e.key).startsWith(prefix))).apply {
-                if (this && bootTime.any { it.descriptiveId == idMapper.getDescriptiveId(e.key) })
+        val searchTime = targetsWith { it == MAX_VALUE }.count { t ->
+            (prefix == null || idMapper.getDescriptiveId(t).startsWith(prefix)).apply {
+                if (this && bootTime.any { it.descriptiveId == idMapper.getDescriptiveId(t) })
                     duplicatedcounter++
             }
         }
@@ -180,32 +297,32 @@ class FitnessValue(
 
     fun gqlErrors(idMapper: IdMapper, withLine : Boolean): List<String>{
         // GQLErrors would be >0 when it is initialed, so we count it when it is covered.
-        return targets.filter { it.value.distance == MAX_VALUE }.keys
+        return targetsWith { it == MAX_VALUE }
                 .filter { idMapper.isGQLErrors(it, withLine) }
                 .map { idMapper.getDescriptiveId(it) }
     }
 
     fun gqlNoErrors(idMapper: IdMapper): List<String>{
         // GQLNoErrors would be >0 when it is initialed, so we count it when it is covered.
-        return targets.filter { it.value.distance == MAX_VALUE }.keys
+        return targetsWith { it == MAX_VALUE }
                 .filter { idMapper.isGQLNoErrors(it) }
                 .map { idMapper.getDescriptiveId(it) }
     }
 
     fun potentialFoundFaults(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
                 .filter { idMapper.isFault(it)}
                 .map { idMapper.getDescriptiveId(it) }
     }
 
     fun potential500Faults(idMapper: IdMapper): List<String>{
-        return targets.keys
+        return getTargetIds()
                 .filter{ idMapper.isFault500(it)}
                 .map{idMapper.getDescriptiveId(it)}
     }
 
     fun potentialPartialOracleFaults(idMapper: IdMapper): List<String>{
-        return targets.keys
+        return getTargetIds()
                 .filter{idMapper.isFaultExpectation(it)}
                 .map{idMapper.getDescriptiveId(it)}
     }
@@ -215,7 +332,7 @@ class FitnessValue(
      * a list targets related to RPC internal error
      */
     fun rpcInternalError(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isRPCInternalError(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -224,7 +341,7 @@ class FitnessValue(
      * a list targets related to unexpected exception in RPC
      */
     fun rpcUnexpectedException(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isUnexpectedException(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -233,7 +350,7 @@ class FitnessValue(
      * a list targets related to declared exception in RPC
      */
     fun rpcDeclaredException(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isRPCDeclaredException(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -242,7 +359,7 @@ class FitnessValue(
      * a list targets related to exception in RPC
      */
     fun rpcException(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isRPCException(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -251,7 +368,7 @@ class FitnessValue(
      * a list targets representing handled RPC endpoint invocation
      */
     fun rpcHandled(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isRPCHandled(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -261,7 +378,7 @@ class FitnessValue(
      *  eg, such category could be specified by the user with driver
      */
     fun rpcHandledAndSuccess(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isRPCHandledAndSuccess(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -272,7 +389,7 @@ class FitnessValue(
      *  eg, such category could be specified by the user with driver
      */
     fun rpcHandledButError(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isRPCHandledButError(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -282,7 +399,7 @@ class FitnessValue(
      * eg, such category could be specified by the user with driver
      */
     fun rpcServiceError(idMapper: IdMapper) : List<String>{
-        return targets.keys
+        return getTargetIds()
             .filter { idMapper.isRPCServiceError(it)}
             .map { idMapper.getDescriptiveId(it) }
     }
@@ -297,10 +414,23 @@ class FitnessValue(
             throw IllegalArgumentException("Invalid value: $value")
         }
 
-        val current = targets[id]
+        val position = positions.get(id)
 
-        if(current == null || value > current.distance) {
-            targets[id] = Heuristics(value, actionIndex)
+        if (position == IntIntMap.MISSING) {
+            if (nTargets == targetIds.size) {
+                val capacity = maxOf(8, nTargets * 2)
+                targetIds = targetIds.copyOf(capacity)
+                distances = distances.copyOf(capacity)
+                actionIndexes = actionIndexes.copyOf(capacity)
+            }
+            positions.put(id, nTargets)
+            targetIds[nTargets] = id
+            distances[nTargets] = value
+            actionIndexes[nTargets] = actionIndex
+            nTargets++
+        } else if (value > distances[position]) {
+            distances[position] = value
+            actionIndexes[position] = actionIndex
         }
     }
 
@@ -309,8 +439,7 @@ class FitnessValue(
      */
     fun merge(other: FitnessValue) {
 
-        other.targets.keys.forEach { t ->
-            val k = other.getHeuristic(t)
+        other.forEachTarget { t, k ->
             if (k > this.getHeuristic(t)) {
                 this.updateTarget(t, k)
             }
@@ -343,8 +472,8 @@ class FitnessValue(
 
         for (k in targetSubset) {
 
-            val v = this.targets[k]?.distance ?: 0.0
-            val z = other.targets[k]?.distance ?: 0.0
+            val v = this.getHeuristic(k)
+            val z = other.getHeuristic(k)
             if (v < z) {
                 //  if it is worse on any target, then it cannot be subsuming
                 if (log.isTraceEnabled){
@@ -475,7 +604,7 @@ class FitnessValue(
         }
     }
 
-    fun reachMoreTargets(other: FitnessValue) = targets.size > other.getViewOfData().size
+    fun reachMoreTargets(other: FitnessValue) = nTargets > other.numberOfTargets()
 
 
     /**
@@ -541,8 +670,8 @@ class FitnessValue(
 
     private fun compareAverageSameNActions(target: Int, other: FitnessValue): Int {
 
-        val thisAction = targets[target]?.actionIndex
-        val otherAction = other.targets[target]?.actionIndex
+        val thisAction = getActionIndex(target)
+        val otherAction = other.getActionIndex(target)
 
         /*
             [non-determinism-source] Man: a SQL command might be invoked multiple times, see [makeHttpCall] in RemoteController
@@ -564,8 +693,8 @@ class FitnessValue(
 
     private fun compareAverage(target: Int, other: FitnessValue): Int {
 
-        val thisAction = targets[target]?.actionIndex
-        val otherAction = other.targets[target]?.actionIndex
+        val thisAction = getActionIndex(target)
+        val otherAction = other.getActionIndex(target)
 
         val thisDistances = this.extraToMinimize[thisAction]
         val otherDistances = other.extraToMinimize[otherAction]
@@ -603,8 +732,8 @@ class FitnessValue(
 
     private fun compareByBestMin(target: Int, other: FitnessValue): Int {
 
-        val thisAction = targets[target]?.actionIndex
-        val otherAction = other.targets[target]?.actionIndex
+        val thisAction = getActionIndex(target)
+        val otherAction = other.getActionIndex(target)
 
         val thisLength = this.extraToMinimize[thisAction]?.size ?: 0
         val otherLength = other.extraToMinimize[otherAction]?.size ?: 0
@@ -653,6 +782,12 @@ class FitnessValue(
      * @return targets that are reached/covered by an action at [actionIndex]
      */
     fun getTargetsByAction(actionIndex : Int) : Set<Int> {
-        return targets.filterValues { it.actionIndex == actionIndex }.keys
+        val ids = LinkedHashSet<Int>()
+        for (i in 0 until nTargets) {
+            if (actionIndexes[i] == actionIndex) {
+                ids.add(targetIds[i])
+            }
+        }
+        return ids
     }
 }
\ No newline at end of file
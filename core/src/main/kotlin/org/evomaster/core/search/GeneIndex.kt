@@ -0,0 +1,87 @@
+package org.evomaster.core.search
+
+import org.evomaster.core.search.gene.Gene
+import org.evomaster.core.search.gene.sql.SqlPrimaryKeyGene
+import java.util.*
+
+/**
+ * Index of the genes in an [individual], ie, all the genes in [Individual.seeGenes] plus all their
+ * inner genes (see [Gene.flatView]).
+ *
+ * Each view is lazily built on first access, and then kept until the index is reset.
+ * The index is owned by the [individual], which resets it whenever its structure changes
+ * (see [StructuralElement.notifyStructureChanged]). The views based on binding are further reset
+ * whenever any binding among its genes changes.
+ *
+ * Note that the values of the genes are not indexed, but for the [SqlPrimaryKeyGene.uniqueId]
+ * which cannot be modified.
+ */
+class GeneIndex(private val individual: Individual) {
+
+    private val flatGenes = EnumMap<Individual.GeneFilter, List<Gene>>(Individual.GeneFilter::class.java)
+
+    private var positions: Map<Gene, Int>? = null
+
+    private val byType = mutableMapOf<Class<*>, List<Gene>>()
+
+    private var primaryKeys: Map<Long, SqlPrimaryKeyGene>? = null
+
+    private var boundGenes: List<Gene>? = null
+
+    /**
+     * @return all the genes in the individual, including the inner ones, in the same order of
+     * `seeGenes(filter).flatMap { it.flatView() }`
+     */
+    fun flatGenes(filter: Individual.GeneFilter = Individual.GeneFilter.ALL): List<Gene> {
+        return flatGenes.getOrPut(filter) {
+            Collections.unmodifiableList(individual.seeGenes(filter).flatMap { it.flatView() })
+        }
+    }
+
+    /**
+     * @return whether [gene] is one of the genes in the individual, including the inner ones
+     */
+    fun contains(gene: Gene): Boolean = positionOf(gene) >= 0
+
+    /**
+     * @return the (first) position of [gene] in [flatGenes] with all genes, or -1 if it is not in the individual
+     */
+    fun positionOf(gene: Gene): Int {
+        val map = positions ?: mutableMapOf<Gene, Int>().also { m ->
+            flatGenes().forEachIndexed { i, g -> m.putIfAbsent(g, i) }
+            positions = m
+        }
+        return map[gene] ?: -1
+    }
+
+    /**
+     * @return all the genes of type [klass], including the inner ones
+     */
+    fun <T : Gene> genesOfType(klass: Class<T>): List<T> {
+        @Suppress("UNCHECKED_CAST")
+        return byType.getOrPut(klass) { flatGenes().filter { klass.isInstance(it) } } as List<T>
+    }
+
+    /**
+     * @return the primary key gene with the given [uniqueId], if any
+     */
+    fun primaryKey(uniqueId: Long): SqlPrimaryKeyGene? {
+        val map = primaryKeys
+                ?: genesOfType(SqlPrimaryKeyGene::class.java).associateBy { it.uniqueId }.also { primaryKeys = it }
+        return map[uniqueId]
+    }
+
+    /**
+     * @return all the genes which are bound with any other gene
+     */
+    fun boundGenes(): List<Gene> {
+        return boundGenes ?: flatGenes().filter { it.isBoundGene() }.also { boundGenes = it }
+    }
+
+    /**
+     * reset the views based on the binding among the genes
+     */
+    fun resetBinding() {
+        boundGenes = null
+    }
+}
@@ -59,6 +59,32 @@ abstract class Individual(override var trackOperator: TrackOperator? = null,
      */
     var searchGlobalState : SearchGlobalState? = null
 
+    /**
+     * lazily built index of the genes in this individual.
+     * it is reset whenever the structure of this individual changes
+     */
+    private var geneIndex : GeneIndex? = null
+
+    /**
+     * @return an index of the genes in this individual, to avoid re-computing the flat view of
+     * all its genes at each query
+     */
+    fun geneIndex() : GeneIndex {
+        return geneIndex ?: GeneIndex(this).also { geneIndex = it }
+    }
+
+    override fun notifyStructureChanged() {
+        geneIndex = null
+    }
+
+    /**
+     * reset the views of [geneIndex] based on the binding among genes.
+     * this is called whenever the binding of any gene in this individual changes
+     */
+    fun notifyBindingChanged(){
+        geneIndex?.resetBinding()
+    }
+
     /**
      * Make a deep copy of this individual
      */
@@ -228,9 +254,9 @@ abstract class Individual(override var trackOperator: TrackOperator? = null,
 
 
     open fun cleanBrokenBindingReference(){
-        val all = seeGenes(GeneFilter.ALL).flatMap { it.flatView() }
-        all.filter { it.isBoundGene() }.forEach { b->
-            b.cleanBrokenReference(all)
+        val index = geneIndex()
+        index.boundGenes().forEach { b->
+            b.cleanBrokenReference { index.contains(it) }
         }
     }
 
@@ -242,12 +268,12 @@ abstract class Individual(override var trackOperator: TrackOperator? = null,
         // individuals should be same type
         if (individual::class.java.name != this::class.java.name) return null
 
-        val allgenes = individual.seeGenes().flatMap { it.flatView() }
-        val all = seeGenes().flatMap { it.flatView() }
+        val allgenes = individual.geneIndex().flatGenes()
+        val all = geneIndex().flatGenes()
 
         if (allgenes.size != all.size) return null
 
-        val index = allgenes.indexOf(gene)
+        val index = individual.geneIndex().positionOf(gene)
         if (index == -1){
             throw IllegalArgumentException("given gene (${gene.name}) does not belong to the individual which contains ${allgenes.joinToString(","){it.name}}")
         }
@@ -263,13 +289,10 @@ abstract class Individual(override var trackOperator: TrackOperator? = null,
      * verify whether all binding genes are in this individual
      */
     fun verifyBindingGenes() : Boolean{
-        val all = seeGenes(GeneFilter.ALL).flatMap{it.flatView()}
-        all.forEach { g->
-            val inside = g.bindingGeneIsSubsetOf(all)
-            if (!inside)
-                return false
+        val index = geneIndex()
+        return index.boundGenes().all { g->
+            g.bindingGeneIsSubsetOf { index.contains(it) }
         }
-        return true
     }
 
 }
@@ -66,6 +66,7 @@ abstract class StructuralElement (
         child.parent = this
         //TODO re-check proper use of in/out in Kotlin
         (children as MutableList<StructuralElement>).add(child)
+        notifyStructureChanged()
     }
 
     open fun addChild(position: Int, child: StructuralElement){  //TODO check usage
@@ -73,6 +74,7 @@ abstract class StructuralElement (
         child.parent = this
         //TODO re-check proper use of in/out in Kotlin
         (children as MutableList<StructuralElement>).add(position, child)
+        notifyStructureChanged()
     }
 
     /**
@@ -88,6 +90,7 @@ abstract class StructuralElement (
         }
         list.forEach { it.parent = this }
         (children as MutableList<StructuralElement>).addAll(position, list)
+        notifyStructureChanged()
     }
 
     //https://preview.redd.it/hg27vjl7x0241.jpg?auto=webp&s=d3c8b5d2cfbf12a05715271e0cf7f1c26e962827
@@ -96,6 +99,7 @@ abstract class StructuralElement (
             it.parent = null; //let's avoid memory leaks
         }
         children.clear()
+        notifyStructureChanged()
     }
 
     open fun killChildren(predicate: (StructuralElement) -> Boolean){
@@ -114,11 +118,13 @@ abstract class StructuralElement (
     open fun killChild(child: StructuralElement){
         child.parent = null
         children.remove(child)
+        notifyStructureChanged()
     }
 
     open fun killChildByIndex(index: Int) : StructuralElement{
         val child = children.removeAt(index)
         child.parent = null
+        notifyStructureChanged()
         return  child
     }
 
@@ -132,6 +138,16 @@ abstract class StructuralElement (
         val first = children[position1]
         (children as MutableList<StructuralElement>)[position1] = children[position2]
         (children as MutableList<StructuralElement>)[position2] = first
+        notifyStructureChanged()
+    }
+
+    /**
+     * notify that the children of [this] or of any of its descendants have changed,
+     * ie, they have been added, removed or swapped.
+     * by default, the notification is propagated to the [parent], up to the root
+     */
+    protected open fun notifyStructureChanged(){
+        parent?.notifyStructureChanged()
     }
 
     /**
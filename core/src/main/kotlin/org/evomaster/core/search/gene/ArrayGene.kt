@@ -186,7 +186,7 @@ class ArrayGene<T>(
             addElement(gene)
         }else{
             log.trace("Remvoving gene in mutation")
-            val removed = elements.removeAt(randomness.nextInt(elements.size))
+            val removed = killChildByIndex(randomness.nextInt(elements.size)) as T
             // remove binding if any other bound with
             removed.removeThisFromItsBindingGenes()
         }
@@ -243,8 +243,8 @@ class ArrayGene<T>(
     fun removeExistingElement(element: T){
         //this is a reference heap check, not based on `equalsTo`
         if (elements.contains(element)){
-            elements.remove(element)
-            element.removeThisFromItsBindingGenes()
+            //this also removes the binding of the element
+            killChild(element)
         }else{
             log.warn("the specified element (${if (element.isPrintable()) element.getValueAsPrintableString() else "not printable"})) does not exist in this array")
         }
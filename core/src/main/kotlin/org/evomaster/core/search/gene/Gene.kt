@@ -216,6 +216,7 @@ abstract class Gene(
             }
             bindingGenes.clear()
             bindingGenes.addAll(postBinding)
+            notifyBindingChanged()
             Lazy.assert { !bindingGenes.contains(this) }
         } else {
             assert(bindingGenes.isEmpty())
@@ -596,6 +597,7 @@ abstract class Gene(
         }
 
         bindingGenes.addAll(list)
+        notifyBindingChanged()
         Lazy.assert { !bindingGenes.contains(this) }
     }
 
@@ -670,16 +672,17 @@ abstract class Gene(
 
     /**
      * repair the broken binding reference e.g., the binding gene is removed from the current individual
+     * @param isInIndividual checks whether a gene is still in the current individual
      */
-    fun cleanBrokenReference(all : List<Gene>) : Boolean{
-        return bindingGenes.removeIf { !all.contains(it) }
+    fun cleanBrokenReference(isInIndividual : (Gene) -> Boolean) : Boolean{
+        return bindingGenes.removeIf { !isInIndividual(it) }.also { if (it) notifyBindingChanged() }
     }
 
     /**
      * remove genes which has been removed from the root
      */
     fun cleanRemovedGenes(removed: List<Gene>): Boolean{
-        return bindingGenes.removeIf{removed.contains(it)}
+        return bindingGenes.removeIf{removed.contains(it)}.also { if (it) notifyBindingChanged() }
     }
 
     /**
@@ -693,7 +696,8 @@ abstract class Gene(
      * add [gene] as the binding gene
      */
     fun addBindingGene(gene: Gene) {
-        bindingGenes.add(gene)
+        if (bindingGenes.add(gene))
+            notifyBindingChanged()
         Lazy.assert { !bindingGenes.contains(this) }
     }
 
@@ -701,7 +705,7 @@ abstract class Gene(
      * remove [gene] as the binding gene
      */
     private fun removeBindingGene(gene: Gene): Boolean {
-        return bindingGenes.remove(gene)
+        return bindingGenes.remove(gene).also { if (it) notifyBindingChanged() }
     }
 
     /**
@@ -709,12 +713,26 @@ abstract class Gene(
      */
     fun bindingGeneIsSubsetOf(set: List<Gene>) = set.containsAll(bindingGenes)
 
+    /**
+     * @return whether all the bindingGene satisfy [isInSet]
+     */
+    fun bindingGeneIsSubsetOf(isInSet: (Gene) -> Boolean) = bindingGenes.all(isInSet)
+
+    /**
+     * the individual containing [this] gene (if any) might keep an index on the bound genes,
+     * which needs to be reset when the binding changes
+     */
+    private fun notifyBindingChanged(){
+        (getRoot() as? Individual)?.notifyBindingChanged()
+    }
+
     /**
      * reset binding based on [genes]
      */
     fun resetBinding(genes: Set<Gene>) {
         bindingGenes.clear()
         bindingGenes.addAll(genes)
+        notifyBindingChanged()
         Lazy.assert { !bindingGenes.contains(this) }
     }
 
@@ -1,5 +1,7 @@
 package org.evomaster.core.search.impact.impactinfocollection
 
+import com.google.gson.annotations.JsonAdapter
+import org.evomaster.core.utils.IntDoubleMap
 import kotlin.math.pow
 
 
@@ -24,11 +26,11 @@ open class Impact(
             degree: Double = 0.0,
             timesToManipulate : Int = 0,
             timesOfNoImpacts : Int = 0,
-            timesOfNoImpactWithTargets : MutableMap<Int, Double> = mutableMapOf(),
-            timesOfImpact : MutableMap<Int, Double> = mutableMapOf(),
-            noImpactFromImpact : MutableMap<Int, Double> = mutableMapOf(),
-            noImprovement : MutableMap<Int, Double> = mutableMapOf()
-    ) : this(SharedImpactInfo(id, degree, timesToManipulate, timesOfNoImpacts, timesOfNoImpactWithTargets, timesOfImpact), SpecificImpactInfo(noImpactFromImpact, noImprovement))
+            timesOfNoImpactWithTargets : Map<Int, Double> = mapOf(),
+            timesOfImpact : Map<Int, Double> = mapOf(),
+            noImpactFromImpact : Map<Int, Double> = mapOf(),
+            noImprovement : Map<Int, Double> = mapOf()
+    ) : this(SharedImpactInfo(id, degree, timesToManipulate, timesOfNoImpacts, IntDoubleMap.of(timesOfNoImpactWithTargets), IntDoubleMap.of(timesOfImpact)), SpecificImpactInfo(IntDoubleMap.of(noImpactFromImpact), IntDoubleMap.of(noImprovement)))
 
     fun getId() = shared.id
     fun getTimesOfNoImpact() = shared.timesOfNoImpacts
@@ -117,20 +119,12 @@ open class Impact(
                 }
             }
             if (!onlyManipulation){
-                specific.noImpactFromImpact.keys.filter { !impactTargets.contains(it) }.forEach { k->
-                    plusMap(k, specific.noImpactFromImpact)
-                }
-                specific.noImprovement.keys.filter { !impactTargets.contains(it) }.forEach { k->
-                    plusMap(k, specific.noImprovement)
-                }
+                plusAll(specific.noImpactFromImpact){ !impactTargets.contains(it) }
+                plusAll(specific.noImprovement){ !impactTargets.contains(it) }
             }
         } else {
-            specific.noImpactFromImpact.keys.forEach { target->
-                plusMap(target, specific.noImpactFromImpact)
-            }
-            specific.noImprovement.keys.forEach { target->
-                plusMap(target, specific.noImprovement)
-            }
+            plusAll(specific.noImpactFromImpact){ true }
+            plusAll(specific.noImprovement){ true }
             shared.timesOfNoImpacts +=1
             noImpactTargets.forEach {
                 plusMap(it, shared.timesOfNoImpactWithTargets)
@@ -138,17 +132,38 @@ open class Impact(
         }
     }
 
-    private fun plusMap(key : Int, map: MutableMap<Int, Double>, num: Int = 1){
-        map.merge(key, 1.0/num){old, delta -> (old + delta)}
+    private fun plusMap(key : Int, map: IntDoubleMap, num: Int = 1){
+        map.plus(key, 1.0/num)
+    }
+
+    /**
+     * increase by 1 the value of each key in [map] satisfying [predicate]
+     */
+    private fun plusAll(map: IntDoubleMap, predicate: (Int) -> Boolean){
+        val keys = mutableListOf<Int>()
+        map.forEachEntry { k, _ -> if (predicate(k)) keys.add(k) }
+        keys.forEach { plusMap(it, map) }
     }
 
-    private fun assignMap(key : Int, map: MutableMap<Int, Double>, value : Double){
-        map.getOrPut(key){0.0}
-        map.replace(key, value)
+    private fun assignMap(key : Int, map: IntDoubleMap, value : Double){
+        map.put(key, value)
     }
 
-    private fun initMap(key : Int, map: MutableMap<Int, Double>){
-        map.getOrPut(key){0.0}
+    private fun initMap(key : Int, map: IntDoubleMap){
+        map.putIfAbsent(key, 0.0)
+    }
+
+    /**
+     * remove all info collected for the given [targets], eg, once they are covered
+     */
+    fun removeTargets(targets: Collection<Int>){
+        targets.forEach {
+            shared.timesOfNoImpactWithTargets.remove(it)
+            shared.timesOfImpact.remove(it)
+            shared.singleImpact.remove(it)
+            specific.noImpactFromImpact.remove(it)
+            specific.noImprovement.remove(it)
+        }
     }
 
     fun increaseDegree(delta : Double){
@@ -233,12 +248,17 @@ class SharedImpactInfo(
         var degree: Double = 0.0,
         var timesToManipulate: Int = 0,
         var timesOfNoImpacts: Int = 0,
-        val timesOfNoImpactWithTargets: MutableMap<Int, Double> = mutableMapOf(),
-        val timesOfImpact: MutableMap<Int, Double> = mutableMapOf(),
+        @JsonAdapter(IntDoubleMap.JsonTypeAdapter::class)
+        val timesOfNoImpactWithTargets: IntDoubleMap = IntDoubleMap(),
+        @JsonAdapter(IntDoubleMap.JsonTypeAdapter::class)
+        val timesOfImpact: IntDoubleMap = IntDoubleMap(),
         val singleImpact : MutableMap<Int, Boolean> = mutableMapOf()){
 
+    /**
+     * note that the maps are copy-on-write, ie, their content is duplicated only once modified
+     */
     fun copy() : SharedImpactInfo{
-        return SharedImpactInfo(id, degree, timesToManipulate, timesOfNoImpacts, timesOfNoImpactWithTargets, timesOfImpact.toMutableMap(), singleImpact.toMutableMap())
+        return SharedImpactInfo(id, degree, timesToManipulate, timesOfNoImpacts, timesOfNoImpactWithTargets, timesOfImpact.copy(), singleImpact.toMutableMap())
     }
 
     fun clone() = this
@@ -250,11 +270,13 @@ class SharedImpactInfo(
  */
 class SpecificImpactInfo(
 
-        val noImpactFromImpact: MutableMap<Int, Double> = mutableMapOf(),
-        val noImprovement: MutableMap<Int, Double> = mutableMapOf()
+        @JsonAdapter(IntDoubleMap.JsonTypeAdapter::class)
+        val noImpactFromImpact: IntDoubleMap = IntDoubleMap(),
+        @JsonAdapter(IntDoubleMap.JsonTypeAdapter::class)
+        val noImprovement: IntDoubleMap = IntDoubleMap()
 ){
     fun copy() : SpecificImpactInfo{
-        return SpecificImpactInfo(noImpactFromImpact.toMutableMap(), noImprovement.toMutableMap())
+        return SpecificImpactInfo(noImpactFromImpact.copy(), noImprovement.copy())
     }
 
     fun clone() : SpecificImpactInfo = copy()
@@ -301,6 +301,18 @@ open class ImpactsOfIndividual(
         return initializationGeneImpacts.getAll().plus(actionGeneImpacts).flatMap { it.geneImpacts.values }
     }
 
+    /**
+     * remove the info collected for the given [targets] from all impacts of the individual
+     */
+    fun removeTargets(targets: Set<Int>) {
+        if (targets.isEmpty()) return
+        flattenAllGeneImpact().forEach { geneImpact ->
+            geneImpact.removeTargets(targets)
+            geneImpact.flatViewInnerImpact().values.forEach { it.removeTargets(targets) }
+        }
+        impactsOfStructure.removeTargets(targets)
+    }
+
     /**
      * @return all gene impacts for each of actions in initialization of the individual
      * Note that for each of the action, we remove a map for all of the genes in the actions:
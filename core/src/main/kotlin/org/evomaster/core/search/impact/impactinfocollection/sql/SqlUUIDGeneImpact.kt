@@ -4,6 +4,7 @@ import org.evomaster.core.search.gene.Gene
 import org.evomaster.core.search.gene.sql.SqlUUIDGene
 import org.evomaster.core.search.impact.impactinfocollection.*
 import org.evomaster.core.search.impact.impactinfocollection.value.numeric.LongGeneImpact
+import org.evomaster.core.utils.IntDoubleMap
 
 /**
  * created by manzh on 2019-09-29
@@ -16,15 +17,15 @@ class SqlUUIDGeneImpact (sharedImpactInfo: SharedImpactInfo, specificImpactInfo:
             degree: Double = 0.0,
             timesToManipulate : Int = 0,
             timesOfNoImpacts : Int = 0,
-            timesOfNoImpactWithTargets : MutableMap<Int, Double> = mutableMapOf(),
-            timesOfImpact : MutableMap<Int, Double> = mutableMapOf(),
-            noImpactFromImpact : MutableMap<Int, Double> = mutableMapOf(),
-            noImprovement : MutableMap<Int, Double> = mutableMapOf(),
+            timesOfNoImpactWithTargets : Map<Int, Double> = mapOf(),
+            timesOfImpact : Map<Int, Double> = mapOf(),
+            noImpactFromImpact : Map<Int, Double> = mapOf(),
+            noImprovement : Map<Int, Double> = mapOf(),
             mostSigBitsImpact: LongGeneImpact,
             leastSigBitsImpact : LongGeneImpact
     ) : this(
-            SharedImpactInfo(id, degree, timesToManipulate, timesOfNoImpacts, timesOfNoImpactWithTargets, timesOfImpact),
-            SpecificImpactInfo(noImpactFromImpact, noImprovement),
+            SharedImpactInfo(id, degree, timesToManipulate, timesOfNoImpacts, IntDoubleMap.of(timesOfNoImpactWithTargets), IntDoubleMap.of(timesOfImpact)),
+            SpecificImpactInfo(IntDoubleMap.of(noImpactFromImpact), IntDoubleMap.of(noImprovement)),
             mostSigBitsImpact,
             leastSigBitsImpact
     )
@@ -14,17 +14,25 @@ import org.evomaster.core.search.impact.impactinfocollection.ImpactsOfIndividual
 import org.evomaster.core.search.service.monitor.SearchProcessMonitor
 import org.evomaster.core.search.service.mutator.EvaluatedMutation
 import org.evomaster.core.search.tracer.ArchiveMutationTrackService
+import org.evomaster.core.utils.IndexedMinHeap
+import org.evomaster.core.utils.IntIntMap
 import org.slf4j.LoggerFactory
 
 import java.nio.file.Files
 import java.nio.file.Paths
 import java.nio.file.StandardOpenOption
+import java.util.BitSet
+import java.util.Collections
 
 
 class Archive<T> where T : Individual {
 
     companion object{
         private val log = LoggerFactory.getLogger(Archive::class.java)
+
+        private const val INITIAL_CAPACITY = 1024
+
+        private const val NO_IMPROVEMENT = -1
     }
 
     @Inject
@@ -48,33 +56,72 @@ class Archive<T> where T : Individual {
     @Inject
     private lateinit var tracker : ArchiveMutationTrackService
 
+    /*
+        There can be hundreds of thousands of targets, and the archive is queried
+        at each sampling. So, each reached target gets a "slot", in the order in which
+        it was first reached, and all its info is stored in arrays indexed by such slot.
+        Iterating over the slots in ascending order is equivalent to iterating over
+        the targets in the order in which they were reached.
+     */
+
     /**
      * Key -> id of the target
      *
-     * Value -> sorted list of best individuals for that target
+     * Value -> its slot
      */
-    private val populations = mutableMapOf<Int, MutableList<EvaluatedIndividual<T>>>()
+    private val slots = IntIntMap()
 
     /**
-     * Key -> id of the target
-     *
-     * Value -> how often we sampled from the buffer for that target since
+     * Id of the target in each slot
+     */
+    private var targetIds = IntArray(INITIAL_CAPACITY)
+
+    /**
+     * For each slot, sorted list of best individuals for that target
+     */
+    private val populations = mutableListOf<MutableList<EvaluatedIndividual<T>>>()
+
+    /**
+     * For each slot, how often we sampled from the buffer for that target since
      *          last fitness improvement.
      *          Note: such counter will be reset when a fitness improvement
      *          is obtained for that target is obtained.
      *          This means that an infeasible / hard target will not get
      *          its counter reset once the final local optima is reached
      */
-    private val samplingCounter = mutableMapOf<Int, Int>()
+    private var samplingCounter = IntArray(INITIAL_CAPACITY)
 
 
     /**
-     * Key -> id of the target
-     *
-     * Value -> keep track of how long (in number of sampled individuals)
+     * For each slot, keep track of how long (in number of sampled individuals)
      *          it took last time there was an improvement for this target.
+     *          [NO_IMPROVEMENT] if there was none.
      */
-    private val lastImprovement = mutableMapOf<Int, Int>()
+    private var lastImprovement = IntArray(INITIAL_CAPACITY) { NO_IMPROVEMENT }
+
+    /**
+     * Slots of the targets that are covered
+     */
+    private val covered = BitSet()
+
+    /**
+     * Slots of the targets that are not covered, in the order used to choose
+     * among them with [LAST] and [FOCUSED_QUICKEST], ie, based on [samplingCounter]
+     */
+    private val bySamplingCounter = IndexedMinHeap { feedbackPriority(it) }
+
+    /**
+     * Slots of the targets that are not covered, and for which it is not too long
+     * since last improvement, as considered in [FOCUSED_QUICKEST].
+     * Ordered by [lastImprovement]
+     */
+    private val byLastImprovement = IndexedMinHeap { lastImprovement[it].toLong() }
+
+    /**
+     * Cache of [notCoveredTargets], as it is called on each fitness evaluation.
+     * Null if it needs to be recomputed
+     */
+    private var notCoveredCache: Set<Int>? = null
 
 
     /**
@@ -102,11 +149,10 @@ class Archive<T> where T : Individual {
          */
         val uniques = mutableSetOf<EvaluatedIndividual<T>>()
 
-        populations.entries.forEach { e ->
-            if (isCovered(e.key)) {
-                val ind = e.value[0]
-                uniques.add(ind)
-            }
+        var slot = covered.nextSetBit(0)
+        while (slot >= 0) {
+            uniques.add(populations[slot][0])
+            slot = covered.nextSetBit(slot + 1)
         }
 
         return uniques
@@ -126,25 +172,24 @@ class Archive<T> where T : Individual {
             throw IllegalStateException("Empty archive")
         }
 
-        var toChooseFrom = notCoveredTargets()
-        if (toChooseFrom.isEmpty()) {
+        val chosenSlot = if (numberOfCoveredTargets() == populations.size) {
             //this means all current targets are covered
-            toChooseFrom = populations.keys.toSet()
+            chooseAmongAllTargets()
+        } else {
+            chooseNotCoveredTarget()
         }
-
-
-        val chosenTarget = chooseTarget(toChooseFrom)
+        val chosenTarget = targetIds[chosenSlot]
         lastChosen = chosenTarget
 
-        val candidates = populations[chosenTarget] ?:
-                //should never happen, unless of bug
-                throw IllegalStateException("Target $chosenTarget has no candidate individual")
+        val candidates = populations[chosenSlot]
 
 
-        incrementCounter(chosenTarget)
+        incrementCounter(chosenSlot)
 
         sortAndShrinkIfNeeded(candidates, chosenTarget)
 
+        updateIndex(chosenSlot)
+
         val notTimedOut = candidates.filter {
             !it.seeResults().any { res -> res is HttpWsCallResult && res.getTimedout() }
         }
@@ -164,42 +209,61 @@ class Archive<T> where T : Individual {
         return copy
     }
 
-    private fun chooseTarget(toChooseFrom: Set<Int>): Int {
+    /**
+     * @return the priority of the target in [slot] when choosing based on [samplingCounter]:
+     *          the lower, the sooner it will be chosen
+     */
+    private fun feedbackPriority(slot: Int): Long {
+        val counter = samplingCounter[slot]
+        if (config.feedbackDirectedSampling != LAST) {
+            return counter.toLong()
+        }
+        val p = populations[slot]
+        val time = p[p.lastIndex].executionTimeMs //time of best individual
+        return if(!config.useTimeInFeedbackSampling || time == Long.MAX_VALUE){
+            counter.toLong()
+        } else {
+            /*
+                WARNING: this does introduce some form of non-determinism,
+                as timestamps can vary.
+             */
+            (counter * time)
+        }
+    }
+
+    /**
+     * @return the slot of the chosen target, among the ones not covered yet
+     */
+    private fun chooseNotCoveredTarget(): Int {
 
         return when (config.feedbackDirectedSampling) {
-            LAST -> toChooseFrom.minByOrNull {
-                val counter = samplingCounter.getOrDefault(it, 0)
-                val p = populations[it]!!
-                val time = p[p.lastIndex].executionTimeMs //time of best individual
-                if(!config.useTimeInFeedbackSampling || time == Long.MAX_VALUE){
-                     counter.toLong()
-                } else {
-                    /*
-                    WARNING: this does introduce some form of non-determinism,
-                    as timestamps can vary.
-                 */
-                    (counter * time)
-                }
-            }!!
+            LAST -> bySamplingCounter.peek()!!
             FOCUSED_QUICKEST ->
-                handleFocusedQuickest(toChooseFrom)
-            else ->
-                randomness.choose(toChooseFrom)
+                handleFocusedQuickest()
+            else -> {
+                //choose the k-th not covered target, in the order in which they were reached
+                val k = randomness.nextInt(populations.size - numberOfCoveredTargets())
+                var slot = covered.nextClearBit(0)
+                for (i in 0 until k) {
+                    slot = covered.nextClearBit(slot + 1)
+                }
+                slot
+            }
         }
     }
 
-    private fun handleFocusedQuickest(toChooseFrom: Set<Int>): Int {
+    private fun handleFocusedQuickest(): Int {
 
-        val lc = lastChosen
+        val lc = lastChosen?.let { slots.get(it) }
 
         if (lc != null
-                && toChooseFrom.contains(lc)
+                && !covered.get(lc)
                 /*
                     the X can happen if there was never an improvement.
                     so we still want to try 2X times before going to another
                     one
                  */
-                && (samplingCounter[lc] ?: 0) < (lastImprovement[lc] ?: 10) * 2
+                && samplingCounter[lc] < (if (lastImprovement[lc] == NO_IMPROVEMENT) 10 else lastImprovement[lc]) * 2
                 ) {
             return lc
         }
@@ -209,28 +273,42 @@ class Archive<T> where T : Individual {
         a new one
         */
 
-        val index = toChooseFrom
-                .filter {
-                    val previous = lastImprovement[it]
-                    previous != null &&
-                            samplingCounter[it]!! < previous * 2
-                }
-                .minByOrNull { lastImprovement[it]!! }
+        return byLastImprovement.peek() ?: bySamplingCounter.peek()!!
+    }
+
+    /**
+     * When all targets are covered, there is no index to use, as this should
+     * rarely happen, and only when there are few targets
+     *
+     * @return the slot of the chosen target, among all the reached ones
+     */
+    private fun chooseAmongAllTargets(): Int {
+
+        val all = populations.indices
 
-        return index ?: toChooseFrom.minByOrNull {
-            samplingCounter.getOrDefault(it, 0)
-        }!!
+        return when (config.feedbackDirectedSampling) {
+            LAST -> all.minByOrNull { feedbackPriority(it) }!!
+            FOCUSED_QUICKEST -> {
+                val lc = lastChosen?.let { slots.get(it) }
+                if (lc != null
+                        && samplingCounter[lc] < (if (lastImprovement[lc] == NO_IMPROVEMENT) 10 else lastImprovement[lc]) * 2) {
+                    lc
+                } else {
+                    all.filter { lastImprovement[it] != NO_IMPROVEMENT && samplingCounter[it] < lastImprovement[it] * 2 }
+                            .minByOrNull { lastImprovement[it] }
+                            ?: all.minByOrNull { samplingCounter[it] }!!
+                }
+            }
+            else ->
+                randomness.nextInt(populations.size)
+        }
     }
 
     /**
      * update counter by 1
      */
-    private fun incrementCounter(target: Int) {
-        samplingCounter.putIfAbsent(target, 0)
-        val counter = samplingCounter[target]!!
-
-        val delta = getWeightToAdd(target)
-        samplingCounter[target] = counter + delta
+    private fun incrementCounter(slot: Int) {
+        samplingCounter[slot] += getWeightToAdd(targetIds[slot])
     }
 
     private fun getWeightToAdd(target: Int) : Int {
@@ -248,11 +326,64 @@ class Archive<T> where T : Individual {
         return 10
     }
 
-    private fun reportImprovement(target: Int) {
+    private fun reportImprovement(slot: Int) {
+
+        lastImprovement[slot] = samplingCounter[slot]
+        samplingCounter[slot] = 0
+    }
+
+    /**
+     * @return the slot of the [target], creating a new one with empty population if the target was not reached before
+     */
+    private fun getOrCreateSlot(target: Int): Int {
+
+        val existing = slots.get(target)
+        if (existing != IntIntMap.MISSING) {
+            return existing
+        }
+
+        val slot = populations.size
+        if (slot == targetIds.size) {
+            val capacity = slot * 2
+            targetIds = targetIds.copyOf(capacity)
+            samplingCounter = samplingCounter.copyOf(capacity)
+            val old = lastImprovement.size
+            lastImprovement = lastImprovement.copyOf(capacity)
+            lastImprovement.fill(NO_IMPROVEMENT, old, capacity)
+        }
+        slots.put(target, slot)
+        targetIds[slot] = target
+        populations.add(mutableListOf())
+        notCoveredCache = null
 
-        val counter = samplingCounter.getOrDefault(target, 0)
-        lastImprovement.put(target, counter)
-        samplingCounter.put(target, 0)
+        return slot
+    }
+
+    /**
+     * Update all the indexes on the target in [slot], after its population or its counters changed
+     */
+    private fun updateIndex(slot: Int) {
+
+        val isCovered = isCovered(targetIds[slot])
+        if (isCovered != covered.get(slot)) {
+            covered.set(slot, isCovered)
+            notCoveredCache = null
+        }
+
+        if (isCovered || populations[slot].isEmpty()) {
+            bySamplingCounter.remove(slot)
+            byLastImprovement.remove(slot)
+            return
+        }
+
+        bySamplingCounter.update(slot)
+
+        val previous = lastImprovement[slot]
+        if (previous != NO_IMPROVEMENT && samplingCounter[slot] < previous * 2) {
+            byLastImprovement.update(slot)
+        } else {
+            byLastImprovement.remove(slot)
+        }
     }
 
     /**
@@ -260,8 +391,8 @@ class Archive<T> where T : Individual {
      */
     fun encounteredTargetDescriptions(): List<String> {
 
-        return populations.entries
-                .map { e -> "key ${e.key}: ${idMapper.getDescriptiveId(e.key)} , size=${e.value.size}" }
+        return populations.indices
+                .map { i -> "key ${targetIds[i]}: ${idMapper.getDescriptiveId(targetIds[i])} , size=${populations[i].size}" }
                 .sorted()
     }
 
@@ -270,25 +401,25 @@ class Archive<T> where T : Individual {
      */
     fun reachedTargetHeuristics(): List<String> {
 
-        return populations.entries
-                .map { e -> "key ${e.key} -> best heuristics=${e.value.map { it.fitness.computeFitnessScore() }.maxOrNull()}" }
+        return populations.indices
+                .map { i -> "key ${targetIds[i]} -> best heuristics=${populations[i].map { it.fitness.computeFitnessScore() }.maxOrNull()}" }
                 .sorted()
     }
 
     fun numberOfCoveredTargets(): Int {
-        return populations.keys.stream().filter { isCovered(it) }.count().toInt()
+        return covered.cardinality()
     }
 
     fun numberOfReachedButNotCoveredTargets(): Int {
-        return populations.keys.stream().filter { ! isCovered(it) }.count().toInt()
+        return populations.size - numberOfCoveredTargets()
     }
 
     fun numberOfReachedTargets() : Int = populations.size
 
     fun averageTestSizeForReachedButNotCovered() : Double {
-        return populations.entries
-                .filter { ! isCovered(it.key) }
-                .flatMap { it.value }
+        return populations.indices
+                .filter { ! covered.get(it) }
+                .flatMap { populations[it] }
                 .map { it.individual.size() }
                 .average()
     }
@@ -300,46 +431,63 @@ class Archive<T> where T : Individual {
      */
     fun notCoveredTargets(): Set<Int> {
 
-        /*
-            FIXME: performance, use cache for non-covered.
-            As we can have 10s of thousands of covered targets,
-            iterating over them is expensive
-         */
+        val cached = notCoveredCache
+        if (cached != null) {
+            return cached
+        }
+
+        val notCovered = LinkedHashSet<Int>()
+        var slot = covered.nextClearBit(0)
+        while (slot < populations.size) {
+            notCovered.add(targetIds[slot])
+            slot = covered.nextClearBit(slot + 1)
+        }
 
-        return populations.keys.filter { !isCovered(it) }.toSet()
+        val view = Collections.unmodifiableSet(notCovered)
+        notCoveredCache = view
+        return view
     }
 
 
     fun wouldReachNewTarget(ei: EvaluatedIndividual<T>): Boolean {
 
-        return ei.fitness.getViewOfData()
-                .filter { it.value.distance > 0.0 }
-                .map { it.key }
-                .any { populations[it]?.isEmpty() ?: true }
+        ei.fitness.forEachTarget { t, distance ->
+            if (distance > 0.0 && getPopulation(t)?.isEmpty() ?: true) {
+                return true
+            }
+        }
+        return false
     }
 
     fun identifyNewTargets(ei: EvaluatedIndividual<T>, targetInfo: MutableMap<Int, EvaluatedMutation>) {
 
-        ei.fitness.getViewOfData()
-                .filter { it.value.distance > 0.0 && populations[it.key]?.isEmpty() ?: true}
-                .forEach { t->
-                    targetInfo[t.key] = EvaluatedMutation.NEWLY_IDENTIFIED
-                }
+        ei.fitness.forEachTarget { t, distance ->
+            if (distance > 0.0 && getPopulation(t)?.isEmpty() ?: true) {
+                targetInfo[t] = EvaluatedMutation.NEWLY_IDENTIFIED
+            }
+        }
     }
 
     /**
      * @return true if the new individual was added to the archive
      */
     fun addIfNeeded(ei: EvaluatedIndividual<T>): Boolean {
+        return time.measurePhase(SearchPhase.ARCHIVE_UPDATE) { doAddIfNeeded(ei) }
+    }
+
+    private fun doAddIfNeeded(ei: EvaluatedIndividual<T>): Boolean {
 
         val copy = ei.copy(tracker.getCopyFilterForEvalInd(ei))
 
         var added = false
         var anyBetter = false
 
-        for ((k, v) in ei.fitness.getViewOfData()) {
+        for (position in 0 until ei.fitness.numberOfTargets()) {
+
+            val k = ei.fitness.getTargetIdAt(position)
+            val distance = ei.fitness.getHeuristicAt(position)
 
-            if (v.distance == 0.0) {
+            if (distance == 0.0) {
                 /*
                     No point adding an individual with no impact
                     on a given target
@@ -347,120 +495,125 @@ class Archive<T> where T : Individual {
                 continue
             }
 
-            val current = populations.getOrPut(k, { mutableListOf() })
+            val slot = getOrCreateSlot(k)
+            val current = populations[slot]
+
+            try {
+                //ind does reach a new target?
+                if (current.isEmpty()) {
+                    current.add(copy)
+                    added = true
+                    time.newActionImprovement()
+                    reportImprovement(slot)
 
-            //ind does reach a new target?
-            if (current.isEmpty()) {
-                current.add(copy)
-                added = true
-                time.newActionImprovement()
-                reportImprovement(k)
+                    if (isCovered(k)) {
+                        time.newCoveredTarget()
+                    }
 
-                if (isCovered(k)) {
-                    time.newCoveredTarget()
+                    continue
                 }
 
-                continue
-            }
+                val maxed = FitnessValue.isMaxValue(distance)
 
-            val maxed = FitnessValue.isMaxValue(v.distance)
+                if (isCovered(k) && maxed) {
+                    /*
+                        Target is already covered. But could it
+                        be that new individual covers it as well,
+                        and it is better?
 
-            if (isCovered(k) && maxed) {
-                /*
-                    Target is already covered. But could it
-                    be that new individual covers it as well,
-                    and it is better?
+                        Recall: during the search, the fitness score could be
+                        partial, so this check on collateral coverage likely
+                        will not be so effective
+                     */
+                    Lazy.assert{current.size == 1} //if covered, should keep only one solution in buffer
 
-                    Recall: during the search, the fitness score could be
-                    partial, so this check on collateral coverage likely
-                    will not be so effective
-                 */
-                Lazy.assert{current.size == 1} //if covered, should keep only one solution in buffer
+                    val shorter = copy.individual.size() < current[0].individual.size()
+                    val sameLengthButBetterScore = (copy.individual.size() == current[0].individual.size())
+                            && (copy.fitness.computeFitnessScore() > current[0].fitness.computeFitnessScore())
 
-                val shorter = copy.individual.size() < current[0].individual.size()
-                val sameLengthButBetterScore = (copy.individual.size() == current[0].individual.size())
-                        && (copy.fitness.computeFitnessScore() > current[0].fitness.computeFitnessScore())
+                    /*
+                     * Once a target is covered, we check if can cover it with a new test that is shorter.
+                     * Given two tests covering the same target, both with same length, then we prefer
+                     * the one that has most collateral coverage
+                     */
+                    if (shorter || sameLengthButBetterScore) {
+                        current[0] = copy
+                        added = true
+                        time.newActionImprovement()
+                        reportImprovement(slot)
+                    }
+                    continue
+                }
 
-                /*
-                 * Once a target is covered, we check if can cover it with a new test that is shorter.
-                 * Given two tests covering the same target, both with same length, then we prefer
-                 * the one that has most collateral coverage
-                 */
-                if (shorter || sameLengthButBetterScore) {
-                    current[0] = copy
+                if (maxed) {
+                    current.clear() //remove all existing non-optimal solutions
+                    current.add(copy)
                     added = true
                     time.newActionImprovement()
-                    reportImprovement(k)
+                    reportImprovement(slot)
+                    time.newCoveredTarget()
+                    continue
                 }
-                continue
-            }
-
-            if (maxed) {
-                current.clear() //remove all existing non-optimal solutions
-                current.add(copy)
-                added = true
-                time.newActionImprovement()
-                reportImprovement(k)
-                time.newCoveredTarget()
-                continue
-            }
 
 
-            //handle regular case.
-            sortAndShrinkIfNeeded(current, k)
+                //handle regular case.
+                sortAndShrinkIfNeeded(current, k)
 
-            /*
-                as the population are internally sorted by fitness, the individual
-                at position [0] would be the worst
-             */
+                /*
+                    as the population are internally sorted by fitness, the individual
+                    at position [0] would be the worst
+                 */
 
-            val curr = current[0]
-            Lazy.assert {
-                curr.fitness.size == curr.individual.size().toDouble()
-                        &&
-                copy.fitness.size == copy.individual.size().toDouble()
-            }
+                val curr = current[0]
+                Lazy.assert {
+                    curr.fitness.size == curr.individual.size().toDouble()
+                            &&
+                    copy.fitness.size == copy.individual.size().toDouble()
+                }
 
-            /*
-              config.minimumSizeControl = 2 is to
-                avoid reducing tests to size 1 if extra was better.
-                With at least 2 actions, we can have a WRITE followed by a READ
-            */
-            val better = copy.fitness.betterThan(k, curr.fitness, config.secondaryObjectiveStrategy, config.bloatControlForSecondaryObjective, config.minimumSizeControl)
-            anyBetter = anyBetter || better
-
-            if (better) {
-                time.newActionImprovement()
-                reportImprovement(k)
-            }
+                /*
+                  config.minimumSizeControl = 2 is to
+                    avoid reducing tests to size 1 if extra was better.
+                    With at least 2 actions, we can have a WRITE followed by a READ
+                */
+                val better = copy.fitness.betterThan(k, curr.fitness, config.secondaryObjectiveStrategy, config.bloatControlForSecondaryObjective, config.minimumSizeControl)
+                anyBetter = anyBetter || better
+
+                if (better) {
+                    time.newActionImprovement()
+                    reportImprovement(slot)
+                }
 
-            val limit = dpc.getArchiveTargetLimit()
+                val limit = dpc.getArchiveTargetLimit()
 
-            /*
-             individual can be added only if the target k is not covered.
-             If a target is covered and a 'better'(e.g., shorter) individual appears,
-             it would be handled as replacement.
-             */
-            if (!isCovered(k) && current.size < limit) {
-                //we have space in the buffer, regardless of fitness
-                current.add(copy)
-                added = true
+                /*
+                 individual can be added only if the target k is not covered.
+                 If a target is covered and a 'better'(e.g., shorter) individual appears,
+                 it would be handled as replacement.
+                 */
+                if (!isCovered(k) && current.size < limit) {
+                    //we have space in the buffer, regardless of fitness
+                    current.add(copy)
+                    added = true
 
-                continue
-            }
+                    continue
+                }
 
-            val equivalent = copy.fitness.equivalent(k, curr.fitness, config.secondaryObjectiveStrategy)
+                val equivalent = copy.fitness.equivalent(k, curr.fitness, config.secondaryObjectiveStrategy)
 
-            if (better || equivalent) {
-                /*
-                    replace worst element, if copy is not worse than it (but not necessarily better).
-                    However this is base on heuristics values and size, but NOT execution time
+                if (better || equivalent) {
+                    /*
+                        replace worst element, if copy is not worse than it (but not necessarily better).
+                        However this is base on heuristics values and size, but NOT execution time
 
-                    TODO would it makes sense to do something like subsumes() where
-                    execution time is taken into account?
-                 */
-                current[0] = copy
-                added = true
+                        TODO would it makes sense to do something like subsumes() where
+                        execution time is taken into account?
+                     */
+                    current[0] = copy
+                    added = true
+                }
+            } finally {
+                updateIndex(slot)
             }
         }
         processMonitor.record(added, anyBetter, ei)
@@ -503,7 +656,7 @@ class Archive<T> where T : Individual {
 
     fun isCovered(target: Int): Boolean {
 
-        val current = populations[target] ?: return false
+        val current = getPopulation(target) ?: return false
 
         if (current.size != 1) {
             return false
@@ -516,21 +669,26 @@ class Archive<T> where T : Individual {
      * useful for debugging
      */
     fun getReachedTargetHeuristics(target: Int) : Double?{
-        return populations[target]?.map { v-> v.fitness.getHeuristic(target) }?.maxOrNull()
+        return getPopulation(target)?.map { v-> v.fitness.getHeuristic(target) }?.maxOrNull()
+    }
+
+    private fun getPopulation(target: Int): MutableList<EvaluatedIndividual<T>>? {
+        val slot = slots.get(target)
+        return if (slot == IntIntMap.MISSING) null else populations[slot]
     }
 
     /**
      * @return current population
      */
     fun getSnapshotOfBestIndividuals(): Map<Int, MutableList<EvaluatedIndividual<T>>>{
-        return populations
+        return populations.indices.associate { targetIds[it] to populations[it] }
     }
 
     /**
      * @return current samplingCounter
      */
     fun getSnapshotOfSamplingCounter() : Map<Int, Int>{
-        return samplingCounter
+        return populations.indices.associate { targetIds[it] to samplingCounter[it] }
     }
 
     /**
@@ -538,9 +696,10 @@ class Archive<T> where T : Individual {
      */
     fun exportCoveredTargetsAsPair(solution: Solution<*>) : List<Pair<String, List<Int>>>{
 
-        return populations.keys
+        return populations.indices
                 .asSequence()
-                .filter { isCovered(it) }
+                .filter { covered.get(it) }
+                .map { targetIds[it] }
                 .map { t->
                     Pair(idMapper.getDescriptiveId(t), solution.individuals.mapIndexed { index, f-> if (f.fitness.doesCover(t)) index else -1 }.filter { it != -1 })
                 }.toList()
@@ -550,7 +709,7 @@ class Archive<T> where T : Individual {
      * @return an existing ImpactsOfIndividual which includes same action with [other]
      */
     fun findImpactInfo(other: Individual) : ImpactsOfIndividual?{
-        return populations.values.find {
+        return populations.find {
             it.any { i-> i.individual.sameActions(other) }
         }?.run {
             if (this.isEmpty())
@@ -579,7 +738,7 @@ class Archive<T> where T : Individual {
      * note that it is useful for debugging
      */
     fun anyInvalidEvaluatedIndividual(): Boolean{
-        return populations.values.any { e-> e.any { !it.isValid() } }
+        return populations.any { e-> e.any { !it.isValid() } }
     }
 
 //    fun chooseLatestImprovedTargets(size : Int) : Set<Int>{
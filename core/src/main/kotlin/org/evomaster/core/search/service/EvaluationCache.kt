@@ -0,0 +1,101 @@
+package org.evomaster.core.search.service
+
+import org.evomaster.core.problem.api.service.ApiWsAction
+import org.evomaster.core.problem.rest.RestCallAction
+import org.evomaster.core.search.ActionFilter
+import org.evomaster.core.search.ActionResult
+import org.evomaster.core.search.EvaluatedIndividual
+import org.evomaster.core.search.FitnessValue
+import org.evomaster.core.search.Individual
+import org.evomaster.core.search.gene.Gene
+import org.evomaster.core.search.gene.OptionalGene
+import org.evomaster.core.search.gene.StringGene
+import org.evomaster.core.search.gene.sql.SqlForeignKeyGene
+import org.evomaster.core.search.gene.sql.SqlNullableGene
+import org.evomaster.core.search.gene.sql.SqlPrimaryKeyGene
+
+/**
+ * A bounded LRU cache of the results of the fitness evaluations, keyed by the actions
+ * and the gene values of the evaluated individuals (see [computeKey]).
+ *
+ * This is meaningful only when the SUT is deterministic, ie, when executing twice the
+ * same test (after resetting the SUT) leads to the same results.
+ *
+ * A cached evaluation is reused only if its fitness was computed for (at least) all
+ * the targets that are now requested. Otherwise, targets discovered after the
+ * caching would be missing from the reused fitness.
+ */
+class EvaluationCache(private val maxSize: Int) {
+
+    companion object {
+
+        /**
+         * @return a canonical representation of the actions of [individual] and of the values of their genes.
+         * Two individuals with the same key send exactly the same SQL commands and calls to the SUT
+         */
+        fun computeKey(individual: Individual): String {
+            val key = StringBuilder()
+            val actions = individual.seeActions(ActionFilter.ALL)
+            if (actions.isEmpty()) {
+                //eg, individuals in artificial problems are just sequences of genes
+                individual.seeGenes().forEach { appendGene(key, it) }
+            }
+            actions.forEach { a ->
+                key.append('\n').append(a.getName())
+                if (a is ApiWsAction) key.append("|auth=").append(a.auth.name)
+                if (a is RestCallAction) key.append("|location=").append(a.saveLocation).append(',').append(a.locationId)
+                a.seeGenes().forEach { appendGene(key, it) }
+            }
+            return key.toString()
+        }
+
+        private fun appendGene(key: StringBuilder, gene: Gene) {
+            key.append('\u0000').append(gene.javaClass.simpleName).append(':').append(gene.name)
+            when (gene) {
+                is OptionalGene -> key.append(":active=").append(gene.isActive)
+                is SqlNullableGene -> key.append(":present=").append(gene.isPresent)
+                is SqlPrimaryKeyGene -> key.append(":id=").append(gene.uniqueId)
+                is SqlForeignKeyGene -> key.append(":pk=").append(gene.uniqueIdOfPrimaryKey)
+            }
+            val children = gene.getViewOfChildren()
+            //the value of a string also depends on its selected specialization, if any
+            if ((children.isEmpty() || gene is StringGene) && gene.isPrintable() && gene !is SqlForeignKeyGene) {
+                key.append('=').append(gene.getValueAsRawString())
+            }
+            children.filterIsInstance<Gene>().forEach { appendGene(key, it) }
+        }
+    }
+
+    private class CachedEvaluation(
+            val fitness: FitnessValue,
+            val results: List<ActionResult>,
+            val evaluatedTargets: Set<Int>
+    )
+
+    private val entries = object : LinkedHashMap<String, CachedEvaluation>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CachedEvaluation>?): Boolean {
+            return size > maxSize
+        }
+    }
+
+    /**
+     * @return a copy of the fitness and of the action results cached for the [key], if any, and only if
+     * they were computed for all the [targets]
+     */
+    fun get(key: String, targets: Set<Int>): Pair<FitnessValue, List<ActionResult>>? {
+        val entry = entries[key] ?: return null
+        if (!entry.evaluatedTargets.containsAll(targets)) {
+            return null
+        }
+        return Pair(entry.fitness.copy(), entry.results.map { it.copy() })
+    }
+
+    /**
+     * cache the results of [ei], whose fitness was computed for the given [targets]
+     */
+    fun put(key: String, ei: EvaluatedIndividual<*>, targets: Set<Int>) {
+        entries[key] = CachedEvaluation(ei.fitness.copy(), ei.seeAllResults().map { it.copy() }, targets)
+    }
+
+    fun size() = entries.size
+}
@@ -43,6 +43,15 @@ abstract class FitnessFunction<T>  where T : Individual {
     }
 
     /**
+     * cache of the evaluations, used only if [EMConfig.enableEvaluationCache]
+     */
+    private val evaluationCache : EvaluationCache by lazy { EvaluationCache(config.evaluationCacheSize) }
+
+    /**
+     * Note that the returned [EvaluatedIndividual] takes ownership of [individual], ie,
+     * no copy of it is made. So, the caller must not modify [individual] afterwards,
+     * and should rather make a copy of it when needed (eg, before mutating it).
+     *
      * @return [null] if there were problems in calculating the coverage
      */
     fun calculateCoverage(individual: T, targets: Set<Int> = setOf()) : EvaluatedIndividual<T>?{
@@ -53,26 +62,43 @@ abstract class FitnessFunction<T>  where T : Individual {
             time.averageOverheadMsBetweenTests.addElapsedTime()
         }
 
-        var ei = calculateIndividualWithPostHandling(individual, targets, a)
+        //computed before the evaluation, as this latter could modify the individual, eg, with taint analysis
+        val key = if (config.enableEvaluationCache) EvaluationCache.computeKey(individual) else null
+
+        var ei = if (key != null) getFromCache(key, individual, targets) else null
 
-        if(ei == null){
+        if (ei == null) {
             /*
-                try again, once. Working with TCP connections and remote servers,
-                it is not impossible that sometimes things fail
+                computed only once, and used for both the evaluation and the cache, as it
+                can be random (eg, a subset of the non-covered targets)
              */
-            log.warn("Failed to evaluate individual. Restarting the SUT before trying again")
-            reinitialize()
+            val toEvaluate = targetsToEvaluate(targets, individual)
+
+            ei = calculateIndividualWithPostHandling(individual, toEvaluate, a)
 
-            //let's wait a little, just in case...
-            Thread.sleep(5_000)
+            if (ei == null) {
+                /*
+                    try again, once. Working with TCP connections and remote servers,
+                    it is not impossible that sometimes things fail
+                 */
+                log.warn("Failed to evaluate individual. Restarting the SUT before trying again")
+                reinitialize()
 
-            ei = calculateIndividualWithPostHandling(individual, targets, a)
+                //let's wait a little, just in case...
+                Thread.sleep(5_000)
 
+                ei = calculateIndividualWithPostHandling(individual, toEvaluate, a)
 
-            if(ei == null){
-                //give up, but record it
-                log.warn("Failed twice in a row to evaluate individual. Giving up on it.")
-                statistics.reportCoverageFailure()
+
+                if (ei == null) {
+                    //give up, but record it
+                    log.warn("Failed twice in a row to evaluate individual. Giving up on it.")
+                    statistics.reportCoverageFailure()
+                }
+            }
+
+            if (ei != null && key != null) {
+                evaluationCache.put(key, ei, toEvaluate)
             }
         }
 
@@ -88,12 +114,34 @@ abstract class FitnessFunction<T>  where T : Individual {
 
 
     /**
-     * calculated coverage with specified targets
+     * calculated coverage with specified targets.
+     * [individual] can be directly used in the returned [EvaluatedIndividual], without copying it
      *
+     * @param targets the ids of the targets to evaluate, as selected with [targetsToEvaluate]
      * @return [null] if there were problems in calculating the coverage
      */
     protected abstract fun doCalculateCoverage(individual: T, targets: Set<Int>) : EvaluatedIndividual<T>?
 
+    /**
+     * Note that the evaluation is still counted toward the search budget when its results are
+     * taken from the cache, otherwise the search might never end, eg, if all the sampled
+     * individuals were the same
+     *
+     * @return the cached evaluation of [individual] with the given [key], if any
+     */
+    private fun getFromCache(key: String, individual: T, targets: Set<Int>) : EvaluatedIndividual<T>?{
+
+        val cached = evaluationCache.get(key, targetsRequiredFromCache(targets, individual))
+        if (cached == null) {
+            statistics.reportEvaluationCacheMiss()
+            return null
+        }
+
+        statistics.reportEvaluationCacheHit()
+        return EvaluatedIndividual(cached.first, individual, cached.second,
+                trackOperator = individual.trackOperator, index = time.evaluatedIndividuals, config = config)
+    }
+
     private fun calculateIndividualWithPostHandling(individual: T, targets: Set<Int>, actionsSize: Int) : EvaluatedIndividual<T>?{
 
         val ei = time.measureTimeMillis(
@@ -121,6 +169,17 @@ abstract class FitnessFunction<T>  where T : Individual {
         return targets.plus(archive.notCoveredTargets()).filter { !IdMapper.isLocal(it) }.toSet()
     }
 
+    /**
+     * decide which targets a cached evaluation must have been computed for, to be reused.
+     * This must be overridden if [targetsToEvaluate] is random or has side effects, as
+     * this is called at each lookup in the cache
+     *
+     * @param targets indicates prioritized targets if there exists
+     */
+    protected open fun targetsRequiredFromCache(targets: Set<Int>, individual: T) : Set<Int>{
+        return targetsToEvaluate(targets, individual)
+    }
+
     private fun handleExecutionInfo(ei: EvaluatedIndividual<T>?) {
         ei?:return
         executionInfoReporter.sqlExecutionInfo(ei.individual.seeActions(), ei.fitness.databaseExecutions)
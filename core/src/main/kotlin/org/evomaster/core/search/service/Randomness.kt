@@ -21,6 +21,13 @@ class Randomness {
 
     private val random = Random()
 
+    /**
+     * Generator used instead of [random] by a thread that has its own stream of values,
+     * eg, when sampling in background (see [SamplingPipeline]).
+     * This way, the values in each stream do not depend on how the threads are interleaved.
+     */
+    private val threadRandom = ThreadLocal<Random>()
+
     init {
         /*
             this is needed just for EM tests. during EM execution, it is taken
@@ -61,8 +68,18 @@ class Randomness {
         }
     }
 
+    /**
+     * From now on, the current thread uses its own stream of random values, based on the given [seed],
+     * instead of the one shared with the other threads
+     */
+    fun useSeparateStreamInCurrentThread(seed: Long) {
+        threadRandom.set(Random(seed))
+    }
+
+    private fun rnd(): Random = threadRandom.get() ?: random
+
     fun nextBoolean(): Boolean {
-        val k = random.nextBoolean()
+        val k = rnd().nextBoolean()
         log.trace("nextBoolean(): {}", k)
         return k
     }
@@ -71,19 +88,19 @@ class Randomness {
      * Return true with probability P
      */
     fun nextBoolean(p: Double): Boolean {
-        val k = random.nextDouble() < p
+        val k = rnd().nextDouble() < p
         log.trace("nextBoolean(): {}", k)
         return k
     }
 
     fun nextInt(): Int {
-        val k = random.nextInt()
+        val k = rnd().nextInt()
         log.trace("nextInt(): {}", k)
         return k
     }
 
     fun nextDouble(): Double {
-        val k = random.nextDouble()
+        val k = rnd().nextDouble()
         log.trace("nextDouble(): {}", k)
         return k
     }
@@ -107,26 +124,26 @@ class Randomness {
             throw IllegalArgumentException("Min $min is bigger than max $max")
         }
 
-        val k = min + random.nextDouble() * calculateIncrement(min, max)
+        val k = min + rnd().nextDouble() * calculateIncrement(min, max)
 
         log.trace("nextDouble(min {}, max {}): {}", min, max, k)
         return k
     }
 
     fun nextGaussian(): Double {
-        val k = random.nextGaussian()
+        val k = rnd().nextGaussian()
         log.trace("nextGaussian(): {}", k)
         return k
     }
 
     fun nextFloat(): Float {
-        val k = random.nextFloat()
+        val k = rnd().nextFloat()
         log.trace("nextFloat(): {}", k)
         return k
     }
 
     fun nextInt(bound: Int): Int {
-        val k = random.nextInt(bound)
+        val k = rnd().nextInt(bound)
         log.trace("nextInt(bound): {} , {}", k, bound)
         return k
     }
@@ -157,14 +174,14 @@ class Randomness {
             throw IllegalArgumentException("Min $min is bigger than max $max")
         }
 
-        val k = (min.toLong() + random.nextDouble() * (max.toLong() - min + 1)).toInt()
+        val k = (min.toLong() + rnd().nextDouble() * (max.toLong() - min + 1)).toInt()
         log.trace("nextInt(min {}, max {}): {}", min, max, k)
         return k
     }
 
 
     fun nextLong(): Long {
-        val k = random.nextLong()
+        val k = rnd().nextLong()
         log.trace("nextLong(): {}", k)
         return k
     }
@@ -182,7 +199,7 @@ class Randomness {
             throw IllegalArgumentException("Min $min is bigger than max $max")
         }
 
-        val k = min + (random.nextDouble() * calculateIncrement(min, max, minIncrement = 1L)).toLong()
+        val k = min + (rnd().nextDouble() * calculateIncrement(min, max, minIncrement = 1L)).toLong()
 
         log.trace("nextLong(min {}, max {}): {}", min, max, k)
         return k
@@ -251,13 +268,13 @@ class Randomness {
 
         val characters = asciiLetterSet
 
-        val k = characters[random.nextInt(characters.length)]
+        val k = characters[rnd().nextInt(characters.length)]
         log.trace("nextLetter(): {}", k)
         return k
     }
 
     fun nextFromStringSet(set: String) : Char{
-        return set[random.nextInt(set.length)]
+        return set[rnd().nextInt(set.length)]
     }
 
     fun nextWordChar(): Char {
@@ -339,7 +356,7 @@ class Randomness {
      */
     fun <K> chooseByProbability(map: Map<K, Double>): K {
 
-        val randFl = random.nextDouble() * map.values.sum()
+        val randFl = rnd().nextDouble() * map.values.sum()
         var temp = 0.0
         var found = map.keys.first()
 
@@ -378,7 +395,7 @@ class Randomness {
             throw IllegalArgumentException("Invalid index $index in list of size ${list.size}")
         }
 
-        val index = random.nextInt(index)
+        val index = rnd().nextInt(index)
         return list[index]
     }
 
@@ -399,7 +416,7 @@ class Randomness {
 
         val selection: MutableList<T> = mutableListOf()
         selection.addAll(list)
-        selection.shuffle(random)
+        selection.shuffle(rnd())
 
         val k =  selection.subList(0, n)
 
@@ -418,7 +435,7 @@ class Randomness {
 
         val selection: MutableList<T> = mutableListOf()
         selection.addAll(set)
-        selection.shuffle(random)
+        selection.shuffle(rnd())
 
         val k = selection.subList(0, n).toSet()
 
@@ -438,7 +455,7 @@ class Randomness {
         if (collection.isEmpty()) {
             throw IllegalArgumentException("Empty map to choose from")
         }
-        val index = random.nextInt(collection.size)
+        val index = rnd().nextInt(collection.size)
         var i = 0
 
         val iter = collection.iterator()
@@ -454,7 +471,7 @@ class Randomness {
     }
 
     fun randomIPBit() : Int {
-        val k = random.nextInt( 255)
+        val k = rnd().nextInt( 255)
         log.trace("Random IP bit: {}", k)
         return k
     }
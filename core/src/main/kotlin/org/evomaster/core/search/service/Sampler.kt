@@ -36,6 +36,16 @@ abstract class Sampler<T> : TrackOperator where T : Individual {
      */
     protected val actionCluster: MutableMap<String, Action> = mutableMapOf()
 
+    /**
+     * Used to sample at random in background, if enabled with [EMConfig.pipelinedSampling]
+     */
+    private var pipeline: SamplingPipeline<T>? = null
+
+    /**
+     * The view of the search state to use in [sampleAtRandom], when called by [pipeline]
+     */
+    private val backgroundView = ThreadLocal<SamplingPipeline.SearchView>()
+
     /**
      * Sample a new individual at random, but still satisfying all given constraints.
      *
@@ -43,6 +53,14 @@ abstract class Sampler<T> : TrackOperator where T : Individual {
      */
     abstract fun sampleAtRandom(): T
 
+    /**
+     * Whether [sampleAtRandom] can be called from a background thread while the search is going on.
+     * This requires it to not modify nor read any state that is updated during the search,
+     * apart from what it gets via [getMaxTestSizeDuringSampler] and [getCreationIndex].
+     * The random values are instead taken from a different stream in that thread.
+     */
+    open fun canSampleAtRandomInBackground() = false
+
 
     fun numberOfDistinctActions() = actionCluster.size
 
@@ -61,11 +79,51 @@ abstract class Sampler<T> : TrackOperator where T : Individual {
             log.trace("sampler will be applied")
         }
 
-        if (randomness.nextBoolean(config.probOfSmartSampling)) {
-            return smartSample()
-        } else {
+        return time.measurePhase(SearchPhase.SAMPLING) {
+            if (randomness.nextBoolean(config.probOfSmartSampling)) {
+                smartSample()
+            } else {
+                nextRandomSample()
+            }
+        }
+    }
+
+    private fun nextRandomSample(): T {
+
+        if (!config.pipelinedSampling || !canSampleAtRandomInBackground()) {
             return sampleAtRandom()
         }
+
+        if (pipeline == null) {
+            log.debug("Starting to sample individuals in background")
+            pipeline = SamplingPipeline(
+                    config.pipelinedSamplingQueueSize,
+                    config.reproduciblePipelinedSampling,
+                    randomness,
+                    /*
+                        when not reproducible, this is called in the background thread, and so must
+                        not use its backgroundView, which would be the one of the previous sampling
+                     */
+                    { SamplingPipeline.SearchView(computeMaxTestSize(), time.evaluatedIndividuals) },
+                    { view ->
+                        backgroundView.set(view)
+                        try {
+                            sampleAtRandom()
+                        } finally {
+                            backgroundView.remove()
+                        }
+                    })
+        }
+
+        return pipeline!!.next()
+    }
+
+    /**
+     * Stop sampling in background, if it was started. Called once the search is completed
+     */
+    fun stopBackgroundSampling() {
+        pipeline?.stop()
+        pipeline = null
     }
 
     /**
@@ -111,6 +169,17 @@ abstract class Sampler<T> : TrackOperator where T : Individual {
      * get max test size during sampling
      */
     fun getMaxTestSizeDuringSampler() : Int{
+        val view = backgroundView.get()
+        if (view != null) {
+            return view.maxTestSize
+        }
+        return computeMaxTestSize()
+    }
+
+    /**
+     * @return the max test size based on the current state of the search
+     */
+    private fun computeMaxTestSize() : Int{
         return when(config.maxTestSizeStrategy){
             EMConfig.MaxTestSizeStrategy.SPECIFIED -> config.maxTestSize
             EMConfig.MaxTestSizeStrategy.DPC_INCREASING -> apc.getExploratoryValue(config.dpcTargetTestSize, config.maxTestSize)
@@ -118,6 +187,13 @@ abstract class Sampler<T> : TrackOperator where T : Individual {
         }
     }
 
+    /**
+     * @return the index to use for a newly sampled individual, ie, how many individuals were evaluated so far
+     */
+    protected fun getCreationIndex(): Int {
+        return backgroundView.get()?.evaluatedIndividuals ?: time.evaluatedIndividuals
+    }
+
     /**
      * extract tables with additional FK tables
      */
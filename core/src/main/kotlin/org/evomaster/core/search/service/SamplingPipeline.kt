@@ -0,0 +1,118 @@
+package org.evomaster.core.search.service
+
+import org.evomaster.core.search.Individual
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.BlockingQueue
+
+/**
+ * Sample new random individuals in a background thread, ahead of when the search needs them.
+ * This way, the cost of sampling is paid while the search thread is waiting for the SUT
+ * to evaluate the previous individuals.
+ *
+ * The background thread uses its own stream of random values, whose seed is taken from
+ * the [randomness] of the search. So, the sequence of sampled individuals does not depend
+ * on how the threads are interleaved.
+ * Sampling might still depend on the state of the search (eg, how much budget is used).
+ * This is given by a [SearchView], which in [reproducible] mode is taken by the search thread
+ * each time an individual is requested, at the cost of sampling only one individual ahead.
+ */
+internal class SamplingPipeline<T>(
+        /**
+         * max number of individuals that can be sampled ahead, when not in [reproducible] mode
+         */
+        capacity: Int,
+        private val reproducible: Boolean,
+        private val randomness: Randomness,
+        /**
+         * the current view of the search state, when sampling
+         */
+        private val view: () -> SearchView,
+        /**
+         * the actual sampling, done in the background thread
+         */
+        private val sampleAtRandom: (SearchView) -> T
+) where T : Individual {
+
+    companion object {
+        private val log: Logger = LoggerFactory.getLogger(SamplingPipeline::class.java)
+    }
+
+    /**
+     * What the sampling can read of the state of the search
+     */
+    data class SearchView(val maxTestSize: Int, val evaluatedIndividuals: Int)
+
+    /**
+     * Either a sampled individual, or the exception thrown while sampling it
+     */
+    private class Sampled<T>(val individual: T?, val exception: Exception?)
+
+    private val requests: BlockingQueue<SearchView> = ArrayBlockingQueue(1)
+
+    private val ready: BlockingQueue<Sampled<T>> = ArrayBlockingQueue(if (reproducible) 1 else capacity)
+
+    @Volatile
+    private var stopped = false
+
+    private val thread: Thread
+
+    init {
+        val seed = randomness.nextLong()
+        if (reproducible) {
+            requests.add(view())
+        }
+
+        thread = Thread({ produce(seed) }, "EvoMaster-sampling")
+        thread.isDaemon = true
+        thread.start()
+    }
+
+    private fun produce(seed: Long) {
+
+        randomness.useSeparateStreamInCurrentThread(seed)
+
+        try {
+            while (!stopped) {
+                val current = if (reproducible) requests.take() else view()
+                val sampled = try {
+                    Sampled(sampleAtRandom(current), null)
+                } catch (e: Exception) {
+                    Sampled<T>(null, e)
+                }
+                ready.put(sampled)
+            }
+        } catch (e: InterruptedException) {
+            //stopped while waiting on one of the queues
+        }
+    }
+
+    /**
+     * @return the next individual sampled in background, waiting for it if not ready yet
+     */
+    fun next(): T {
+
+        if (stopped) {
+            throw IllegalStateException("Sampling pipeline is stopped")
+        }
+
+        val sampled = ready.take()
+
+        if (reproducible) {
+            //what is going to be sampled next must not depend on when the background thread runs
+            requests.put(view())
+        }
+
+        if (sampled.exception != null) {
+            throw sampled.exception
+        }
+        return sampled.individual!!
+    }
+
+    fun stop() {
+        stopped = true
+        thread.interrupt()
+        log.debug("Sampling pipeline stopped")
+    }
+}
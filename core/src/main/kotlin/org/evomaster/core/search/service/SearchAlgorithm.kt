@@ -2,6 +2,8 @@ package org.evomaster.core.search.service
 
 import com.google.inject.Inject
 import org.evomaster.core.EMConfig
+import org.evomaster.core.logging.LoggingUtil
+import org.evomaster.core.search.EvaluatedIndividual
 import org.evomaster.core.search.Individual
 import org.evomaster.core.search.Solution
 import org.evomaster.core.search.service.mutator.Mutator
@@ -31,6 +33,9 @@ abstract class SearchAlgorithm<T> where T : Individual {
     protected lateinit var config: EMConfig
 
 
+    @Inject
+    private lateinit var searchGlobalState: SearchGlobalState
+
     @Inject(optional = true)
     private lateinit var mutator: Mutator<T>
 
@@ -72,6 +77,8 @@ abstract class SearchAlgorithm<T> where T : Individual {
             }
         }
 
+        sampler.stopBackgroundSampling()
+
         handleAfterSearch()
 
         return archive.extractSolution()
@@ -87,6 +94,38 @@ abstract class SearchAlgorithm<T> where T : Individual {
         }
     }
 
+    /**
+     * Evaluate individuals found in a different search (eg, on a different driver of the same SUT),
+     * and add them to the archive if needed.
+     * The individuals are copied, and bound to the global state of this search.
+     * Ids of the targets are based on the driver, so individuals must be evaluated again here.
+     * These evaluations count toward the search budget, and individuals are no longer imported
+     * once it is used up.
+     *
+     * @return the solution of this search, after the merge
+     */
+    fun importIndividuals(individuals: List<EvaluatedIndividual<*>>): Solution<T> {
+
+        for ((i, ei) in individuals.withIndex()) {
+
+            if (!time.shouldContinueSearch()) {
+                LoggingUtil.getInfoLogger().warn("Search budget is used up: ${individuals.size - i}" +
+                        " of the ${individuals.size} tests found by other searches are not merged")
+                break
+            }
+
+            @Suppress("UNCHECKED_CAST")
+            val ind = ei.individual.copy() as T
+            ind.searchGlobalState = searchGlobalState
+
+            ff.calculateCoverage(ind)?.run {
+                archive.addIfNeeded(this)
+            }
+        }
+
+        return archive.extractSolution()
+    }
+
     private fun needsToSnapshot(): Boolean {
         var isSnapshotEnabled = config.enableWriteSnapshotTests
         var snapshotPeriod = config.writeSnapshotTestsIntervalInSeconds
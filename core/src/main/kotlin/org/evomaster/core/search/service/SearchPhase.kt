@@ -0,0 +1,63 @@
+package org.evomaster.core.search.service
+
+/**
+ * Phases of the search for which the spent time is tracked by [SearchTimeController].
+ *
+ * Note that phases can be nested (eg, [ACTION_EXECUTION] happens while evaluating
+ * an individual that was just created in [GENE_MUTATION]), so their times are not
+ * exclusive and should not be summed up.
+ *
+ * @property label used in the columns of the statistics file
+ */
+enum class SearchPhase(val label: String) {
+
+    /**
+     * creation of new individuals, either at random or with smart sampling
+     */
+    SAMPLING("sampling"),
+
+    /**
+     * mutation adding/removing actions of an individual
+     */
+    STRUCTURE_MUTATION("structureMutation"),
+
+    /**
+     * mutation of the values of the genes of an individual
+     */
+    GENE_MUTATION("geneMutation"),
+
+    /**
+     * reset of the state of the SUT before executing a test
+     */
+    SUT_RESET("sutReset"),
+
+    /**
+     * insertions of data into the SQL database of the SUT
+     */
+    DB_INSERTION("dbInsertion"),
+
+    /**
+     * calls toward the SUT, eg, HTTP requests
+     */
+    ACTION_EXECUTION("actionExecution"),
+
+    /**
+     * retrieval of the results of a test execution from the driver, ie, /testResults
+     */
+    TEST_RESULTS("testResults"),
+
+    /**
+     * update of the archive with an evaluated individual
+     */
+    ARCHIVE_UPDATE("archiveUpdate"),
+
+    /**
+     * collection of the impacts of the mutated genes
+     */
+    IMPACT_COLLECTION("impactCollection"),
+
+    /**
+     * output of the generated test suites
+     */
+    TEST_WRITING("testWriting")
+}
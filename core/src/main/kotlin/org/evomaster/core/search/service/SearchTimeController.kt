@@ -3,6 +3,7 @@ package org.evomaster.core.search.service
 import com.google.inject.Inject
 import org.evomaster.core.EMConfig
 import org.evomaster.core.logging.LoggingUtil
+import org.evomaster.core.remote.service.CallLatencyHistogram
 import org.evomaster.core.utils.IncrementalAverage
 import org.slf4j.LoggerFactory
 import java.util.*
@@ -66,6 +67,13 @@ class SearchTimeController {
 
     val averageOverheadMsBetweenTests = IncrementalAverage()
 
+    /**
+     * Time spent in each phase of the search, see [measurePhase]
+     */
+    private val phaseTimes = EnumMap<SearchPhase, CallLatencyHistogram>(SearchPhase::class.java).apply {
+        SearchPhase.values().forEach { put(it, CallLatencyHistogram()) }
+    }
+
 
     /**
      * Make sure we do not make too many requests in a short amount of time, to avoid
@@ -146,6 +154,26 @@ class SearchTimeController {
         return result
     }
 
+    /**
+     * Execute [function], and record its elapsed time for the given [phase].
+     * Time is recorded even if [function] throws an exception or returns from the caller
+     */
+    inline fun <T> measurePhase(phase: SearchPhase, function: () -> T): T {
+
+        val start = System.nanoTime()
+        try {
+            return function.invoke()
+        } finally {
+            reportPhaseTime(phase, System.nanoTime() - start)
+        }
+    }
+
+    fun reportPhaseTime(phase: SearchPhase, elapsedNanos: Long) {
+        phaseTimes[phase]!!.record(elapsedNanos)
+    }
+
+    fun getPhaseTimes(): Map<SearchPhase, CallLatencyHistogram> = phaseTimes
+
     fun computeExecutedIndividualTimeStatistics() : Pair<Double,Double>{
 
         if(executedIndividualTime.isEmpty()){
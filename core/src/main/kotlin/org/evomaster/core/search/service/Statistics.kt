@@ -1,18 +1,21 @@
 package org.evomaster.core.search.service
 
 import com.google.inject.Inject
+import org.evomaster.client.java.controller.api.ControllerConstants
 import org.evomaster.client.java.controller.api.dto.SutInfoDto
 import org.evomaster.client.java.instrumentation.shared.ObjectiveNaming
 import org.evomaster.core.EMConfig
 import org.evomaster.core.output.service.PartialOracles
 import org.evomaster.core.problem.rest.RestCallAction
 import org.evomaster.core.problem.httpws.service.HttpWsCallResult
+import org.evomaster.core.remote.service.CallLatencyHistogram
 import org.evomaster.core.remote.service.RemoteController
 import org.evomaster.core.search.FitnessValue
 import org.evomaster.core.search.Solution
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import java.nio.file.Files
+import java.nio.file.Path
 import java.nio.file.Paths
 import javax.annotation.PostConstruct
 
@@ -22,6 +25,59 @@ class Statistics : SearchListener {
     companion object {
         private val log: Logger = LoggerFactory.getLogger(Statistics::class.java)
 
+        /**
+         * Prepare the CSV file in which rows with the given [headers] are going to be written.
+         *
+         * If not [append], any existing file is replaced.
+         * Otherwise, rows are added to the existing file only if it has the very same headers
+         * (eg, it was not created by a version of EvoMaster with different columns), as
+         * rows would not line up with them.
+         * If headers differ, a new file with a numeric suffix is used instead, eg
+         * `statistics_1.csv`, keeping the existing data untouched.
+         *
+         * @return the path of the file to append rows to
+         */
+        fun prepareFile(path: Path, headers: String, append: Boolean): Path {
+
+            Files.createDirectories(path.parent)
+
+            if (!append) {
+                Files.deleteIfExists(path)
+            }
+
+            var target = path
+            var counter = 0
+
+            while (Files.exists(target)) {
+                val existing = Files.newBufferedReader(target).use { it.readLine() }
+                if (existing == null || existing == headers) {
+                    if (existing == null) {
+                        target.toFile().appendText("$headers\n")
+                    }
+                    return target
+                }
+
+                counter++
+                val name = path.fileName.toString()
+                val dot = name.lastIndexOf('.')
+                val newName = if (dot > 0) "${name.substring(0, dot)}_$counter${name.substring(dot)}" else "${name}_$counter"
+                if (counter == 1) {
+                    log.warn("Existing file $path has different columns from the current ones." +
+                            " Statistics are not appended to it, but rather to a new file.")
+                }
+                target = path.resolveSibling(newName)
+            }
+
+            if (counter > 0) {
+                log.warn("Writing statistics to $target")
+            }
+
+            Files.createFile(target)
+            target.toFile().appendText("$headers\n")
+
+            return target
+        }
+
         private const val DESCRIPTION_TARGET = "description"
         private const val TEST_INDEX = "indexOfTests"
 
@@ -67,6 +123,16 @@ class Statistics : SearchListener {
      */
     private var coverageFailures = 0
 
+    /**
+     * How many fitness evaluations were taken from the cache, instead of executing the tests
+     */
+    private var evaluationCacheHits = 0
+
+    /**
+     * How many fitness evaluations were not in the cache, when this is enabled
+     */
+    private var evaluationCacheMisses = 0
+
 
    class Pair(val header: String, val element: String)
 
@@ -92,16 +158,7 @@ class Statistics : SearchListener {
         val headers = data.map { it.header }.joinToString(",")
         val elements = data.map { it.element }.joinToString(",")
 
-        val path = Paths.get(config.statisticsFile).toAbsolutePath()
-
-        Files.createDirectories(path.parent)
-
-        if (!Files.exists(path) or !config.appendToStatisticsFile) {
-            Files.deleteIfExists(path)
-            Files.createFile(path)
-
-            path.toFile().appendText("$headers\n")
-        }
+        val path = prepareFile(Paths.get(config.statisticsFile).toAbsolutePath(), headers, config.appendToStatisticsFile)
 
         path.toFile().appendText("$elements\n")
     }
@@ -118,16 +175,7 @@ class Statistics : SearchListener {
 
         val headers = "interval," + snapshots.values.first().map { it.header }.joinToString(",")
 
-        val path = Paths.get(config.snapshotStatisticsFile).toAbsolutePath()
-
-        Files.createDirectories(path.parent)
-
-        if (!Files.exists(path) or !config.appendToStatisticsFile) {
-            Files.deleteIfExists(path)
-            Files.createFile(path)
-
-            path.toFile().appendText("$headers\n")
-        }
+        val path = prepareFile(Paths.get(config.snapshotStatisticsFile).toAbsolutePath(), headers, config.appendToStatisticsFile)
 
         snapshots.entries.stream()
                 .sorted { o1, o2 -> o1.key.compareTo(o2.key) }
@@ -146,6 +194,14 @@ class Statistics : SearchListener {
         coverageFailures++
     }
 
+    fun reportEvaluationCacheHit() {
+        evaluationCacheHits++
+    }
+
+    fun reportEvaluationCacheMiss() {
+        evaluationCacheMisses++
+    }
+
     override fun newActionEvaluated() {
         if (snapshotThreshold <= 0) {
             //not collecting snapshot data
@@ -257,8 +313,13 @@ class Statistics : SearchListener {
             add(Pair("avgReturnCodes", "" + codes.average()))
             add(Pair("maxReturnCodes", "" + codes.maxOrNull()))
 
+            addCallLatencies(this)
+            addPhaseTimes(this)
+
             add(Pair(TEST_TIMEOUTS, "$timeouts"))
             add(Pair("coverageFailures", "$coverageFailures"))
+            add(Pair("evaluationCacheHits", "$evaluationCacheHits"))
+            add(Pair("evaluationCacheHitRate", "${evaluationCacheHitRate()}"))
             add(Pair("clusteringTime", "${solution.clusteringTime}"))
             add(Pair("id", config.statisticsColumnId))
         }
@@ -267,6 +328,57 @@ class Statistics : SearchListener {
         return list
     }
 
+    /**
+     * Latencies of the calls toward the driver, both overall and for the endpoints
+     * that are called for each evaluated test.
+     * Columns are always the same, to be able to append to existing statistics files.
+     */
+    private fun addCallLatencies(list: MutableList<Pair>) {
+
+        val latencies = remoteController?.getCallLatencies() ?: mapOf()
+
+        val all = CallLatencyHistogram()
+        latencies.values.forEach { all.merge(it) }
+
+        val endpoints = listOf(
+                "all" to all,
+                "runSut" to latencies[ControllerConstants.RUN_SUT_PATH],
+                "newAction" to latencies[ControllerConstants.NEW_ACTION],
+                "testResults" to latencies[ControllerConstants.TEST_RESULTS],
+                "databaseCommand" to latencies[ControllerConstants.DATABASE_COMMAND]
+        )
+
+        for ((name, h) in endpoints) {
+            val prefix = "driverCalls_$name"
+            list.add(Pair("${prefix}_n", "${h?.getCount() ?: 0}"))
+            list.add(Pair("${prefix}_avgMs", "${h?.averageMs() ?: 0.0}"))
+            list.add(Pair("${prefix}_p50Ms", "${h?.percentileMs(50.0) ?: 0.0}"))
+            list.add(Pair("${prefix}_p99Ms", "${h?.percentileMs(99.0) ?: 0.0}"))
+            list.add(Pair("${prefix}_maxMs", "${h?.maxMs() ?: 0.0}"))
+        }
+    }
+
+    /**
+     * Time spent in each phase of the search, see [SearchPhase].
+     * Columns are always the same, to be able to append to existing statistics files.
+     */
+    private fun addPhaseTimes(list: MutableList<Pair>) {
+
+        for ((phase, h) in time.getPhaseTimes()) {
+            val prefix = "phase_${phase.label}"
+            list.add(Pair("${prefix}_n", "${h.getCount()}"))
+            list.add(Pair("${prefix}_totalMs", "${h.totalMs()}"))
+            list.add(Pair("${prefix}_p50Ms", "${h.percentileMs(50.0)}"))
+            list.add(Pair("${prefix}_p99Ms", "${h.percentileMs(99.0)}"))
+            list.add(Pair("${prefix}_maxMs", "${h.maxMs()}"))
+        }
+    }
+
+    private fun evaluationCacheHitRate() : Double {
+        val lookups = evaluationCacheHits + evaluationCacheMisses
+        return if (lookups == 0) 0.0 else evaluationCacheHits.toDouble() / lookups
+    }
+
     private fun distinctActions() : Int {
         if(sampler == null){
             return 0
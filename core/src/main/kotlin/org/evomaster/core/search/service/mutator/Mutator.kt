@@ -142,7 +142,11 @@ abstract class Mutator<T> : TrackOperator where T : Individual {
 
             Lazy.assert{DbActionUtils.verifyActions(current.individual.seeInitializingActions().filterIsInstance<DbAction>())}
 
+            val mutationStart = System.nanoTime()
             val mutatedInd = mutate(current, targets, mutatedGenes)
+            time.reportPhaseTime(
+                    if (mutatedGenes.didStructureMutation()) SearchPhase.STRUCTURE_MUTATION else SearchPhase.GENE_MUTATION,
+                    System.nanoTime() - mutationStart)
             mutatedGenes.setMutatedIndividual(mutatedInd)
 
             Lazy.assert{DbActionUtils.verifyActions(mutatedInd.seeInitializingActions().filterIsInstance<DbAction>())}
@@ -182,9 +186,11 @@ abstract class Mutator<T> : TrackOperator where T : Individual {
                     update impact info regarding targets.
                     To avoid side-effect to impactful gene, remove covered targets
                  */
-                mutatedWithTraces.updateImpactOfGenes(previous = currentWithTraces,
-                        mutated = mutatedWithTraces, mutatedGenes = mutatedGenes,
-                        targetsInfo = targetsInfo.filter { !archive.isCovered(it.key) && !IdMapper.isLocal(it.key) })
+                time.measurePhase(SearchPhase.IMPACT_COLLECTION) {
+                    mutatedWithTraces.updateImpactOfGenes(previous = currentWithTraces,
+                            mutated = mutatedWithTraces, mutatedGenes = mutatedGenes,
+                            targetsInfo = targetsInfo.filter { !archive.isCovered(it.key) && !IdMapper.isLocal(it.key) })
+                }
             }
             /*
                 update archive based on mutated individual
@@ -192,6 +198,13 @@ abstract class Mutator<T> : TrackOperator where T : Individual {
              */
             current = saveMutation(result, archive, currentWithTraces, mutatedWithTraces)
 
+            if (config.isEnabledImpactCollection() && config.removeCoveredTargetsFromImpacts){
+                //impact info of covered targets is no longer needed
+                time.measurePhase(SearchPhase.IMPACT_COLLECTION) {
+                    current.impactInfo?.removeTargets(targetsInfo.keys.filter { archive.isCovered(it) }.toSet())
+                }
+            }
+
             //save impact info which is only used for debugging
             archiveGeneSelector.saveImpactSnapshot(time.evaluatedIndividuals, checkedTargets = targets,targetsInfo = targetsInfo, result = result, evaluatedIndividual = current)
 
@@ -140,7 +140,7 @@ open class StandardMutator<T> : Mutator<T>() where T : Individual {
 
         mutationPreProcessing(copy)
 
-        val allGenes = copy.seeGenes().flatMap { it.flatView() }
+        val allGenes = copy.geneIndex().flatGenes()
 
         val selectGeneToMutate = selectGenesToMutate(copy, individual, targets, mutatedGene)
 
@@ -317,7 +317,7 @@ open class StandardMutator<T> : Mutator<T>() where T : Individual {
                         this to EvaluatedInfo(
                                 index =  e.index,
                                 result = e.evaluatedResult,
-                                targets = e.fitness.getViewOfData().keys,
+                                targets = e.fitness.getTargetIds(),
                                 specificTargets = if (!isFromInit) e.fitness.getTargetsByAction(position) else setOf()
                         )
                     }
@@ -327,7 +327,7 @@ open class StandardMutator<T> : Mutator<T>() where T : Individual {
                         this to EvaluatedInfo(
                                 index =  e.index,
                                 result = e.evaluatedResult,
-                                targets = e.fitness.getViewOfData().keys,
+                                targets = e.fitness.getTargetIds(),
                                 specificTargets = if (!isFromInit) e.fitness.getTargetsByAction(position) else setOf()
                         )
                     }
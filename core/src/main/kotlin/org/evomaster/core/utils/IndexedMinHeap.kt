@@ -0,0 +1,126 @@
+package org.evomaster.core.utils
+
+/**
+ * A binary min-heap of non-negative int elements (eg, positions in some arrays),
+ * where the priority of each element is given by [priority], and can change over time.
+ * When an element changes priority, [update] must be called to restore the heap.
+ *
+ * Elements with same priority are ordered by their value, ie the lowest element comes first.
+ * So, [peek] returns the same element as a minByOrNull over the elements in ascending order.
+ */
+class IndexedMinHeap(private val priority: (Int) -> Long) {
+
+    private var heap = IntArray(16)
+
+    /**
+     * For each element, its position in [heap], or -1 if not in the heap
+     */
+    private var position = IntArray(16) { -1 }
+
+    var size = 0
+        private set
+
+    fun isEmpty() = size == 0
+
+    operator fun contains(element: Int) = element < position.size && position[element] >= 0
+
+    /**
+     * @return the element with the lowest priority, or null if the heap is empty
+     */
+    fun peek(): Int? = if (size == 0) null else heap[0]
+
+    /**
+     * Add the [element] if not present, or restore its place in the heap after its priority changed
+     */
+    fun update(element: Int) {
+        if (element < 0) {
+            throw IllegalArgumentException("Negative element: $element")
+        }
+        if (!contains(element)) {
+            add(element)
+            return
+        }
+        val i = position[element]
+        if (!siftUp(i)) {
+            siftDown(i)
+        }
+    }
+
+    fun remove(element: Int) {
+        if (!contains(element)) {
+            return
+        }
+        val i = position[element]
+        position[element] = -1
+        size--
+        if (i == size) {
+            return
+        }
+        place(heap[size], i)
+        if (!siftUp(i)) {
+            siftDown(i)
+        }
+    }
+
+    private fun add(element: Int) {
+        if (element >= position.size) {
+            val old = position.size
+            position = position.copyOf(maxOf(element + 1, old * 2))
+            position.fill(-1, old, position.size)
+        }
+        if (size == heap.size) {
+            heap = heap.copyOf(size * 2)
+        }
+        place(element, size)
+        size++
+        siftUp(size - 1)
+    }
+
+    private fun place(element: Int, i: Int) {
+        heap[i] = element
+        position[element] = i
+    }
+
+    private fun lower(a: Int, b: Int): Boolean {
+        val pa = priority(a)
+        val pb = priority(b)
+        return pa < pb || (pa == pb && a < b)
+    }
+
+    /**
+     * @return whether the element at [i] was moved
+     */
+    private fun siftUp(i: Int): Boolean {
+        var k = i
+        val element = heap[k]
+        while (k > 0) {
+            val parent = (k - 1) ushr 1
+            if (!lower(element, heap[parent])) {
+                break
+            }
+            place(heap[parent], k)
+            k = parent
+        }
+        place(element, k)
+        return k != i
+    }
+
+    private fun siftDown(i: Int) {
+        var k = i
+        val element = heap[k]
+        while (true) {
+            val left = 2 * k + 1
+            if (left >= size) {
+                break
+            }
+            val right = left + 1
+            val child = if (right < size && lower(heap[right], heap[left])) right else left
+            if (!lower(heap[child], element)) {
+                break
+            }
+            place(heap[child], k)
+            k = child
+        }
+        place(element, k)
+    }
+}
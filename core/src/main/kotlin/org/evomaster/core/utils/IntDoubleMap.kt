@@ -0,0 +1,256 @@
+package org.evomaster.core.utils
+
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonWriter
+
+/**
+ * A map from int keys to double values, using open addressing on primitive arrays.
+ *
+ * This avoids the boxing of keys and values, and the entry objects, of a
+ * standard map. Furthermore, [copy] is cheap: the arrays are shared between
+ * the copies, and only duplicated at the first modification of any of them
+ * (ie, copy-on-write).
+ *
+ * Can be read as a standard [Map], although the values are boxed when doing so.
+ * To be read from JSON, fields of this type need to be annotated with [JsonTypeAdapter].
+ */
+class IntDoubleMap private constructor(
+        private var slotKeys: IntArray,
+        private var slotValues: DoubleArray,
+        /**
+         * whether each position is used
+         */
+        private var slotUsed: BooleanArray,
+        private var count: Int
+) : AbstractMap<Int, Double>() {
+
+    constructor(expectedSize: Int = 0) : this(IntArray(capacityFor(expectedSize)), DoubleArray(capacityFor(expectedSize)), BooleanArray(capacityFor(expectedSize)), 0)
+
+    companion object {
+
+        private fun capacityFor(expectedSize: Int): Int {
+            if (expectedSize < 0) {
+                throw IllegalArgumentException("Negative size: $expectedSize")
+            }
+            var capacity = 4
+            while (expectedSize > maxSize(capacity)) {
+                capacity = capacity shl 1
+            }
+            return capacity
+        }
+
+        /**
+         * Max number of keys before growing, ie, a load factor of 0.75
+         */
+        private fun maxSize(capacity: Int) = capacity - (capacity ushr 2)
+
+        /**
+         * target ids are mostly consecutive, so spread them to avoid long probe sequences
+         */
+        private fun mix(key: Int): Int {
+            val h = key * -0x61c88647
+            return h xor (h ushr 16)
+        }
+
+        fun of(map: Map<Int, Double>): IntDoubleMap {
+            if (map is IntDoubleMap) {
+                return map.copy()
+            }
+            val m = IntDoubleMap(map.size)
+            map.forEach { (k, v) -> m.put(k, v) }
+            return m
+        }
+    }
+
+    /**
+     * whether the arrays might be shared with other copies, and so must be duplicated before modifying them
+     */
+    private var shared = false
+
+    override val size: Int
+        get() = count
+
+    override fun isEmpty() = count == 0
+
+    private fun indexOf(key: Int): Int {
+        val mask = slotKeys.size - 1
+        var i = mix(key) and mask
+        while (slotUsed[i]) {
+            if (slotKeys[i] == key) {
+                return i
+            }
+            i = (i + 1) and mask
+        }
+        return -1
+    }
+
+    override fun containsKey(key: Int) = indexOf(key) >= 0
+
+    override fun get(key: Int): Double? {
+        val i = indexOf(key)
+        return if (i < 0) null else slotValues[i]
+    }
+
+    /**
+     * @return the value of the [key], or [default] if none, without boxing
+     */
+    fun valueOrDefault(key: Int, default: Double): Double {
+        val i = indexOf(key)
+        return if (i < 0) default else slotValues[i]
+    }
+
+    fun put(key: Int, value: Double) {
+        own()
+        val i = indexOf(key)
+        if (i >= 0) {
+            slotValues[i] = value
+            return
+        }
+        if (count + 1 > maxSize(slotKeys.size)) {
+            grow()
+        }
+        insert(slotKeys, slotValues, slotUsed, key, value)
+        count++
+    }
+
+    /**
+     * add [delta] to the value of [key], considering 0 for a missing key
+     */
+    fun plus(key: Int, delta: Double) {
+        put(key, valueOrDefault(key, 0.0) + delta)
+    }
+
+    /**
+     * put [value] for the [key], only if this latter is missing
+     */
+    fun putIfAbsent(key: Int, value: Double) {
+        if (!containsKey(key)) {
+            put(key, value)
+        }
+    }
+
+    /**
+     * @return whether the [key] was present
+     */
+    fun remove(key: Int): Boolean {
+        var i = indexOf(key)
+        if (i < 0) {
+            return false
+        }
+        own()
+        slotUsed[i] = false
+        count--
+
+        //shift back the following keys in the same probe sequence, so that lookups do not stop at the hole
+        val mask = slotKeys.size - 1
+        var j = i
+        while (true) {
+            j = (j + 1) and mask
+            if (!slotUsed[j]) {
+                return true
+            }
+            val ideal = mix(slotKeys[j]) and mask
+            val canStay = if (i <= j) (ideal in (i + 1)..j) else (ideal > i || ideal <= j)
+            if (!canStay) {
+                slotKeys[i] = slotKeys[j]
+                slotValues[i] = slotValues[j]
+                slotUsed[i] = true
+                slotUsed[j] = false
+                i = j
+            }
+        }
+    }
+
+    /**
+     * apply [action] to each key and value, without boxing
+     */
+    fun forEachEntry(action: (Int, Double) -> Unit) {
+        for (i in slotKeys.indices) {
+            if (slotUsed[i]) action(slotKeys[i], slotValues[i])
+        }
+    }
+
+    /**
+     * @return a copy of this map, which shares the arrays with this until either of them is modified
+     */
+    fun copy(): IntDoubleMap {
+        shared = true
+        val copy = IntDoubleMap(slotKeys, slotValues, slotUsed, count)
+        copy.shared = true
+        return copy
+    }
+
+    private fun own() {
+        if (shared) {
+            slotKeys = slotKeys.copyOf()
+            slotValues = slotValues.copyOf()
+            slotUsed = slotUsed.copyOf()
+            shared = false
+        }
+    }
+
+    private fun insert(slotKeys: IntArray, slotValues: DoubleArray, slotUsed: BooleanArray, key: Int, value: Double) {
+        val mask = slotKeys.size - 1
+        var i = mix(key) and mask
+        while (slotUsed[i]) {
+            i = (i + 1) and mask
+        }
+        slotKeys[i] = key
+        slotValues[i] = value
+        slotUsed[i] = true
+    }
+
+    private fun grow() {
+        val newSlotKeys = IntArray(slotKeys.size shl 1)
+        val newSlotValues = DoubleArray(slotValues.size shl 1)
+        val newSlotUsed = BooleanArray(slotUsed.size shl 1)
+        for (i in slotKeys.indices) {
+            if (slotUsed[i]) {
+                insert(newSlotKeys, newSlotValues, newSlotUsed, slotKeys[i], slotValues[i])
+            }
+        }
+        slotKeys = newSlotKeys
+        slotValues = newSlotValues
+        slotUsed = newSlotUsed
+    }
+
+    override val entries: Set<Map.Entry<Int, Double>>
+        get() {
+            val set = LinkedHashSet<Map.Entry<Int, Double>>(count)
+            forEachEntry { k, v -> set.add(Entry(k, v)) }
+            return set
+        }
+
+    /**
+     * represent the map as a JSON object, like a standard map
+     */
+    class JsonTypeAdapter : TypeAdapter<IntDoubleMap>() {
+
+        override fun write(out: JsonWriter, value: IntDoubleMap?) {
+            if (value == null) {
+                out.nullValue()
+                return
+            }
+            out.beginObject()
+            value.forEachEntry { k, v -> out.name(k.toString()).value(v) }
+            out.endObject()
+        }
+
+        override fun read(reader: JsonReader): IntDoubleMap {
+            val map = IntDoubleMap()
+            reader.beginObject()
+            while (reader.hasNext()) {
+                map.put(reader.nextName().toInt(), reader.nextDouble())
+            }
+            reader.endObject()
+            return map
+        }
+    }
+
+    private class Entry(override val key: Int, override val value: Double) : Map.Entry<Int, Double> {
+        override fun equals(other: Any?) = other is Map.Entry<*, *> && other.key == key && other.value == value
+        override fun hashCode() = key.hashCode() xor value.hashCode()
+        override fun toString() = "$key=$value"
+    }
+}
@@ -0,0 +1,121 @@
+package org.evomaster.core.utils
+
+/**
+ * A map from int keys to int values, using open addressing on primitive arrays.
+ *
+ * This avoids the boxing of keys and values, and the entry objects, of a
+ * standard map. This matters when there are hundreds of thousands of keys,
+ * like the ids of the testing targets in large SUTs.
+ *
+ * Any int can be used as key. Values are non-negative, as a negative value
+ * is returned by [get] when a key is missing.
+ * Removal of keys is not supported.
+ */
+class IntIntMap(expectedSize: Int = 16) {
+
+    companion object {
+        const val MISSING = -1
+    }
+
+    private var keys: IntArray
+
+    /**
+     * value+1 for each used position, 0 if the position is empty
+     */
+    private var values: IntArray
+
+    var size = 0
+        private set
+
+    init {
+        if (expectedSize < 0) {
+            throw IllegalArgumentException("Negative size: $expectedSize")
+        }
+        var capacity = 16
+        while (expectedSize > maxSize(capacity)) {
+            capacity = capacity shl 1
+        }
+        keys = IntArray(capacity)
+        values = IntArray(capacity)
+    }
+
+    /**
+     * Max number of keys before growing, ie, a load factor of 0.75
+     */
+    private fun maxSize(capacity: Int) = capacity - (capacity ushr 2)
+
+    /**
+     * @return the value of the [key], or [MISSING] if none
+     */
+    fun get(key: Int): Int {
+        val mask = keys.size - 1
+        var i = mix(key) and mask
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                return values[i] - 1
+            }
+            i = (i + 1) and mask
+        }
+        return MISSING
+    }
+
+    fun containsKey(key: Int) = get(key) != MISSING
+
+    fun put(key: Int, value: Int) {
+        if (value < 0) {
+            throw IllegalArgumentException("Negative value: $value")
+        }
+        if (size + 1 > maxSize(keys.size)) {
+            grow()
+        }
+        if (insert(keys, values, key, value + 1)) {
+            size++
+        }
+    }
+
+    /**
+     * @return whether the key is new
+     */
+    private fun insert(keys: IntArray, values: IntArray, key: Int, storedValue: Int): Boolean {
+        val mask = keys.size - 1
+        var i = mix(key) and mask
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = storedValue
+                return false
+            }
+            i = (i + 1) and mask
+        }
+        keys[i] = key
+        values[i] = storedValue
+        return true
+    }
+
+    fun copy(): IntIntMap {
+        val copy = IntIntMap(0)
+        copy.keys = keys.copyOf()
+        copy.values = values.copyOf()
+        copy.size = size
+        return copy
+    }
+
+    private fun grow() {
+        val newKeys = IntArray(keys.size shl 1)
+        val newValues = IntArray(values.size shl 1)
+        for (i in keys.indices) {
+            if (values[i] != 0) {
+                insert(newKeys, newValues, keys[i], values[i])
+            }
+        }
+        keys = newKeys
+        values = newValues
+    }
+
+    /**
+     * target ids are mostly consecutive, so spread them to avoid long probe sequences
+     */
+    private fun mix(key: Int): Int {
+        val h = key * -0x61c88647
+        return h xor (h ushr 16)
+    }
+}
@@ -0,0 +1,61 @@
+package org.evomaster.core
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+internal class ParallelSearchTest {
+
+    private fun parse(args: Array<String>): EMConfig {
+        val config = EMConfig()
+        config.updateProperties(EMConfig.getOptionParser().parse(*args))
+        return config
+    }
+
+    @Test
+    fun testArgumentsForSearch() {
+
+        val args = arrayOf("--sutControllerPort", "40100", "--seed=42",
+                "--numberOfSutControllers", "3", "--problemType", "REST", "--showProgress", "true",
+                "--outputFolder", "foo")
+        val config = parse(args)
+
+        val second = parse(ParallelSearch.argumentsForSearch(args, config, 2))
+
+        assertEquals(40102, second.sutControllerPort)
+        assertEquals(44, second.seed)
+        assertEquals(1, second.numberOfSutControllers)
+        assertFalse(second.showProgress)
+        assertEquals("foo", second.outputFolder)
+        assertEquals(EMConfig.StoppingCriterion.TIME, second.stoppingCriterion)
+
+        assertThrows(IllegalArgumentException::class.java) { ParallelSearch.argumentsForSearch(args, config, 0) }
+        assertThrows(IllegalArgumentException::class.java) { ParallelSearch.argumentsForSearch(args, config, 3) }
+    }
+
+    @Test
+    fun testSplitBudget() {
+
+        val args = arrayOf("--numberOfSutControllers", "4", "--problemType", "REST",
+                "--stoppingCriterion", "FITNESS_EVALUATIONS", "--maxActionEvaluations", "1001")
+        val config = parse(args)
+
+        //10% is kept for the merge
+        assertEquals(225, ParallelSearch.budgetPerSearch(config))
+
+        val other = parse(ParallelSearch.argumentsForSearch(args, config, 1))
+        assertEquals(225, other.maxActionEvaluations)
+        assertEquals(-1, other.seed)
+    }
+
+    @Test
+    fun testTimePerSearch() {
+
+        val args = arrayOf("--numberOfSutControllers", "4", "--problemType", "REST", "--maxTime", "1m40s")
+        val config = parse(args)
+
+        assertEquals(90, ParallelSearch.timePerSearch(config))
+
+        val other = parse(ParallelSearch.argumentsForSearch(args, config, 1))
+        assertEquals(90, other.timeLimitInSeconds())
+    }
+}
@@ -6,14 +6,101 @@ import org.evomaster.core.database.schema.ColumnDataType
 import org.evomaster.core.database.schema.Table
 import org.evomaster.core.search.gene.datetime.DateTimeGene
 import org.evomaster.core.search.gene.IntegerGene
-import org.evomaster.core.search.gene.StringGene
 import org.evomaster.core.search.gene.sql.SqlNullableGene
+import org.evomaster.core.search.gene.StringGene
 import org.evomaster.dbconstraint.*
-import org.junit.Assert.assertFalse
-import org.junit.Assert.assertTrue
+import org.junit.jupiter.api.Assertions.*
 import org.junit.jupiter.api.Test
 
-class TableConstraintEvaluatorTest {
+class CompiledTableConstraintTest {
+
+    private val text = Column("text", ColumnDataType.TEXT, databaseType = DatabaseType.POSTGRES, nullable = false)
+    private val number = Column("number", ColumnDataType.INTEGER, databaseType = DatabaseType.POSTGRES, nullable = false)
+
+    private fun action(table: Table, text: String, number: Int): DbAction {
+        val action = DbAction(table = table, selectedColumns = setOf(this.text, this.number), id = 0L)
+        (action.seeGenes().first { it.name == "text" } as StringGene).copyValueFrom(StringGene("text", value = text))
+        (action.seeGenes().first { it.name == "number" } as IntegerGene).copyValueFrom(IntegerGene("number", value = number))
+        return action
+    }
+
+    @Test
+    fun testCompiledConstraints() {
+
+        val constraints = listOf(
+                LikeConstraint("t", "text", "%hi_", ConstraintDatabaseType.POSTGRES),
+                SimilarToConstraint("t", "text", "(hi|bye)%", ConstraintDatabaseType.POSTGRES),
+                RangeConstraint("t", "number", 0L, 10L),
+                OrConstraint("t",
+                        LowerBoundConstraint("t", "number", 5L),
+                        EnumConstraint("t", "text", listOf("hiX", "foo"))),
+                IffConstraint("t",
+                        UpperBoundConstraint("t", "number", 3L),
+                        IsNotNullConstraint("t", "text")),
+                AndConstraint("t",
+                        UnsupportedTableConstraint("t", "foo"),
+                        LikeConstraint("other", "text", "x", ConstraintDatabaseType.POSTGRES))
+        )
+        val table = Table("t", setOf(text, number), setOf(), constraints.toSet())
+
+        val actions = listOf(
+                action(table, "hiX", 0),
+                action(table, "hiX", 20),
+                action(table, "byeXhiY", 3),
+                action(table, "foo", 7),
+                action(table, "", -1))
+
+        //for each constraint, whether each action satisfies it
+        val expected = listOf(
+                listOf(true, true, true, false, false),
+                listOf(true, true, true, false, false),
+                listOf(true, false, true, true, false),
+                listOf(true, true, false, true, false),
+                listOf(true, false, true, false, true),
+                listOf(true, true, true, true, true)
+        )
+
+        for ((c, values) in constraints.zip(expected)) {
+            val compiled = CompiledTableConstraint.compile(c)
+            for ((a, value) in actions.zip(values)) {
+                assertEquals(value, compiled.isSatisfied(a), "${c.javaClass.simpleName} on ${a.getResolvedName()}")
+            }
+        }
+
+        assertEquals(constraints.size, table.compiledConstraints.size)
+        assertSame(table.compiledConstraints, table.compiledConstraints)
+    }
+
+    @Test
+    fun testUnique() {
+
+        val unique = UniqueConstraint("t", listOf("text", "number"))
+        val table = Table("t", setOf(text, number), setOf(), setOf(unique))
+        val compiled = table.compiledConstraints.single()
+        assertEquals(listOf(unique), compiled.uniqueConstraints)
+
+        val previous = PreviousRows()
+        val a = action(table, "foo", 1)
+        assertTrue(compiled.isSatisfied(a, previous))
+        previous.add(a)
+
+        assertTrue(compiled.isSatisfied(action(table, "foo", 2), previous))
+        assertTrue(compiled.isSatisfied(action(table, "bar", 1), previous))
+        assertFalse(compiled.isSatisfied(action(table, "foo", 1), previous))
+    }
+
+    @Test
+    fun testVerifyActionsWithUnique() {
+
+        val unique = UniqueConstraint("t", listOf("text"))
+        val table = Table("t", setOf(text, number), setOf(), setOf(unique))
+
+        assertTrue(DbActionUtils.verifyActions(listOf(action(table, "a", 0), action(table, "b", 0), action(table, "c", 0))))
+        //duplicated in consecutive actions
+        assertFalse(DbActionUtils.verifyActions(listOf(action(table, "a", 0), action(table, "b", 0), action(table, "b", 0))))
+        assertFalse(DbActionUtils.verifyActions(listOf(action(table, "a", 0), action(table, "b", 0), action(table, "a", 0))))
+    }
+
 
     @Test
     fun testTrueLowerBound() {
@@ -22,8 +109,7 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -34,8 +120,7 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -46,8 +131,7 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -58,8 +142,7 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -70,8 +153,7 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -82,8 +164,7 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 100L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 1000))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -98,10 +179,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-
-
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -116,10 +194,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = -15))
-
-
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -134,10 +209,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = -15))
-
-
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -152,10 +224,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-
-
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -170,10 +239,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-
-
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -188,10 +254,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-
-
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -201,10 +264,9 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf())
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
 
         val constraint = UpperBoundConstraint("table1", "column0", 10L)
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -215,10 +277,9 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf())
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
 
         val constraint = LowerBoundConstraint("table1", "column0", 10L)
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -228,10 +289,9 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf())
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
 
         val constraint = RangeConstraint("table1", "column0", -10L, +10L)
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -241,10 +301,9 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf())
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
 
         val constraint = IsNotNullConstraint("table0", "column0")
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -254,10 +313,9 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf())
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as IntegerGene).copyValueFrom(IntegerGene("column0", value = 0))
-        val evaluator = TableConstraintEvaluator()
 
         val constraint = IsNotNullConstraint("table1", "column0")
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -268,8 +326,7 @@ class TableConstraintEvaluatorTest {
         val action = DbAction(table = table, selectedColumns = setOf(), id = 0L)
 
         val constraint = IsNotNullConstraint("table0", "column0")
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -282,8 +339,7 @@ class TableConstraintEvaluatorTest {
         (action.seeGenes()[0] as SqlNullableGene).isPresent = false
 
         val constraint = IsNotNullConstraint("table0", "column0")
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -295,8 +351,7 @@ class TableConstraintEvaluatorTest {
         (action.seeGenes()[0] as SqlNullableGene).isPresent = true
 
         val constraint = IsNotNullConstraint("table0", "column0")
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -307,8 +362,7 @@ class TableConstraintEvaluatorTest {
         val constraint = EnumConstraint("table0", "column0", listOf("value0", "value1", "value2"))
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -318,8 +372,7 @@ class TableConstraintEvaluatorTest {
         val constraint = EnumConstraint("table1", "column0", listOf("value0", "value1", "value2"))
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -329,8 +382,7 @@ class TableConstraintEvaluatorTest {
         val constraint = EnumConstraint("table0", "column0", listOf("value0", "value1", "value2"))
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(), id = 0L)
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(value)
     }
 
@@ -341,8 +393,7 @@ class TableConstraintEvaluatorTest {
         val table = Table("table0", setOf(column), setOf(), setOf(constraint))
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as StringGene).copyValueFrom(StringGene("foo"))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(value)
     }
 
@@ -358,8 +409,8 @@ class TableConstraintEvaluatorTest {
         (action1.seeGenes()[0] as StringGene).copyValueFrom(StringGene("foo"))
 
 
-        val evaluator = TableConstraintEvaluator(listOf(action0))
-        val value = constraint.accept(evaluator, action1)
+        val previous = PreviousRows().apply { add(action0) }
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action1, previous)
         assertFalse(value)
     }
 
@@ -374,8 +425,8 @@ class TableConstraintEvaluatorTest {
         val action1 = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action1.seeGenes()[0] as StringGene).copyValueFrom(StringGene("column0", value = "bar"))
 
-        val evaluator = TableConstraintEvaluator(listOf(action0))
-        val value = constraint.accept(evaluator, action1)
+        val previous = PreviousRows().apply { add(action0) }
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action1, previous)
         assertTrue(value)
     }
 
@@ -387,8 +438,7 @@ class TableConstraintEvaluatorTest {
         (action0.seeGenes()[0] as StringGene).copyValueFrom(StringGene("column0", value = "foo"))
 
         val constraint = UniqueConstraint("table1", listOf("column0"))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action0)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action0)
         assertTrue(value)
     }
 
@@ -399,8 +449,7 @@ class TableConstraintEvaluatorTest {
         val action0 = DbAction(table = table, selectedColumns = setOf(), id = 0L)
 
         val constraint = UniqueConstraint("table0", listOf("column0"))
-        val evaluator = TableConstraintEvaluator()
-        val value = constraint.accept(evaluator, action0)
+        val value = CompiledTableConstraint.compile(constraint).isSatisfied(action0)
         assertTrue(value)
     }
 
@@ -419,15 +468,13 @@ class TableConstraintEvaluatorTest {
         (action.seeGenes()[0] as StringGene).copyValueFrom(StringGene("status", value = "B"))
         (action.seeGenes()[1] as DateTimeGene).copyValueFrom(DbActionGeneBuilder().buildSqlTimestampGene("p_at"))
 
-        val evaluator = TableConstraintEvaluator()
-
-        val equalsConstraintValue = equalsConstraint.accept(evaluator, action)
+        val equalsConstraintValue = CompiledTableConstraint.compile(equalsConstraint).isSatisfied(action)
         assertTrue(equalsConstraintValue)
 
-        val isNotNullConstraintValue = isNotNullConstraint.accept(evaluator, action)
+        val isNotNullConstraintValue = CompiledTableConstraint.compile(isNotNullConstraint).isSatisfied(action)
         assertTrue(isNotNullConstraintValue)
 
-        val constraintValue = constraint.accept(evaluator, action)
+        val constraintValue = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(constraintValue)
     }
 
@@ -438,9 +485,7 @@ class TableConstraintEvaluatorTest {
         val constraint = UnsupportedTableConstraint("table0", "this query was not parsed")
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
-
-        val evaluator = TableConstraintEvaluator()
-        val constraintValue = constraint.accept(evaluator, action)
+        val constraintValue = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(constraintValue)
     }
 
@@ -452,9 +497,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as StringGene).copyValueFrom(StringGene("status", value = "hiX"))
-
-        val evaluator = TableConstraintEvaluator()
-        val constraintValue = constraint.accept(evaluator, action)
+        val constraintValue = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(constraintValue)
     }
 
@@ -466,9 +509,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as StringGene).copyValueFrom(StringGene("status", value = "not matches"))
-
-        val evaluator = TableConstraintEvaluator()
-        val constraintValue = constraint.accept(evaluator, action)
+        val constraintValue = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(constraintValue)
     }
 
@@ -480,9 +521,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as StringGene).copyValueFrom(StringGene("column0", value = "/foo/XX/bar/left/0000-00-000"))
-
-        val evaluator = TableConstraintEvaluator()
-        val constraintValue = constraint.accept(evaluator, action)
+        val constraintValue = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(constraintValue)
     }
 
@@ -494,9 +533,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as StringGene).copyValueFrom(StringGene("column0", value = "/foo/XXXX/bar/left/0000-00-000"))
-
-        val evaluator = TableConstraintEvaluator()
-        val constraintValue = constraint.accept(evaluator, action)
+        val constraintValue = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertFalse(constraintValue)
     }
 
@@ -508,9 +545,7 @@ class TableConstraintEvaluatorTest {
 
         val action = DbAction(table = table, selectedColumns = setOf(column), id = 0L)
         (action.seeGenes()[0] as StringGene).copyValueFrom(StringGene("column0", value = "/foo/XXXX/bar/left/0000-00-000"))
-
-        val evaluator = TableConstraintEvaluator()
-        val constraintValue = constraint.accept(evaluator, action)
+        val constraintValue = CompiledTableConstraint.compile(constraint).isSatisfied(action)
         assertTrue(constraintValue)
     }
-}
\ No newline at end of file
+}
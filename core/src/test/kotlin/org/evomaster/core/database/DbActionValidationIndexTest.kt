@@ -0,0 +1,100 @@
+package org.evomaster.core.database
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DatabaseType
+import org.evomaster.core.database.schema.Column
+import org.evomaster.core.database.schema.ColumnDataType
+import org.evomaster.core.database.schema.Table
+import org.evomaster.core.search.gene.IntegerGene
+import org.evomaster.core.search.gene.sql.SqlPrimaryKeyGene
+import org.evomaster.core.search.service.Randomness
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class DbActionValidationIndexTest {
+
+    private val x = Column("x", ColumnDataType.INTEGER, 10,
+            primaryKey = true,
+            autoIncrement = false,
+            unique = false,
+            databaseType = DatabaseType.H2)
+
+    private val y = Column("y", ColumnDataType.INTEGER, 10,
+            primaryKey = false,
+            autoIncrement = false,
+            unique = true,
+            databaseType = DatabaseType.H2)
+
+    private val table = Table("ATable", setOf(x, y), setOf())
+
+    private var counter = 0L
+
+    private fun action(pk: Int, unique: Int): DbAction {
+        val id = counter++
+        val gx = SqlPrimaryKeyGene(x.name, table.name, IntegerGene(x.name, pk), id)
+        val gy = IntegerGene(y.name, unique)
+        return DbAction(table, setOf(x, y), id, listOf(gx, gy))
+    }
+
+    @Test
+    fun testIncremental() {
+
+        val index = DbActionValidationIndex()
+        val actions = mutableListOf(action(0, 0), action(1, 1))
+
+        assertNull(index.findFirstOffendingGene(actions).first)
+        assertEquals(2, index.validatedSize)
+
+        actions.add(action(2, 1))
+        val offending = index.findFirstOffendingGene(actions)
+        assertEquals(2, offending.second)
+        assertEquals(y.name, offending.first!!.name)
+        //values of the broken action are not added to the index
+        assertEquals(2, index.validatedSize)
+
+        (actions[2].seeGenes()[1] as IntegerGene).value = 2
+        assertNull(index.findFirstOffendingGene(actions).first)
+        assertEquals(3, index.validatedSize)
+
+        //duplicated PK
+        actions.add(action(0, 3))
+        assertEquals(3, index.findFirstOffendingGene(actions).second)
+    }
+
+    @Test
+    fun testInvalidate() {
+
+        val index = DbActionValidationIndex()
+        val actions = mutableListOf(action(0, 0), action(1, 1))
+        assertNull(index.findFirstOffendingGene(actions).first)
+
+        //same values of the second action, which is then removed
+        val other = action(1, 1)
+        actions.add(other)
+        assertEquals(2, index.findFirstOffendingGene(actions).second)
+
+        actions.removeAt(1)
+        index.invalidateFrom(1)
+        assertEquals(1, index.validatedSize)
+        assertNull(index.findFirstOffendingGene(actions).first)
+        assertEquals(2, index.validatedSize)
+
+        //removed actions at the end are handled as well
+        actions.removeAt(1)
+        assertNull(index.findFirstOffendingGene(actions).first)
+        assertEquals(1, index.validatedSize)
+    }
+
+    @Test
+    fun testRepairWithIndex() {
+
+        val randomness = Randomness()
+        val actions = mutableListOf(action(0, 0), action(1, 1), action(2, 1), action(3, 3))
+
+        val index = DbActionValidationIndex()
+        assertEquals(2, index.findFirstOffendingGene(actions).second)
+
+        assertTrue(DbActionUtils.repairBrokenDbActionsList(actions, randomness, index = index))
+        assertEquals(4, actions.size)
+        assertTrue(DbActionUtils.verifyActions(actions))
+    }
+}
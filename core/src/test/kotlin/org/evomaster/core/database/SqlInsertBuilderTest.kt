@@ -9,6 +9,7 @@ import org.evomaster.core.search.gene.*
 import org.evomaster.core.search.gene.datetime.DateTimeGene
 import org.evomaster.core.search.gene.sql.SqlAutoIncrementGene
 import org.evomaster.core.search.gene.sql.SqlPrimaryKeyGene
+import org.evomaster.core.search.service.Randomness
 import org.junit.jupiter.api.Assertions.*
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
@@ -482,6 +483,77 @@ class SqlInsertBuilderTest {
         )
     }
 
+    @Test
+    fun testExtractExistingPKsInPages() {
+
+        SqlScriptRunner.execCommand(connection, """
+            CREATE TABLE X (id  bigserial not null, primary key (id));
+            CREATE TABLE Y (foo varchar(256), bar int, primary key(foo));
+            INSERT INTO X (id) VALUES (0);
+            INSERT INTO X (id) VALUES (1);
+            INSERT INTO X (id) VALUES (2);
+            INSERT INTO X (id) VALUES (3);
+            INSERT INTO Y (foo,bar) VALUES ('a',5);
+            INSERT INTO Y (foo,bar) VALUES ('b',6);
+        """)
+
+        val schema = SchemaExtractor.extract(connection)
+        val builder = SqlInsertBuilder(schema, DirectDatabaseExecutor())
+
+        val actions = builder.extractExistingPKs(pageSize = 2)
+
+        assertEquals(6, actions.size)
+        assertEquals(setOf("0", "1", "2", "3", "\"a\"", "\"b\""),
+                actions.map { it.seeGenes()[0].getValueAsPrintableString() }.toSet())
+        assertEquals(6, actions.map { it.geInsertionId() }.distinct().count())
+    }
+
+    @Test
+    fun testExtractExistingPKsInPagesWithCompositeKey() {
+
+        SqlScriptRunner.execCommand(connection, """
+            CREATE TABLE Z (a varchar(256), b int, c int, primary key(a, b));
+            INSERT INTO Z (a,b,c) VALUES ('x',1,0);
+            INSERT INTO Z (a,b,c) VALUES ('x',2,0);
+            INSERT INTO Z (a,b,c) VALUES ('x',10,0);
+            INSERT INTO Z (a,b,c) VALUES ('y''s',1,0);
+            INSERT INTO Z (a,b,c) VALUES ('y''s',3,0);
+            INSERT INTO Z (a,b,c) VALUES ('z',0,0);
+            INSERT INTO Z (a,b,c) VALUES ('z',5,0);
+        """)
+
+        val schema = SchemaExtractor.extract(connection)
+        val builder = SqlInsertBuilder(schema, DirectDatabaseExecutor())
+
+        for (pageSize in listOf(1, 2, 3, 7, 100)) {
+            val actions = builder.extractExistingPKs(pageSize = pageSize)
+
+            val keys = actions.map { a -> a.seeGenes().joinToString(",") { it.getValueAsPrintableString() } }
+            assertEquals(7, keys.size)
+            assertEquals(7, keys.distinct().size)
+        }
+    }
+
+    @Test
+    fun testExtractExistingPKsWithSampling() {
+
+        SqlScriptRunner.execCommand(connection, "CREATE TABLE Users(id  bigserial not null, primary key (id));")
+        (0 until 20).forEach {
+            SqlScriptRunner.execCommand(connection, "INSERT INTO Users (id) VALUES ($it)")
+        }
+
+        val schema = SchemaExtractor.extract(connection)
+        val builder = SqlInsertBuilder(schema, DirectDatabaseExecutor())
+
+        assertThrows(IllegalArgumentException::class.java) { builder.extractExistingPKs(5) }
+
+        val actions = builder.extractExistingPKs(5, Randomness(), 3)
+
+        assertEquals(5, actions.size)
+        assertEquals(5, actions.map { it.seeGenes()[0].getValueAsPrintableString() }.distinct().count())
+        assertTrue(actions.all { it.representExistingData })
+    }
+
     @Test
     fun testStringEnumGene() {
 
@@ -0,0 +1,77 @@
+package org.evomaster.core.database
+
+import org.evomaster.client.java.controller.api.dto.database.schema.DatabaseType
+import org.evomaster.client.java.controller.api.dto.database.schema.DbSchemaDto
+import org.evomaster.client.java.controller.api.dto.database.schema.TableCheckExpressionDto
+import org.evomaster.client.java.controller.api.dto.database.schema.TableDto
+import org.evomaster.dbconstraint.ConstraintDatabaseType
+import org.evomaster.dbconstraint.TableConstraint
+import org.evomaster.dbconstraint.TableConstraintBuilder
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Path
+
+class TableConstraintCacheTest {
+
+    private fun schema(vararg checks: String): DbSchemaDto {
+        val table = TableDto()
+        table.name = "Foo"
+        checks.forEach {
+            val dto = TableCheckExpressionDto()
+            dto.sqlCheckExpression = it
+            table.tableCheckExpressions.add(dto)
+        }
+        val schema = DbSchemaDto()
+        schema.name = "public"
+        schema.databaseType = DatabaseType.POSTGRES
+        schema.tables.add(table)
+        return schema
+    }
+
+    private var parsed = 0
+
+    private fun parse(t: TableDto): List<TableConstraint> {
+        parsed++
+        return t.tableCheckExpressions.map {
+            TableConstraintBuilder().translateToConstraint(t.name, it.sqlCheckExpression, ConstraintDatabaseType.POSTGRES)
+        }
+    }
+
+    @Test
+    fun testCache(@TempDir folder: Path) {
+
+        val schema = schema("(x > 0)", "(status IN ('A', 'B'))", "((x >= 1) OR (y LIKE 'a%'))")
+
+        val first = TableConstraintCache(folder).getOrParse(schema) { parse(it) }
+        assertEquals(1, parsed)
+        assertEquals(3, first["Foo"]!!.size)
+
+        val second = TableConstraintCache(folder).getOrParse(schema) { parse(it) }
+        assertEquals(1, parsed)
+        assertEquals(first["Foo"]!!.map { it.javaClass }, second["Foo"]!!.map { it.javaClass })
+        assertTrue(second["Foo"]!!.all { it.tableName == "Foo" })
+
+        //different expressions lead to a different entry in the cache
+        TableConstraintCache(folder).getOrParse(schema("(x > 1)")) { parse(it) }
+        assertEquals(2, parsed)
+    }
+
+    @Test
+    fun testKey() {
+        assertEquals(TableConstraintCache.computeKey(schema("(x > 0)")), TableConstraintCache.computeKey(schema("(x > 0)")))
+        assertNotEquals(TableConstraintCache.computeKey(schema("(x > 0)")), TableConstraintCache.computeKey(schema("(x > 1)")))
+        assertNotEquals(TableConstraintCache.computeKey(schema("a", "b")), TableConstraintCache.computeKey(schema("ab")))
+    }
+
+    @Test
+    fun testInsertBuilderWithCache(@TempDir folder: Path) {
+
+        val schema = schema("(x > 0)")
+        val builder = SqlInsertBuilder(schema, null, TableConstraintCache(folder))
+        assertEquals(1, builder.getTable("Foo").tableConstraints.size)
+
+        val cached = SqlInsertBuilder(schema, null, TableConstraintCache(folder))
+        assertEquals(1, cached.getTable("Foo").tableConstraints.size)
+    }
+}
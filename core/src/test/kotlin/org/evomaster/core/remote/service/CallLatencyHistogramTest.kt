@@ -0,0 +1,52 @@
+package org.evomaster.core.remote.service
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class CallLatencyHistogramTest {
+
+    private fun ms(value: Long) = value * 1_000_000
+
+    @Test
+    fun testEmpty() {
+        val h = CallLatencyHistogram()
+        assertEquals(0, h.getCount())
+        assertEquals(0.0, h.averageMs())
+        assertEquals(0.0, h.percentileMs(50.0))
+        assertEquals(0.0, h.maxMs())
+    }
+
+    @Test
+    fun testPercentiles() {
+        val h = CallLatencyHistogram()
+        (1..100L).forEach { h.record(ms(it)) }
+
+        assertEquals(100, h.getCount())
+        assertEquals(50.5, h.averageMs(), 0.001)
+        assertEquals(100.0, h.maxMs(), 0.001)
+
+        val relativeError = 1.0 / CallLatencyHistogram.SUB_BUCKETS
+        assertEquals(50.0, h.percentileMs(50.0), 50 * relativeError)
+        assertEquals(99.0, h.percentileMs(99.0), 99 * relativeError)
+        assertEquals(100.0, h.percentileMs(100.0), 0.001)
+    }
+
+    @Test
+    fun testMerge() {
+        val a = CallLatencyHistogram()
+        val b = CallLatencyHistogram()
+        a.record(ms(1))
+        b.record(ms(3))
+        b.record(ms(1_000))
+
+        a.merge(b)
+        assertEquals(3, a.getCount())
+        assertEquals(1_000.0, a.maxMs(), 0.001)
+        assertTrue(a.percentileMs(50.0) < 4)
+    }
+
+    @Test
+    fun testInvalidPercentile() {
+        assertThrows(IllegalArgumentException::class.java) { CallLatencyHistogram().percentileMs(0.0) }
+    }
+}
@@ -0,0 +1,81 @@
+package org.evomaster.core.search
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class FitnessValueTest{
+
+    @Test
+    fun testUpdateTarget(){
+
+        val fv = FitnessValue(1.0)
+        fv.updateTarget(5, 0.5, 0)
+        fv.updateTarget(-2, 0.3, 1)
+        fv.coverTarget(7)
+
+        assertEquals(3, fv.numberOfTargets())
+        assertEquals(0.5, fv.getHeuristic(5))
+        assertEquals(0.0, fv.getHeuristic(42))
+        assertTrue(fv.doesCover(7))
+        assertFalse(fv.doesCover(5))
+
+        //not replaced if worse
+        fv.updateTarget(5, 0.2, 3)
+        assertEquals(0.5, fv.getHeuristic(5))
+        assertEquals(setOf(5), fv.getTargetsByAction(0))
+
+        //replaced if better, including the action
+        fv.updateTarget(5, 0.8, 3)
+        assertEquals(0.8, fv.getHeuristic(5))
+        assertEquals(setOf(5), fv.getTargetsByAction(3))
+        assertEquals(Heuristics(0.8, 3), fv.getViewOfData()[5])
+
+        assertEquals(2.1, fv.computeFitnessScore(), 0.0001)
+        assertEquals(1, fv.coveredTargets())
+    }
+
+    @Test
+    fun testOrderOfTargets(){
+
+        val fv = FitnessValue(1.0)
+        val ids = listOf(10, -1, 3, 1000, 0)
+        ids.forEach { fv.updateTarget(it, 0.1) }
+        fv.updateTarget(3, 0.0)
+
+        assertEquals(ids, fv.getViewOfData().keys.toList())
+        assertEquals(ids, fv.getTargetIds().toList())
+        assertEquals(ids, (0 until fv.numberOfTargets()).map { fv.getTargetIdAt(it) })
+
+        val seen = mutableListOf<Int>()
+        fv.forEachTarget { t, d ->
+            assertEquals(0.1, d)
+            seen.add(t)
+        }
+        assertEquals(ids, seen)
+    }
+
+    @Test
+    fun testCopyAndMerge(){
+
+        val a = FitnessValue(1.0)
+        (0 until 100).forEach { a.updateTarget(it, 0.5) }
+
+        val copy = a.copy()
+        copy.updateTarget(0, 1.0)
+        copy.updateTarget(100, 0.5)
+        assertEquals(0.5, a.getHeuristic(0))
+        assertEquals(100, a.numberOfTargets())
+        assertEquals(101, copy.numberOfTargets())
+
+        val b = FitnessValue(1.0)
+        b.updateTarget(0, 0.7)
+        b.updateTarget(200, 0.2)
+        b.merge(copy)
+
+        assertEquals(1.0, b.getHeuristic(0))
+        assertEquals(0.5, b.getHeuristic(50))
+        assertEquals(0.2, b.getHeuristic(200))
+        assertEquals(102, b.numberOfTargets())
+        assertTrue(b.reachMoreTargets(copy))
+    }
+}
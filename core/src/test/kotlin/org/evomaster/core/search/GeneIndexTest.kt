@@ -0,0 +1,86 @@
+package org.evomaster.core.search
+
+import org.evomaster.core.search.gene.*
+import org.evomaster.core.search.gene.binding.BindingIndividual
+import org.evomaster.core.search.gene.sql.SqlPrimaryKeyGene
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class GeneIndexTest {
+
+    private fun flatView(ind: Individual) = ind.seeGenes().flatMap { it.flatView() }
+
+    @Test
+    fun testFlatGenes(){
+        val array = ArrayGene("array", IntegerGene("element"), elements = mutableListOf(IntegerGene("e0", 0), IntegerGene("e1", 1)))
+        val pk = SqlPrimaryKeyGene("id", "Foo", IntegerGene("id", 42), 7L)
+        val ind = BindingIndividual(mutableListOf(array, pk, StringGene("s")))
+
+        val index = ind.geneIndex()
+        assertEquals(flatView(ind), index.flatGenes())
+        assertSame(index.flatGenes(), index.flatGenes())
+        assertEquals(3, index.genesOfType(IntegerGene::class.java).size)
+        assertEquals(1, index.genesOfType(StringGene::class.java).size)
+        assertSame(pk, index.primaryKey(7L))
+        assertNull(index.primaryKey(8L))
+        assertEquals(flatView(ind).indexOf(pk.gene), index.positionOf(pk.gene))
+        assertEquals(-1, index.positionOf(IntegerGene("other")))
+    }
+
+    @Test
+    fun testResetOnStructureChange(){
+        val array = ArrayGene("array", IntegerGene("element"), elements = mutableListOf(IntegerGene("e0", 0)))
+        val ind = BindingIndividual(mutableListOf(array))
+
+        val before = ind.geneIndex()
+        assertEquals(2, before.flatGenes().size)
+
+        val added = IntegerGene("e1", 1)
+        array.addElement(added)
+        assertNotSame(before, ind.geneIndex())
+        assertEquals(flatView(ind), ind.geneIndex().flatGenes())
+        assertTrue(ind.geneIndex().contains(added))
+
+        array.removeExistingElement(added)
+        assertEquals(flatView(ind), ind.geneIndex().flatGenes())
+        assertFalse(ind.geneIndex().contains(added))
+    }
+
+    @Test
+    fun testBinding(){
+        val a = IntegerGene("a", 1)
+        val b = IntegerGene("b", 2)
+        val array = ArrayGene("array", IntegerGene("element"), elements = mutableListOf(b))
+        val ind = BindingIndividual(mutableListOf(a, array))
+
+        assertTrue(ind.geneIndex().boundGenes().isEmpty())
+
+        a.addBindingGene(b)
+        b.addBindingGene(a)
+        assertEquals(setOf(a, b), ind.geneIndex().boundGenes().toSet())
+        assertTrue(ind.verifyBindingGenes())
+
+        //removing b from the individual breaks the binding of a
+        array.killChildByIndex(0)
+        assertFalse(ind.verifyBindingGenes())
+        ind.cleanBrokenBindingReference()
+        assertFalse(a.isBoundGene())
+        assertTrue(ind.geneIndex().boundGenes().isEmpty())
+        assertTrue(ind.verifyBindingGenes())
+    }
+
+    @Test
+    fun testCopy(){
+        val a = IntegerGene("a", 1)
+        val b = IntegerGene("b", 2)
+        a.addBindingGene(b)
+        b.addBindingGene(a)
+        val ind = BindingIndividual(mutableListOf(a, b))
+        ind.geneIndex().boundGenes()
+
+        val copy = ind.copy()
+        assertEquals(2, copy.geneIndex().boundGenes().size)
+        assertTrue(copy.geneIndex().boundGenes().none { ind.geneIndex().contains(it) })
+        assertEquals(ind.geneIndex().positionOf(b), copy.geneIndex().positionOf(copy.geneIndex().flatGenes()[1]))
+    }
+}
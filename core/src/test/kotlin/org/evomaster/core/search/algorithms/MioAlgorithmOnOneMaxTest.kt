@@ -11,6 +11,7 @@ import org.evomaster.core.search.algorithms.onemax.OneMaxIndividual
 import org.evomaster.core.search.algorithms.onemax.OneMaxModule
 import org.evomaster.core.search.algorithms.onemax.OneMaxSampler
 import org.evomaster.core.search.service.Randomness
+import org.evomaster.core.search.service.SearchTimeController
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Test
 
@@ -44,4 +45,94 @@ class MioAlgorithmOnOneMaxTest {
         Assertions.assertEquals(n.toDouble(), solution.overall.computeFitnessScore(), 0.001);
         Assertions.assertEquals(1, solution.individuals.size)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun testImportIndividualsWithinBudget(){
+
+        val mio = injector.getInstance(Key.get(
+                object : TypeLiteral<MioAlgorithm<OneMaxIndividual>>() {}))
+
+        val randomness = injector.getInstance(Randomness::class.java)
+        randomness.updateSeed(42)
+
+        val sampler = injector.getInstance(OneMaxSampler::class.java)
+        sampler.n = 20
+
+        val config = injector.getInstance(EMConfig::class.java)
+        config.maxActionEvaluations = 100
+        config.stoppingCriterion = EMConfig.StoppingCriterion.FITNESS_EVALUATIONS
+
+        val time = injector.getInstance(SearchTimeController::class.java)
+
+        val solution = mio.search()
+        val used = time.evaluatedActions
+        val others = List(3) { solution.individuals[0] }
+
+        //budget is used up, so nothing is evaluated
+        mio.importIndividuals(others)
+        Assertions.assertEquals(used, time.evaluatedActions)
+
+        config.maxActionEvaluations = used + 2
+        mio.importIndividuals(others)
+        Assertions.assertEquals(used + 2, time.evaluatedActions)
+    }
+
+    @Test
+    fun testPipelinedSamplingIsReproducible(){
+
+        val first = runWithPipelinedSampling(true)
+        val second = runWithPipelinedSampling(true)
+
+        Assertions.assertEquals(first.first, second.first)
+        Assertions.assertEquals(first.second, second.second)
+        //sampling must see the changes of max test size during the search
+        Assertions.assertTrue(first.second.distinct().size > 1)
+    }
+
+    @Test
+    fun testPipelinedSamplingSeesIncreasingMaxTestSize(){
+
+        val sizes = runWithPipelinedSampling(false).second
+
+        Assertions.assertTrue(sizes.distinct().size > 1)
+        Assertions.assertTrue(sizes.last() > sizes.first())
+        Assertions.assertEquals(sizes.sorted(), sizes)
+    }
+
+    /**
+     * @return the sampled individuals in the final solution, and the max test sizes seen when sampling them at random
+     */
+    private fun runWithPipelinedSampling(reproducible: Boolean) : Pair<List<String>, List<Int>> {
+
+        val injector: Injector = LifecycleInjector.builder()
+                .withModules(* arrayOf<Module>(OneMaxModule(), BaseModule()))
+                .build().createInjector()
+
+        val mio = injector.getInstance(Key.get(
+                object : TypeLiteral<MioAlgorithm<OneMaxIndividual>>() {}))
+
+        val randomness = injector.getInstance(Randomness::class.java)
+        randomness.updateSeed(42)
+
+        val sampler = injector.getInstance(OneMaxSampler::class.java)
+        sampler.n = 20
+
+        val config = injector.getInstance(EMConfig::class.java)
+        config.maxActionEvaluations = 1000
+        config.stoppingCriterion = EMConfig.StoppingCriterion.FITNESS_EVALUATIONS
+        config.probOfRandomSampling = 0.8
+        config.probOfSmartSampling = 0.0
+        config.useTimeInFeedbackSampling = false // non-deterministic
+        config.maxTestSizeStrategy = EMConfig.MaxTestSizeStrategy.DPC_INCREASING
+        config.pipelinedSampling = true
+        config.reproduciblePipelinedSampling = reproducible
+
+        val solution = mio.search()
+
+        val individuals = solution.individuals.map { ei ->
+            ei.individual.seeGenes().joinToString(",") { it.getValueAsRawString() }
+        }.sorted()
+
+        return Pair(individuals, sampler.seenMaxTestSizes.toList())
+    }
+}
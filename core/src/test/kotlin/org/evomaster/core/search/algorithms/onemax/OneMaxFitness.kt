@@ -14,8 +14,7 @@ class OneMaxFitness : FitnessFunction<OneMaxIndividual>() {
 
         val fv = FitnessValue(individual.size().toDouble())
 
-        targetsToEvaluate(targets, individual)
-                .forEach { fv.updateTarget(it, individual.getValue(it)) }
+        targets.forEach { fv.updateTarget(it, individual.getValue(it)) }
 
         return EvaluatedIndividual(
                 fv, individual.copy() as OneMaxIndividual,
@@ -23,6 +22,10 @@ class OneMaxFitness : FitnessFunction<OneMaxIndividual>() {
     }
 
 
+    override fun targetsRequiredFromCache(targets: Set<Int>, individual: OneMaxIndividual): Set<Int> {
+        return targets
+    }
+
     // max 100 targets to evaluate
     override fun targetsToEvaluate(targets: Set<Int>, individual: OneMaxIndividual): Set<Int> {
         val sets = (0 until individual.n).filter { !targets.contains(it) }.toSet()
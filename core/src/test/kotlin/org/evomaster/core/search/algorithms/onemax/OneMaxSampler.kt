@@ -1,14 +1,22 @@
 package org.evomaster.core.search.algorithms.onemax
 
 import org.evomaster.core.search.service.Sampler
+import java.util.Collections
 
 
 class OneMaxSampler : Sampler<OneMaxIndividual>(){
 
     var n = 3
 
+    /**
+     * max test sizes seen when sampling at random, in order
+     */
+    val seenMaxTestSizes: MutableList<Int> = Collections.synchronizedList(mutableListOf())
+
     override fun sampleAtRandom(): OneMaxIndividual {
 
+        seenMaxTestSizes.add(getMaxTestSizeDuringSampler())
+
         val sampled =  OneMaxIndividual(n, if(config.trackingEnabled()) this else null)
         sampled.searchGlobalState = searchGlobalState
         sampled.initialize(randomness)
@@ -16,5 +24,7 @@ class OneMaxSampler : Sampler<OneMaxIndividual>(){
         return sampled
     }
 
+    override fun canSampleAtRandomInBackground() = true
+
 
 }
\ No newline at end of file
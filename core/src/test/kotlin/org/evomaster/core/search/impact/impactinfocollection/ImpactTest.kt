@@ -0,0 +1,38 @@
+package org.evomaster.core.search.impact.impactinfocollection
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class ImpactTest {
+
+    @Test
+    fun testCopy(){
+        val impact = Impact("G1")
+        impact.countImpactAndPerformance(noImpactTargets = setOf(), impactTargets = setOf(1, 2), improvedTargets = setOf(1), onlyManipulation = false, num = 1)
+
+        val copy = impact.copy()
+        copy.countImpactAndPerformance(noImpactTargets = setOf(), impactTargets = setOf(2), improvedTargets = setOf(), onlyManipulation = false, num = 2)
+
+        assertEquals(mapOf(1 to 1.0, 2 to 1.0), impact.getTimesOfImpacts())
+        assertEquals(mapOf(1 to 0.0, 2 to 1.0), impact.getNoImprovementCounter())
+
+        assertEquals(mapOf(1 to 1.0, 2 to 1.5), copy.getTimesOfImpacts())
+        assertEquals(mapOf(1 to 1.0, 2 to 2.0), copy.getNoImprovementCounter())
+        assertEquals(mapOf(1 to 1.0, 2 to 0.0), copy.getNoImpactsFromImpactCounter())
+    }
+
+    @Test
+    fun testRemoveTargets(){
+        val impact = Impact("G1")
+        impact.countImpactAndPerformance(noImpactTargets = setOf(), impactTargets = setOf(1, 2), improvedTargets = setOf(1), onlyManipulation = false, num = 1)
+        impact.countImpactAndPerformance(noImpactTargets = setOf(3), impactTargets = setOf(), improvedTargets = setOf(), onlyManipulation = false, num = 1)
+
+        impact.removeTargets(setOf(1, 3))
+
+        assertEquals(setOf(2), impact.getTimesOfImpacts().keys)
+        assertEquals(setOf(2), impact.getNoImprovementCounter().keys)
+        assertEquals(setOf(2), impact.getNoImpactsFromImpactCounter().keys)
+        assertTrue(impact.getTimesOfNoImpactWithTargets().isEmpty())
+        assertEquals(2, impact.getTimesToManipulate())
+    }
+}
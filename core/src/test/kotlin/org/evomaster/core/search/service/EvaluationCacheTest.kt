@@ -0,0 +1,131 @@
+package org.evomaster.core.search.service
+
+import com.google.inject.Injector
+import com.netflix.governator.guice.LifecycleInjector
+import org.evomaster.core.BaseModule
+import org.evomaster.core.EMConfig
+import org.evomaster.core.search.EvaluatedIndividual
+import org.evomaster.core.search.FitnessValue
+import org.evomaster.core.search.algorithms.onemax.OneMaxFitness
+import org.evomaster.core.search.algorithms.onemax.OneMaxIndividual
+import org.evomaster.core.search.algorithms.onemax.OneMaxModule
+import org.evomaster.core.search.gene.IntegerGene
+import org.evomaster.core.search.gene.OptionalGene
+import org.evomaster.core.search.gene.binding.BindingIndividual
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class EvaluationCacheTest {
+
+    private fun evaluated(ind: OneMaxIndividual): EvaluatedIndividual<OneMaxIndividual> {
+        val fv = FitnessValue(ind.size().toDouble())
+        (0 until ind.n).forEach { fv.updateTarget(it, ind.getValue(it)) }
+        return EvaluatedIndividual(fv, ind.copy() as OneMaxIndividual, listOf())
+    }
+
+    @Test
+    fun testKey() {
+        val a = OneMaxIndividual(3)
+        a.setValue(0, 0.5)
+
+        assertEquals(EvaluationCache.computeKey(a), EvaluationCache.computeKey(a.copy()))
+
+        val b = a.copy() as OneMaxIndividual
+        b.setValue(1, 0.5)
+        assertNotEquals(EvaluationCache.computeKey(a), EvaluationCache.computeKey(b))
+    }
+
+    @Test
+    fun testKeyWithOptional() {
+        val optional = OptionalGene("x", IntegerGene("x", 1))
+        val ind = BindingIndividual(mutableListOf(optional))
+        val before = EvaluationCache.computeKey(ind)
+
+        optional.isActive = false
+        assertNotEquals(before, EvaluationCache.computeKey(ind))
+    }
+
+    @Test
+    fun testLru() {
+        val cache = EvaluationCache(2)
+        val inds = (0 until 3).map { i -> OneMaxIndividual(3).apply { setValue(i, 1.0) } }
+        val keys = inds.map { EvaluationCache.computeKey(it) }
+
+        cache.put(keys[0], evaluated(inds[0]), setOf(0, 1, 2))
+        cache.put(keys[1], evaluated(inds[1]), setOf(0, 1, 2))
+        //access, so the 2nd is the least recently used
+        assertNotNull(cache.get(keys[0], setOf(0)))
+        cache.put(keys[2], evaluated(inds[2]), setOf(0, 1, 2))
+
+        assertEquals(2, cache.size())
+        assertNotNull(cache.get(keys[0], setOf(0)))
+        assertNull(cache.get(keys[1], setOf(0)))
+        assertNotNull(cache.get(keys[2], setOf(0)))
+    }
+
+    @Test
+    fun testTargets() {
+        val cache = EvaluationCache(10)
+        val ind = OneMaxIndividual(3).apply { setValue(1, 1.0) }
+        val key = EvaluationCache.computeKey(ind)
+        cache.put(key, evaluated(ind), setOf(0, 1))
+
+        val (fv, results) = cache.get(key, setOf(1))!!
+        assertEquals(1.0, fv.getHeuristic(1))
+        assertTrue(results.isEmpty())
+
+        //a target that was not evaluated when the individual was cached
+        assertNull(cache.get(key, setOf(1, 2)))
+    }
+
+    @Test
+    fun testInFitnessFunction() {
+        val injector: Injector = LifecycleInjector.builder()
+                .withModules(OneMaxModule(), BaseModule())
+                .build().createInjector()
+
+        val ff = injector.getInstance(OneMaxFitness::class.java)
+        val config = injector.getInstance(EMConfig::class.java)
+        val time = injector.getInstance(SearchTimeController::class.java)
+        config.enableEvaluationCache = true
+
+        val a = OneMaxIndividual(3)
+        a.setValue(2, 0.75)
+        val first = ff.calculateCoverage(a)!!
+
+        val copy = a.copy() as OneMaxIndividual
+        val second = ff.calculateCoverage(copy)!!
+
+        assertSame(copy, second.individual)
+        assertNotSame(first.fitness, second.fitness)
+        assertEquals(first.fitness.getHeuristic(2), second.fitness.getHeuristic(2))
+        //cached evaluations are still counted
+        assertEquals(2, time.evaluatedIndividuals)
+    }
+
+    @Test
+    fun testInFitnessFunctionWithSubsetOfTargets() {
+        val injector: Injector = LifecycleInjector.builder()
+                .withModules(OneMaxModule(), BaseModule())
+                .build().createInjector()
+
+        val ff = injector.getInstance(OneMaxFitness::class.java)
+        val config = injector.getInstance(EMConfig::class.java)
+        config.enableEvaluationCache = true
+
+        //only a random subset of 100 targets is evaluated each time
+        val a = OneMaxIndividual(300)
+        val first = ff.calculateCoverage(a)!!
+        assertEquals(100, first.fitness.getViewOfData().size)
+
+        val second = ff.calculateCoverage(a.copy() as OneMaxIndividual)!!
+        //taken from the cache, and so same targets
+        assertEquals(first.fitness.getViewOfData().keys, second.fitness.getViewOfData().keys)
+
+        //not cached
+        val b = a.copy() as OneMaxIndividual
+        b.setValue(0, 1.0)
+        val third = ff.calculateCoverage(b)!!
+        assertNotEquals(first.fitness.getViewOfData().keys, third.fitness.getViewOfData().keys)
+    }
+}
@@ -0,0 +1,46 @@
+package org.evomaster.core.search.service
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class SearchTimeControllerTest {
+
+    private fun firstPositive(time: SearchTimeController, values: List<Int>): Int? {
+        time.measurePhase(SearchPhase.SAMPLING) {
+            values.forEach { if (it > 0) return it }
+        }
+        return null
+    }
+
+    @Test
+    fun testMeasurePhase(){
+        val time = SearchTimeController()
+
+        assertEquals(SearchPhase.values().toList(), time.getPhaseTimes().keys.toList())
+        assertTrue(time.getPhaseTimes().values.all { it.getCount() == 0L })
+
+        val res = time.measurePhase(SearchPhase.GENE_MUTATION) {
+            Thread.sleep(5)
+            42
+        }
+        assertEquals(42, res)
+        assertEquals(1L, time.getPhaseTimes()[SearchPhase.GENE_MUTATION]!!.getCount())
+        assertTrue(time.getPhaseTimes()[SearchPhase.GENE_MUTATION]!!.totalMs() >= 4.0)
+        assertEquals(0L, time.getPhaseTimes()[SearchPhase.SAMPLING]!!.getCount())
+    }
+
+    @Test
+    fun testMeasurePhaseOnExit(){
+        val time = SearchTimeController()
+
+        assertThrows(IllegalStateException::class.java) {
+            time.measurePhase(SearchPhase.ARCHIVE_UPDATE) { throw IllegalStateException() }
+        }
+        assertEquals(1L, time.getPhaseTimes()[SearchPhase.ARCHIVE_UPDATE]!!.getCount())
+
+        //return from the caller inside the measured function
+        assertEquals(3, firstPositive(time, listOf(-1, 3, 4)))
+        assertNull(firstPositive(time, listOf(-1)))
+        assertEquals(2L, time.getPhaseTimes()[SearchPhase.SAMPLING]!!.getCount())
+    }
+}
@@ -0,0 +1,55 @@
+package org.evomaster.core.search.service
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Files
+import java.nio.file.Path
+
+class StatisticsTest {
+
+    @Test
+    fun testAppendWithSameHeaders(@TempDir dir: Path){
+
+        val path = dir.resolve("statistics.csv")
+
+        val first = Statistics.prepareFile(path, "a,b", true)
+        assertEquals(path, first)
+        first.toFile().appendText("1,2\n")
+
+        val second = Statistics.prepareFile(path, "a,b", true)
+        assertEquals(path, second)
+        second.toFile().appendText("3,4\n")
+
+        assertEquals(listOf("a,b", "1,2", "3,4"), Files.readAllLines(path))
+    }
+
+    @Test
+    fun testAppendWithDifferentHeaders(@TempDir dir: Path){
+
+        val path = dir.resolve("statistics.csv")
+        Files.write(path, listOf("a,b", "1,2"))
+
+        val other = Statistics.prepareFile(path, "a,b,c", true)
+        assertEquals(dir.resolve("statistics_1.csv"), other)
+        other.toFile().appendText("1,2,3\n")
+
+        //existing data is not touched
+        assertEquals(listOf("a,b", "1,2"), Files.readAllLines(path))
+        assertEquals(listOf("a,b,c", "1,2,3"), Files.readAllLines(other))
+
+        //following runs with same columns keep appending to the new file
+        assertEquals(other, Statistics.prepareFile(path, "a,b,c", true))
+        assertEquals(dir.resolve("statistics_2.csv"), Statistics.prepareFile(path, "a", true))
+    }
+
+    @Test
+    fun testReplace(@TempDir dir: Path){
+
+        val path = dir.resolve("statistics.csv")
+        Files.write(path, listOf("a,b", "1,2"))
+
+        assertEquals(path, Statistics.prepareFile(path, "a,b,c", false))
+        assertEquals(listOf("a,b,c"), Files.readAllLines(path))
+    }
+}
@@ -0,0 +1,64 @@
+package org.evomaster.core.utils
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.util.Random
+
+class IndexedMinHeapTest{
+
+    @Test
+    fun testBase(){
+
+        val priorities = longArrayOf(5, 3, 8, 3)
+        val heap = IndexedMinHeap { priorities[it] }
+        assertNull(heap.peek())
+
+        (0 until 4).forEach { heap.update(it) }
+        assertEquals(4, heap.size)
+        //same priority, lowest element first
+        assertEquals(1, heap.peek())
+
+        priorities[1] = 10
+        heap.update(1)
+        assertEquals(3, heap.peek())
+
+        heap.remove(3)
+        assertFalse(heap.contains(3))
+        assertEquals(0, heap.peek())
+
+        priorities[2] = 0
+        heap.update(2)
+        assertEquals(2, heap.peek())
+    }
+
+    @Test
+    fun testSameAsMinBy(){
+
+        val random = Random(42)
+        val n = 500
+        val priorities = LongArray(n) { random.nextInt(20).toLong() }
+        val present = BooleanArray(n)
+        val heap = IndexedMinHeap { priorities[it] }
+
+        for(step in 0 until 10_000){
+            val e = random.nextInt(n)
+            when(random.nextInt(3)){
+                0 -> {
+                    priorities[e] = random.nextInt(20).toLong()
+                    if(present[e]) heap.update(e)
+                }
+                1 -> {
+                    present[e] = true
+                    heap.update(e)
+                }
+                else -> {
+                    present[e] = false
+                    heap.remove(e)
+                }
+            }
+
+            val expected = (0 until n).filter { present[it] }.minByOrNull { priorities[it] }
+            assertEquals(expected, heap.peek())
+        }
+    }
+}
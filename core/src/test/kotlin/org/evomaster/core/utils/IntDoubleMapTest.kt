@@ -0,0 +1,81 @@
+package org.evomaster.core.utils
+
+import com.google.gson.Gson
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class IntDoubleMapTest{
+
+    @Test
+    fun testBase(){
+
+        val map = IntDoubleMap()
+        assertEquals(0, map.size)
+        assertNull(map[42])
+        assertEquals(-1.0, map.valueOrDefault(42, -1.0))
+
+        map.put(42, 0.0)
+        map.put(-3, 0.5)
+        assertEquals(2, map.size)
+        assertEquals(0.0, map[42])
+        assertEquals(0.5, map[-3])
+        assertFalse(map.containsKey(3))
+
+        map.plus(42, 1.0)
+        map.plus(3, 0.25)
+        map.putIfAbsent(3, 7.0)
+        assertEquals(3, map.size)
+        assertEquals(1.0, map[42])
+        assertEquals(0.25, map[3])
+
+        assertEquals(mapOf(42 to 1.0, -3 to 0.5, 3 to 0.25), map)
+    }
+
+    @Test
+    fun testGrowAndRemove(){
+
+        val map = IntDoubleMap()
+        val n = 10_000
+
+        for(i in 0 until n){
+            map.put(i - n / 2, i.toDouble())
+        }
+        assertEquals(n, map.size)
+
+        //remove every other key, the remaining ones must still be found
+        for(i in 0 until n step 2){
+            assertTrue(map.remove(i - n / 2))
+        }
+        assertFalse(map.remove(n))
+        assertEquals(n / 2, map.size)
+        for(i in 0 until n){
+            assertEquals(if (i % 2 == 0) null else i.toDouble(), map[i - n / 2])
+        }
+    }
+
+    @Test
+    fun testCopyOnWrite(){
+
+        val map = IntDoubleMap.of(mapOf(1 to 1.0, 2 to 2.0))
+        val copy = map.copy()
+        assertEquals(map, copy)
+
+        copy.put(1, 5.0)
+        copy.remove(2)
+        assertEquals(mapOf(1 to 1.0, 2 to 2.0), map)
+        assertEquals(mapOf(1 to 5.0), copy)
+
+        map.put(3, 3.0)
+        assertEquals(mapOf(1 to 1.0, 2 to 2.0, 3 to 3.0), map)
+        assertEquals(mapOf(1 to 5.0), copy)
+    }
+
+    @Test
+    fun testJson(){
+
+        val map = IntDoubleMap.of(mapOf(1 to 1.5, -2 to 0.0))
+        val json = Gson().toJson(map)
+        assertEquals(mapOf("1" to 1.5, "-2" to 0.0), Gson().fromJson(json, Map::class.java))
+        assertEquals(map, IntDoubleMap.JsonTypeAdapter().fromJson(json))
+    }
+}
@@ -0,0 +1,49 @@
+package org.evomaster.core.utils
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class IntIntMapTest{
+
+    @Test
+    fun testBase(){
+
+        val map = IntIntMap()
+        assertEquals(0, map.size)
+        assertEquals(IntIntMap.MISSING, map.get(42))
+
+        map.put(42, 0)
+        map.put(-3, 7)
+        assertEquals(2, map.size)
+        assertEquals(0, map.get(42))
+        assertEquals(7, map.get(-3))
+        assertFalse(map.containsKey(3))
+
+        map.put(42, 5)
+        assertEquals(2, map.size)
+        assertEquals(5, map.get(42))
+    }
+
+    @Test
+    fun testGrow(){
+
+        val map = IntIntMap()
+        val n = 100_000
+
+        for(i in 0 until n){
+            //positive and negative ids, like for targets
+            map.put(i - n / 2, i)
+        }
+
+        assertEquals(n, map.size)
+        for(i in 0 until n){
+            assertEquals(i, map.get(i - n / 2))
+        }
+        assertEquals(IntIntMap.MISSING, map.get(n))
+    }
+
+    @Test
+    fun testNegativeValue(){
+        assertThrows(IllegalArgumentException::class.java) { IntIntMap().put(1, -1) }
+    }
+}
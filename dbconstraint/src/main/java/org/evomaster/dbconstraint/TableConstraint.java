@@ -1,8 +1,12 @@
 package org.evomaster.dbconstraint;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public abstract class TableConstraint {
+/**
+ * Constraints are immutable, and serializable so that the ones parsed from a schema can be cached
+ */
+public abstract class TableConstraint implements Serializable {
 
     private final /*non-null*/ String tableName;
 
@@ -0,0 +1,146 @@
+package org.evomaster.e2etests.utils;
+
+import org.evomaster.client.java.controller.api.dto.database.operations.InsertionDto;
+import org.evomaster.client.java.controller.api.dto.database.operations.InsertionResultsDto;
+import org.evomaster.client.java.controller.db.SqlScriptRunner;
+import org.evomaster.client.java.controller.db.dsl.SequenceDsl;
+import org.evomaster.client.java.controller.db.dsl.StatementDsl;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+import static org.evomaster.client.java.controller.db.dsl.SqlDsl.sql;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Check the batched insertions of {@link SqlScriptRunner#execInsert(Connection, List)} on an actual
+ * database, and compare their round-trip time and throughput with executing one INSERT per row.
+ * Batched insertions depend on how each JDBC driver returns the keys generated by multi-row INSERTs,
+ * so they must be checked for each supported database.
+ * <br>
+ * Rows are inserted in two tables, Bar and Foo, where each Foo row refers to the auto-generated
+ * key of a Bar row. Subclasses must create these tables, with the dialect of their database.
+ */
+public abstract class SqlInsertionBatchTestBase {
+
+    private static final int REPETITIONS = 5;
+
+    /**
+     * @return a connection to an empty database, on which the tables were created
+     */
+    protected abstract Connection getConnection();
+
+    /**
+     * @return the name of the database, used when reporting the timings
+     */
+    protected abstract String getDatabaseName();
+
+    private static List<InsertionDto> createInsertions(int rows) {
+        SequenceDsl dsl = sql();
+        StatementDsl last = null;
+        for (int i = 0; i < rows; i++) {
+            last = dsl.insertInto("Bar", (long) i).d("x", "" + i);
+            dsl = last.and();
+        }
+        for (int i = 0; i < rows; i++) {
+            last = dsl.insertInto("Foo", (long) (rows + i)).d("name", "\"name" + i + "\"").r("barId", i);
+            dsl = last.and();
+        }
+        return last.dtos();
+    }
+
+    private void clean() throws SQLException {
+        SqlScriptRunner.execCommand(getConnection(), "DELETE FROM Foo");
+        SqlScriptRunner.execCommand(getConnection(), "DELETE FROM Bar");
+    }
+
+    private InsertionResultsDto insertOneAtATime(List<InsertionDto> insertions) throws SQLException {
+        InsertionResultsDto previous = new InsertionResultsDto();
+        for (InsertionDto insertion : insertions) {
+            InsertionResultsDto result = SqlScriptRunner.execInsert(getConnection(), Collections.singletonList(insertion), previous);
+            previous.idMapping.putAll(result.idMapping);
+        }
+        return previous;
+    }
+
+    /**
+     * @return the value of x of the Bar row referred by each Foo row, by Foo name
+     */
+    private Map<String, Integer> readReferences() throws SQLException {
+        Map<String, Integer> references = new HashMap<>();
+        try (Statement st = getConnection().createStatement();
+             ResultSet rs = st.executeQuery("SELECT Foo.name, Bar.x FROM Foo JOIN Bar ON Foo.barId = Bar.id")) {
+            while (rs.next()) {
+                references.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return references;
+    }
+
+    @Test
+    public void testBatchedKeys() throws Exception {
+
+        int rows = 50;
+        List<InsertionDto> insertions = createInsertions(rows);
+
+        clean();
+        InsertionResultsDto res = SqlScriptRunner.execInsert(getConnection(), insertions);
+
+        assertEquals(2 * rows, res.idMapping.size());
+        assertTrue(res.executionResults.stream().allMatch(r -> r));
+
+        //each Foo row must refer to the Bar row it was created for
+        Map<String, Integer> references = readReferences();
+        assertEquals(rows, references.size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i, references.get("name" + i));
+        }
+    }
+
+    @Test
+    public void testCompareWithOneAtATime() throws Exception {
+
+        for (int rows : Arrays.asList(10, 100, 1000)) {
+
+            List<InsertionDto> insertions = createInsertions(rows);
+
+            //warm-up
+            clean();
+            SqlScriptRunner.execInsert(getConnection(), insertions);
+            clean();
+            insertOneAtATime(insertions);
+
+            long batched = 0;
+            long oneAtATime = 0;
+
+            for (int i = 0; i < REPETITIONS; i++) {
+                clean();
+                long start = System.nanoTime();
+                SqlScriptRunner.execInsert(getConnection(), insertions);
+                batched += System.nanoTime() - start;
+                Map<String, Integer> fromBatch = readReferences();
+
+                clean();
+                start = System.nanoTime();
+                insertOneAtATime(insertions);
+                oneAtATime += System.nanoTime() - start;
+
+                assertEquals(readReferences(), fromBatch);
+            }
+
+            report(rows, "batched", batched);
+            report(rows, "one at a time", oneAtATime);
+        }
+    }
+
+    private void report(int rows, String mode, long totalNanos) {
+        double ms = totalNanos / 1_000_000d / REPETITIONS;
+        double throughput = 2 * rows / (ms / 1000d);
+        System.out.println(String.format("%s, 2x%d rows, %s: %.2f ms per round-trip, %.0f rows/s",
+                getDatabaseName(), rows, mode, ms, throughput));
+    }
+}
@@ -0,0 +1,54 @@
+package org.evomaster.e2etests.spring.rest.insertion
+
+import org.evomaster.client.java.controller.db.SqlScriptRunner
+import org.evomaster.e2etests.utils.SqlInsertionBatchTestBase
+import org.junit.jupiter.api.AfterAll
+import org.junit.jupiter.api.BeforeAll
+import org.testcontainers.containers.GenericContainer
+import java.sql.Connection
+import java.sql.DriverManager
+
+/**
+ * Batched insertions are executed as a single INSERT with several rows in its VALUES,
+ * and not with JDBC batches, so they do not need rewriteBatchedStatements in the URL.
+ */
+class MySqlInsertionBatchTest : SqlInsertionBatchTestBase() {
+
+    companion object {
+
+        private val mysql: GenericContainer<*> = GenericContainer<Nothing>("mysql:8.0.27")
+                .apply { withEnv(mapOf(
+                        "MYSQL_ROOT_PASSWORD" to "root",
+                        "MYSQL_DATABASE" to "test",
+                        "MYSQL_USER" to "test",
+                        "MYSQL_PASSWORD" to "test")) }
+                .apply { withExposedPorts(3306) }
+
+        private lateinit var connection: Connection
+
+        @BeforeAll
+        @JvmStatic
+        fun initClass() {
+            mysql.start()
+
+            val host = mysql.getContainerIpAddress()
+            val port = mysql.getMappedPort(3306)
+            connection = DriverManager.getConnection("jdbc:mysql://$host:$port/test", "test", "test")
+
+            SqlScriptRunner.execCommand(connection, "CREATE TABLE Bar (id BIGINT AUTO_INCREMENT PRIMARY KEY, x INT)")
+            SqlScriptRunner.execCommand(connection,
+                    "CREATE TABLE Foo (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(32), barId BIGINT NOT NULL, FOREIGN KEY (barId) REFERENCES Bar(id))")
+        }
+
+        @AfterAll
+        @JvmStatic
+        fun tearDown() {
+            connection.close()
+            mysql.stop()
+        }
+    }
+
+    override fun getConnection(): Connection = connection
+
+    override fun getDatabaseName(): String = "MySQL"
+}
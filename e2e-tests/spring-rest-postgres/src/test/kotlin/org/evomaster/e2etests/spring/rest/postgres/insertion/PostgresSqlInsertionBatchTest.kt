@@ -0,0 +1,46 @@
+package org.evomaster.e2etests.spring.rest.postgres.insertion
+
+import org.evomaster.client.java.controller.db.SqlScriptRunner
+import org.evomaster.e2etests.utils.SqlInsertionBatchTestBase
+import org.junit.jupiter.api.AfterAll
+import org.junit.jupiter.api.BeforeAll
+import org.testcontainers.containers.GenericContainer
+import java.sql.Connection
+import java.sql.DriverManager
+
+class PostgresSqlInsertionBatchTest : SqlInsertionBatchTestBase() {
+
+    companion object {
+
+        private val postgres: GenericContainer<*> = GenericContainer<Nothing>("postgres:14")
+                .apply { withExposedPorts(5432) }
+                .apply { withEnv("POSTGRES_HOST_AUTH_METHOD", "trust") }
+
+        private lateinit var connection: Connection
+
+        @BeforeAll
+        @JvmStatic
+        fun initClass() {
+            postgres.start()
+
+            val host = postgres.getContainerIpAddress()
+            val port = postgres.getMappedPort(5432)
+            connection = DriverManager.getConnection("jdbc:postgresql://$host:$port/postgres", "postgres", "")
+
+            SqlScriptRunner.execCommand(connection, "CREATE TABLE Bar (id BIGSERIAL PRIMARY KEY, x INT)")
+            SqlScriptRunner.execCommand(connection,
+                    "CREATE TABLE Foo (id BIGSERIAL PRIMARY KEY, name VARCHAR(32), barId BIGINT NOT NULL REFERENCES Bar(id))")
+        }
+
+        @AfterAll
+        @JvmStatic
+        fun tearDown() {
+            connection.close()
+            postgres.stop()
+        }
+    }
+
+    override fun getConnection(): Connection = connection
+
+    override fun getDatabaseName(): String = "Postgres"
+}